@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversion of a {@link BufferedImage} to an {@link NDArray}.
+ *
+ * <p>{@code perPixel} is the conversion through {@link BufferedImage#getRGB(int, int, int, int,
+ * int[], int, int)} with a put per channel, for comparison. Run it with {@code ./gradlew :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImageConversionBenchmark {
+
+    private static final float[] MEAN = {0.485f, 0.456f, 0.406f};
+    private static final float[] STD = {0.229f, 0.224f, 0.225f};
+
+    @Param({"224x224", "640x480", "1920x1080"})
+    private String size;
+
+    @Param({"3BYTE_BGR", "INT_RGB"})
+    private String type;
+
+    private NDManager manager;
+    private BufferedImage bufferedImage;
+    private Image image;
+
+    /** Creates a random image. */
+    @Setup
+    public void setUp() {
+        String[] tokens = size.split("x");
+        int width = Integer.parseInt(tokens[0]);
+        int height = Integer.parseInt(tokens[1]);
+        int imageType =
+                "INT_RGB".equals(type) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_3BYTE_BGR;
+        bufferedImage = new BufferedImage(width, height, imageType);
+        Random random = new Random(0);
+        for (int y = 0; y < height; ++y) {
+            for (int x = 0; x < width; ++x) {
+                bufferedImage.setRGB(x, y, random.nextInt());
+            }
+        }
+        image = ImageFactory.getInstance().fromImage(bufferedImage);
+        manager = NDManager.newBaseManager();
+    }
+
+    /** Closes the manager. */
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
+
+    /**
+     * Converts the image to an HWC array pixel by pixel.
+     *
+     * @return the number of elements
+     */
+    @Benchmark
+    public long perPixel() {
+        int width = bufferedImage.getWidth();
+        int height = bufferedImage.getHeight();
+        ByteBuffer bb = manager.allocateDirect(width * height * 3);
+        int[] pixels = bufferedImage.getRGB(0, 0, width, height, null, 0, width);
+        for (int rgb : pixels) {
+            bb.put((byte) (rgb >> 16));
+            bb.put((byte) (rgb >> 8));
+            bb.put((byte) rgb);
+        }
+        bb.rewind();
+        try (NDArray array = manager.create(bb, new Shape(height, width, 3), DataType.UINT8)) {
+            return array.size();
+        }
+    }
+
+    /**
+     * Converts the image to an HWC array.
+     *
+     * @return the number of elements
+     */
+    @Benchmark
+    public long toNDArray() {
+        try (NDArray array = image.toNDArray(manager)) {
+            return array.size();
+        }
+    }
+
+    /**
+     * Converts the image to an HWC array, then normalizes a CHW float array with array operations.
+     *
+     * @return the first value
+     */
+    @Benchmark
+    public float toTensorUnfused() {
+        try (NDManager subManager = manager.newSubManager()) {
+            NDArray array = image.toNDArray(subManager);
+            NDArray tensor =
+                    array.transpose(2, 0, 1)
+                            .toType(DataType.FLOAT32, false)
+                            .div(255f)
+                            .sub(subManager.create(MEAN, new Shape(3, 1, 1)))
+                            .div(subManager.create(STD, new Shape(3, 1, 1)));
+            // waits for the engine
+            return tensor.getFloat(0, 0, 0);
+        }
+    }
+
+    /**
+     * Converts the image to a normalized CHW float array in a single pass.
+     *
+     * @return the first value
+     */
+    @Benchmark
+    public float toTensor() {
+        try (NDArray tensor = image.toTensor(manager, Image.Flag.COLOR, MEAN, STD)) {
+            return tensor.getFloat(0, 0, 0);
+        }
+    }
+}
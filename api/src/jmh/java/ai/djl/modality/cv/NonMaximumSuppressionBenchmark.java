@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the non-maximum suppression of random detections of 80 classes in a 640x640 image.
+ *
+ * <p>{@code priorityQueue} is the per-class approach previously used by the YOLOv5 translator, with
+ * a {@link PriorityQueue} of boxed detections for each class. Run it with {@code ./gradlew
+ * :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NonMaximumSuppressionBenchmark {
+
+    private static final int CLASSES = 80;
+
+    @Param({"1000", "10000", "100000"})
+    private int candidates;
+
+    private float[] boxes;
+    private float[] scores;
+    private int[] classIds;
+    private NonMaximumSuppression greedy;
+    private NonMaximumSuppression grid;
+    private NonMaximumSuppression soft;
+
+    /** Creates the random detections. */
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        boxes = new float[candidates * 4];
+        scores = new float[candidates];
+        classIds = new int[candidates];
+        for (int i = 0; i < candidates; ++i) {
+            float x = random.nextFloat() * 600;
+            float y = random.nextFloat() * 600;
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + 10 + random.nextFloat() * 30;
+            boxes[i * 4 + 3] = y + 10 + random.nextFloat() * 30;
+            scores[i] = random.nextFloat();
+            classIds[i] = random.nextInt(CLASSES);
+        }
+        greedy = NonMaximumSuppression.builder().optGridThreshold(Integer.MAX_VALUE).build();
+        grid = NonMaximumSuppression.builder().optGridThreshold(0).build();
+        soft = NonMaximumSuppression.builder().optSoftNms(0.5f).optScoreThreshold(0.1f).build();
+    }
+
+    /**
+     * Runs the greedy suppression on the sorted boxes.
+     *
+     * @return the number of kept boxes
+     */
+    @Benchmark
+    public int greedy() {
+        return greedy.apply(boxes, scores, classIds).length;
+    }
+
+    /**
+     * Runs the suppression with the boxes bucketed in a grid.
+     *
+     * @return the number of kept boxes
+     */
+    @Benchmark
+    public int grid() {
+        return grid.apply(boxes, scores, classIds).length;
+    }
+
+    /**
+     * Runs the Gaussian soft-NMS on a copy of the scores.
+     *
+     * @return the number of kept boxes
+     */
+    @Benchmark
+    public int softNms() {
+        return soft.apply(boxes, scores.clone(), classIds).length;
+    }
+
+    /**
+     * Runs the suppression with a {@link PriorityQueue} of boxed detections for each class.
+     *
+     * @return the number of kept boxes
+     */
+    @Benchmark
+    public int priorityQueue() {
+        List<PriorityQueue<Integer>> queues = new ArrayList<>(CLASSES);
+        Comparator<Integer> comparator = (a, b) -> Float.compare(scores[b], scores[a]);
+        for (int i = 0; i < CLASSES; ++i) {
+            queues.add(new PriorityQueue<>(comparator));
+        }
+        for (int i = 0; i < candidates; ++i) {
+            queues.get(classIds[i]).add(i);
+        }
+        int kept = 0;
+        List<Integer> detections = new ArrayList<>();
+        for (PriorityQueue<Integer> queue : queues) {
+            detections.clear();
+            while (!queue.isEmpty()) {
+                detections.add(queue.poll());
+            }
+            while (!detections.isEmpty()) {
+                int best = detections.remove(0);
+                ++kept;
+                detections.removeIf(i -> NonMaximumSuppression.iou(boxes, best, i) >= 0.5f);
+            }
+        }
+        return kept;
+    }
+}
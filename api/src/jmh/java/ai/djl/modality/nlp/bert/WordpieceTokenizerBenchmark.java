@@ -0,0 +1,191 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import ai.djl.modality.nlp.SimpleVocabulary;
+import ai.djl.modality.nlp.preprocess.TextProcessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the tokenization of 1000 English sentences into the indices of BERT word pieces.
+ *
+ * <p>The vocabulary contains the frequent words of the corpus, common suffixes and all the
+ * characters, so that the other words are split into several word pieces like with a BERT
+ * vocabulary. {@code wordpiece} and {@code fastWordpiece} only split the words of preprocessed
+ * sentences, {@code bertFullTokenizer} also runs the BERT preprocessors. Run it with {@code
+ * ./gradlew :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WordpieceTokenizerBenchmark {
+
+    private static final String TEXT =
+            "The quick development of deep learning frameworks has changed how engineers build"
+                    + " applications. Models that once required a research team can now be"
+                    + " trained, evaluated and deployed by a single developer. Tokenization is the"
+                    + " first step of every natural language processing pipeline: the text is"
+                    + " normalized, split into words and punctuation, and each word is broken into"
+                    + " sub-word units that appear in the vocabulary. Unbelievably, this"
+                    + " preprocessing often takes more time than the inference itself when the"
+                    + " model runs on a modern accelerator. Researchers have therefore proposed"
+                    + " faster algorithms, such as linear-time WordPiece tokenization, which avoid"
+                    + " re-scanning the characters of each word. In production, requests arrive"
+                    + " concurrently, and the servers are expected to answer within a few"
+                    + " milliseconds while handling thousands of questions, reviews, tweets and"
+                    + " documents written in many different styles.";
+    private static final String[] SUFFIXES = {
+        "##s", "##es", "##ed", "##ing", "##ly", "##er", "##ers", "##tion", "##ation", "##able",
+        "##ize", "##ized", "##ment", "##ness", "##al", "##ic", "##ity"
+    };
+
+    private BertFullTokenizer bertFullTokenizer;
+    private WordpieceTokenizer wordpieceTokenizer;
+    private FastWordpieceTokenizer fastWordpieceTokenizer;
+    private SimpleVocabulary vocabulary;
+    private List<String> sentences;
+    private List<List<String>> preprocessed;
+
+    /** Creates the vocabulary and the corpus. */
+    @Setup
+    public void setUp() {
+        List<TextProcessor> preprocessors = BertFullTokenizer.getPreprocessors(true);
+        List<String> words = preprocess(preprocessors, TEXT);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String word : words) {
+            counts.merge(word, 1, Integer::sum);
+        }
+        List<String> tokens = new ArrayList<>();
+        tokens.add("[UNK]");
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getValue() > 1) {
+                tokens.add(entry.getKey());
+            }
+        }
+        tokens.addAll(Arrays.asList(SUFFIXES));
+        for (char c = '!'; c <= '~'; ++c) {
+            tokens.add(String.valueOf(c));
+            tokens.add("##" + c);
+        }
+        vocabulary =
+                SimpleVocabulary.builder()
+                        .optMinFrequency(1)
+                        .add(tokens)
+                        .optUnknownToken("[UNK]")
+                        .build();
+
+        String[] textSentences = TEXT.split("(?<=\\.) ");
+        Random random = new Random(0);
+        sentences = new ArrayList<>();
+        preprocessed = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            List<String> sentenceWords =
+                    Arrays.asList(textSentences[random.nextInt(textSentences.length)].split(" "));
+            Collections.shuffle(sentenceWords, random);
+            String sentence = String.join(" ", sentenceWords);
+            sentences.add(sentence);
+            preprocessed.add(preprocess(preprocessors, sentence));
+        }
+
+        bertFullTokenizer = new BertFullTokenizer(vocabulary, true);
+        wordpieceTokenizer = new WordpieceTokenizer(vocabulary, "[UNK]", 200);
+        fastWordpieceTokenizer = new FastWordpieceTokenizer(vocabulary, "[UNK]", 200);
+    }
+
+    /**
+     * Splits the preprocessed sentences with {@link WordpieceTokenizer}, and looks up the indices
+     * of the word pieces.
+     *
+     * @return the number of word pieces
+     */
+    @Benchmark
+    public long wordpiece() {
+        long count = 0;
+        for (List<String> words : preprocessed) {
+            for (String token : wordpieceTokenizer.preprocess(words)) {
+                count += vocabulary.getIndex(token) >= 0 ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Splits the preprocessed sentences with {@link FastWordpieceTokenizer}.
+     *
+     * @return the number of word pieces
+     */
+    @Benchmark
+    public long fastWordpiece() {
+        long count = 0;
+        for (List<String> words : preprocessed) {
+            count += fastWordpieceTokenizer.encode(words).length;
+        }
+        return count;
+    }
+
+    /**
+     * Tokenizes the sentences with {@link BertFullTokenizer}, one by one.
+     *
+     * @return the number of word pieces
+     */
+    @Benchmark
+    public long bertFullTokenizer() {
+        long count = 0;
+        for (String sentence : sentences) {
+            count += bertFullTokenizer.encode(sentence).length;
+        }
+        return count;
+    }
+
+    /**
+     * Tokenizes the sentences with {@link BertFullTokenizer}, in parallel.
+     *
+     * @return the number of word pieces
+     */
+    @Benchmark
+    public long bertFullTokenizerBatch() {
+        long count = 0;
+        for (int[] indices : bertFullTokenizer.encodeBatch(sentences)) {
+            count += indices.length;
+        }
+        return count;
+    }
+
+    private static List<String> preprocess(List<TextProcessor> preprocessors, String text) {
+        List<String> tokens = Collections.singletonList(text);
+        for (TextProcessor processor : preprocessors) {
+            tokens = processor.preprocess(tokens);
+        }
+        return tokens;
+    }
+}
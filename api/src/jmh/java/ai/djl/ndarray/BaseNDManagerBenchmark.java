@@ -0,0 +1,154 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray;
+
+import ai.djl.Device;
+import ai.djl.engine.Engine;
+import ai.djl.util.Utils;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of resource tracking in a {@link BaseNDManager} shared by many threads.
+ *
+ * <p>{@code ./gradlew :api:jmh} runs the benchmark with a single thread. To compare 1 to 64
+ * threads, build the benchmark jar with {@code ./gradlew :api:jmhJar} and run this class:
+ *
+ * <pre>
+ * java -cp api/build/libs/api-*-jmh.jar ai.djl.ndarray.BaseNDManagerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BaseNDManagerBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private TestNDManager root;
+    private NDManager manager;
+
+    /**
+     * Runs the benchmark with 1 to 64 threads.
+     *
+     * @param args the JMH command line options
+     * @throws CommandLineOptionException if the options are invalid
+     * @throws RunnerException if the benchmark failed
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        Options options = new CommandLineOptions(args);
+        for (int threads : THREADS) {
+            Options opt =
+                    new OptionsBuilder()
+                            .parent(options)
+                            .include(BaseNDManagerBenchmark.class.getSimpleName())
+                            .threads(threads)
+                            .build();
+            new Runner(opt).run();
+        }
+    }
+
+    /** Creates the manager shared by all threads. */
+    @Setup
+    public void setUp() {
+        root = new TestNDManager(null, Device.cpu());
+        manager = root.newSubManager();
+    }
+
+    /** Closes the shared manager. */
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
+
+    /**
+     * Attaches a resource to the shared manager and detaches it, like a temporary array.
+     *
+     * @param resource the resource of the current thread
+     */
+    @Benchmark
+    public void attachDetach(Resource resource) {
+        manager.attachInternal(resource.uid, resource);
+        manager.detachInternal(resource.uid);
+    }
+
+    /**
+     * Creates and closes a sub-manager of the shared manager, like a request of a predictor.
+     *
+     * @return the sub-manager
+     */
+    @Benchmark
+    public NDManager subManager() {
+        NDManager subManager = manager.newSubManager();
+        subManager.close();
+        return subManager;
+    }
+
+    /** A resource owned by one benchmark thread. */
+    @State(Scope.Thread)
+    public static class Resource implements AutoCloseable {
+
+        String uid = Utils.newUid();
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() {}
+    }
+
+    private static final class TestNDManager extends BaseNDManager {
+
+        TestNDManager(NDManager parent, Device device) {
+            super(parent, device);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ByteBuffer allocateDirect(int capacity) {
+            return ByteBuffer.allocateDirect(capacity);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDManager newSubManager(Device device) {
+            TestNDManager manager = new TestNDManager(this, device);
+            attachInternal(manager.uid, manager);
+            return manager;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Engine getEngine() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray.index;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of creating the {@link NDIndex} of a column, like {@code array.get(":, 0")}.
+ *
+ * <p>{@code parse} parses the index string for each call, as {@link NDIndex#NDIndex(String,
+ * Object...)} did before the parsed strings were cached. Run it with {@code ./gradlew :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NDIndexBenchmark {
+
+    private static final CompiledNDIndex COLUMN = NDIndex.compile(":, {}");
+
+    private int column = 2;
+
+    /**
+     * Parses the index string.
+     *
+     * @return the index
+     */
+    @Benchmark
+    public NDIndex parse() {
+        return new CompiledNDIndex(":, {}").bind(column);
+    }
+
+    /**
+     * Creates the index from a constant string, parsed once and cached.
+     *
+     * @return the index
+     */
+    @Benchmark
+    public NDIndex cached() {
+        return new NDIndex(":, {}", column);
+    }
+
+    /**
+     * Binds the argument of a {@link CompiledNDIndex}.
+     *
+     * @return the index
+     */
+    @Benchmark
+    public NDIndex compiled() {
+        return COLUMN.bind(column);
+    }
+
+    /**
+     * Creates the index with the methods of {@link NDIndex}, without any string.
+     *
+     * @return the index
+     */
+    @Benchmark
+    public NDIndex builder() {
+        return new NDIndex().addAllDim().addIndices(column);
+    }
+}
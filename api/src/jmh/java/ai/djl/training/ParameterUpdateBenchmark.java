@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training;
+
+import ai.djl.Device;
+import ai.djl.Model;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.Activation;
+import ai.djl.nn.SequentialBlock;
+import ai.djl.nn.core.Linear;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.loss.Loss;
+import ai.djl.training.optimizer.Optimizer;
+import ai.djl.translate.Batchifier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time of a training step of a deep and narrow MLP, with many small parameters, on the
+ * CPU.
+ *
+ * <p>The batch is split across one or two CPU devices, and the parameters are updated by a {@link
+ * LocalParameterServer} with Adam. A bucket size of 0 reduces the gradients of each parameter
+ * separately across the devices. The buckets only change the reduction across the devices, so the
+ * single device runs are the baseline of the per-parameter optimizer updates. Run it with {@code
+ * ./gradlew :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ParameterUpdateBenchmark {
+
+    private static final int BATCH_SIZE = 32;
+    private static final int FEATURES = 32;
+    private static final int LAYERS = 64;
+
+    @Param({"1", "2"})
+    private int devices;
+
+    @Param({"0", "4194304"})
+    private long bucketSize;
+
+    private Model model;
+    private Trainer trainer;
+    private NDList data;
+    private NDList labels;
+
+    /** Creates the model and the trainer. */
+    @Setup
+    public void setUp() {
+        SequentialBlock block = new SequentialBlock();
+        for (int i = 0; i < LAYERS; ++i) {
+            block.add(Linear.builder().setUnits(FEATURES).build()).add(Activation.reluBlock());
+        }
+        model = Model.newInstance("mlp");
+        model.setBlock(block);
+
+        Device[] trainingDevices = new Device[devices];
+        for (int i = 0; i < devices; ++i) {
+            trainingDevices[i] = Device.of(Device.Type.CPU, i);
+        }
+        Optimizer optimizer = Optimizer.adam().build();
+        DefaultTrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss())
+                        .optDevices(trainingDevices)
+                        .optOptimizer(optimizer)
+                        .optParameterServer(new LocalParameterServer(optimizer, bucketSize));
+        trainer = model.newTrainer(config);
+        trainer.initialize(new Shape(BATCH_SIZE, FEATURES));
+
+        NDManager manager = trainer.getManager();
+        data = new NDList(manager.randomUniform(0f, 1f, new Shape(BATCH_SIZE, FEATURES)));
+        labels =
+                new NDList(
+                        manager.randomUniform(
+                                0f, 1f, new Shape(BATCH_SIZE, FEATURES), DataType.FLOAT32));
+    }
+
+    /** Closes the trainer and the model. */
+    @TearDown
+    public void tearDown() {
+        trainer.close();
+        model.close();
+    }
+
+    /** Trains one batch and updates the parameters. */
+    @Benchmark
+    public void trainStep() {
+        NDManager manager = trainer.getManager().newSubManager();
+        try (Batch batch =
+                new Batch(
+                        manager,
+                        new NDList(data.head().duplicate()),
+                        new NDList(labels.head().duplicate()),
+                        BATCH_SIZE,
+                        Batchifier.STACK,
+                        Batchifier.STACK,
+                        0,
+                        0)) {
+            EasyTrain.trainBatch(trainer, batch);
+            trainer.step();
+        }
+    }
+}
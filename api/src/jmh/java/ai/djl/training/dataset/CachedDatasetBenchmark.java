@@ -0,0 +1,202 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.dataset;
+
+import ai.djl.modality.cv.Image;
+import ai.djl.modality.cv.ImageFactory;
+import ai.djl.modality.cv.transform.Resize;
+import ai.djl.modality.cv.transform.ToTensor;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Progress;
+import ai.djl.util.Utils;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures an epoch over 256 JPEG images, decoded and transformed at each epoch, or read from a
+ * {@link CachedDataset}.
+ *
+ * <p>The images are decoded, resized to 224x224 and converted to tensors, like an {@code
+ * ImageFolder} dataset. The throughput is the number of epochs per second. Both cases create the
+ * arrays with the MXNet engine. Run it with {@code ./gradlew :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CachedDatasetBenchmark {
+
+    private static final int SIZE = 256;
+
+    private NDManager manager;
+    private Path cacheDir;
+    private RandomAccessDataset source;
+    private CachedDataset cached;
+
+    /**
+     * Creates the images and the cache.
+     *
+     * @throws IOException if the images or the cache cannot be written
+     * @throws TranslateException if the cache cannot be built
+     */
+    @Setup
+    public void setUp() throws IOException, TranslateException {
+        Random random = new Random(0);
+        List<byte[]> images = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; ++i) {
+            BufferedImage image = new BufferedImage(320, 240, BufferedImage.TYPE_3BYTE_BGR);
+            int color = random.nextInt();
+            for (int y = 0; y < image.getHeight(); ++y) {
+                for (int x = 0; x < image.getWidth(); ++x) {
+                    image.setRGB(x, y, color + x * y + random.nextInt(16));
+                }
+            }
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ImageIO.write(image, "jpg", bos);
+            images.add(bos.toByteArray());
+        }
+        source =
+                new ImageBytesDataset.Builder()
+                        .setImages(images)
+                        .setSampling(32, false)
+                        .addTransform(new Resize(224, 224))
+                        .addTransform(new ToTensor())
+                        .build();
+
+        manager = NDManager.newBaseManager();
+        cacheDir = Files.createTempDirectory("cached-dataset");
+        cached =
+                CachedDataset.builder()
+                        .setSource(source)
+                        .setCacheDir(cacheDir)
+                        .optVersion("1")
+                        .build();
+        cached.prepare();
+    }
+
+    /** Deletes the cache. */
+    @TearDown
+    public void tearDown() {
+        manager.close();
+        Utils.deleteQuietly(cacheDir);
+    }
+
+    /**
+     * Decodes and transforms all the images.
+     *
+     * @return the number of records
+     * @throws IOException if the images cannot be decoded
+     * @throws TranslateException if the transforms fail
+     */
+    @Benchmark
+    public long decode() throws IOException, TranslateException {
+        return epoch(source);
+    }
+
+    /**
+     * Reads all the records from the cache.
+     *
+     * @return the number of records
+     * @throws IOException if the cache cannot be read
+     * @throws TranslateException if the transforms fail
+     */
+    @Benchmark
+    public long cached() throws IOException, TranslateException {
+        return epoch(cached);
+    }
+
+    private long epoch(RandomAccessDataset dataset) throws IOException, TranslateException {
+        long count = 0;
+        for (Batch batch : dataset.getData(manager)) {
+            count += batch.getSize();
+            batch.close();
+        }
+        return count;
+    }
+
+    /** A dataset of encoded images, decoded when they are read. */
+    private static final class ImageBytesDataset extends RandomAccessDataset {
+
+        private List<byte[]> images;
+
+        ImageBytesDataset(Builder builder) {
+            super(builder);
+            images = builder.images;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Record get(NDManager manager, long index) throws IOException {
+            byte[] bytes = images.get(Math.toIntExact(index));
+            Image image =
+                    ImageFactory.getInstance().fromInputStream(new ByteArrayInputStream(bytes));
+            NDList data = new NDList(image.toNDArray(manager));
+            NDList labels = new NDList(manager.create(index % 10));
+            return new Record(data, labels);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected long availableSize() {
+            return images.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void prepare(Progress progress) {}
+
+        static final class Builder extends BaseBuilder<Builder> {
+
+            List<byte[]> images;
+
+            /** {@inheritDoc} */
+            @Override
+            protected Builder self() {
+                return this;
+            }
+
+            Builder setImages(List<byte[]> images) {
+                this.images = images;
+                return this;
+            }
+
+            ImageBytesDataset build() {
+                return new ImageBytesDataset(this);
+            }
+        }
+    }
+}
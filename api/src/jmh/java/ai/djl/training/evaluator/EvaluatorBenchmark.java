@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.evaluator;
+
+import ai.djl.Model;
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.Activation;
+import ai.djl.nn.SequentialBlock;
+import ai.djl.nn.core.Linear;
+import ai.djl.training.DefaultTrainingConfig;
+import ai.djl.training.EasyTrain;
+import ai.djl.training.Trainer;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.listener.DivergenceCheckTrainingListener;
+import ai.djl.training.listener.EvaluatorTrainingListener;
+import ai.djl.training.loss.Loss;
+import ai.djl.translate.Batchifier;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the training steps per second with and without {@link
+ * Evaluator#setAccumulateOnDevice(boolean)}.
+ *
+ * <p>Each step trains a small MLP on one batch with a loss and an accuracy evaluator, like {@link
+ * EasyTrain#fit}. Without accumulating on the device, the evaluators copy their values to Java on
+ * every batch. Run it with {@code ./gradlew :api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EvaluatorBenchmark {
+
+    private static final int BATCH_SIZE = 32;
+    private static final int FEATURES = 256;
+    private static final int CLASSES = 10;
+
+    @Param({"false", "true"})
+    private boolean accumulateOnDevice;
+
+    private Model model;
+    private Trainer trainer;
+    private NDList data;
+    private NDList labels;
+
+    /** Creates the model and the trainer. */
+    @Setup
+    public void setUp() {
+        SequentialBlock block =
+                new SequentialBlock()
+                        .add(Linear.builder().setUnits(128).build())
+                        .add(Activation.reluBlock())
+                        .add(Linear.builder().setUnits(CLASSES).build());
+        model = Model.newInstance("mlp");
+        model.setBlock(block);
+
+        Loss loss = Loss.softmaxCrossEntropyLoss();
+        Accuracy accuracy = new Accuracy();
+        loss.setAccumulateOnDevice(accumulateOnDevice);
+        accuracy.setAccumulateOnDevice(accumulateOnDevice);
+        DefaultTrainingConfig config =
+                new DefaultTrainingConfig(loss)
+                        .addEvaluator(accuracy)
+                        .addTrainingListeners(
+                                new EvaluatorTrainingListener(),
+                                new DivergenceCheckTrainingListener());
+        trainer = model.newTrainer(config);
+        trainer.initialize(new Shape(BATCH_SIZE, FEATURES));
+
+        NDManager manager = trainer.getManager();
+        data = new NDList(manager.randomUniform(0f, 1f, new Shape(BATCH_SIZE, FEATURES)));
+        labels =
+                new NDList(
+                        manager.randomInteger(0, CLASSES, new Shape(BATCH_SIZE), DataType.FLOAT32));
+    }
+
+    /** Starts a new epoch, which reads the accumulators. */
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        trainer.setMetrics(new Metrics());
+        trainer.notifyListeners(listener -> listener.onEpoch(trainer));
+    }
+
+    /** Closes the trainer and the model. */
+    @TearDown
+    public void tearDown() {
+        trainer.close();
+        model.close();
+    }
+
+    /** Trains one batch and updates the parameters. */
+    @Benchmark
+    public void trainStep() {
+        NDManager manager = trainer.getManager().newSubManager();
+        try (Batch batch =
+                new Batch(
+                        manager,
+                        new NDList(data.head().duplicate()),
+                        new NDList(labels.head().duplicate()),
+                        BATCH_SIZE,
+                        Batchifier.STACK,
+                        Batchifier.STACK,
+                        0,
+                        0)) {
+            EasyTrain.trainBatch(trainer, batch);
+            trainer.step();
+        }
+    }
+}
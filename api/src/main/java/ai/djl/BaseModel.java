@@ -26,9 +26,11 @@ import ai.djl.training.Trainer;
 import ai.djl.training.TrainingConfig;
 import ai.djl.translate.Translator;
 import ai.djl.util.ClassLoaderUtils;
+import ai.djl.util.MappedDataInputStream;
 import ai.djl.util.Pair;
 import ai.djl.util.PairList;
 import ai.djl.util.Utils;
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.FileNotFoundException;
@@ -326,7 +328,7 @@ public abstract class BaseModel implements Model {
     protected boolean readParameters(Path paramFile, Map<String, ?> options)
             throws IOException, MalformedModelException {
         logger.debug("Try to load model from {}", paramFile);
-        try (DataInputStream dis = new DataInputStream(Files.newInputStream(paramFile))) {
+        try (DataInputStream dis = openParameters(paramFile, options)) {
             byte[] buf = new byte[4];
             dis.readFully(buf);
             if (!"DJL@".equals(new String(buf, StandardCharsets.US_ASCII))) {
@@ -363,4 +365,35 @@ public abstract class BaseModel implements Model {
         }
         return true;
     }
+
+    /**
+     * Opens the parameter file.
+     *
+     * <p>The file is memory-mapped unless the {@code mapParameters} option is {@code false}, so
+     * parameters are created without copying their data to the Java heap. If the {@code
+     * lazyParameters} option is {@code true}, each parameter is only created when it is first used.
+     *
+     * @param paramFile the parameter file
+     * @param options the model loading options
+     * @return the {@link DataInputStream} of the parameter file
+     * @throws IOException if failed to open the file
+     */
+    protected DataInputStream openParameters(Path paramFile, Map<String, ?> options)
+            throws IOException {
+        boolean map = getBooleanOption(options, "mapParameters", true);
+        if (map && Files.size(paramFile) <= Integer.MAX_VALUE) {
+            MappedDataInputStream mis = MappedDataInputStream.map(paramFile);
+            mis.setLazy(getBooleanOption(options, "lazyParameters", false));
+            return mis;
+        }
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(paramFile)));
+    }
+
+    private static boolean getBooleanOption(Map<String, ?> options, String key, boolean def) {
+        Object value = options == null ? null : options.get(key);
+        if (value == null) {
+            return def;
+        }
+        return Boolean.parseBoolean(value.toString());
+    }
 }
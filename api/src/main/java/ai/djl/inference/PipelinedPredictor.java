@@ -0,0 +1,498 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.inference;
+
+import ai.djl.engine.EngineException;
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.NDList;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.TranslateException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@code PipelinedPredictor} runs the stages of a {@link Predictor} concurrently.
+ *
+ * <p>Preprocessing, model execution and postprocessing run on separate threads, so the {@link
+ * ai.djl.translate.Translator} of the next requests works while the model executes the current one.
+ * Requests submitted concurrently with {@link #predictAsync(Object)} are combined into a batch with
+ * the {@link Batchifier} of the translator, up to {@code maxBatchSize} items. If the translator has
+ * no {@link Batchifier}, requests are executed one at a time.
+ *
+ * <p>The model is executed on a single thread, so the wrapped {@link Predictor} doesn't need to be
+ * thread-safe. The wrapped {@link Predictor} must not be used directly while the {@code
+ * PipelinedPredictor} is open. The following is example code that uses {@code PipelinedPredictor}:
+ *
+ * <pre>
+ * try (PipelinedPredictor&lt;Image, Classifications&gt; predictor =
+ *         PipelinedPredictor.builder().optMaxBatchSize(8).build(model.newPredictor())) {
+ *   CompletableFuture&lt;Classifications&gt; result = predictor.predictAsync(image);
+ * }
+ * </pre>
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+public class PipelinedPredictor<I, O> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelinedPredictor.class);
+
+    private Predictor<I, O> predictor;
+    private int maxBatchSize;
+    private long maxBatchDelay;
+    private ThreadPoolExecutor preprocessExecutor;
+    private ThreadPoolExecutor postprocessExecutor;
+    private BlockingQueue<Request<I, O>> forwardQueue;
+    private Thread forwardThread;
+    private volatile boolean running;
+
+    PipelinedPredictor(Predictor<I, O> predictor, Builder builder) {
+        this.predictor = predictor;
+        maxBatchSize = builder.maxBatchSize;
+        maxBatchDelay = TimeUnit.MILLISECONDS.toNanos(builder.maxBatchDelay);
+        // a full queue runs the stage on the submitting thread, which slows down the submitter
+        preprocessExecutor =
+                new ThreadPoolExecutor(
+                        builder.preprocessThreads,
+                        builder.preprocessThreads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(builder.queueSize),
+                        new StageThreadFactory("preprocess"),
+                        PipelinedPredictor::runOnCaller);
+        postprocessExecutor =
+                new ThreadPoolExecutor(
+                        builder.postprocessThreads,
+                        builder.postprocessThreads,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(builder.queueSize),
+                        new StageThreadFactory("postprocess"),
+                        PipelinedPredictor::runOnCaller);
+        forwardQueue = new ArrayBlockingQueue<>(builder.queueSize);
+        running = true;
+        forwardThread = new StageThreadFactory("forward").newThread(this::runForward);
+        forwardThread.start();
+    }
+
+    /**
+     * Creates a builder to build a {@code PipelinedPredictor}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Predicts an item for inference asynchronously.
+     *
+     * @param input the input
+     * @return a {@link CompletableFuture} of the output object defined by the user, which is
+     *     completed exceptionally with a {@link TranslateException} if an error occurs during
+     *     prediction
+     */
+    public CompletableFuture<O> predictAsync(I input) {
+        Request<I, O> request = new Request<>(input);
+        if (!running) {
+            request.fail(new IllegalStateException("PipelinedPredictor is closed."));
+            return request.future;
+        }
+        try {
+            preprocessExecutor.execute(() -> preprocess(request));
+        } catch (RejectedExecutionException e) {
+            request.fail(new IllegalStateException("PipelinedPredictor is closed.", e));
+        }
+        return request.future;
+    }
+
+    /**
+     * Predicts an item for inference, blocking until the result is available.
+     *
+     * @param input the input
+     * @return the output object defined by the user
+     * @throws TranslateException if an error occurs during prediction
+     */
+    public O predict(I input) throws TranslateException {
+        return join(predictAsync(input));
+    }
+
+    /**
+     * Predicts a batch for inference, blocking until all results are available.
+     *
+     * <p>The inputs are submitted individually, they may be batched with inputs of other callers.
+     *
+     * @param inputs a list of inputs
+     * @return a list of output objects defined by the user
+     * @throws TranslateException if an error occurs during prediction
+     */
+    public List<O> batchPredict(List<I> inputs) throws TranslateException {
+        List<CompletableFuture<O>> futures = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            futures.add(predictAsync(input));
+        }
+        List<O> ret = new ArrayList<>(inputs.size());
+        for (CompletableFuture<O> future : futures) {
+            ret.add(join(future));
+        }
+        return ret;
+    }
+
+    /**
+     * Attaches a Metrics param to use for benchmark.
+     *
+     * <p>The predictor records the "Preprocess", "Postprocess" and "Total" latencies of each item,
+     * and the "Inference" latency and "BatchSize" of each batch.
+     *
+     * @param metrics the Metrics class
+     */
+    public void setMetrics(Metrics metrics) {
+        predictor.setMetrics(metrics);
+    }
+
+    /**
+     * Waits for the pending requests to complete, then closes the wrapped {@link Predictor}.
+     *
+     * <p>Requests submitted after close are completed exceptionally.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        preprocessExecutor.shutdown();
+        awaitTermination(preprocessExecutor);
+        try {
+            forwardThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        postprocessExecutor.shutdown();
+        awaitTermination(postprocessExecutor);
+        predictor.close();
+    }
+
+    private void preprocess(Request<I, O> request) {
+        try {
+            predictor.prepare();
+            request.context = predictor.new PredictorContext();
+            long begin = System.nanoTime();
+            request.ndList = predictor.translator.processInput(request.context, request.input);
+            Metrics metrics = predictor.metrics;
+            if (metrics != null) {
+                Predictor.waitToRead(request.ndList);
+                metrics.addMetric("Preprocess", System.nanoTime() - begin, "nano");
+            }
+            forwardQueue.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.fail(e);
+        } catch (Throwable t) {
+            request.fail(t);
+        }
+    }
+
+    private void runForward() {
+        List<Request<I, O>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !preprocessExecutor.isTerminated() || !forwardQueue.isEmpty()) {
+            try {
+                Request<I, O> first = forwardQueue.poll(10, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(batch);
+                forward(batch);
+            } catch (InterruptedException e) {
+                logger.warn("Forward thread interrupted, pending requests are discarded.");
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        Request<I, O> request;
+        while ((request = forwardQueue.poll()) != null) {
+            request.fail(new IllegalStateException("PipelinedPredictor is closed."));
+        }
+    }
+
+    private void fillBatch(List<Request<I, O>> batch) throws InterruptedException {
+        if (predictor.translator.getBatchifier() == null) {
+            return;
+        }
+        forwardQueue.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + maxBatchDelay;
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Request<I, O> request = forwardQueue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (request == null) {
+                break;
+            }
+            batch.add(request);
+            forwardQueue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void forward(List<Request<I, O>> batch) {
+        List<Request<I, O>> requests = new ArrayList<>(batch);
+        Metrics metrics = predictor.metrics;
+        long begin = System.nanoTime();
+        NDList[] outputs;
+        try {
+            Batchifier batchifier = predictor.translator.getBatchifier();
+            if (batchifier == null) {
+                Request<I, O> request = requests.get(0);
+                outputs = new NDList[] {predictor.forward(request.ndList)};
+            } else {
+                NDList[] inputs = new NDList[requests.size()];
+                for (int i = 0; i < inputs.length; ++i) {
+                    inputs[i] = requests.get(i).ndList;
+                }
+                NDList result = predictor.forward(batchifier.batchify(inputs));
+                outputs = batchifier.unbatchify(result);
+            }
+            if (metrics != null) {
+                for (NDList output : outputs) {
+                    Predictor.waitToRead(output);
+                }
+                metrics.addMetric("Inference", System.nanoTime() - begin, "nano");
+                metrics.addMetric("BatchSize", requests.size(), "count");
+            }
+        } catch (Throwable t) {
+            for (Request<I, O> request : requests) {
+                request.fail(t);
+            }
+            return;
+        }
+        postprocessExecutor.execute(() -> postprocess(requests, outputs));
+    }
+
+    private void postprocess(List<Request<I, O>> requests, NDList[] outputs) {
+        // the arrays of a batch may be attached to any context, all are kept open until the end
+        try {
+            for (int i = 0; i < requests.size(); ++i) {
+                Request<I, O> request = requests.get(i);
+                long begin = System.nanoTime();
+                try {
+                    O output = predictor.translator.processOutput(request.context, outputs[i]);
+                    Metrics metrics = predictor.metrics;
+                    if (metrics != null) {
+                        long end = System.nanoTime();
+                        metrics.addMetric("Postprocess", end - begin, "nano");
+                        metrics.addMetric("Total", end - request.begin, "nano");
+                    }
+                    request.future.complete(output);
+                } catch (Throwable t) {
+                    request.future.completeExceptionally(toTranslateException(t));
+                }
+            }
+        } finally {
+            for (Request<I, O> request : requests) {
+                request.context.close();
+            }
+        }
+    }
+
+    private static void runOnCaller(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor is shut down.");
+        }
+        task.run();
+    }
+
+    private static <O> O join(CompletableFuture<O> future) throws TranslateException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranslateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TranslateException) {
+                throw (TranslateException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new TranslateException(cause);
+        }
+    }
+
+    private static Throwable toTranslateException(Throwable t) {
+        if (t instanceof TranslateException
+                || (t instanceof RuntimeException && !(t instanceof EngineException))) {
+            return t;
+        }
+        return new TranslateException(t);
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.info("Waiting for the pending requests to complete.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** A single request flowing through the pipeline. */
+    private static final class Request<I, O> {
+
+        I input;
+        CompletableFuture<O> future;
+        Predictor<I, O>.PredictorContext context;
+        NDList ndList;
+        long begin;
+
+        Request(I input) {
+            this.input = input;
+            future = new CompletableFuture<>();
+            begin = System.nanoTime();
+        }
+
+        void fail(Throwable t) {
+            if (context != null) {
+                context.close();
+            }
+            future.completeExceptionally(toTranslateException(t));
+        }
+    }
+
+    /** A {@link ThreadFactory} that creates daemon threads for a stage of the pipeline. */
+    private static final class StageThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger POOL_ID = new AtomicInteger();
+
+        private String prefix;
+        private AtomicInteger threadId;
+
+        StageThreadFactory(String stage) {
+            prefix = "pipeline-" + POOL_ID.incrementAndGet() + '-' + stage + '-';
+            threadId = new AtomicInteger();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, prefix + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /** The Builder to construct a {@link PipelinedPredictor}. */
+    public static final class Builder {
+
+        int preprocessThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int postprocessThreads = 1;
+        int maxBatchSize = 1;
+        long maxBatchDelay;
+        int queueSize = 100;
+
+        Builder() {}
+
+        /**
+         * Sets the number of threads running {@link ai.djl.translate.Translator#processInput}.
+         *
+         * @param preprocessThreads the number of preprocessing threads, default is half of the
+         *     available processors
+         * @return this builder
+         */
+        public Builder optPreprocessThreads(int preprocessThreads) {
+            this.preprocessThreads = preprocessThreads;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads running {@link ai.djl.translate.Translator#processOutput}.
+         *
+         * @param postprocessThreads the number of postprocessing threads, default is 1
+         * @return this builder
+         */
+        public Builder optPostprocessThreads(int postprocessThreads) {
+            this.postprocessThreads = postprocessThreads;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests executed by the model in a single batch.
+         *
+         * @param maxBatchSize the maximum batch size, default is 1
+         * @return this builder
+         */
+        public Builder optMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for more requests when a batch is not full.
+         *
+         * @param maxBatchDelay the maximum delay in milliseconds, default is 0, which executes
+         *     whatever requests are ready
+         * @return this builder
+         */
+        public Builder optMaxBatchDelay(long maxBatchDelay) {
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        /**
+         * Sets the capacity of the queue in front of each stage.
+         *
+         * @param queueSize the capacity of the queues, default is 100
+         * @return this builder
+         */
+        public Builder optQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * Builds a {@link PipelinedPredictor} with the specified {@link Predictor}.
+         *
+         * <p>The {@code PipelinedPredictor} takes the ownership of the {@link Predictor}, which is
+         * closed when the {@code PipelinedPredictor} is closed.
+         *
+         * @param predictor the {@link Predictor} to run the stages of
+         * @param <I> the input type
+         * @param <O> the output type
+         * @return a new {@code PipelinedPredictor}
+         */
+        public <I, O> PipelinedPredictor<I, O> build(Predictor<I, O> predictor) {
+            if (preprocessThreads < 1 || postprocessThreads < 1) {
+                throw new IllegalArgumentException("The number of threads must be positive.");
+            }
+            if (maxBatchSize < 1 || queueSize < 1 || maxBatchDelay < 0) {
+                throw new IllegalArgumentException("Invalid batch or queue configuration.");
+            }
+            return new PipelinedPredictor<>(predictor, this);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import ai.djl.translate.Batchifier;
 import ai.djl.translate.TranslateException;
 import ai.djl.translate.Translator;
 import ai.djl.translate.TranslatorContext;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -79,12 +80,12 @@ import org.slf4j.LoggerFactory;
 public class Predictor<I, O> implements AutoCloseable {
 
     private static final Logger logger = LoggerFactory.getLogger(Predictor.class);
-    private Translator<I, O> translator;
+    Translator<I, O> translator;
     private long timestamp;
 
     private boolean prepared;
     private Model model;
-    private NDManager manager;
+    NDManager manager;
     Metrics metrics;
     protected Block block;
     protected ParameterStore parameterStore;
@@ -118,7 +119,7 @@ public class Predictor<I, O> implements AutoCloseable {
         return batchPredict(Collections.singletonList(input)).get(0);
     }
 
-    private NDList predict(NDList ndList) {
+    NDList forward(NDList ndList) {
         logger.trace("Predictor input data: {}", ndList);
         return block.forward(parameterStore, ndList, false);
     }
@@ -134,10 +135,7 @@ public class Predictor<I, O> implements AutoCloseable {
     public List<O> batchPredict(List<I> inputs) throws TranslateException {
         long begin = System.nanoTime();
         try (PredictorContext context = new PredictorContext()) {
-            if (!prepared) {
-                translator.prepare(manager, model);
-                prepared = true;
-            }
+            prepare();
             Batchifier batchifier = translator.getBatchifier();
             if (batchifier == null) {
                 List<O> ret = new ArrayList<>(inputs.size());
@@ -147,7 +145,7 @@ public class Predictor<I, O> implements AutoCloseable {
                     NDList ndList = translator.processInput(context, input);
                     preprocessEnd(ndList);
 
-                    NDList result = predict(ndList);
+                    NDList result = forward(ndList);
                     predictEnd(result);
 
                     ret.add(translator.processOutput(context, result));
@@ -160,7 +158,7 @@ public class Predictor<I, O> implements AutoCloseable {
             NDList inputBatch = processInputs(context, inputs);
             preprocessEnd(inputBatch);
 
-            NDList result = predict(inputBatch);
+            NDList result = forward(inputBatch);
             predictEnd(result);
 
             List<O> ret = processOutputs(context, result);
@@ -178,13 +176,24 @@ public class Predictor<I, O> implements AutoCloseable {
     /**
      * Attaches a Metrics param to use for benchmark.
      *
+     * <p>The predictor records the "Preprocess", "Inference", "Postprocess" and "Total" latencies
+     * in nanoseconds. For long running predictors, consider {@link
+     * Metrics#enableHistogram(String...)} to keep memory usage bounded.
+     *
      * @param metrics the Metrics class
      */
     public void setMetrics(Metrics metrics) {
         this.metrics = metrics;
     }
 
-    private void waitToRead(NDList list) {
+    synchronized void prepare() throws IOException {
+        if (!prepared) {
+            translator.prepare(manager, model);
+            prepared = true;
+        }
+    }
+
+    static void waitToRead(NDList list) {
         for (NDArray array : list) {
             if (array instanceof LazyNDArray) {
                 ((LazyNDArray) array).waitToRead();
@@ -261,7 +270,7 @@ public class Predictor<I, O> implements AutoCloseable {
         super.finalize();
     }
 
-    private class PredictorContext implements TranslatorContext {
+    class PredictorContext implements TranslatorContext {
 
         private NDManager ctxManager;
         private Map<String, Object> attachments;
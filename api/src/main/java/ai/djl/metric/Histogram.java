@@ -0,0 +1,296 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.metric;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded-memory histogram of non-negative {@code long} values, such as latencies in nanoseconds.
+ *
+ * <p>Values are counted in log-linear buckets: values below {@value #SUB_BUCKETS} are counted
+ * exactly, larger values fall into buckets whose width is less than 1/64 of the value, similar to
+ * <a href="http://hdrhistogram.org/">HdrHistogram</a>. Memory usage is constant regardless of the
+ * number of recorded values, and percentiles are computed in O(buckets).
+ *
+ * <p>Recording is lock-free. Each thread records into one of several striped recorders, which are
+ * merged when a {@link Snapshot} is taken. {@link #snapshotAndReset()} starts a new window, which
+ * can be used for periodic scraping.
+ */
+public class Histogram {
+
+    static final int SUB_BUCKETS = 128;
+    private static final int SUB_BITS = 7;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * HALF;
+    private static final int STRIPES = stripes();
+
+    private AtomicReference<Recorder> recorder;
+    private volatile long latest;
+    volatile String unit;
+
+    /** Constructs an empty {@code Histogram}. */
+    public Histogram() {
+        recorder = new AtomicReference<>(new Recorder());
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value the value to record
+     * @throws IllegalArgumentException if the value is negative
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram value must not be negative: " + value);
+        }
+        recorder.get().stripe().record(value);
+        latest = value;
+    }
+
+    /**
+     * Returns the latest recorded value.
+     *
+     * @return the latest recorded value
+     */
+    public long getLatest() {
+        return latest;
+    }
+
+    /**
+     * Returns a {@link Snapshot} of all values recorded since creation or the last {@link
+     * #snapshotAndReset()}.
+     *
+     * @return a {@link Snapshot} of the recorded values
+     */
+    public Snapshot snapshot() {
+        return recorder.get().snapshot();
+    }
+
+    /**
+     * Returns a {@link Snapshot} of all values recorded since creation or the last reset, and
+     * starts a new recording window.
+     *
+     * <p>Values recorded concurrently with the reset may be lost.
+     *
+     * @return a {@link Snapshot} of the recorded values
+     */
+    public Snapshot snapshotAndReset() {
+        return recorder.getAndSet(new Recorder()).snapshot();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        int sub = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF + sub - HALF;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int k = index - SUB_BUCKETS;
+        int shift = k / HALF + 1;
+        long sub = k % HALF + HALF;
+        return sub << shift;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        return lowerBound(index) + (1L << shift) - 1;
+    }
+
+    private static int stripes() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int stripes = Integer.highestOneBit(Math.max(1, cpus - 1)) << 1;
+        return Math.min(stripes, 64);
+    }
+
+    /** The striped counters of one recording window. */
+    private static final class Recorder {
+
+        private AtomicReferenceArray<Stripe> stripes = new AtomicReferenceArray<>(STRIPES);
+
+        Stripe stripe() {
+            int index = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            Stripe stripe = stripes.get(index);
+            if (stripe == null) {
+                stripes.compareAndSet(index, null, new Stripe());
+                stripe = stripes.get(index);
+            }
+            return stripe;
+        }
+
+        Snapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            long count = 0;
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < STRIPES; ++i) {
+                Stripe stripe = stripes.get(i);
+                if (stripe == null) {
+                    continue;
+                }
+                for (int j = 0; j < BUCKETS; ++j) {
+                    long c = stripe.counts.get(j);
+                    counts[j] += c;
+                    count += c;
+                }
+                sum += stripe.sum.get();
+                min = Math.min(min, stripe.min.get());
+                max = Math.max(max, stripe.max.get());
+            }
+            return new Snapshot(counts, count, sum, min, max);
+        }
+    }
+
+    /** A set of counters that is usually written by a single thread. */
+    private static final class Stripe {
+
+        AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+        void record(long value) {
+            counts.incrementAndGet(bucketIndex(value));
+            sum.addAndGet(value);
+            long current = min.get();
+            while (value < current && !min.compareAndSet(current, value)) {
+                current = min.get();
+            }
+            current = max.get();
+            while (value > current && !max.compareAndSet(current, value)) {
+                current = max.get();
+            }
+        }
+    }
+
+    /** An immutable view of the values recorded by a {@link Histogram}. */
+    public static final class Snapshot {
+
+        private long[] counts;
+        private long count;
+        private long sum;
+        private long min;
+        private long max;
+
+        Snapshot(long[] counts, long count, long sum, long min, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * Returns the number of recorded values.
+         *
+         * @return the number of recorded values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of the recorded values.
+         *
+         * @return the sum of the recorded values
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Returns the smallest recorded value, or 0 if no value was recorded.
+         *
+         * @return the smallest recorded value
+         */
+        public long getMin() {
+            return count == 0 ? 0 : min;
+        }
+
+        /**
+         * Returns the largest recorded value, or 0 if no value was recorded.
+         *
+         * @return the largest recorded value
+         */
+        public long getMax() {
+            return count == 0 ? 0 : max;
+        }
+
+        /**
+         * Returns the average of the recorded values.
+         *
+         * @return the average of the recorded values
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Returns the approximate value at the specified percentile.
+         *
+         * <p>The result is within 1% of the exact value the sorted time series would return.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the approximate value at the specified percentile, or 0 if no value was recorded
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.min((long) (count * percentile / 100), count - 1);
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i) {
+                seen += counts[i];
+                if (seen > rank) {
+                    long lower = lowerBound(i);
+                    long mid = lower + (upperBound(i) - lower) / 2;
+                    return Math.max(min, Math.min(max, mid));
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Returns the number of recorded values less than or equal to the specified value.
+         *
+         * <p>Values sharing a bucket with {@code value} are counted as well, which makes this
+         * suitable for exporting cumulative histogram buckets.
+         *
+         * @param value the upper bound
+         * @return the number of recorded values less than or equal to the specified value
+         */
+        public long getCountAtOrBelow(long value) {
+            if (value < 0) {
+                return 0;
+            }
+            int last = bucketIndex(value);
+            long total = 0;
+            for (int i = 0; i <= last; ++i) {
+                total += counts[i];
+            }
+            return total;
+        }
+    }
+}
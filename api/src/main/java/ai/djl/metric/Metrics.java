@@ -16,6 +16,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,6 +36,10 @@ import java.util.stream.Collectors;
  * performance indicators (KPIs) during inference and training runs. These KPIs include various
  * latencies, CPU and GPU memory consumption, losses, etc.
  *
+ * <p>Metrics that are recorded at high frequency, such as per request latencies, can be switched to
+ * a bounded-memory {@link Histogram} with {@link #enableHistogram(String...)}. Only aggregated
+ * information is kept for those metrics.
+ *
  * <p>For more details about using the metrics, see the <a
  * href="https://github.com/awslabs/djl/blob/master/docs/how_to_collect_metrics.md">metrics
  * tutorial</a>.
@@ -44,10 +49,41 @@ public class Metrics {
     private static final MetricValueComparator VALUE_COMPARATOR = new MetricValueComparator();
 
     private Map<String, List<Metric>> metrics;
+    private Map<String, Histogram> histograms;
 
     /** Constructs an empty {@code Metrics} instance. */
     public Metrics() {
         metrics = new ConcurrentHashMap<>();
+        histograms = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records the metrics with the specified names into a {@link Histogram} instead of a time
+     * series.
+     *
+     * <p>Histogram-backed metrics use constant memory and answer {@link #percentile(String, int)}
+     * and {@link #mean(String)} in O(buckets), but {@link #getMetric(String)} doesn't return their
+     * individual values. Values are recorded as {@code long}, fractional values are rounded.
+     *
+     * @param metricNames the names of the metrics
+     */
+    public void enableHistogram(String... metricNames) {
+        for (String name : metricNames) {
+            histograms.computeIfAbsent(name, k -> new Histogram());
+        }
+    }
+
+    /**
+     * Returns the {@link Histogram} of the specified metric name, or {@code null} if the metric
+     * isn't histogram-backed.
+     *
+     * <p>Use {@link Histogram#snapshotAndReset()} to scrape the metric periodically.
+     *
+     * @param name the name of the metric
+     * @return the {@link Histogram} of the specified metric name
+     */
+    public Histogram getHistogram(String name) {
+        return histograms.get(name);
     }
 
     /**
@@ -56,6 +92,11 @@ public class Metrics {
      * @param metric the {@link Metric} to be added
      */
     public void addMetric(Metric metric) {
+        Histogram histogram = histograms.get(metric.getMetricName());
+        if (histogram != null) {
+            record(histogram, metric.getValue(), metric.getUnit());
+            return;
+        }
         List<Metric> list =
                 metrics.computeIfAbsent(
                         metric.getMetricName(),
@@ -70,7 +111,7 @@ public class Metrics {
      * @param value the metric value
      */
     public void addMetric(String name, Number value) {
-        addMetric(new Metric(name, value));
+        addMetric(name, value, "count");
     }
 
     /**
@@ -81,6 +122,11 @@ public class Metrics {
      * @param unit the metric unit
      */
     public void addMetric(String name, Number value, String unit) {
+        Histogram histogram = histograms.get(name);
+        if (histogram != null) {
+            record(histogram, value, unit);
+            return;
+        }
         addMetric(new Metric(name, value, unit));
     }
 
@@ -91,12 +137,18 @@ public class Metrics {
      * @return {@code true} if the metrics object has a metric with the given name
      */
     public boolean hasMetric(String name) {
-        return metrics.containsKey(name);
+        if (metrics.containsKey(name)) {
+            return true;
+        }
+        Histogram histogram = histograms.get(name);
+        return histogram != null && histogram.unit != null;
     }
 
     /**
      * Returns all {@link Metric}s with the specified metric name.
      *
+     * <p>Histogram-backed metrics don't keep individual values, an empty list is returned for them.
+     *
      * @param name the name of the metric
      * @return a list of {@link Metric} with the specified metric name
      */
@@ -114,7 +166,16 @@ public class Metrics {
      * @return a set of {@link String} metric names
      */
     public Set<String> getMetricNames() {
-        return metrics.keySet();
+        if (histograms.isEmpty()) {
+            return metrics.keySet();
+        }
+        Set<String> names = new HashSet<>(metrics.keySet());
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            if (entry.getValue().unit != null) {
+                names.add(entry.getKey());
+            }
+        }
+        return names;
     }
 
     /**
@@ -125,6 +186,10 @@ public class Metrics {
      * @throws IllegalArgumentException if the given name is not found
      */
     public Metric latestMetric(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram != null && histogram.unit != null) {
+            return new Metric(name, histogram.getLatest(), histogram.unit);
+        }
         List<Metric> list = metrics.get(name);
         if (list == null || list.isEmpty()) {
             throw new IllegalArgumentException("Could not find metric: " + name);
@@ -140,6 +205,11 @@ public class Metrics {
      * @return the {@link Metric} object at specified {@code percentile}
      */
     public Metric percentile(String metricName, int percentile) {
+        Histogram histogram = histograms.get(metricName);
+        if (histogram != null && histogram.unit != null) {
+            long value = histogram.snapshot().getPercentile(percentile);
+            return new Metric(metricName, value, histogram.unit);
+        }
         List<Metric> metric = metrics.get(metricName);
         if (metric == null || metrics.isEmpty()) {
             throw new IllegalArgumentException("Metric name not found: " + metricName);
@@ -158,6 +228,10 @@ public class Metrics {
      * @return the average value of the specified metric
      */
     public double mean(String metricName) {
+        Histogram histogram = histograms.get(metricName);
+        if (histogram != null && histogram.unit != null) {
+            return histogram.snapshot().getMean();
+        }
         List<Metric> metric = metrics.get(metricName);
         if (metric == null || metrics.isEmpty()) {
             throw new IllegalArgumentException("Metric name not found: " + metricName);
@@ -166,6 +240,17 @@ public class Metrics {
         return metric.stream().collect(Collectors.averagingDouble(m -> m.getValue().doubleValue()));
     }
 
+    private static void record(Histogram histogram, Number value, String unit) {
+        if (value instanceof Double || value instanceof Float) {
+            histogram.record(Math.round(value.doubleValue()));
+        } else {
+            histogram.record(value.longValue());
+        }
+        if (histogram.unit == null) {
+            histogram.unit = unit;
+        }
+    }
+
     /** Comparator based on {@code Metric}'s value field. */
     private static final class MetricValueComparator implements Comparator<Metric>, Serializable {
 
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality;
+
+import ai.djl.util.PairList;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * An {@link Input} that holds its data in {@link ByteBuffer}s instead of byte arrays.
+ *
+ * <p>The buffers are usually views of memory owned by someone else, for example a pooled network
+ * buffer. Translators that are aware of {@code BufferedInput} can read the data through {@link
+ * #getBuffer(String)} without copying. {@link #getContent()} still works for other translators, the
+ * buffers are copied into byte arrays the first time it is called.
+ *
+ * <p>The buffers must not be used after {@link #close()}, which returns the underlying memory to
+ * its owner.
+ */
+public class BufferedInput extends Input implements AutoCloseable {
+
+    private PairList<String, ByteBuffer> buffers;
+    private AtomicReference<Runnable> releaser;
+    private boolean copied;
+
+    /**
+     * Constructs a {@code BufferedInput} with specified {@code requestId}.
+     *
+     * @param requestId the requestId of the input
+     * @param releaser the action that releases the memory of the buffers, can be null
+     */
+    public BufferedInput(String requestId, Runnable releaser) {
+        super(requestId);
+        buffers = new PairList<>();
+        this.releaser = new AtomicReference<>(releaser);
+    }
+
+    /**
+     * Adds a key/value pair to the input buffers.
+     *
+     * @param key key with which the specified data is to be added
+     * @param data data to be added with the specified key
+     */
+    public synchronized void addBuffer(String key, ByteBuffer data) {
+        buffers.add(key, data);
+        if (copied) {
+            super.getContent().add(key, toBytes(data));
+        }
+    }
+
+    /**
+     * Returns a view of the buffer to which the specified key is mapped.
+     *
+     * <p>The returned buffer has its own position and limit, but shares the content with the input.
+     *
+     * @param key the key whose associated buffer is to be returned
+     * @return a view of the buffer, or {@code null} if the key is not found
+     */
+    public synchronized ByteBuffer getBuffer(String key) {
+        ByteBuffer data = buffers.get(key);
+        return data == null ? null : data.duplicate();
+    }
+
+    /**
+     * Returns a snapshot of the buffers of the input.
+     *
+     * <p>Like {@link #getBuffer(String)}, each returned buffer is a view that shares the content
+     * with the input. Buffers added later are not in the returned list.
+     *
+     * @return a snapshot of the buffers of the input
+     */
+    public synchronized PairList<String, ByteBuffer> getBuffers() {
+        PairList<String, ByteBuffer> list = new PairList<>(buffers.size());
+        for (int i = 0; i < buffers.size(); ++i) {
+            list.add(buffers.keyAt(i), buffers.valueAt(i).duplicate());
+        }
+        return list;
+    }
+
+    /**
+     * Returns the content of the input, including a copy of all the buffers.
+     *
+     * @return the content of the input
+     */
+    @Override
+    public synchronized PairList<String, byte[]> getContent() {
+        PairList<String, byte[]> content = super.getContent();
+        if (!copied) {
+            copied = true;
+            if (content == null) {
+                content = new PairList<>();
+                setContent(content);
+            }
+            for (int i = 0; i < buffers.size(); ++i) {
+                content.add(buffers.keyAt(i), toBytes(buffers.valueAt(i)));
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Returns the data to which the specified key is mapped.
+     *
+     * <p>Only the requested buffer is copied, the other buffers are left untouched.
+     *
+     * @param key the key whose associated data is to be returned
+     * @return the data to which the specified key is mapped, or {@code null} if the key is not
+     *     found
+     */
+    @Override
+    public synchronized byte[] getData(String key) {
+        byte[] data = super.getData(key);
+        if (data == null && !copied) {
+            ByteBuffer bb = buffers.get(key);
+            if (bb != null) {
+                data = toBytes(bb);
+            }
+        }
+        return data;
+    }
+
+    /** Releases the memory of the buffers. Calling this method more than once has no effect. */
+    @Override
+    public void close() {
+        Runnable action = releaser.getAndSet(null);
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    private static byte[] toBytes(ByteBuffer data) {
+        ByteBuffer bb = data.duplicate();
+        byte[] buf = new byte[bb.remaining()];
+        bb.get(buf);
+        return buf;
+    }
+}
@@ -20,17 +20,21 @@ import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import java.io.Serializable;
 import java.lang.reflect.Type;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
 
 /**
  * {@code Classifications} is the container that stores the classification results for
  * classification on a single input.
+ *
+ * <p>When it is created from an {@link NDArray} or a {@code float[]}, the probabilities are kept as
+ * primitives, and a {@link Classification} is only created for the classes that are returned, such
+ * as the best classes of {@link #topK(int)}.
  */
 public class Classifications implements JsonSerializable {
 
@@ -64,10 +68,25 @@ public class Classifications implements JsonSerializable {
      */
     public Classifications(List<String> classNames, NDArray probabilities) {
         this.classNames = classNames;
-        NDArray array = probabilities.toType(DataType.FLOAT64, false);
-        this.probabilities =
-                Arrays.stream(array.toDoubleArray()).boxed().collect(Collectors.toList());
-        array.close();
+        if (probabilities.getDataType() == DataType.FLOAT32) {
+            this.probabilities = new FloatList(probabilities.toFloatArray());
+        } else {
+            try (NDArray array = probabilities.toType(DataType.FLOAT32, false)) {
+                this.probabilities = new FloatList(array.toFloatArray());
+            }
+        }
+    }
+
+    /**
+     * Constructs a {@code Classifications} using list of classNames parallel to an array of
+     * probabilities.
+     *
+     * @param classNames the names of the classes
+     * @param probabilities the probabilities for each class for the input
+     */
+    public Classifications(List<String> classNames, float[] probabilities) {
+        this.classNames = classNames;
+        this.probabilities = new FloatList(probabilities);
     }
 
     /**
@@ -105,10 +124,33 @@ public class Classifications implements JsonSerializable {
      * @return the list of classification items for the best classes in order of best to worst
      */
     public <T extends Classification> List<T> topK(int k) {
-        List<T> items = items();
-        items.sort(Comparator.comparingDouble(Classification::getProbability).reversed());
-        int count = Math.min(items.size(), k);
-        return items.subList(0, count);
+        int size = probabilities.size();
+        int count = Math.max(0, Math.min(size, k));
+        if (count == 0) {
+            return new ArrayList<>();
+        }
+        // a heap of the best classes so far, with the worst of them at the root
+        int[] heap = new int[count];
+        for (int i = 0; i < size; ++i) {
+            if (i < count) {
+                heap[i] = i;
+                siftUp(heap, i);
+            } else if (isBetter(i, heap[0])) {
+                heap[0] = i;
+                siftDown(heap, 0, count);
+            }
+        }
+        int[] sorted = new int[count];
+        for (int n = count - 1; n >= 0; --n) {
+            sorted[n] = heap[0];
+            heap[0] = heap[n];
+            siftDown(heap, 0, n);
+        }
+        List<T> list = new ArrayList<>(count);
+        for (int index : sorted) {
+            list.add(item(index));
+        }
+        return list;
     }
 
     /**
@@ -118,7 +160,17 @@ public class Classifications implements JsonSerializable {
      * @return the classification item
      */
     public <T extends Classification> T best() {
-        return item(probabilities.indexOf(Collections.max(probabilities)));
+        int size = probabilities.size();
+        if (size == 0) {
+            throw new NoSuchElementException("No classes in the classifications");
+        }
+        int best = 0;
+        for (int i = 1; i < size; ++i) {
+            if (isBetter(i, best)) {
+                best = i;
+            }
+        }
+        return item(best);
     }
 
     /**
@@ -138,6 +190,50 @@ public class Classifications implements JsonSerializable {
         return null;
     }
 
+    private double getProbability(int index) {
+        if (probabilities instanceof FloatList) {
+            return ((FloatList) probabilities).values[index];
+        }
+        return probabilities.get(index);
+    }
+
+    /** Returns whether class {@code a} ranks before class {@code b}, like a stable sort. */
+    private boolean isBetter(int a, int b) {
+        int cmp = Double.compare(getProbability(a), getProbability(b));
+        return cmp > 0 || (cmp == 0 && a < b);
+    }
+
+    private void siftUp(int[] heap, int pos) {
+        int index = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!isBetter(heap[parent], index)) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = index;
+    }
+
+    private void siftDown(int[] heap, int pos, int size) {
+        int index = heap[pos];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && isBetter(heap[child], heap[right])) {
+                child = right;
+            }
+            if (!isBetter(index, heap[child])) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = index;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String toJson() {
@@ -207,6 +303,31 @@ public class Classifications implements JsonSerializable {
         }
     }
 
+    /** A read-only list view of primitive probabilities, boxed on access. */
+    private static final class FloatList extends AbstractList<Double>
+            implements RandomAccess, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        float[] values;
+
+        FloatList(float[] values) {
+            this.values = values;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Double get(int index) {
+            return (double) values[index];
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
     /** A customized Gson serializer to serialize the {@code Classifications} object. */
     public static final class ClassificationsSerializer implements JsonSerializer<Classifications> {
 
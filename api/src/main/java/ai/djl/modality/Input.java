@@ -105,6 +105,20 @@ public class Input {
         this.content = content;
     }
 
+    /**
+     * Returns the data to which the specified key is mapped.
+     *
+     * @param key the key whose associated data is to be returned
+     * @return the data to which the specified key is mapped, or {@code null} if the key is not
+     *     found
+     */
+    public byte[] getData(String key) {
+        if (content == null) {
+            return null;
+        }
+        return content.get(key);
+    }
+
     /**
      * Appends an item at the end of the input.
      *
@@ -21,6 +21,7 @@ import ai.djl.modality.cv.output.Point;
 import ai.djl.modality.cv.output.Rectangle;
 import ai.djl.modality.cv.util.NDImageUtils;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrayPool;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
@@ -31,19 +32,37 @@ import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 
-/** {@code BufferedImageFactory} is the default implementation of {@link ImageFactory}. */
+/**
+ * {@code BufferedImageFactory} is the default implementation of {@link ImageFactory}.
+ *
+ * <p>Images with at least {@code 512 * 512} pixels are converted to {@link NDArray}s in bands of
+ * rows on the common fork join pool. The threshold can be changed with the {@code
+ * ai.djl.image.parallel_threshold} system property, a value of zero or less converts all the images
+ * on the calling thread.
+ */
 public class BufferedImageFactory extends ImageFactory {
 
+    private static final int PARALLEL_THRESHOLD = 512 * 512;
+
     static {
         if (System.getProperty("apple.awt.UIElement") == null) {
             // disables coffee cup image showing up on macOS
@@ -146,6 +165,165 @@ public class BufferedImageFactory extends ImageFactory {
         ImageIO.write(image, type, os);
     }
 
+    /**
+     * Runs the task on bands of rows, in parallel for images with at least {@code
+     * ai.djl.image.parallel_threshold} pixels.
+     *
+     * @param width the width of the image
+     * @param height the height of the image
+     * @param task the task to run on each band of rows
+     */
+    static void forEachBand(int width, int height, RowTask task) {
+        int bands = 1;
+        int threshold =
+                Integer.getInteger("ai.djl.image.parallel_threshold", PARALLEL_THRESHOLD);
+        if (threshold > 0 && (long) width * height >= threshold) {
+            bands = Math.min(height, Runtime.getRuntime().availableProcessors());
+        }
+        if (bands == 1) {
+            task.run(0, height);
+            return;
+        }
+        int numBands = bands;
+        IntStream.range(0, numBands)
+                .parallel()
+                .forEach(i -> task.run(height * i / numBands, height * (i + 1) / numBands));
+    }
+
+    private static float[][] getNormalizationTable(int channel, float[] mean, float[] std) {
+        if ((mean != null && mean.length != channel) || (std != null && std.length != channel)) {
+            throw new IllegalArgumentException(
+                    "The mean and std must have one value for each of the "
+                            + channel
+                            + " channels");
+        }
+        float[][] lut = new float[channel][256];
+        for (int c = 0; c < channel; ++c) {
+            float m = mean == null ? 0f : mean[c];
+            float s = std == null ? 1f : std[c];
+            for (int v = 0; v < 256; ++v) {
+                lut[c][v] = (v / 255f - m) / s;
+            }
+        }
+        return lut;
+    }
+
+    /** A task that processes a band of rows of an image. */
+    interface RowTask {
+
+        /**
+         * Processes the rows from {@code from} inclusive to {@code to} exclusive.
+         *
+         * @param from the first row
+         * @param to the end row, exclusive
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Reads the pixels of a {@link BufferedImage} row by row as RGB values.
+     *
+     * <p>For the common image types, the pixels are read directly from the data buffer of the
+     * raster, instead of converting each pixel to the default RGB color model with {@link
+     * BufferedImage#getRGB(int, int)}. The other types fall back to {@link
+     * BufferedImage#getRGB(int, int, int, int, int[], int, int)}.
+     *
+     * <p>The samples of {@link BufferedImage#TYPE_BYTE_GRAY} images are read as they are stored in
+     * the raster, without the conversion of {@code getRGB} from linear gray to sRGB.
+     */
+    static final class PixelReader {
+
+        private BufferedImage image;
+        private byte[] bytes;
+        private int[] ints;
+        private int offset;
+        private int scanlineStride;
+        private int pixelStride;
+        private int redOffset;
+        private int greenOffset;
+        private int blueOffset;
+
+        PixelReader(BufferedImage image) {
+            this.image = image;
+            WritableRaster raster = image.getRaster();
+            DataBuffer buffer = raster.getDataBuffer();
+            SampleModel model = raster.getSampleModel();
+            // a sub image shares the data buffer of its parent with a translated sample model
+            int x = -raster.getSampleModelTranslateX();
+            int y = -raster.getSampleModelTranslateY();
+            switch (image.getType()) {
+                case BufferedImage.TYPE_3BYTE_BGR:
+                case BufferedImage.TYPE_4BYTE_ABGR:
+                case BufferedImage.TYPE_BYTE_GRAY:
+                    if (buffer instanceof DataBufferByte
+                            && buffer.getNumBanks() == 1
+                            && model instanceof ComponentSampleModel) {
+                        ComponentSampleModel sm = (ComponentSampleModel) model;
+                        int[] bands = sm.getBandOffsets();
+                        bytes = ((DataBufferByte) buffer).getData();
+                        scanlineStride = sm.getScanlineStride();
+                        pixelStride = sm.getPixelStride();
+                        offset = buffer.getOffset() + y * scanlineStride + x * pixelStride;
+                        redOffset = bands[0];
+                        greenOffset = bands.length > 2 ? bands[1] : bands[0];
+                        blueOffset = bands.length > 2 ? bands[2] : bands[0];
+                    }
+                    break;
+                case BufferedImage.TYPE_INT_RGB:
+                case BufferedImage.TYPE_INT_ARGB:
+                    if (buffer instanceof DataBufferInt
+                            && buffer.getNumBanks() == 1
+                            && model instanceof SinglePixelPackedSampleModel) {
+                        SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel) model;
+                        ints = ((DataBufferInt) buffer).getData();
+                        scanlineStride = sm.getScanlineStride();
+                        offset = buffer.getOffset() + y * scanlineStride + x;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Reads a row of pixels.
+         *
+         * <p>The values are in the range {@code [0, 255]}. For a grayscale image, the raw sample is
+         * set to the three channels.
+         *
+         * @param y the index of the row
+         * @param red the array to read the red values of the row into
+         * @param green the array to read the green values of the row into
+         * @param blue the array to read the blue values of the row into
+         */
+        void readRow(int y, int[] red, int[] green, int[] blue) {
+            int width = red.length;
+            int pos = offset + y * scanlineStride;
+            if (bytes != null) {
+                for (int x = 0; x < width; ++x) {
+                    red[x] = bytes[pos + redOffset] & 0xFF;
+                    green[x] = bytes[pos + greenOffset] & 0xFF;
+                    blue[x] = bytes[pos + blueOffset] & 0xFF;
+                    pos += pixelStride;
+                }
+                return;
+            }
+            int[] pixels;
+            if (ints != null) {
+                pixels = ints;
+            } else {
+                pixels = image.getRGB(0, y, width, 1, null, 0, width);
+                pos = 0;
+            }
+            for (int x = 0; x < width; ++x) {
+                int rgb = pixels[pos + x];
+                red[x] = (rgb >> 16) & 0xFF;
+                green[x] = (rgb >> 8) & 0xFF;
+                blue[x] = rgb & 0xFF;
+            }
+        }
+    }
+
     private class BufferedImageWrapper implements Image {
 
         private final BufferedImage image;
@@ -201,38 +379,109 @@ public class BufferedImageFactory extends ImageFactory {
                 channel = 3;
             }
 
-            ByteBuffer bb = manager.allocateDirect(channel * height * width);
-            if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
-                int[] data = new int[width * height];
-                image.getData().getPixels(0, 0, width, height, data);
-                for (int gray : data) {
-                    byte b = (byte) gray;
-                    bb.put(b);
-                    if (flag != Flag.GRAYSCALE) {
-                        bb.put(b);
-                        bb.put(b);
-                    }
-                }
+            int size = channel * height * width;
+            NDArrayPool pool = manager.getPool();
+            ByteBuffer bb;
+            if (pool == null) {
+                bb = manager.allocateDirect(size);
             } else {
-                // get an array of integer pixels in the default RGB color mode
-                int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
-                for (int rgb : pixels) {
-                    int red = (rgb >> 16) & 0xFF;
-                    int green = (rgb >> 8) & 0xFF;
-                    int blue = rgb & 0xFF;
-
-                    if (flag == Flag.GRAYSCALE) {
-                        int gray = (red + green + blue) / 3;
-                        bb.put((byte) gray);
-                    } else {
-                        bb.put((byte) red);
-                        bb.put((byte) green);
-                        bb.put((byte) blue);
-                    }
-                }
+                bb = pool.acquireBuffer(manager, size);
             }
+            PixelReader reader = new PixelReader(image);
+            forEachBand(
+                    width,
+                    height,
+                    (from, to) -> {
+                        int[] red = new int[width];
+                        int[] green = new int[width];
+                        int[] blue = new int[width];
+                        byte[] row = new byte[width * channel];
+                        ByteBuffer dst = bb.duplicate();
+                        dst.position(from * width * channel);
+                        for (int y = from; y < to; ++y) {
+                            reader.readRow(y, red, green, blue);
+                            if (channel == 1) {
+                                for (int x = 0; x < width; ++x) {
+                                    row[x] = (byte) ((red[x] + green[x] + blue[x]) / 3);
+                                }
+                            } else {
+                                for (int x = 0, i = 0; x < width; ++x) {
+                                    row[i++] = (byte) red[x];
+                                    row[i++] = (byte) green[x];
+                                    row[i++] = (byte) blue[x];
+                                }
+                            }
+                            dst.put(row);
+                        }
+                    });
             bb.rewind();
-            return manager.create(bb, new Shape(height, width, channel), DataType.UINT8);
+            Shape shape = new Shape(height, width, channel);
+            if (pool != null) {
+                NDArray array = pool.create(manager, bb, shape, DataType.UINT8);
+                pool.bind(manager, bb, array);
+                return array;
+            }
+            return manager.create(bb, shape, DataType.UINT8);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDArray toTensor(NDManager manager, Flag flag, float[] mean, float[] std) {
+            int width = image.getWidth();
+            int height = image.getHeight();
+            int channel = flag == Flag.GRAYSCALE ? 1 : 3;
+            float[][] lut = getNormalizationTable(channel, mean, std);
+
+            int area = height * width;
+            int size = channel * area * 4;
+            NDArrayPool pool = manager.getPool();
+            ByteBuffer bb;
+            if (pool == null) {
+                bb = manager.allocateDirect(size).order(ByteOrder.nativeOrder());
+            } else {
+                bb = pool.acquireBuffer(manager, size);
+            }
+            PixelReader reader = new PixelReader(image);
+            forEachBand(
+                    width,
+                    height,
+                    (from, to) -> {
+                        int[] red = new int[width];
+                        int[] green = new int[width];
+                        int[] blue = new int[width];
+                        float[] row = new float[width];
+                        FloatBuffer dst = bb.asFloatBuffer();
+                        for (int y = from; y < to; ++y) {
+                            reader.readRow(y, red, green, blue);
+                            if (channel == 1) {
+                                float[] table = lut[0];
+                                for (int x = 0; x < width; ++x) {
+                                    row[x] = table[(red[x] + green[x] + blue[x]) / 3];
+                                }
+                                dst.position(y * width);
+                                dst.put(row);
+                            } else {
+                                int[][] planes = {red, green, blue};
+                                for (int c = 0; c < 3; ++c) {
+                                    float[] table = lut[c];
+                                    int[] plane = planes[c];
+                                    for (int x = 0; x < width; ++x) {
+                                        row[x] = table[plane[x]];
+                                    }
+                                    dst.position(c * area + y * width);
+                                    dst.put(row);
+                                }
+                            }
+                        }
+                    });
+            bb.rewind();
+            Shape shape = new Shape(channel, height, width);
+            if (pool != null) {
+                NDArray array = pool.create(manager, bb, shape, DataType.FLOAT32);
+                pool.bind(manager, bb, array);
+                return array;
+            }
+            return manager.create(bb, shape, DataType.FLOAT32);
         }
 
         /** {@inheritDoc} */
@@ -16,6 +16,8 @@ import ai.djl.modality.cv.output.DetectedObjects;
 import ai.djl.modality.cv.output.Joints;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
 import java.io.IOException;
 import java.io.OutputStream;
 
@@ -84,6 +86,40 @@ public interface Image {
      */
     NDArray toNDArray(NDManager manager, Flag flag);
 
+    /**
+     * Converts image to a normalized {@link DataType#FLOAT32} {@link NDArray} of shape CHW.
+     *
+     * <p>The values are scaled to the range {@code [0, 1]}, then each channel is normalized with
+     * {@code (value - mean) / std}. This gives the same result as {@link #toNDArray(NDManager,
+     * Flag)} followed by {@link ai.djl.modality.cv.util.NDImageUtils#toTensor(NDArray)} and {@link
+     * ai.djl.modality.cv.util.NDImageUtils#normalize(NDArray, float[], float[])}, but
+     * implementations can convert the pixels in a single pass.
+     *
+     * @param manager a {@link NDManager} to create the new NDArray with
+     * @param flag the color mode
+     * @param mean the mean of each channel, or {@code null} for 0
+     * @param std the standard deviation of each channel, or {@code null} for 1
+     * @return {@link NDArray}
+     */
+    default NDArray toTensor(NDManager manager, Flag flag, float[] mean, float[] std) {
+        try (NDArray array = toNDArray(manager, flag);
+                NDArray chw = array.transpose(2, 0, 1)) {
+            NDArray tensor = chw.toType(DataType.FLOAT32, true).divi(255f);
+            Shape shape = new Shape(chw.getShape().get(0), 1, 1);
+            if (mean != null) {
+                try (NDArray m = manager.create(mean, shape)) {
+                    tensor.subi(m);
+                }
+            }
+            if (std != null) {
+                try (NDArray s = manager.create(std, shape)) {
+                    tensor.divi(s);
+                }
+            }
+            return tensor;
+        }
+    }
+
     /**
      * Save the image to file.
      *
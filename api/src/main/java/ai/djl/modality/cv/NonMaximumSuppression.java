@@ -0,0 +1,372 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv;
+
+import java.util.Arrays;
+
+/**
+ * {@code NonMaximumSuppression} removes the detections that overlap a detection with a higher
+ * score.
+ *
+ * <p>It works on primitive arrays of boxes and scores, such as the candidates decoded from the
+ * output of a detection model, without creating an object per candidate. The candidates are sorted
+ * once by score, and all the classes are suppressed in the same pass, a box only suppressing the
+ * boxes of the same class unless the suppression is class agnostic.
+ *
+ * <p>With {@link Builder#optSoftNms(float) soft-NMS}, the scores of the overlapping boxes are
+ * decayed instead of being removed. For a large number of candidates, the boxes are bucketed in a
+ * grid, so that each kept box is only compared with the boxes of the cells it overlaps.
+ */
+public final class NonMaximumSuppression {
+
+    private float iouThreshold;
+    private float scoreThreshold;
+    private int maxDetections;
+    private boolean classAgnostic;
+    private float softNmsSigma;
+    private int gridThreshold;
+
+    NonMaximumSuppression(Builder builder) {
+        iouThreshold = builder.iouThreshold;
+        scoreThreshold = builder.scoreThreshold;
+        maxDetections = builder.maxDetections;
+        classAgnostic = builder.classAgnostic;
+        softNmsSigma = builder.softNmsSigma;
+        gridThreshold = builder.gridThreshold;
+    }
+
+    /**
+     * Creates a builder to build a {@code NonMaximumSuppression}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Selects the boxes to keep.
+     *
+     * <p>With soft-NMS, the decayed scores are written back to {@code scores}.
+     *
+     * @param boxes the corners {@code [x_min, y_min, x_max, y_max]} of each box, in a flat array
+     * @param scores the score of each box
+     * @param classIds the class of each box, or {@code null} if all the boxes have the same class
+     * @return the indices of the kept boxes, from the highest to the lowest score
+     */
+    public int[] apply(float[] boxes, float[] scores, int[] classIds) {
+        int size = scores.length;
+        if (boxes.length < size * 4) {
+            throw new IllegalArgumentException("Expected 4 coordinates for each of " + size);
+        }
+        int[] order = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; ++i) {
+            if (scores[i] >= scoreThreshold) {
+                order[count++] = i;
+            }
+        }
+        if (softNmsSigma > 0) {
+            return softNms(boxes, scores, classIds, order, count);
+        }
+        sortByScore(order, count, scores);
+        int limit = maxDetections > 0 ? Math.min(maxDetections, count) : count;
+        if (count > gridThreshold) {
+            int[] keep = gridNms(boxes, classIds, order, count, limit);
+            if (keep != null) {
+                return keep;
+            }
+        }
+        return greedyNms(boxes, classIds, order, count, limit);
+    }
+
+    private int[] greedyNms(float[] boxes, int[] classIds, int[] order, int count, int limit) {
+        boolean[] suppressed = new boolean[count];
+        int[] keep = new int[limit];
+        int kept = 0;
+        for (int i = 0; i < count && kept < limit; ++i) {
+            if (suppressed[i]) {
+                continue;
+            }
+            int a = order[i];
+            keep[kept++] = a;
+            for (int j = i + 1; j < count; ++j) {
+                if (!suppressed[j]
+                        && sameClass(classIds, a, order[j])
+                        && iou(boxes, a, order[j]) > iouThreshold) {
+                    suppressed[j] = true;
+                }
+            }
+        }
+        return Arrays.copyOf(keep, kept);
+    }
+
+    /** Returns {@code null} if the boxes are too large to be bucketed efficiently. */
+    private int[] gridNms(float[] boxes, int[] classIds, int[] order, int count, int limit) {
+        // the grid covers all the boxes, with about 4 boxes per cell
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < count; ++i) {
+            int base = order[i] * 4;
+            minX = Math.min(minX, boxes[base]);
+            minY = Math.min(minY, boxes[base + 1]);
+            maxX = Math.max(maxX, boxes[base + 2]);
+            maxY = Math.max(maxY, boxes[base + 3]);
+        }
+        int side = Math.max(1, (int) Math.sqrt(count / 4.0));
+        float cellWidth = Math.max((maxX - minX) / side, Float.MIN_NORMAL);
+        float cellHeight = Math.max((maxY - minY) / side, Float.MIN_NORMAL);
+
+        // the cells of each box, and the boxes (by rank) of each cell in compressed rows
+        int[] cells = new int[count * 4];
+        int[] cellStart = new int[side * side + 1];
+        long total = 0;
+        for (int i = 0; i < count; ++i) {
+            int base = order[i] * 4;
+            int x0 = cell(boxes[base], minX, cellWidth, side);
+            int y0 = cell(boxes[base + 1], minY, cellHeight, side);
+            int x1 = cell(boxes[base + 2], minX, cellWidth, side);
+            int y1 = cell(boxes[base + 3], minY, cellHeight, side);
+            cells[i * 4] = x0;
+            cells[i * 4 + 1] = y0;
+            cells[i * 4 + 2] = x1;
+            cells[i * 4 + 3] = y1;
+            total += (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+            if (total > count * 16L) {
+                // too many large boxes for the grid to help
+                return null;
+            }
+            for (int y = y0; y <= y1; ++y) {
+                for (int x = x0; x <= x1; ++x) {
+                    ++cellStart[y * side + x + 1];
+                }
+            }
+        }
+        for (int c = 0; c < side * side; ++c) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] cellRanks = new int[cellStart[side * side]];
+        int[] fill = Arrays.copyOf(cellStart, side * side);
+        for (int i = 0; i < count; ++i) {
+            for (int y = cells[i * 4 + 1]; y <= cells[i * 4 + 3]; ++y) {
+                for (int x = cells[i * 4]; x <= cells[i * 4 + 2]; ++x) {
+                    cellRanks[fill[y * side + x]++] = i;
+                }
+            }
+        }
+
+        boolean[] suppressed = new boolean[count];
+        int[] keep = new int[limit];
+        int kept = 0;
+        for (int i = 0; i < count && kept < limit; ++i) {
+            if (suppressed[i]) {
+                continue;
+            }
+            int a = order[i];
+            keep[kept++] = a;
+            for (int y = cells[i * 4 + 1]; y <= cells[i * 4 + 3]; ++y) {
+                for (int x = cells[i * 4]; x <= cells[i * 4 + 2]; ++x) {
+                    int c = y * side + x;
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; ++k) {
+                        int j = cellRanks[k];
+                        if (j > i
+                                && !suppressed[j]
+                                && sameClass(classIds, a, order[j])
+                                && iou(boxes, a, order[j]) > iouThreshold) {
+                            suppressed[j] = true;
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(keep, kept);
+    }
+
+    private int[] softNms(float[] boxes, float[] scores, int[] classIds, int[] order, int count) {
+        int limit = maxDetections > 0 ? Math.min(maxDetections, count) : count;
+        int[] keep = new int[limit];
+        int kept = 0;
+        while (count > 0 && kept < limit) {
+            // the remaining box with the highest score
+            int best = 0;
+            for (int i = 1; i < count; ++i) {
+                if (scores[order[i]] > scores[order[best]]) {
+                    best = i;
+                }
+            }
+            int a = order[best];
+            keep[kept++] = a;
+            order[best] = order[--count];
+            int remaining = 0;
+            for (int i = 0; i < count; ++i) {
+                int b = order[i];
+                if (sameClass(classIds, a, b)) {
+                    float iou = iou(boxes, a, b);
+                    scores[b] *= (float) Math.exp(-iou * iou / softNmsSigma);
+                }
+                if (scores[b] >= scoreThreshold) {
+                    order[remaining++] = b;
+                }
+            }
+            count = remaining;
+        }
+        return Arrays.copyOf(keep, kept);
+    }
+
+    private boolean sameClass(int[] classIds, int a, int b) {
+        return classAgnostic || classIds == null || classIds[a] == classIds[b];
+    }
+
+    private static int cell(float value, float min, float cellSize, int side) {
+        int cell = (int) ((value - min) / cellSize);
+        return Math.max(0, Math.min(side - 1, cell));
+    }
+
+    /**
+     * Returns the intersection over union of two boxes.
+     *
+     * @param boxes the corners {@code [x_min, y_min, x_max, y_max]} of each box, in a flat array
+     * @param a the index of the first box
+     * @param b the index of the second box
+     * @return the intersection over union of the two boxes
+     */
+    public static float iou(float[] boxes, int a, int b) {
+        int i = a * 4;
+        int j = b * 4;
+        float width = Math.min(boxes[i + 2], boxes[j + 2]) - Math.max(boxes[i], boxes[j]);
+        float height = Math.min(boxes[i + 3], boxes[j + 3]) - Math.max(boxes[i + 1], boxes[j + 1]);
+        if (width <= 0 || height <= 0) {
+            return 0;
+        }
+        float intersection = width * height;
+        float areaA = (boxes[i + 2] - boxes[i]) * (boxes[i + 3] - boxes[i + 1]);
+        float areaB = (boxes[j + 2] - boxes[j]) * (boxes[j + 3] - boxes[j + 1]);
+        return intersection / (areaA + areaB - intersection);
+    }
+
+    /** Sorts the first {@code count} indices by descending score, and by index for equal scores. */
+    private static void sortByScore(int[] order, int count, float[] scores) {
+        // sorts the scores and the indices packed in longs, without boxing
+        long[] packed = new long[count];
+        for (int i = 0; i < count; ++i) {
+            int bits = Float.floatToIntBits(scores[order[i]]);
+            // a key that sorts like the float, then flipped for the descending order
+            int key = bits ^ ((bits >> 31) & 0x7fffffff);
+            packed[i] = ((long) ~key << 32) | (order[i] & 0xffffffffL);
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < count; ++i) {
+            order[i] = (int) packed[i];
+        }
+    }
+
+    /** The builder to construct a {@link NonMaximumSuppression}. */
+    public static final class Builder {
+
+        float iouThreshold = 0.5f;
+        float scoreThreshold = -Float.MAX_VALUE;
+        int maxDetections = -1;
+        boolean classAgnostic;
+        float softNmsSigma;
+        int gridThreshold = 4096;
+
+        Builder() {}
+
+        /**
+         * Sets the intersection over union above which a box is suppressed, defaults to 0.5.
+         *
+         * @param iouThreshold the intersection over union above which a box is suppressed
+         * @return this {@code Builder}
+         */
+        public Builder optIouThreshold(float iouThreshold) {
+            this.iouThreshold = iouThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the minimum score of the boxes to keep.
+         *
+         * <p>With soft-NMS, the boxes are also removed when their decayed score drops below the
+         * threshold.
+         *
+         * @param scoreThreshold the minimum score of the boxes to keep
+         * @return this {@code Builder}
+         */
+        public Builder optScoreThreshold(float scoreThreshold) {
+            this.scoreThreshold = scoreThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of boxes to keep, all by default.
+         *
+         * @param maxDetections the maximum number of boxes to keep
+         * @return this {@code Builder}
+         */
+        public Builder optMaxDetections(int maxDetections) {
+            this.maxDetections = maxDetections;
+            return this;
+        }
+
+        /**
+         * Sets whether the boxes of different classes suppress each other, defaults to {@code
+         * false}.
+         *
+         * @param classAgnostic whether the boxes of different classes suppress each other
+         * @return this {@code Builder}
+         */
+        public Builder optClassAgnostic(boolean classAgnostic) {
+            this.classAgnostic = classAgnostic;
+            return this;
+        }
+
+        /**
+         * Enables the Gaussian soft-NMS, which multiplies the score of each overlapping box by
+         * {@code exp(-iou^2 / sigma)} instead of removing it.
+         *
+         * <p>Set a {@link #optScoreThreshold(float) score threshold} to remove the boxes whose
+         * score decayed. The IoU threshold is not used with soft-NMS.
+         *
+         * @param sigma the width of the Gaussian penalty, a positive value
+         * @return this {@code Builder}
+         */
+        public Builder optSoftNms(float sigma) {
+            this.softNmsSigma = sigma;
+            return this;
+        }
+
+        /**
+         * Sets the number of candidates above which the boxes are bucketed in a grid, defaults to
+         * 4096.
+         *
+         * @param gridThreshold the number of candidates above which the boxes are bucketed in a
+         *     grid
+         * @return this {@code Builder}
+         */
+        public Builder optGridThreshold(int gridThreshold) {
+            this.gridThreshold = gridThreshold;
+            return this;
+        }
+
+        /**
+         * Builds a {@link NonMaximumSuppression} with the specified arguments.
+         *
+         * @return a new {@link NonMaximumSuppression}
+         */
+        public NonMaximumSuppression build() {
+            return new NonMaximumSuppression(this);
+        }
+    }
+}
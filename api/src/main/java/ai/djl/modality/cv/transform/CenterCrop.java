@@ -49,4 +49,13 @@ public class CenterCrop implements Transform {
         }
         return NDImageUtils.centerCrop(array, width, height);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public Transform fuse(Transform next) {
+        if (getClass() == CenterCrop.class && next.getClass() == ToTensor.class) {
+            return new ImageToTensor(this, width, height, null, null);
+        }
+        return null;
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv.transform;
+
+import ai.djl.modality.cv.util.NDImageUtils;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.translate.Transform;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * A {@link Transform} that combines an optional {@link CenterCrop}, {@link ToTensor} and an
+ * optional {@link Normalize}.
+ *
+ * <p>A {@link DataType#UINT8} image of shape HWC is converted in a single pass: the pixels are
+ * copied once from the engine, and each value in the crop is mapped with a lookup table of {@code
+ * (value / 255 - mean) / std}. The other inputs, and the engines that keep the tensors in HWC
+ * format, apply the transforms one after the other.
+ */
+final class ImageToTensor implements Transform {
+
+    private CenterCrop centerCrop;
+    private int width;
+    private int height;
+    private float[] mean;
+    private float[] std;
+
+    /**
+     * Creates a new {@code ImageToTensor}.
+     *
+     * @param centerCrop the {@link CenterCrop} applied first, or {@code null}
+     * @param width the width of the crop, or -1 to crop to {@code min(width, height)}
+     * @param height the height of the crop, or -1 to crop to {@code min(width, height)}
+     * @param mean the mean to normalize with for each channel, or {@code null}
+     * @param std the standard deviation to normalize with for each channel, or {@code null}
+     */
+    ImageToTensor(CenterCrop centerCrop, int width, int height, float[] mean, float[] std) {
+        this.centerCrop = centerCrop;
+        this.width = width;
+        this.height = height;
+        this.mean = mean;
+        this.std = std;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NDArray transform(NDArray array) {
+        Shape shape = array.getShape();
+        if (array.getDataType() != DataType.UINT8
+                || shape.dimension() != 3
+                || (shape.get(2) != 1 && shape.get(2) != 3)
+                || NDImageUtils.isCHW(shape)
+                || (mean != null && mean.length != shape.get(2))
+                || "TensorFlow".equals(array.getManager().getEngine().getEngineName())) {
+            return transformEach(array);
+        }
+
+        int imageHeight = (int) shape.get(0);
+        int imageWidth = (int) shape.get(1);
+        int channel = (int) shape.get(2);
+        int x = 0;
+        int y = 0;
+        int w = imageWidth;
+        int h = imageHeight;
+        if (centerCrop != null) {
+            // same as NDImageUtils.centerCrop
+            int cropWidth = width;
+            int cropHeight = height;
+            if (cropWidth < 0) {
+                cropWidth = Math.min(imageWidth, imageHeight);
+                cropHeight = cropWidth;
+            }
+            int dw = (imageWidth - cropWidth) / 2;
+            int dh = (imageHeight - cropHeight) / 2;
+            if (dw > 0) {
+                x = dw;
+                w = cropWidth;
+            }
+            if (dh > 0) {
+                y = dh;
+                h = cropHeight;
+            }
+        }
+
+        float[][] lut = new float[channel][256];
+        for (int c = 0; c < channel; ++c) {
+            for (int v = 0; v < 256; ++v) {
+                float value = v / 255f;
+                if (mean != null) {
+                    value = (value - mean[c]) / std[c];
+                }
+                lut[c][v] = value;
+            }
+        }
+
+        byte[] data = array.toByteArray();
+        NDManager manager = array.getManager();
+        ByteBuffer bb =
+                manager.allocateDirect(channel * h * w * 4).order(ByteOrder.nativeOrder());
+        FloatBuffer fb = bb.asFloatBuffer();
+        float[] row = new float[w];
+        for (int c = 0; c < channel; ++c) {
+            float[] table = lut[c];
+            for (int i = 0; i < h; ++i) {
+                int pos = ((y + i) * imageWidth + x) * channel + c;
+                for (int j = 0; j < w; ++j) {
+                    row[j] = table[data[pos] & 0xFF];
+                    pos += channel;
+                }
+                fb.put(row);
+            }
+        }
+        bb.rewind();
+        return manager.create(bb, new Shape(channel, h, w), DataType.FLOAT32);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Transform fuse(Transform next) {
+        if (mean == null && next.getClass() == Normalize.class) {
+            Normalize normalize = (Normalize) next;
+            return new ImageToTensor(
+                    centerCrop, width, height, normalize.getMean(), normalize.getStd());
+        }
+        return null;
+    }
+
+    private NDArray transformEach(NDArray array) {
+        if (centerCrop != null) {
+            array = centerCrop.transform(array);
+        }
+        array = NDImageUtils.toTensor(array);
+        if (mean != null) {
+            array = NDImageUtils.normalize(array, mean, std);
+        }
+        return array;
+    }
+}
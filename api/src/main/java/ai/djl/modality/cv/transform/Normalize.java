@@ -38,4 +38,12 @@ public class Normalize implements Transform {
     public NDArray transform(NDArray array) {
         return NDImageUtils.normalize(array, mean, std);
     }
+
+    float[] getMean() {
+        return mean;
+    }
+
+    float[] getStd() {
+        return std;
+    }
 }
@@ -29,4 +29,14 @@ public class ToTensor implements Transform {
     public NDArray transform(NDArray array) {
         return NDImageUtils.toTensor(array);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public Transform fuse(Transform next) {
+        if (getClass() == ToTensor.class && next.getClass() == Normalize.class) {
+            Normalize normalize = (Normalize) next;
+            return new ImageToTensor(null, 0, 0, normalize.getMean(), normalize.getStd());
+        }
+        return null;
+    }
 }
@@ -13,10 +13,14 @@
 package ai.djl.modality.cv.translator;
 
 import ai.djl.Model;
+import ai.djl.modality.cv.NonMaximumSuppression;
+import ai.djl.modality.cv.output.BoundingBox;
 import ai.djl.modality.cv.output.DetectedObjects;
+import ai.djl.modality.cv.output.Rectangle;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -53,6 +57,44 @@ public abstract class ObjectDetectionTranslator extends BaseImageTranslator<Dete
         }
     }
 
+    /**
+     * Creates the {@link DetectedObjects} from primitive arrays of detections.
+     *
+     * @param boxes the corners {@code [x_min, y_min, x_max, y_max]} of each detection, in a flat
+     *     array
+     * @param scores the score of each detection
+     * @param classIds the class index of each detection
+     * @param nms the non-maximum suppression to apply, or {@code null} to keep all the detections
+     * @return the {@link DetectedObjects}
+     */
+    protected DetectedObjects toDetectedObjects(
+            float[] boxes, float[] scores, int[] classIds, NonMaximumSuppression nms) {
+        int[] keep;
+        if (nms == null) {
+            keep = new int[scores.length];
+            for (int i = 0; i < keep.length; ++i) {
+                keep[i] = i;
+            }
+        } else {
+            keep = nms.apply(boxes, scores, classIds);
+        }
+        List<String> retClasses = new ArrayList<>(keep.length);
+        List<Double> retProbs = new ArrayList<>(keep.length);
+        List<BoundingBox> retBB = new ArrayList<>(keep.length);
+        for (int i : keep) {
+            int base = i * 4;
+            retClasses.add(classes.get(classIds[i]));
+            retProbs.add((double) scores[i]);
+            retBB.add(
+                    new Rectangle(
+                            boxes[base],
+                            boxes[base + 1],
+                            boxes[base + 2] - boxes[base],
+                            boxes[base + 3] - boxes[base + 1]));
+        }
+        return new DetectedObjects(retClasses, retProbs, retBB);
+    }
+
     /** The base builder for the object detection translator. */
     @SuppressWarnings("rawtypes")
     public abstract static class ObjectDetectionBuilder<T extends ObjectDetectionBuilder>
@@ -12,14 +12,12 @@
  */
 package ai.djl.modality.cv.translator;
 
-import ai.djl.modality.cv.output.BoundingBox;
+import ai.djl.modality.cv.NonMaximumSuppression;
 import ai.djl.modality.cv.output.DetectedObjects;
-import ai.djl.modality.cv.output.Rectangle;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.translate.TranslatorContext;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -28,6 +26,8 @@ import java.util.Map;
  */
 public class SingleShotDetectionTranslator extends ObjectDetectionTranslator {
 
+    private NonMaximumSuppression nms;
+
     /**
      * Creates the SSD translator from the given builder.
      *
@@ -35,6 +35,9 @@ public class SingleShotDetectionTranslator extends ObjectDetectionTranslator {
      */
     public SingleShotDetectionTranslator(Builder builder) {
         super(builder);
+        if (builder.nmsThreshold >= 0) {
+            nms = NonMaximumSuppression.builder().optIouThreshold(builder.nmsThreshold).build();
+        }
     }
 
     /** {@inheritDoc} */
@@ -44,34 +47,33 @@ public class SingleShotDetectionTranslator extends ObjectDetectionTranslator {
         float[] probabilities = list.get(1).toFloatArray();
         NDArray boundingBoxes = list.get(2);
 
-        List<String> retNames = new ArrayList<>();
-        List<Double> retProbs = new ArrayList<>();
-        List<BoundingBox> retBB = new ArrayList<>();
+        float[] coordinates = boundingBoxes.toFloatArray();
+        double scaleX = imageWidth > 0 ? imageWidth : 1;
+        double scaleY = imageHeight > 0 ? imageHeight : 1;
 
+        float[] boxes = new float[classIds.length * 4];
+        float[] scores = new float[classIds.length];
+        int[] retClassIds = new int[classIds.length];
+        int count = 0;
         for (int i = 0; i < classIds.length; ++i) {
             int classId = (int) classIds[i];
-            double probability = probabilities[i];
+            float probability = probabilities[i];
             // classId starts from 0, -1 means background
             if (classId >= 0 && probability > threshold) {
                 if (classId >= classes.size()) {
                     throw new AssertionError("Unexpected index: " + classId);
                 }
-                String className = classes.get(classId);
-                float[] box = boundingBoxes.get(i).toFloatArray();
                 // rescale box coordinates by imageWidth and imageHeight
-                double x = imageWidth > 0 ? box[0] / imageWidth : box[0];
-                double y = imageHeight > 0 ? box[1] / imageHeight : box[1];
-                double w = imageWidth > 0 ? box[2] / imageWidth - x : box[2] - x;
-                double h = imageHeight > 0 ? box[3] / imageHeight - y : box[3] - y;
-
-                Rectangle rect = new Rectangle(x, y, w, h);
-                retNames.add(className);
-                retProbs.add(probability);
-                retBB.add(rect);
+                boxes[count * 4] = (float) (coordinates[i * 4] / scaleX);
+                boxes[count * 4 + 1] = (float) (coordinates[i * 4 + 1] / scaleY);
+                boxes[count * 4 + 2] = (float) (coordinates[i * 4 + 2] / scaleX);
+                boxes[count * 4 + 3] = (float) (coordinates[i * 4 + 3] / scaleY);
+                scores[count] = probability;
+                retClassIds[count] = classId;
+                ++count;
             }
         }
-
-        return new DetectedObjects(retNames, retProbs, retBB);
+        return toDetectedObjects(boxes, Arrays.copyOf(scores, count), retClassIds, nms);
     }
 
     /**
@@ -100,12 +102,35 @@ public class SingleShotDetectionTranslator extends ObjectDetectionTranslator {
     /** The builder for SSD translator. */
     public static class Builder extends ObjectDetectionBuilder<Builder> {
 
+        float nmsThreshold = -1;
+
         /** {@inheritDoc} */
         @Override
         protected Builder self() {
             return this;
         }
 
+        /**
+         * Sets the NMS threshold to suppress the overlapping detections.
+         *
+         * <p>By default, the detections are not suppressed, as SSD models usually output the
+         * detections after a non-maximum suppression.
+         *
+         * @param nmsThreshold the NMS threshold
+         * @return this builder
+         */
+        public Builder optNmsThreshold(float nmsThreshold) {
+            this.nmsThreshold = nmsThreshold;
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void configPostProcess(Map<String, ?> arguments) {
+            super.configPostProcess(arguments);
+            nmsThreshold = getFloatValue(arguments, "nmsThreshold", -1f);
+        }
+
         /**
          * Builds the translator.
          *
@@ -12,20 +12,24 @@
  */
 package ai.djl.modality.cv.translator;
 
-import ai.djl.modality.cv.output.BoundingBox;
+import ai.djl.modality.cv.NonMaximumSuppression;
 import ai.djl.modality.cv.output.DetectedObjects;
-import ai.djl.modality.cv.output.Rectangle;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.index.CompiledNDIndex;
+import ai.djl.ndarray.index.NDIndex;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.translate.TranslatorContext;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
 
 /** A translator for yolo models. */
 public class YoloTranslator extends ObjectDetectionTranslator {
 
+    private static final CompiledNDIndex COLUMN = NDIndex.compile(":, {}");
+
+    private NonMaximumSuppression nms;
+
     /**
      * Constructs an ImageTranslator with the provided builder.
      *
@@ -33,39 +37,46 @@ public class YoloTranslator extends ObjectDetectionTranslator {
      */
     public YoloTranslator(Builder builder) {
         super(builder);
+        if (builder.nmsThreshold >= 0) {
+            nms = NonMaximumSuppression.builder().optIouThreshold(builder.nmsThreshold).build();
+        }
     }
 
     /** {@inheritDoc} */
     @Override
     public DetectedObjects processOutput(TranslatorContext ctx, NDList list) {
         int[] classIndices = list.get(0).toType(DataType.INT32, true).flatten().toIntArray();
-        double[] probs = list.get(1).toType(DataType.FLOAT64, true).flatten().toDoubleArray();
+        float[] probs = list.get(1).toType(DataType.FLOAT32, true).flatten().toFloatArray();
         NDArray boundingBoxes = list.get(2);
         int detected = Math.toIntExact(probs.length);
 
-        NDArray xMin = boundingBoxes.get(":, 0").clip(0, imageWidth).div(imageWidth);
-        NDArray yMin = boundingBoxes.get(":, 1").clip(0, imageHeight).div(imageHeight);
-        NDArray xMax = boundingBoxes.get(":, 2").clip(0, imageWidth).div(imageWidth);
-        NDArray yMax = boundingBoxes.get(":, 3").clip(0, imageHeight).div(imageHeight);
+        NDArray xMin = boundingBoxes.get(COLUMN.bind(0)).clip(0, imageWidth).div(imageWidth);
+        NDArray yMin = boundingBoxes.get(COLUMN.bind(1)).clip(0, imageHeight).div(imageHeight);
+        NDArray xMax = boundingBoxes.get(COLUMN.bind(2)).clip(0, imageWidth).div(imageWidth);
+        NDArray yMax = boundingBoxes.get(COLUMN.bind(3)).clip(0, imageHeight).div(imageHeight);
 
         float[] boxX = xMin.toFloatArray();
         float[] boxY = yMin.toFloatArray();
-        float[] boxWidth = xMax.sub(xMin).toFloatArray();
-        float[] boxHeight = yMax.sub(yMin).toFloatArray();
+        float[] boxXMax = xMax.toFloatArray();
+        float[] boxYMax = yMax.toFloatArray();
 
-        List<String> retClasses = new ArrayList<>(detected);
-        List<Double> retProbs = new ArrayList<>(detected);
-        List<BoundingBox> retBB = new ArrayList<>(detected);
+        float[] boxes = new float[detected * 4];
+        float[] scores = new float[detected];
+        int[] classIds = new int[detected];
+        int count = 0;
         for (int i = 0; i < detected; i++) {
             if (classIndices[i] < 0 || probs[i] < threshold) {
                 continue;
             }
-            retClasses.add(classes.get(classIndices[i]));
-            retProbs.add(probs[i]);
-            Rectangle rect = new Rectangle(boxX[i], boxY[i], boxWidth[i], boxHeight[i]);
-            retBB.add(rect);
+            boxes[count * 4] = boxX[i];
+            boxes[count * 4 + 1] = boxY[i];
+            boxes[count * 4 + 2] = boxXMax[i];
+            boxes[count * 4 + 3] = boxYMax[i];
+            scores[count] = probs[i];
+            classIds[count] = classIndices[i];
+            ++count;
         }
-        return new DetectedObjects(retClasses, retProbs, retBB);
+        return toDetectedObjects(boxes, Arrays.copyOf(scores, count), classIds, nms);
     }
 
     /**
@@ -94,12 +105,35 @@ public class YoloTranslator extends ObjectDetectionTranslator {
     /** The builder for {@link YoloTranslator}. */
     public static class Builder extends ObjectDetectionBuilder<Builder> {
 
+        float nmsThreshold = -1;
+
         /** {@inheritDoc} */
         @Override
         protected Builder self() {
             return this;
         }
 
+        /**
+         * Sets the NMS threshold to suppress the overlapping detections.
+         *
+         * <p>By default, the detections are not suppressed, as the models usually output the
+         * detections after a non-maximum suppression.
+         *
+         * @param nmsThreshold the NMS threshold
+         * @return this builder
+         */
+        public Builder optNmsThreshold(float nmsThreshold) {
+            this.nmsThreshold = nmsThreshold;
+            return this;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void configPostProcess(Map<String, ?> arguments) {
+            super.configPostProcess(arguments);
+            nmsThreshold = getFloatValue(arguments, "nmsThreshold", -1f);
+        }
+
         /**
          * Builds the translator.
          *
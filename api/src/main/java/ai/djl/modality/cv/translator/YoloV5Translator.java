@@ -12,17 +12,15 @@
  */
 package ai.djl.modality.cv.translator;
 
-import ai.djl.modality.cv.output.BoundingBox;
+import ai.djl.modality.cv.NonMaximumSuppression;
 import ai.djl.modality.cv.output.DetectedObjects;
 import ai.djl.modality.cv.output.Rectangle;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.translate.TranslatorContext;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
-import java.util.PriorityQueue;
 
 /**
  * A translator for YoloV5 models. This was tested with ONNX exported Yolo models. For details check
@@ -31,7 +29,7 @@ import java.util.PriorityQueue;
 public class YoloV5Translator extends ObjectDetectionTranslator {
 
     private YoloOutputType yoloOutputLayerType;
-    private float nmsThreshold;
+    private NonMaximumSuppression nms;
 
     /**
      * Constructs an ImageTranslator with the provided builder.
@@ -41,7 +39,7 @@ public class YoloV5Translator extends ObjectDetectionTranslator {
     protected YoloV5Translator(Builder builder) {
         super(builder);
         yoloOutputLayerType = builder.outputType;
-        nmsThreshold = builder.nmsThreshold;
+        nms = NonMaximumSuppression.builder().optIouThreshold(builder.nmsThreshold).build();
     }
 
     /**
@@ -94,50 +92,6 @@ public class YoloV5Translator extends ObjectDetectionTranslator {
         return (a.getWidth()) * (a.getHeight()) + (b.getWidth()) * (b.getHeight()) - i;
     }
 
-    protected DetectedObjects nms(List<IntermediateResult> list) {
-        List<String> retClasses = new ArrayList<>();
-        List<Double> retProbs = new ArrayList<>();
-        List<BoundingBox> retBB = new ArrayList<>();
-
-        for (int k = 0; k < classes.size(); k++) {
-            // 1.find max confidence per class
-            PriorityQueue<IntermediateResult> pq =
-                    new PriorityQueue<>(
-                            50,
-                            (lhs, rhs) -> {
-                                // Intentionally reversed to put high confidence at the head of the
-                                // queue.
-                                return Double.compare(rhs.getConfidence(), lhs.getConfidence());
-                            });
-
-            for (IntermediateResult intermediateResult : list) {
-                if (intermediateResult.getDetectedClass() == k) {
-                    pq.add(intermediateResult);
-                }
-            }
-
-            // 2.do non maximum suppression
-            while (pq.size() > 0) {
-                // insert detection with max confidence
-                IntermediateResult[] a = new IntermediateResult[pq.size()];
-                IntermediateResult[] detections = pq.toArray(a);
-                Rectangle rec = detections[0].getLocation();
-                retClasses.add(detections[0].id);
-                retProbs.add(detections[0].confidence);
-                retBB.add(new Rectangle(rec.getX(), rec.getY(), rec.getWidth(), rec.getHeight()));
-                pq.clear();
-                for (int j = 1; j < detections.length; j++) {
-                    IntermediateResult detection = detections[j];
-                    Rectangle location = detection.getLocation();
-                    if (boxIou(rec, location) < nmsThreshold) {
-                        pq.add(detection);
-                    }
-                }
-            }
-        }
-        return new DetectedObjects(retClasses, retProbs, retBB);
-    }
-
     protected double overlap(double x1, double w1, double x2, double w2) {
         double l1 = x1 - w1 / 2;
         double l2 = x2 - w2 / 2;
@@ -150,10 +104,13 @@ public class YoloV5Translator extends ObjectDetectionTranslator {
 
     private DetectedObjects processFromBoxOutput(NDList list) {
         float[] flattened = list.get(0).toFloatArray();
-        ArrayList<IntermediateResult> intermediateResults = new ArrayList<>();
         int sizeClasses = classes.size();
         int stride = 5 + sizeClasses;
         int size = flattened.length / stride;
+        float[] boxes = new float[size * 4];
+        float[] scores = new float[size];
+        int[] classIds = new int[size];
+        int count = 0;
         for (int i = 0; i < size; i++) {
             int indexBase = i * stride;
             float maxClass = 0;
@@ -170,13 +127,18 @@ public class YoloV5Translator extends ObjectDetectionTranslator {
                 float yPos = flattened[indexBase + 1];
                 float w = flattened[indexBase + 2];
                 float h = flattened[indexBase + 3];
-                Rectangle rect =
-                        new Rectangle(Math.max(0, xPos - w / 2), Math.max(0, yPos - h / 2), w, h);
-                intermediateResults.add(
-                        new IntermediateResult(classes.get(maxIndex), score, maxIndex, rect));
+                float x = Math.max(0, xPos - w / 2);
+                float y = Math.max(0, yPos - h / 2);
+                boxes[count * 4] = x;
+                boxes[count * 4 + 1] = y;
+                boxes[count * 4 + 2] = x + w;
+                boxes[count * 4 + 3] = y + h;
+                scores[count] = score;
+                classIds[count] = maxIndex;
+                ++count;
             }
         }
-        return nms(intermediateResults);
+        return toDetectedObjects(boxes, Arrays.copyOf(scores, count), classIds, nms);
     }
 
     private DetectedObjects processFromDetectOutput() {
@@ -267,49 +229,4 @@ public class YoloV5Translator extends ObjectDetectionTranslator {
             return new YoloV5Translator(this);
         }
     }
-
-    private static final class IntermediateResult {
-
-        /**
-         * A sortable score for how good the recognition is relative to others. Higher should be
-         * better.
-         */
-        private double confidence;
-
-        /** Display name for the recognition. */
-        private int detectedClass;
-
-        /**
-         * A unique identifier for what has been recognized. Specific to the class, not the instance
-         * of the object.
-         */
-        private String id;
-
-        /** Optional location within the source image for the location of the recognized object. */
-        private Rectangle location;
-
-        IntermediateResult(String id, double confidence, int detectedClass, Rectangle location) {
-            this.confidence = confidence;
-            this.id = id;
-            this.detectedClass = detectedClass;
-            this.location = location;
-        }
-
-        public double getConfidence() {
-            return confidence;
-        }
-
-        public int getDetectedClass() {
-            return detectedClass;
-        }
-
-        public String getId() {
-            return id;
-        }
-
-        public Rectangle getLocation() {
-            return new Rectangle(
-                    location.getX(), location.getY(), location.getWidth(), location.getHeight());
-        }
-    }
 }
@@ -25,12 +25,13 @@ import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * BertFullTokenizer runs end to end tokenization of input text
  *
  * <p>It will run basic preprocessors to clean the input text and then run {@link
- * WordpieceTokenizer} to split into word pieces.
+ * FastWordpieceTokenizer} to split into word pieces.
  *
  * <p>Reference implementation: <a
  * href="https://github.com/google-research/bert/blob/master/tokenization.py#L161">Google Research
@@ -40,7 +41,7 @@ public class BertFullTokenizer extends SimpleTokenizer {
 
     private SimpleVocabulary vocabulary;
     private List<TextProcessor> basicBertPreprocessors;
-    private WordpieceTokenizer wordpieceTokenizer;
+    private FastWordpieceTokenizer wordpieceTokenizer;
 
     /**
      * Creates an instance of {@code BertFullTokenizer}.
@@ -51,7 +52,7 @@ public class BertFullTokenizer extends SimpleTokenizer {
     public BertFullTokenizer(SimpleVocabulary vocabulary, boolean lowerCase) {
         this.vocabulary = vocabulary;
         basicBertPreprocessors = getPreprocessors(lowerCase);
-        wordpieceTokenizer = new WordpieceTokenizer(vocabulary, "[UNK]", 200);
+        wordpieceTokenizer = new FastWordpieceTokenizer(vocabulary, "[UNK]", 200);
     }
 
     /**
@@ -66,11 +67,36 @@ public class BertFullTokenizer extends SimpleTokenizer {
     /** {@inheritDoc} */
     @Override
     public List<String> tokenize(String input) {
+        return wordpieceTokenizer.preprocess(basicPreprocess(input));
+    }
+
+    /**
+     * Tokenizes the input text, and returns the indices of the tokens in the vocabulary.
+     *
+     * @param input the input text
+     * @return the indices of the tokens in the vocabulary
+     */
+    public int[] encode(String input) {
+        return wordpieceTokenizer.encode(basicPreprocess(input));
+    }
+
+    /**
+     * Tokenizes many input texts in parallel, and returns the indices of the tokens in the
+     * vocabulary.
+     *
+     * @param inputs the input texts
+     * @return the indices of the tokens of each input text
+     */
+    public List<int[]> encodeBatch(List<String> inputs) {
+        return inputs.parallelStream().map(this::encode).collect(Collectors.toList());
+    }
+
+    private List<String> basicPreprocess(String input) {
         List<String> tokens = new ArrayList<>(Collections.singletonList(input));
         for (TextProcessor processor : basicBertPreprocessors) {
             tokens = processor.preprocess(tokens);
         }
-        return wordpieceTokenizer.preprocess(tokens);
+        return tokens;
     }
 
     /**
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import ai.djl.modality.nlp.SimpleVocabulary;
+import ai.djl.modality.nlp.preprocess.SimpleTokenizer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * {@code FastWordpieceTokenizer} splits text into word pieces with a prefix trie of the vocabulary.
+ *
+ * <p>It produces the same word pieces as {@link WordpieceTokenizer}, using the same greedy
+ * longest-match-first algorithm. The trie is built once from the vocabulary, so each word is split
+ * in a single pass over its characters, without creating a {@code String} for each candidate word
+ * piece. The word pieces can be returned directly as the indices of the vocabulary with {@link
+ * #encode(String)}.
+ *
+ * <p>Only the tokens that have an index in the vocabulary are considered as word pieces. The input
+ * text should already be cleaned and preprocessed, the words are separated by spaces.
+ */
+public class FastWordpieceTokenizer extends SimpleTokenizer {
+
+    private static final String SUFFIX_PREFIX = "##";
+    private static final int WORD_ROOT = 0;
+    private static final int SUFFIX_ROOT = 1;
+
+    private SimpleVocabulary vocabulary;
+    private String unknown;
+    private int unknownIndex;
+    private int maxInputChars;
+
+    // The nodes are numbered in breadth-first order from the two roots. The edges of node i are
+    // [edgeOffsets[i], edgeOffsets[i + 1]), sorted by label, and the edge e leads to node e + 2.
+    private int[] edgeOffsets;
+    private char[] edgeLabels;
+    private int[] tokenIndices;
+
+    /**
+     * Creates an instance of {@code FastWordpieceTokenizer}.
+     *
+     * @param vocabulary a {@code SimpleVocabulary} used for wordpiece tokenization
+     * @param unknown String that represent unknown token
+     * @param maxInputChars maximum number of input characters
+     */
+    public FastWordpieceTokenizer(SimpleVocabulary vocabulary, String unknown, int maxInputChars) {
+        this.vocabulary = vocabulary;
+        this.unknown = unknown;
+        this.maxInputChars = maxInputChars;
+        unknownIndex = Math.toIntExact(vocabulary.getIndex(unknown));
+        buildTrie();
+    }
+
+    /**
+     * Returns the index of the unknown token in the vocabulary.
+     *
+     * @return the index of the unknown token in the vocabulary
+     */
+    public int getUnknownIndex() {
+        return unknownIndex;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> tokenize(String sentence) {
+        return toTokens(encode(sentence));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<String> preprocess(List<String> tokens) {
+        return toTokens(encode(tokens));
+    }
+
+    /**
+     * Splits a sentence into word pieces, and returns their indices in the vocabulary.
+     *
+     * @param sentence the sentence to split
+     * @return the indices of the word pieces
+     */
+    public int[] encode(String sentence) {
+        char[] chars = sentence.toCharArray();
+        IntBuffer output = IntBuffer.allocate(chars.length);
+        encode(chars, 0, chars.length, output);
+        return Arrays.copyOf(output.array(), output.position());
+    }
+
+    /**
+     * Splits the words of preprocessed tokens into word pieces, and returns their indices in the
+     * vocabulary.
+     *
+     * @param tokens the preprocessed tokens, such as the output of the {@link
+     *     BertFullTokenizer#getPreprocessors(boolean) BERT preprocessors}
+     * @return the indices of the word pieces
+     */
+    public int[] encode(List<String> tokens) {
+        int length = 0;
+        int maxLength = 0;
+        for (String token : tokens) {
+            length += token.length();
+            maxLength = Math.max(maxLength, token.length());
+        }
+        char[] chars = new char[maxLength];
+        IntBuffer output = IntBuffer.allocate(length);
+        for (String token : tokens) {
+            token.getChars(0, token.length(), chars, 0);
+            encode(chars, 0, token.length(), output);
+        }
+        return Arrays.copyOf(output.array(), output.position());
+    }
+
+    /**
+     * Splits text into word pieces, and puts their indices in the vocabulary to the output buffer.
+     *
+     * <p>There is at most one word piece per character of the text, so an output buffer with as
+     * many remaining elements as {@code length} is always large enough.
+     *
+     * @param text the characters of the text
+     * @param offset the offset of the text in the array
+     * @param length the number of characters of the text
+     * @param output the buffer to put the indices to
+     * @return the number of indices put to the output buffer
+     * @throws java.nio.BufferOverflowException if the output buffer is too small
+     */
+    public int encode(char[] text, int offset, int length, IntBuffer output) {
+        int start = offset;
+        int end = offset + length;
+        // consistent with String.trim()
+        while (start < end && text[start] <= ' ') {
+            ++start;
+        }
+        while (start < end && text[end - 1] <= ' ') {
+            --end;
+        }
+        int position = output.position();
+        int wordStart = start;
+        for (int i = start; i <= end; ++i) {
+            if (i == end || text[i] == ' ') {
+                if (i > wordStart) {
+                    encodeWord(text, wordStart, i, output);
+                }
+                wordStart = i + 1;
+            }
+        }
+        return output.position() - position;
+    }
+
+    /**
+     * Splits many sentences into word pieces in parallel.
+     *
+     * @param sentences the sentences to split
+     * @return the indices of the word pieces of each sentence
+     */
+    public List<int[]> encodeBatch(List<String> sentences) {
+        return sentences.parallelStream().map(this::encode).collect(Collectors.toList());
+    }
+
+    private void encodeWord(char[] chars, int start, int end, IntBuffer output) {
+        if (end - start > maxInputChars) {
+            output.put(unknownIndex);
+            return;
+        }
+        int mark = output.position();
+        int root = WORD_ROOT;
+        while (start < end) {
+            int node = root;
+            int match = -1;
+            int matchEnd = start;
+            for (int i = start; i < end; ++i) {
+                node = findChild(node, chars[i]);
+                if (node < 0) {
+                    break;
+                }
+                if (tokenIndices[node] >= 0) {
+                    match = tokenIndices[node];
+                    matchEnd = i + 1;
+                }
+            }
+            if (match < 0) {
+                // the whole word is unknown
+                output.position(mark);
+                output.put(unknownIndex);
+                return;
+            }
+            output.put(match);
+            start = matchEnd;
+            root = SUFFIX_ROOT;
+        }
+    }
+
+    private int findChild(int node, char c) {
+        int low = edgeOffsets[node];
+        int high = edgeOffsets[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = edgeLabels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid + 2;
+            }
+        }
+        return -1;
+    }
+
+    private List<String> toTokens(int[] indices) {
+        List<String> tokens = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            tokens.add(index == unknownIndex ? unknown : vocabulary.getToken(index));
+        }
+        return tokens;
+    }
+
+    private void buildTrie() {
+        Node wordRoot = new Node();
+        Node suffixRoot = new Node();
+        long size = vocabulary.size();
+        for (long i = 0; i < size; ++i) {
+            String token = vocabulary.getToken(i);
+            int index = Math.toIntExact(vocabulary.getIndex(token));
+            wordRoot.add(token, 0, index);
+            if (token.startsWith(SUFFIX_PREFIX)) {
+                suffixRoot.add(token, SUFFIX_PREFIX.length(), index);
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(wordRoot);
+        nodes.add(suffixRoot);
+        for (int i = 0; i < nodes.size(); ++i) {
+            nodes.addAll(nodes.get(i).children.values());
+        }
+        int nodeCount = nodes.size();
+        edgeOffsets = new int[nodeCount + 1];
+        edgeLabels = new char[nodeCount - 2];
+        tokenIndices = new int[nodeCount];
+        int edge = 0;
+        for (int i = 0; i < nodeCount; ++i) {
+            Node node = nodes.get(i);
+            edgeOffsets[i] = edge;
+            tokenIndices[i] = node.index;
+            for (char label : node.children.keySet()) {
+                edgeLabels[edge++] = label;
+            }
+        }
+        edgeOffsets[nodeCount] = edge;
+    }
+
+    /** A node of the trie while it is built. */
+    private static final class Node {
+
+        Map<Character, Node> children = new TreeMap<>();
+        int index = -1;
+
+        void add(String token, int offset, int tokenIndex) {
+            if (offset >= token.length()) {
+                // empty word pieces are never matched
+                return;
+            }
+            Node node = this;
+            for (int i = offset; i < token.length(); ++i) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+            }
+            node.index = tokenIndex;
+        }
+    }
+}
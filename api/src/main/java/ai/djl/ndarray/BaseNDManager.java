@@ -16,9 +16,9 @@ import ai.djl.Device;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.util.PairList;
+import ai.djl.util.Utils;
 import java.nio.Buffer;
 import java.nio.file.Path;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
@@ -36,13 +36,14 @@ public abstract class BaseNDManager implements NDManager {
     protected ConcurrentHashMap<String, AutoCloseable> resources;
     protected ConcurrentHashMap<String, TempResource> tempResources;
     protected AtomicBoolean closed = new AtomicBoolean(false);
+    protected NDArrayPool pool;
 
     protected BaseNDManager(NDManager parent, Device device) {
         this.parent = parent;
         this.device = Device.defaultIfNull(device, getEngine());
         resources = new ConcurrentHashMap<>();
         tempResources = new ConcurrentHashMap<>();
-        uid = UUID.randomUUID().toString();
+        uid = Utils.newUid();
     }
 
     /** {@inheritDoc} */
@@ -171,6 +172,23 @@ public abstract class BaseNDManager implements NDManager {
         return !closed.get();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public NDArrayPool getPool() {
+        // the pool of a manager is only used by its sub-managers
+        if (!(parent instanceof BaseNDManager)) {
+            return null;
+        }
+        BaseNDManager manager = (BaseNDManager) parent;
+        return manager.pool != null ? manager.pool : manager.getPool();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setPool(NDArrayPool pool) {
+        this.pool = pool;
+    }
+
     /** {@inheritDoc} */
     @Override
     public NDManager getParentManager() {
@@ -205,7 +223,7 @@ public abstract class BaseNDManager implements NDManager {
 
     /** {@inheritDoc} */
     @Override
-    public synchronized void attachInternal(String resourceId, AutoCloseable resource) {
+    public void attachInternal(String resourceId, AutoCloseable resource) {
         if (closed.get()) {
             throw new IllegalStateException("NDManager has been closed already.");
         }
@@ -225,6 +243,11 @@ public abstract class BaseNDManager implements NDManager {
                     }
                     return tempResource;
                 });
+        if (closed.get()) {
+            // close() started after the check above, and may or may not have seen this resource
+            resources.remove(resourceId, resource);
+            throw new IllegalStateException("NDManager has been closed already.");
+        }
     }
 
     /** {@inheritDoc} */
@@ -239,7 +262,7 @@ public abstract class BaseNDManager implements NDManager {
 
     /** {@inheritDoc} */
     @Override
-    public synchronized void detachInternal(String resourceId) {
+    public void detachInternal(String resourceId) {
         if (closed.get()) {
             // This may happen in the middle of BaseNDManager.close()
             return;
@@ -253,6 +276,16 @@ public abstract class BaseNDManager implements NDManager {
         resources.remove(resourceId);
     }
 
+    /**
+     * Returns whether the resource is attached to this manager.
+     *
+     * @param resourceId the unique resourceId
+     * @return {@code true} if the resource is attached to this manager
+     */
+    boolean isAttached(String resourceId) {
+        return resources.containsKey(resourceId);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void invoke(
@@ -269,15 +302,32 @@ public abstract class BaseNDManager implements NDManager {
     /** {@inheritDoc} */
     @Override
     public synchronized void close() {
+        if (!closed.get()) {
+            NDArrayPool arrayPool = getPool();
+            if (arrayPool != null) {
+                // must be done before closing, recycled arrays are detached from this manager
+                arrayPool.recycle(this);
+            }
+        }
         if (!closed.getAndSet(true)) {
-            for (AutoCloseable closeable : resources.values()) {
+            // attach and detach are not synchronized, remove each resource before closing it so
+            // that a resource attached concurrently is either closed here or rejected by attach
+            for (String key : resources.keySet()) {
+                AutoCloseable closeable = resources.remove(key);
+                if (closeable == null) {
+                    continue;
+                }
                 try {
                     closeable.close();
                 } catch (Exception e) {
                     logger.error("Resource close failed.", e);
                 }
             }
-            for (TempResource resource : tempResources.values()) {
+            for (String key : tempResources.keySet()) {
+                TempResource resource = tempResources.remove(key);
+                if (resource == null) {
+                    continue;
+                }
                 try {
                     if (!resource.detached) {
                         resource.resource.attach(resource.manager);
@@ -287,8 +337,6 @@ public abstract class BaseNDManager implements NDManager {
                 }
             }
             parent.detachInternal(uid);
-            resources.clear();
-            tempResources.clear();
         }
     }
 
@@ -318,7 +366,7 @@ public abstract class BaseNDManager implements NDManager {
     protected static final class TempResource {
         private NDResource resource;
         private NDManager manager;
-        private boolean detached;
+        private volatile boolean detached;
 
         public TempResource(NDResource resource, NDManager manager) {
             this.resource = resource;
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray;
+
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An {@code EncodedNDArray} is a view of an {@link NDArray} encoded by {@link NDArray#encode()}.
+ *
+ * <p>The header is parsed eagerly, but the data is only referenced, so the {@link NDArray} can be
+ * created later, directly from the underlying buffer. When the buffer is a memory-mapped file, the
+ * data is never copied to the Java heap.
+ */
+public final class EncodedNDArray {
+
+    private String name;
+    private DataType dataType;
+    private Shape shape;
+    private ByteBuffer data;
+
+    private EncodedNDArray(String name, DataType dataType, Shape shape, ByteBuffer data) {
+        this.name = name;
+        this.dataType = dataType;
+        this.shape = shape;
+        this.data = data;
+    }
+
+    /**
+     * Reads an {@code EncodedNDArray} from the current position of the buffer.
+     *
+     * <p>The position of the buffer is advanced past the encoded {@link NDArray}. The returned
+     * object shares the data with the buffer.
+     *
+     * @param bb the big-endian buffer to read from
+     * @return the {@code EncodedNDArray}
+     * @throws IllegalArgumentException if the buffer doesn't contain a valid {@link NDArray}
+     */
+    public static EncodedNDArray decode(ByteBuffer bb) {
+        try {
+            if (!NDSerializer.MAGIC_NUMBER.equals(readUTF(bb))) {
+                throw new IllegalArgumentException("Malformed NDArray data");
+            }
+
+            // NDArray encode version
+            int version = bb.getInt();
+            if (version < 1 || version > NDSerializer.VERSION) {
+                throw new IllegalArgumentException("Unexpected NDArray encode version " + version);
+            }
+
+            String name = null;
+            if (version > 1) {
+                byte flag = bb.get();
+                if (flag == 1) {
+                    name = readUTF(bb);
+                }
+            }
+
+            readUTF(bb); // ignore SparseFormat
+
+            // DataType - 1 byte
+            DataType dataType = DataType.valueOf(readUTF(bb));
+
+            // Shape
+            Shape shape = Shape.decode(bb);
+
+            // Data
+            int length = bb.getInt();
+            if (length > bb.remaining()) {
+                throw new IllegalArgumentException("Malformed NDArray data");
+            }
+            ByteBuffer data = bb.slice();
+            data.limit(length);
+            data.order(ByteOrder.nativeOrder());
+            bb.position(bb.position() + length);
+            return new EncodedNDArray(name, dataType, shape, data);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Malformed NDArray data", e);
+        }
+    }
+
+    /**
+     * Returns the name of the encoded {@link NDArray}.
+     *
+     * @return the name of the encoded {@link NDArray}, or {@code null} if not set
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the {@link DataType} of the encoded {@link NDArray}.
+     *
+     * @return the {@link DataType} of the encoded {@link NDArray}
+     */
+    public DataType getDataType() {
+        return dataType;
+    }
+
+    /**
+     * Returns the {@link Shape} of the encoded {@link NDArray}.
+     *
+     * @return the {@link Shape} of the encoded {@link NDArray}
+     */
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Creates the {@link NDArray} with the specified {@link NDManager}.
+     *
+     * <p>Engines that {@link NDManager#sharesDirectBuffers() share direct buffers} get a copy of
+     * the data in engine memory when the buffer is read-only, such as a read-only file mapping, so
+     * the {@link NDArray} can always be updated in place. Other engines copy the data themselves,
+     * directly from the mapping. If the manager has an {@link NDArrayPool}, the data is copied into
+     * a pooled {@link NDArray} instead.
+     *
+     * @param manager the {@link NDManager} to create the {@link NDArray}
+     * @return the {@link NDArray}
+     */
+    public NDArray toNDArray(NDManager manager) {
+        ByteBuffer bb = data.duplicate().order(ByteOrder.nativeOrder());
+        // only byte typed data is passed to the engine as a ByteBuffer, other types are views
+        boolean shared =
+                bb.isDirect()
+                        && dataType.asDataType(bb) instanceof ByteBuffer
+                        && manager.sharesDirectBuffers();
+        NDArrayPool pool = manager.getPool();
+        if (pool != null) {
+            ByteBuffer copy = null;
+            if (shared) {
+                // the engine keeps a reference to the buffer, use one with the same lifetime
+                copy = pool.acquireBuffer(manager, bb.remaining());
+                copy.put(bb);
+                copy.rewind();
+                bb = copy;
+            }
+            NDArray array = pool.create(manager, dataType.asDataType(bb), shape, dataType);
+            if (copy != null) {
+                pool.bind(manager, copy, array);
+            }
+            array.setName(name);
+            return array;
+        }
+        if (shared && bb.isReadOnly()) {
+            ByteBuffer copy = manager.allocateDirect(bb.remaining()).order(ByteOrder.nativeOrder());
+            copy.put(bb);
+            copy.rewind();
+            bb = copy;
+        }
+        NDArray array = manager.create(dataType.asDataType(bb), shape);
+        array.setName(name);
+        return array;
+    }
+
+    private static String readUTF(ByteBuffer bb) {
+        int length = bb.getShort() & 0xFFFF;
+        byte[] buf = new byte[length];
+        bb.get(buf);
+        return new String(buf, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray;
+
+import ai.djl.Device;
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@code NDArrayPool} recycles {@link NDArray}s and direct {@link ByteBuffer}s of the same size,
+ * to avoid a native allocation for each request when the input shapes don't change.
+ *
+ * <p>Arrays are pooled by shape, data type and device. An array is leased to a short-lived {@link
+ * NDManager} by {@link #acquire(NDManager, Shape, DataType)}, and goes back to the pool when that
+ * manager is closed. Arrays that are closed explicitly, or attached to another manager, are not
+ * recycled. The content of a recycled array is undefined, it must be overwritten by the new owner.
+ *
+ * <p>Direct buffers are leased in the same way by {@link #acquireBuffer(NDManager, int)}. Some
+ * engines keep a reference to a direct buffer instead of copying it, so a buffer that is used by an
+ * array must be bound to it with {@link #bind(NDManager, ByteBuffer, NDArray)}. The buffer is then
+ * only recycled if the array is closed with the manager.
+ *
+ * <p>A pool is attached to a manager with {@link NDManager#setPool(NDArrayPool)}, and is used by
+ * all its sub-managers. For example, with a pool attached to the model's manager, the input arrays
+ * created by translators in one request are reused by the next request, while the parameters loaded
+ * on the model's manager are not leased from the pool.
+ *
+ * <p>The arrays of some engines can't be overwritten with {@link NDArray#set(Buffer)}. For those,
+ * {@link #create(NDManager, Buffer, Shape, DataType)} falls back to {@link NDManager#create(Buffer,
+ * Shape, DataType)}, and only the buffers are pooled.
+ */
+public class NDArrayPool implements AutoCloseable {
+
+    private static final int MAX_LEASES = 1024;
+
+    private NDManager manager;
+    private int capacity;
+    private Map<Key, BlockingQueue<NDArray>> arrays;
+    private Map<Integer, BlockingQueue<ByteBuffer>> buffers;
+    private Map<NDManager, Lease> leases;
+    private LongAdder hits;
+    private LongAdder misses;
+    private Metrics metrics;
+    private volatile boolean setUnsupported;
+
+    /**
+     * Constructs a new {@code NDArrayPool}.
+     *
+     * @param manager the manager that owns the idle arrays
+     * @param capacity the maximum number of idle arrays or buffers kept for each size
+     */
+    public NDArrayPool(NDManager manager, int capacity) {
+        this.manager = manager.newSubManager();
+        this.manager.setName("pool");
+        this.capacity = capacity;
+        arrays = new ConcurrentHashMap<>();
+        buffers = new ConcurrentHashMap<>();
+        leases = new ConcurrentHashMap<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+    }
+
+    /**
+     * Returns an {@link NDArray} with the specified shape and type attached to the manager.
+     *
+     * <p>The content of the array is undefined.
+     *
+     * @param owner the manager of the array
+     * @param shape the shape of the array
+     * @param dataType the data type of the array
+     * @return an {@link NDArray} attached to the manager
+     */
+    public NDArray acquire(NDManager owner, Shape shape, DataType dataType) {
+        Key key = new Key(shape, dataType, owner.getDevice());
+        BlockingQueue<NDArray> queue = arrays.get(key);
+        NDArray array = queue == null ? null : queue.poll();
+        if (array != null) {
+            record(true);
+            array.attach(owner);
+        } else {
+            record(false);
+            try {
+                array = owner.create(shape, dataType);
+            } catch (UnsupportedOperationException e) {
+                array = owner.zeros(shape, dataType);
+            }
+        }
+        Lease lease = leases.computeIfAbsent(owner, k -> new Lease());
+        synchronized (lease) {
+            lease.arrays.add(array);
+            int size = lease.arrays.size();
+            if (size >= MAX_LEASES && Integer.bitCount(size) == 1) {
+                // long-lived managers: forget arrays that have been closed explicitly
+                lease.arrays.removeIf(a -> !isOwnedBy(a, owner));
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Returns an {@link NDArray} attached to the manager with the content of the buffer.
+     *
+     * @param owner the manager of the array
+     * @param data the content of the array
+     * @param shape the shape of the array
+     * @param dataType the data type of the array
+     * @return an {@link NDArray} attached to the manager
+     */
+    public NDArray create(NDManager owner, Buffer data, Shape shape, DataType dataType) {
+        if (!setUnsupported) {
+            NDArray array = acquire(owner, shape, dataType);
+            try {
+                array.set(data);
+                return array;
+            } catch (UnsupportedOperationException e) {
+                // the arrays of this engine can't be overwritten, so they can't be reused
+                setUnsupported = true;
+                array.close();
+            }
+        }
+        return owner.create(data, shape, dataType);
+    }
+
+    /**
+     * Returns the arrays and buffers leased to the manager to the pool.
+     *
+     * <p>This is called by {@link BaseNDManager#close()}, before the arrays are closed.
+     *
+     * @param owner the manager that leased arrays from this pool
+     */
+    public void recycle(NDManager owner) {
+        Lease lease = leases.remove(owner);
+        if (lease == null) {
+            return;
+        }
+        synchronized (lease) {
+            for (NDArray array : lease.arrays) {
+                if (!isOwnedBy(array, owner)) {
+                    continue;
+                }
+                Key key = new Key(array.getShape(), array.getDataType(), array.getDevice());
+                BlockingQueue<NDArray> queue =
+                        arrays.computeIfAbsent(key, k -> new LinkedBlockingQueue<>(capacity));
+                // attach to the pool first, the array must not be closed with the owner
+                array.attach(manager);
+                if (!queue.offer(array)) {
+                    array.close();
+                }
+            }
+            // arrays that are recycled or moved to another manager may still use their buffer
+            for (Map.Entry<ByteBuffer, NDArray> entry : lease.buffers.entrySet()) {
+                NDArray user = entry.getValue();
+                if (user != null && !isOwnedBy(user, owner)) {
+                    continue;
+                }
+                ByteBuffer bb = entry.getKey();
+                BlockingQueue<ByteBuffer> queue =
+                        buffers.computeIfAbsent(
+                                bb.capacity(), k -> new LinkedBlockingQueue<>(capacity));
+                queue.offer(bb);
+            }
+        }
+    }
+
+    /**
+     * Returns a direct {@link ByteBuffer} in native order with the specified capacity.
+     *
+     * <p>The buffer is leased to the manager, and goes back to the pool when the manager is closed.
+     * Some engines keep a reference to the buffers used to create an array, or passed to {@link
+     * NDArray#set(java.nio.Buffer)}, so a buffer used by an array must be bound to the array with
+     * {@link #bind(NDManager, ByteBuffer, NDArray)}.
+     *
+     * @param owner the manager that uses the buffer
+     * @param size the capacity of the buffer in bytes
+     * @return a direct {@link ByteBuffer}
+     */
+    public ByteBuffer acquireBuffer(NDManager owner, int size) {
+        BlockingQueue<ByteBuffer> queue = buffers.get(size);
+        ByteBuffer bb = queue == null ? null : queue.poll();
+        if (bb != null) {
+            record(true);
+            bb.clear();
+        } else {
+            record(false);
+            bb = manager.allocateDirect(size).order(ByteOrder.nativeOrder());
+        }
+        Lease lease = leases.computeIfAbsent(owner, k -> new Lease());
+        synchronized (lease) {
+            // don't keep the buffers of long-lived managers alive
+            if (lease.buffers.size() < MAX_LEASES) {
+                lease.buffers.put(bb, null);
+            }
+        }
+        return bb;
+    }
+
+    /**
+     * Binds a buffer leased to the manager to the array that uses it.
+     *
+     * <p>When the manager is closed, the buffer is only recycled if the array is closed with it. If
+     * the array is recycled, or attached to another manager, the buffer is left to the array.
+     *
+     * @param owner the manager that leased the buffer
+     * @param buffer the buffer returned by {@link #acquireBuffer(NDManager, int)}
+     * @param array the array created from the buffer
+     */
+    public void bind(NDManager owner, ByteBuffer buffer, NDArray array) {
+        Lease lease = leases.get(owner);
+        if (lease == null) {
+            return;
+        }
+        synchronized (lease) {
+            if (lease.buffers.containsKey(buffer)) {
+                lease.buffers.put(buffer, array);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of requests served from the pool.
+     *
+     * @return the number of requests served from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of requests that needed a new allocation.
+     *
+     * @return the number of requests that needed a new allocation
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Sets the {@link Metrics} to record the pool hits and misses.
+     *
+     * <p>Each request adds a value of 1 to either the {@code PoolHit} or the {@code PoolMiss}
+     * metric.
+     *
+     * @param metrics the {@link Metrics} to record the pool hits and misses
+     */
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Closes all idle arrays and drops the idle buffers. */
+    @Override
+    public void close() {
+        arrays.clear();
+        buffers.clear();
+        manager.close();
+    }
+
+    private void record(boolean hit) {
+        if (hit) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        if (metrics != null) {
+            metrics.addMetric(hit ? "PoolHit" : "PoolMiss", 1);
+        }
+    }
+
+    private static boolean isOwnedBy(NDArray array, NDManager owner) {
+        if (!(owner instanceof BaseNDManager) || !owner.equals(array.getManager())) {
+            return false;
+        }
+        // arrays closed explicitly are detached from their manager
+        return ((BaseNDManager) owner).isAttached(array.getUid());
+    }
+
+    private static final class Lease {
+
+        List<NDArray> arrays = new ArrayList<>();
+        // buffers are compared by identity, mapped to the array that uses them
+        Map<ByteBuffer, NDArray> buffers = new IdentityHashMap<>();
+    }
+
+    private static final class Key {
+
+        private Shape shape;
+        private DataType dataType;
+        private Device device;
+
+        Key(Shape shape, DataType dataType, Device device) {
+            this.shape = shape;
+            this.dataType = dataType;
+            this.device = device;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return shape.equals(key.shape)
+                    && dataType == key.dataType
+                    && device.equals(key.device);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int hashCode() {
+            return Objects.hash(shape, dataType, device);
+        }
+    }
+}
@@ -20,6 +20,9 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -101,6 +104,34 @@ public class NDList extends ArrayList<NDArray> implements NDResource {
         }
     }
 
+    /**
+     * Decodes NDList from {@link ByteBuffer}.
+     *
+     * <p>Unlike {@link #decode(NDManager, InputStream)}, the data of the arrays are not copied into
+     * an intermediate buffer. The content of {@code bb} must not be modified or released until the
+     * returned {@code NDList} is closed.
+     *
+     * @param manager manager assigned to {@link NDArray}
+     * @param bb the buffer contains the ndlist information
+     * @return {@code NDList}
+     */
+    public static NDList decode(NDManager manager, ByteBuffer bb) {
+        ByteBuffer buf = bb.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            int size = buf.getInt();
+            if (size < 0) {
+                throw new IllegalArgumentException("Invalid NDList size: " + size);
+            }
+            NDList list = new NDList();
+            for (int i = 0; i < size; i++) {
+                list.add(i, manager.decode(buf));
+            }
+            return list;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Malformed data", e);
+        }
+    }
+
     /**
      * Removes the first occurrence of the specified element from this NDList if it is present.
      *
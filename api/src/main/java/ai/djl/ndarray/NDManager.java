@@ -151,6 +151,18 @@ public interface NDManager extends AutoCloseable {
      */
     ByteBuffer allocateDirect(int capacity);
 
+    /**
+     * Returns whether the {@link NDArray}s created from a direct {@link ByteBuffer} keep a
+     * reference to the buffer instead of copying it.
+     *
+     * <p>The buffer must then stay valid and writable for the lifetime of the {@link NDArray}.
+     *
+     * @return {@code true} if direct byte buffers are shared with the engine
+     */
+    default boolean sharesDirectBuffers() {
+        return false;
+    }
+
     /**
      * Creates an uninitialized instance of {@link DataType#FLOAT32} {@link NDArray} with specified
      * {@link Shape}.
@@ -651,6 +663,19 @@ public interface NDManager extends AutoCloseable {
         return NDSerializer.decode(this, is);
     }
 
+    /**
+     * Decodes {@link NDArray} through {@link ByteBuffer}.
+     *
+     * <p>The data is read from the current position of the buffer without an intermediate copy, and
+     * the position is advanced past the encoded {@link NDArray}.
+     *
+     * @param bb the big-endian buffer to load from
+     * @return {@link NDArray}
+     */
+    default NDArray decode(ByteBuffer bb) {
+        return NDSerializer.decode(this, bb);
+    }
+
     /**
      * Loads the NDArrays saved to a file.
      *
@@ -1274,6 +1299,30 @@ public interface NDManager extends AutoCloseable {
      */
     boolean isOpen();
 
+    /**
+     * Returns the {@link NDArrayPool} used by this manager.
+     *
+     * <p>This is the pool set on the closest parent manager with a pool. The pool set on this
+     * manager itself is only used by its sub-managers.
+     *
+     * @return the {@link NDArrayPool} used by this manager, or {@code null} if arrays are not
+     *     pooled
+     */
+    default NDArrayPool getPool() {
+        return null;
+    }
+
+    /**
+     * Sets the {@link NDArrayPool} used by the sub-managers of this manager.
+     *
+     * <p>When a sub-manager is closed, the arrays it acquired from the pool are recycled instead of
+     * freed. The arrays of this manager itself, such as the parameters of a model, live as long as
+     * the manager and are never pooled. Managers that don't support pooling ignore the pool.
+     *
+     * @param pool the {@link NDArrayPool}, or {@code null} to disable pooling
+     */
+    default void setPool(NDArrayPool pool) {}
+
     /**
      * Returns the parent {@code NDManager}.
      *
@@ -125,7 +125,13 @@ final class NDSerializer {
 
         // Data
         int length = dis.readInt();
-        ByteBuffer data = manager.allocateDirect(length);
+        NDArrayPool pool = manager.getPool();
+        ByteBuffer data;
+        if (pool == null) {
+            data = manager.allocateDirect(length);
+        } else {
+            data = pool.acquireBuffer(manager, length);
+        }
 
         if (length > 0) {
             byte[] buf = new byte[BUFFER_SIZE];
@@ -139,8 +145,29 @@ final class NDSerializer {
             data.put(buf, 0, length);
             data.rewind();
         }
-        NDArray array = manager.create(dataType.asDataType(data), shape);
+        NDArray array;
+        if (pool == null) {
+            array = manager.create(dataType.asDataType(data), shape);
+        } else {
+            array = pool.create(manager, dataType.asDataType(data), shape, dataType);
+            pool.bind(manager, data, array);
+        }
         array.setName(name);
         return array;
     }
+
+    /**
+     * Decodes {@link NDArray} through {@link ByteBuffer}.
+     *
+     * <p>The data of the {@link NDArray} is not copied on the Java side: a view of {@code bb} is
+     * handed to the {@link NDManager}. The data is read from the current position of the buffer,
+     * and the position is advanced past the encoded {@link NDArray}.
+     *
+     * @param manager the {@link NDManager} assigned to the {@link NDArray}
+     * @param bb the big-endian buffer to load from
+     * @return {@link NDArray}
+     */
+    static NDArray decode(NDManager manager, ByteBuffer bb) {
+        return EncodedNDArray.decode(bb).toNDArray(manager);
+    }
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray.index;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.index.dim.NDIndexAll;
+import ai.djl.ndarray.index.dim.NDIndexBooleans;
+import ai.djl.ndarray.index.dim.NDIndexElement;
+import ai.djl.ndarray.index.dim.NDIndexFixed;
+import ai.djl.ndarray.index.dim.NDIndexPick;
+import ai.djl.ndarray.index.dim.NDIndexSlice;
+import ai.djl.ndarray.types.DataType;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A {@code CompiledNDIndex} is an index string parsed once, that creates {@link NDIndex}es for
+ * different values of its arguments.
+ *
+ * <p>Parsing an index string is much slower than the indexing itself for small arrays. Code that
+ * indexes arrays repeatedly, like a {@link ai.djl.translate.Translator}, can compile its indices
+ * once, and bind the arguments for each call:
+ *
+ * <pre>
+ *     private static final CompiledNDIndex COLUMN = NDIndex.compile(":, {}");
+ *
+ *     NDArray x = boxes.get(COLUMN.bind(0));
+ *     NDArray y = boxes.get(COLUMN.bind(1));
+ * </pre>
+ *
+ * <p>A {@code CompiledNDIndex} is immutable and can be shared by multiple threads.
+ *
+ * @see NDIndex#compile(String)
+ */
+public final class CompiledNDIndex {
+
+    /* Android regex requires escape } char as well */
+    private static final Pattern ITEM_PATTERN =
+            Pattern.compile(
+                    "(\\*)|((-?\\d+|\\{\\})?:(-?\\d+|\\{\\})?(:(-?\\d+|\\{\\}))?)|(-?\\d+|\\{\\})");
+
+    private String indices;
+    private Item[] items;
+    private int rank;
+    private int ellipsisIndex;
+    private int argCount;
+
+    CompiledNDIndex(String indices) {
+        this.indices = indices;
+        String[] indexItems = indices.split(",");
+        items = new Item[indexItems.length];
+        ellipsisIndex = -1;
+        int size = 0;
+        for (int i = 0; i < indexItems.length; ++i) {
+            String indexItem = indexItems[i].trim();
+            if ("...".equals(indexItem)) {
+                // make sure ellipsis appear only once
+                if (ellipsisIndex != -1) {
+                    throw new IllegalArgumentException(
+                            "an index can only have a single ellipsis (\"...\")");
+                }
+                ellipsisIndex = i;
+            } else {
+                items[size++] = parseItem(indexItem);
+            }
+        }
+        if (size < items.length) {
+            Item[] trimmed = new Item[size];
+            System.arraycopy(items, 0, trimmed, 0, size);
+            items = trimmed;
+        }
+        rank = size;
+    }
+
+    /**
+     * Creates a new {@link NDIndex} with the given arguments.
+     *
+     * @param args arguments to replace the variable "{}" in the indices string. Can be an integer,
+     *     long, boolean {@link NDArray}, or integer {@link NDArray}.
+     * @return a new {@link NDIndex}
+     * @see NDIndex#NDIndex(String, Object...)
+     */
+    public NDIndex bind(Object... args) {
+        NDIndex index = new NDIndex();
+        index.addCompiled(this, args);
+        return index;
+    }
+
+    /**
+     * Returns the number of variables "{}" in the indices string.
+     *
+     * @return the number of variables in the indices string
+     */
+    public int getArgumentCount() {
+        return argCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return indices;
+    }
+
+    int getRank() {
+        return rank;
+    }
+
+    int getEllipsisIndex() {
+        return ellipsisIndex;
+    }
+
+    void addElements(List<NDIndexElement> elements, Object[] args) {
+        if (args.length != argCount) {
+            throw new IllegalArgumentException("Incorrect number of index arguments");
+        }
+        for (Item item : items) {
+            elements.add(item.toElement(args));
+        }
+    }
+
+    private Item parseItem(String indexItem) {
+        Matcher m = ITEM_PATTERN.matcher(indexItem);
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Invalid argument index: " + indexItem);
+        }
+        // "*" case
+        if (m.group(1) != null) {
+            return new Item(new NDIndexAll());
+        }
+        // "number" number only case
+        String digit = m.group(7);
+        if (digit != null) {
+            if ("{}".equals(digit)) {
+                return new Item(argCount++);
+            }
+            return new Item(new NDIndexFixed(Long.parseLong(digit)));
+        }
+
+        // Slice
+        Item item = new Item(null);
+        item.minArg = parseSliceItem(m.group(3));
+        item.min = parseSliceValue(m.group(3));
+        item.maxArg = parseSliceItem(m.group(4));
+        item.max = parseSliceValue(m.group(4));
+        item.stepArg = parseSliceItem(m.group(6));
+        item.step = parseSliceValue(m.group(6));
+        if (item.minArg < 0 && item.maxArg < 0 && item.stepArg < 0) {
+            if (item.min == null && item.max == null && item.step == null) {
+                item.element = new NDIndexAll();
+            } else {
+                item.element = new NDIndexSlice(item.min, item.max, item.step);
+            }
+        }
+        return item;
+    }
+
+    private int parseSliceItem(String sliceItem) {
+        return "{}".equals(sliceItem) ? argCount++ : -1;
+    }
+
+    private static Long parseSliceValue(String sliceItem) {
+        if (sliceItem == null || "{}".equals(sliceItem)) {
+            return null;
+        }
+        return Long.parseLong(sliceItem);
+    }
+
+    /** A parsed index item, either a constant element or a template with arguments. */
+    private static final class Item {
+
+        // the index elements are immutable, so the constant ones are shared by all the indices
+        NDIndexElement element;
+        int fixedArg = -1;
+        int minArg;
+        int maxArg;
+        int stepArg;
+        Long min;
+        Long max;
+        Long step;
+
+        Item(NDIndexElement element) {
+            this.element = element;
+        }
+
+        Item(int fixedArg) {
+            this.fixedArg = fixedArg;
+        }
+
+        NDIndexElement toElement(Object[] args) {
+            if (element != null) {
+                return element;
+            }
+            if (fixedArg >= 0) {
+                return fixedElement(args[fixedArg]);
+            }
+            Long sliceMin = minArg >= 0 ? sliceValue(args[minArg]) : min;
+            Long sliceMax = maxArg >= 0 ? sliceValue(args[maxArg]) : max;
+            Long sliceStep = stepArg >= 0 ? sliceValue(args[stepArg]) : step;
+            return new NDIndexSlice(sliceMin, sliceMax, sliceStep);
+        }
+
+        private static NDIndexElement fixedElement(Object arg) {
+            if (arg instanceof Integer) {
+                return new NDIndexFixed((Integer) arg);
+            } else if (arg instanceof Long) {
+                return new NDIndexFixed((Long) arg);
+            } else if (arg instanceof NDArray) {
+                NDArray array = (NDArray) arg;
+                if (array.getDataType() == DataType.BOOLEAN) {
+                    return new NDIndexBooleans(array);
+                } else if (array.getDataType().isInteger()) {
+                    return new NDIndexPick(array);
+                }
+            }
+            throw new IllegalArgumentException("Unknown argument: " + arg);
+        }
+
+        private static Long sliceValue(Object arg) {
+            if (arg instanceof Integer) {
+                return ((Integer) arg).longValue();
+            } else if (arg instanceof Long) {
+                return (Long) arg;
+            }
+            throw new IllegalArgumentException("Unknown slice argument: " + arg);
+        }
+    }
+}
@@ -19,11 +19,10 @@ import ai.djl.ndarray.index.dim.NDIndexElement;
 import ai.djl.ndarray.index.dim.NDIndexFixed;
 import ai.djl.ndarray.index.dim.NDIndexPick;
 import ai.djl.ndarray.index.dim.NDIndexSlice;
-import ai.djl.ndarray.types.DataType;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 /**
@@ -40,16 +39,15 @@ import java.util.stream.Stream;
  *   <li>A range of values - Use addSliceDim
  * </ul>
  *
- * <p>We recommend creating the NDIndex using {@link #NDIndex(String, Object...)}.
+ * <p>We recommend creating the NDIndex using {@link #NDIndex(String, Object...)}, or {@link
+ * #compile(String)} for indices used repeatedly.
  *
  * @see #NDIndex(String, Object...)
  */
 public class NDIndex {
 
-    /* Android regex requires escape } char as well */
-    private static final Pattern ITEM_PATTERN =
-            Pattern.compile(
-                    "(\\*)|((-?\\d+|\\{\\})?:(-?\\d+|\\{\\})?(:(-?\\d+|\\{\\}))?)|(-?\\d+|\\{\\})");
+    private static final int CACHE_SIZE = 1024;
+    private static final Map<String, CompiledNDIndex> CACHE = new ConcurrentHashMap<>();
 
     private int rank;
     private List<NDIndexElement> indices;
@@ -146,6 +144,31 @@ public class NDIndex {
         return ind;
     }
 
+    /**
+     * Parses the index string once, to create {@link NDIndex}es with different arguments.
+     *
+     * <p>The parsed index strings are cached, so that {@link #NDIndex(String, Object...)} and
+     * {@link NDArray#get(String, Object...)} don't parse the same constant strings again. Code that
+     * indexes arrays repeatedly should keep the {@link CompiledNDIndex} instead, to skip the cache
+     * lookup as well.
+     *
+     * @param indices the indices similar to {@link #NDIndex(String, Object...)}, with the variable
+     *     "{}" for each argument
+     * @return the {@link CompiledNDIndex}
+     * @see #NDIndex(String, Object...)
+     */
+    public static CompiledNDIndex compile(String indices) {
+        CompiledNDIndex compiled = CACHE.get(indices);
+        if (compiled == null) {
+            compiled = new CompiledNDIndex(indices);
+            // strings built on the fly would fill the cache, only keep the first ones
+            if (CACHE.size() < CACHE_SIZE) {
+                CACHE.putIfAbsent(indices, compiled);
+            }
+        }
+        return compiled;
+    }
+
     /**
      * Returns the number of dimensions specified in the Index.
      *
@@ -193,27 +216,7 @@ public class NDIndex {
      * @see #NDIndex(String, Object...)
      */
     public final NDIndex addIndices(String indices, Object... args) {
-        String[] indexItems = indices.split(",");
-        rank += indexItems.length;
-        int argIndex = 0;
-        for (int i = 0; i < indexItems.length; ++i) {
-            if ("...".equals(indexItems[i].trim())) {
-                // make sure ellipsis appear only once
-                if (ellipsisIndex != -1) {
-                    throw new IllegalArgumentException(
-                            "an index can only have a single ellipsis (\"...\")");
-                }
-                ellipsisIndex = i;
-            } else {
-                argIndex = addIndexItem(indexItems[i], argIndex, args);
-            }
-        }
-        if (ellipsisIndex != -1) {
-            rank--;
-        }
-        if (argIndex != args.length) {
-            throw new IllegalArgumentException("Incorrect number of index arguments");
-        }
+        addCompiled(compile(indices), args);
         return this;
     }
 
@@ -319,6 +322,19 @@ public class NDIndex {
         return this;
     }
 
+    void addCompiled(CompiledNDIndex compiled, Object[] args) {
+        if (compiled.getEllipsisIndex() != -1) {
+            // make sure ellipsis appear only once
+            if (ellipsisIndex != -1) {
+                throw new IllegalArgumentException(
+                        "an index can only have a single ellipsis (\"...\")");
+            }
+            ellipsisIndex = compiled.getEllipsisIndex();
+        }
+        compiled.addElements(indices, args);
+        rank += compiled.getRank();
+    }
+
     /**
      * Returns a stream of the NDIndexElements.
      *
@@ -327,88 +343,4 @@ public class NDIndex {
     public Stream<NDIndexElement> stream() {
         return indices.stream();
     }
-
-    private int addIndexItem(String indexItem, int argIndex, Object[] args) {
-        indexItem = indexItem.trim();
-        Matcher m = ITEM_PATTERN.matcher(indexItem);
-        if (!m.matches()) {
-            throw new IllegalArgumentException("Invalid argument index: " + indexItem);
-        }
-        // "*" case
-        String star = m.group(1);
-        if (star != null) {
-            indices.add(new NDIndexAll());
-            return argIndex;
-        }
-        // "number" number only case
-        String digit = m.group(7);
-        if (digit != null) {
-            if ("{}".equals(digit)) {
-                Object arg = args[argIndex];
-                if (arg instanceof Integer) {
-                    indices.add(new NDIndexFixed((Integer) arg));
-                    return argIndex + 1;
-                } else if (arg instanceof Long) {
-                    indices.add(new NDIndexFixed((Long) arg));
-                    return argIndex + 1;
-                } else if (arg instanceof NDArray) {
-                    NDArray array = (NDArray) arg;
-                    if (array.getDataType() == DataType.BOOLEAN) {
-                        indices.add(new NDIndexBooleans(array));
-                        return argIndex + 1;
-                    } else if (array.getDataType().isInteger()) {
-                        indices.add(new NDIndexPick(array));
-                        return argIndex + 1;
-                    }
-                }
-                throw new IllegalArgumentException("Unknown argument: " + arg);
-            } else {
-                indices.add(new NDIndexFixed(Long.parseLong(digit)));
-                return argIndex;
-            }
-        }
-
-        // Slice
-        Long min = null;
-        Long max = null;
-        Long step = null;
-        if (m.group(3) != null) {
-            min = parseSliceItem(m.group(3), argIndex, args);
-            if ("{}".equals(m.group(3))) {
-                argIndex++;
-            }
-        }
-        if (m.group(4) != null) {
-            max = parseSliceItem(m.group(4), argIndex, args);
-            if ("{}".equals(m.group(4))) {
-                argIndex++;
-            }
-        }
-        if (m.group(6) != null) {
-            step = parseSliceItem(m.group(6), argIndex, args);
-            if ("{}".equals(m.group(6))) {
-                argIndex++;
-            }
-        }
-        if (min == null && max == null && step == null) {
-            indices.add(new NDIndexAll());
-        } else {
-            indices.add(new NDIndexSlice(min, max, step));
-        }
-        return argIndex;
-    }
-
-    private Long parseSliceItem(String sliceItem, int argIndex, Object... args) {
-        if ("{}".equals(sliceItem)) {
-            Object arg = args[argIndex];
-            if (arg instanceof Integer) {
-                return ((Integer) arg).longValue();
-            } else if (arg instanceof Long) {
-                return (Long) arg;
-            }
-            throw new IllegalArgumentException("Unknown slice argument: " + arg);
-        } else {
-            return Long.parseLong(sliceItem);
-        }
-    }
 }
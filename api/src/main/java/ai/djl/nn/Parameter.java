@@ -13,12 +13,14 @@
 package ai.djl.nn;
 
 import ai.djl.MalformedModelException;
+import ai.djl.ndarray.EncodedNDArray;
 import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.training.initializer.Initializer;
 import ai.djl.training.initializer.XavierInitializer;
+import ai.djl.util.MappedDataInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -45,9 +47,12 @@ public class Parameter implements AutoCloseable {
     private Shape shape;
     private Type type;
     private Initializer initializer;
-    private NDArray array;
+    private volatile NDArray array;
     private boolean requiresGrad;
 
+    private EncodedNDArray encoded;
+    private NDManager encodedManager;
+
     Parameter(Builder builder) {
         this.id = UUID.randomUUID().toString();
         this.name = builder.name;
@@ -106,7 +111,7 @@ public class Parameter implements AutoCloseable {
      * @param shape the shape of this {@code Parameter}
      */
     public void setShape(Shape shape) {
-        if (array != null) {
+        if (isInitialized()) {
             throw new IllegalStateException("array has been set! Use either setArray or setShape");
         }
         this.shape = shape;
@@ -115,13 +120,25 @@ public class Parameter implements AutoCloseable {
     /**
      * Gets the values of this {@code Parameter} as an {@link NDArray}.
      *
+     * <p>If the parameter was loaded lazily, the {@link NDArray} is created by the first call.
+     *
      * @return an {@link NDArray} that contains values of this {@code Parameter}
      */
     public NDArray getArray() {
-        if (!isInitialized()) {
-            throw new IllegalStateException("The array has not been initialized");
+        NDArray value = array;
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            if (encoded == null) {
+                throw new IllegalStateException("The array has not been initialized");
+            }
+            value = encoded.toNDArray(encodedManager);
+            encoded = null;
+            encodedManager = null;
+            array = value;
+            return value;
         }
-        return array;
     }
 
     /**
@@ -139,7 +156,7 @@ public class Parameter implements AutoCloseable {
      * @return {@code true} if this {@code Parameter} is initialized
      */
     public boolean isInitialized() {
-        return array != null;
+        return array != null || encoded != null;
     }
 
     /**
@@ -168,7 +185,7 @@ public class Parameter implements AutoCloseable {
         }
 
         if (requiresGradient()) {
-            array.setRequiresGradient(true);
+            getArray().setRequiresGradient(true);
         }
     }
 
@@ -187,7 +204,7 @@ public class Parameter implements AutoCloseable {
         dos.writeChar('P');
         dos.writeByte(VERSION);
         dos.writeUTF(getName());
-        dos.write(array.encode());
+        dos.write(getArray().encode());
     }
 
     /**
@@ -196,6 +213,10 @@ public class Parameter implements AutoCloseable {
      * <p>Currently, we cannot deserialize into the exact subclass of NDArray. The SparseNDArray
      * will be loaded as NDArray only.
      *
+     * <p>If the stream is a {@link MappedDataInputStream}, the NDArray is created directly from the
+     * mapped file. If the stream is lazy, the NDArray is only created when {@link #getArray()} is
+     * first called.
+     *
      * @param manager the NDManager
      * @param dis the InputStream
      * @throws IOException if failed to read
@@ -223,6 +244,28 @@ public class Parameter implements AutoCloseable {
                     "Unexpected parameter name: " + parameterName + ", expected: " + name);
         }
 
+        if (dis instanceof MappedDataInputStream) {
+            MappedDataInputStream mis = (MappedDataInputStream) dis;
+            EncodedNDArray data;
+            try {
+                data = EncodedNDArray.decode(mis.getByteBuffer());
+            } catch (IllegalArgumentException e) {
+                throw new MalformedModelException("Invalid parameter data: " + parameterName, e);
+            }
+            if (mis.isLazy()) {
+                synchronized (this) {
+                    array = null;
+                    encoded = data;
+                    encodedManager = manager;
+                }
+            } else {
+                array = data.toNDArray(manager);
+            }
+            // set the shape of the parameter and prepare() can be skipped
+            shape = data.getShape();
+            return;
+        }
+
         array = manager.decode(dis);
         // set the shape of the parameter and prepare() can be skipped
         shape = array.getShape();
@@ -231,6 +274,10 @@ public class Parameter implements AutoCloseable {
     /** {@inheritDoc} */
     @Override
     public void close() {
+        synchronized (this) {
+            encoded = null;
+            encodedManager = null;
+        }
         if (array != null) {
             array.close();
             array = null;
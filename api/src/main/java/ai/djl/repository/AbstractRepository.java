@@ -17,6 +17,7 @@ import ai.djl.util.Progress;
 import ai.djl.util.Utils;
 import ai.djl.util.ZipUtils;
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -28,10 +29,17 @@ import java.nio.file.StandardCopyOption;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -49,6 +57,8 @@ public abstract class AbstractRepository implements Repository {
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractRepository.class);
 
+    private static final long CHUNK_SIZE = 16 * 1024 * 1024;
+
     /** {@inheritDoc} */
     @Override
     public InputStream openStream(Artifact.Item item, String path) throws IOException {
@@ -126,8 +136,13 @@ public abstract class AbstractRepository implements Repository {
 
         try {
             logger.debug("Items to download: {}", files.size());
-            for (Artifact.Item item : files.values()) {
-                download(tmp, baseUri, item, progress);
+            int threads = Math.min(files.size(), getDownloadThreads());
+            if (threads <= 1) {
+                for (Artifact.Item item : files.values()) {
+                    download(tmp, baseUri, item, progress);
+                }
+            } else {
+                downloadAll(tmp, baseUri, files.values(), progress, threads);
             }
             Utils.moveQuietly(tmp, resourceDir);
         } finally {
@@ -162,13 +177,73 @@ public abstract class AbstractRepository implements Repository {
         if (!fileUri.isAbsolute()) {
             fileUri = getBaseUri().resolve(baseUri).resolve(fileUri);
         }
+        download(fileUri, tmp, baseUri, item, progress);
+    }
 
+    /**
+     * Downloads the item from the specified {@code URI} and saves it to the temporary directory.
+     *
+     * <p>Large HTTP files are downloaded in chunks with range requests. The chunks are kept in the
+     * cache directory if the download fails, so the next attempt resumes where it stopped. They are
+     * only deleted if the downloaded file is corrupted: if its size or checksum is wrong, or,
+     * without checksum, if the archive is malformed.
+     *
+     * @param fileUri the {@code URI} to download the item from
+     * @param tmp the temporary directory to save the item to
+     * @param baseUri the base {@code URI} of the artifact
+     * @param item the item to download
+     * @param progress the (optionally null) progress tracker
+     * @throws IOException if failed to download the item
+     */
+    protected void download(
+            URI fileUri, Path tmp, URI baseUri, Artifact.Item item, Progress progress)
+            throws IOException {
         logger.debug("Downloading artifact: {} ...", fileUri);
+        if (HttpDownloader.isSupported(fileUri)) {
+            long chunkSize = Long.getLong("ai.djl.repository.download_chunk_size", CHUNK_SIZE);
+            Path partialDir = getCacheDirectory().resolve("downloads");
+            Progress shared = progress;
+            if (progress != null && !(progress instanceof SynchronizedProgress)) {
+                shared = new SynchronizedProgress(progress);
+            }
+            HttpDownloader downloader =
+                    new HttpDownloader(
+                            fileUri, partialDir, chunkSize, getDownloadThreads(), shared);
+            if (downloader.probe() && downloader.getContentLength() > chunkSize) {
+                // partial files are kept if the download fails
+                InputStream is = downloader.download();
+                try {
+                    // progress has been tracked by the downloader
+                    save(is, tmp, baseUri, item, null);
+                } catch (IOException e) {
+                    // keep the partial files on local errors, such as a full disk
+                    if (isCorrupted(downloader, item, e)) {
+                        // start from scratch next time
+                        downloader.delete();
+                    }
+                    throw e;
+                } finally {
+                    is.close();
+                }
+                downloader.delete();
+                return;
+            }
+        }
         try (InputStream is = fileUri.toURL().openStream()) {
             save(is, tmp, baseUri, item, progress);
         }
     }
 
+    private static boolean isCorrupted(
+            HttpDownloader downloader, Artifact.Item item, IOException e) {
+        if (!downloader.isComplete(item.getSha1Hash())) {
+            return true;
+        }
+        // without checksum, a malformed archive is the only sign of corrupted data
+        return item.getSha1Hash() == null
+                && (e instanceof ZipException || e instanceof EOFException);
+    }
+
     protected void save(
             InputStream is, Path tmp, URI baseUri, Artifact.Item item, Progress progress)
             throws IOException {
@@ -208,6 +283,49 @@ public abstract class AbstractRepository implements Repository {
         pis.validateChecksum(item);
     }
 
+    private void downloadAll(
+            Path tmp,
+            URI baseUri,
+            Collection<Artifact.Item> items,
+            Progress progress,
+            int threads)
+            throws IOException {
+        Progress shared = progress == null ? null : new SynchronizedProgress(progress);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(items.size());
+            for (Artifact.Item item : items) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    download(tmp, baseUri, item, shared);
+                                    return null;
+                                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("Failed to download artifact.", cause);
+        } finally {
+            executor.shutdownNow();
+            HttpDownloader.awaitTermination(executor);
+        }
+    }
+
+    private static int getDownloadThreads() {
+        return Math.max(1, Integer.getInteger("ai.djl.repository.download_threads", 4));
+    }
+
     private void untar(InputStream is, Path dir, boolean gzip) throws IOException {
         InputStream bis;
         if (gzip) {
@@ -291,7 +409,7 @@ public abstract class AbstractRepository implements Repository {
         @Override
         public int read(byte[] b, int off, int len) throws IOException {
             int size = dis.read(b, off, len);
-            if (progress != null) {
+            if (progress != null && size > 0) {
                 progress.increment(size);
             }
             return size;
@@ -303,8 +421,11 @@ public abstract class AbstractRepository implements Repository {
                 return;
             }
 
-            // drain InputSteam to get correct sha1 hash
-            Utils.toByteArray(dis);
+            // drain InputSteam to get correct sha1 hash, the data is not kept
+            byte[] buf = new byte[8192];
+            while (dis.read(buf) != -1) {
+                // continue
+            }
             String sha1 = Hex.toHexString(dis.getMessageDigest().digest());
             if (!sha1.equalsIgnoreCase(item.getSha1Hash())) {
                 throw new IOException(
@@ -323,4 +444,44 @@ public abstract class AbstractRepository implements Repository {
             dis.close();
         }
     }
+
+    /** A {@link Progress} that can be updated by concurrent downloads. */
+    private static final class SynchronizedProgress implements Progress {
+
+        private Progress progress;
+
+        SynchronizedProgress(Progress progress) {
+            this.progress = progress;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized void reset(String message, long max, String trailingMessage) {
+            progress.reset(message, max, trailingMessage);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized void start(long initialProgress) {
+            progress.start(initialProgress);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void end() {
+            // the progress is ended once all items are downloaded
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized void increment(long increment) {
+            progress.increment(increment);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public synchronized void update(long progress, String message) {
+            this.progress.update(progress, message);
+        }
+    }
 }
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.repository;
+
+import ai.djl.util.Hex;
+import ai.djl.util.Progress;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads a file over HTTP in chunks using range requests.
+ *
+ * <p>Each chunk is saved to its own partial file, and chunks are downloaded concurrently. If the
+ * download fails, the partial files are kept, and the next download of the same file only requests
+ * the missing bytes. The partial files are keyed by the URL, the size and the ETag of the file, so
+ * a changed remote file is never mixed with stale data.
+ */
+final class HttpDownloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpDownloader.class);
+
+    private static final int BUFFER_SIZE = 81920;
+
+    private URI uri;
+    private Path partialDir;
+    private long chunkSize;
+    private int threads;
+    private Progress progress;
+
+    private long contentLength;
+    private List<Path> chunks;
+
+    /**
+     * Constructs a new {@code HttpDownloader}.
+     *
+     * @param uri the HTTP URI of the file
+     * @param partialDir the directory to store partial files
+     * @param chunkSize the size of each range request
+     * @param threads the number of chunks to download concurrently
+     * @param progress the (optionally null) progress tracker, must be thread-safe
+     */
+    HttpDownloader(URI uri, Path partialDir, long chunkSize, int threads, Progress progress) {
+        this.uri = uri;
+        this.partialDir = partialDir;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.progress = progress;
+    }
+
+    /**
+     * Returns whether the {@code uri} can be downloaded with this class.
+     *
+     * @param uri the {@code URI} to check
+     * @return whether the {@code uri} can be downloaded with this class
+     */
+    static boolean isSupported(URI uri) {
+        String scheme = uri.getScheme();
+        return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+    }
+
+    /**
+     * Checks whether the server supports range requests for the file.
+     *
+     * @return {@code true} if the file can be downloaded in chunks
+     * @throws IOException if failed to connect to the server
+     */
+    boolean probe() throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) uri.toURL().openConnection();
+        try {
+            conn.setRequestMethod("HEAD");
+            if (conn.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                // some servers, like pre-signed S3 URLs, don't allow HEAD requests
+                logger.debug("HEAD request failed with: {}", conn.getResponseCode());
+                return false;
+            }
+            contentLength = conn.getContentLengthLong();
+            String acceptRanges = conn.getHeaderField("Accept-Ranges");
+            if (contentLength <= 0 || !"bytes".equalsIgnoreCase(acceptRanges)) {
+                return false;
+            }
+
+            String etag = conn.getHeaderField("ETag");
+            String key = uri.toString() + '|' + contentLength + '|' + etag;
+            key = AbstractRepository.md5hash(key);
+            int count = (int) ((contentLength + chunkSize - 1) / chunkSize);
+            chunks = new ArrayList<>(count);
+            for (int i = 0; i < count; ++i) {
+                chunks.add(partialDir.resolve(key + '.' + i + ".part"));
+            }
+            return true;
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Returns the size of the file reported by the server.
+     *
+     * @return the size of the file reported by the server
+     */
+    long getContentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Downloads the missing chunks, and returns the content of the file.
+     *
+     * <p>{@link #probe()} must return {@code true} before calling this method.
+     *
+     * @return an {@code InputStream} that reads the downloaded file
+     * @throws IOException if failed to download a chunk
+     */
+    InputStream download() throws IOException {
+        Files.createDirectories(partialDir);
+        int poolSize = Math.max(1, Math.min(threads, chunks.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<Void>> futures = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); ++i) {
+                int index = i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    downloadChunk(index);
+                                    return null;
+                                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Download interrupted: " + uri, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to download: " + uri, cause);
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+
+        List<InputStream> streams = new ArrayList<>(chunks.size());
+        try {
+            for (Path chunk : chunks) {
+                streams.add(Files.newInputStream(chunk));
+            }
+        } catch (IOException e) {
+            for (InputStream is : streams) {
+                is.close();
+            }
+            throw e;
+        }
+        Enumeration<InputStream> en = Collections.enumeration(streams);
+        return new SequenceInputStream(en);
+    }
+
+    /**
+     * Returns whether the partial files hold the whole file, with the expected checksum.
+     *
+     * <p>The partial files are assumed to be valid if they can't be read.
+     *
+     * @param sha1 the expected SHA1 hash of the file, or {@code null} to only check the size
+     * @return whether the partial files hold the whole file
+     */
+    boolean isComplete(String sha1) {
+        if (chunks == null) {
+            return false;
+        }
+        try {
+            long total = 0;
+            for (Path chunk : chunks) {
+                if (!Files.isRegularFile(chunk)) {
+                    return false;
+                }
+                total += Files.size(chunk);
+            }
+            if (total != contentLength) {
+                return false;
+            }
+            if (sha1 == null) {
+                return true;
+            }
+            MessageDigest md;
+            try {
+                md = MessageDigest.getInstance("SHA1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new AssertionError("SHA1 algorithm not found.", e);
+            }
+            byte[] buf = new byte[BUFFER_SIZE];
+            for (Path chunk : chunks) {
+                try (InputStream is = Files.newInputStream(chunk)) {
+                    int read;
+                    while ((read = is.read(buf)) != -1) {
+                        md.update(buf, 0, read);
+                    }
+                }
+            }
+            return sha1.equalsIgnoreCase(Hex.toHexString(md.digest()));
+        } catch (IOException e) {
+            logger.debug("Failed to verify the partial files of: {}", uri, e);
+            return true;
+        }
+    }
+
+    /** Deletes the partial files. */
+    void delete() {
+        if (chunks == null) {
+            return;
+        }
+        for (Path chunk : chunks) {
+            try {
+                Files.deleteIfExists(chunk);
+            } catch (IOException e) {
+                logger.warn("Failed to delete partial file: {}", chunk, e);
+            }
+        }
+    }
+
+    private void downloadChunk(int index) throws IOException {
+        Path chunk = chunks.get(index);
+        long start = index * chunkSize;
+        long size = Math.min(chunkSize, contentLength - start);
+        long existing = Files.exists(chunk) ? Files.size(chunk) : 0;
+        if (existing > size) {
+            Files.delete(chunk);
+            existing = 0;
+        }
+        if (progress != null && existing > 0) {
+            progress.increment(existing);
+        }
+        if (existing == size) {
+            return;
+        }
+
+        HttpURLConnection conn = (HttpURLConnection) uri.toURL().openConnection();
+        try {
+            long end = start + size - 1;
+            conn.setRequestProperty("Range", "bytes=" + (start + existing) + '-' + end);
+            int code = conn.getResponseCode();
+            if (code != HttpURLConnection.HTTP_PARTIAL) {
+                throw new IOException("Range request failed with: " + code + ", " + uri);
+            }
+            try (InputStream is = conn.getInputStream();
+                    OutputStream os =
+                            Files.newOutputStream(
+                                    chunk, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                byte[] buf = new byte[BUFFER_SIZE];
+                long remaining = size - existing;
+                int read;
+                while (remaining > 0
+                        && (read = is.read(buf, 0, (int) Math.min(buf.length, remaining))) != -1) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new IOException("Download cancelled: " + uri);
+                    }
+                    os.write(buf, 0, read);
+                    remaining -= read;
+                    if (progress != null) {
+                        progress.increment(read);
+                    }
+                }
+                if (remaining > 0) {
+                    throw new IOException("Connection closed before chunk completed: " + uri);
+                }
+            }
+        } finally {
+            conn.disconnect();
+        }
+    }
+
+    /**
+     * Waits until all tasks of a shut down executor have stopped.
+     *
+     * <p>A failed download must not write files while they are being retried or cleaned up.
+     *
+     * @param executor the executor that has been shut down
+     */
+    static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+                logger.debug("Waiting for downloads to stop.");
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
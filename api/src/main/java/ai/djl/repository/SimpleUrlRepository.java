@@ -16,7 +16,6 @@ import ai.djl.Application;
 import ai.djl.repository.zoo.DefaultModelZoo;
 import ai.djl.util.Progress;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.nio.file.Path;
@@ -105,10 +104,7 @@ public class SimpleUrlRepository extends AbstractRepository {
     @Override
     protected void download(Path tmp, URI baseUri, Artifact.Item item, Progress progress)
             throws IOException {
-        logger.debug("Downloading artifact: {} ...", uri);
-        try (InputStream is = uri.toURL().openStream()) {
-            save(is, tmp, baseUri, item, progress);
-        }
+        download(uri, tmp, baseUri, item, progress);
     }
 
     private synchronized Metadata getMetadata() throws IOException {
@@ -151,7 +147,7 @@ public class SimpleUrlRepository extends AbstractRepository {
                     logger.info("request error: " + code);
                     return -1;
                 }
-                return conn.getContentLength();
+                return conn.getContentLengthLong();
             } finally {
                 if (conn != null) {
                     conn.disconnect();
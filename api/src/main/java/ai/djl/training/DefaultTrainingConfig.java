@@ -38,6 +38,7 @@ public class DefaultTrainingConfig implements TrainingConfig {
     private ExecutorService executorService;
     private List<Evaluator> evaluators;
     private List<TrainingListener> listeners;
+    private ParameterServer parameterServer;
 
     /**
      * Creates an instance of {@code DefaultTrainingConfig} with the given {@link Loss}. {@code
@@ -115,6 +116,21 @@ public class DefaultTrainingConfig implements TrainingConfig {
         return this;
     }
 
+    /**
+     * Sets the {@link ParameterServer} used to update the parameters, such as a {@link
+     * RingParameterServer} for distributed training.
+     *
+     * <p>The parameter server must use the same optimizer as this config. It is closed with the
+     * {@link Trainer}. By default, the {@link Trainer} uses the parameter server of the engine.
+     *
+     * @param parameterServer the parameter server to be set
+     * @return this {@code DefaultTrainingConfig}
+     */
+    public DefaultTrainingConfig optParameterServer(ParameterServer parameterServer) {
+        this.parameterServer = parameterServer;
+        return this;
+    }
+
     /**
      * Sets the {@link ExecutorService} with the global {@link ForkJoinPool#commonPool()}.
      *
@@ -200,4 +216,10 @@ public class DefaultTrainingConfig implements TrainingConfig {
     public List<TrainingListener> getTrainingListeners() {
         return listeners;
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public ParameterServer getParameterServer() {
+        return parameterServer;
+    }
 }
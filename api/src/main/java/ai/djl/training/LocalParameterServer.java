@@ -14,12 +14,30 @@ package ai.djl.training;
 
 import ai.djl.Device;
 import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrays;
+import ai.djl.ndarray.NDList;
 import ai.djl.training.optimizer.Optimizer;
 
-/** {@code LocalParameterServer} is an implementation of the {@code ParameterServer} interface. */
+/**
+ * {@code LocalParameterServer} is an implementation of the {@code ParameterServer} interface.
+ *
+ * <p>When the parameters are mirrored on several devices, the gradients of the parameters are
+ * flattened into buckets of about {@code bucketSize} bytes, so that each bucket is copied and
+ * summed across the devices at once, instead of one small array at a time. The optimizer then
+ * updates each parameter with its part of the summed bucket.
+ *
+ * <p>Buckets only batch the reduction of the gradients. The optimizer is still called once per
+ * parameter and device, so a model on a single device without other workers, which has nothing to
+ * reduce, is updated exactly as without buckets. A fused update of a flattened bucket would have to
+ * flatten the parameters and copy each updated part back to its parameter, which takes more array
+ * operations than the per-parameter updates it replaces.
+ */
 public class LocalParameterServer implements ParameterServer {
 
+    private static final long DEFAULT_BUCKET_SIZE = 4L * 1024 * 1024;
+
     private Optimizer optimizer;
+    private long bucketSize;
 
     /**
      * Create a new instance of {@code LocalParameterServer} for the given optimizer.
@@ -27,13 +45,60 @@ public class LocalParameterServer implements ParameterServer {
      * @param optimizer an optimizer
      */
     public LocalParameterServer(Optimizer optimizer) {
+        this(optimizer, DEFAULT_BUCKET_SIZE);
+    }
+
+    /**
+     * Create a new instance of {@code LocalParameterServer} for the given optimizer.
+     *
+     * @param optimizer an optimizer
+     * @param bucketSize the maximum size in bytes of the gradients reduced together, or 0 to reduce
+     *     the gradients of each parameter separately
+     */
+    public LocalParameterServer(Optimizer optimizer, long bucketSize) {
         this.optimizer = optimizer;
+        this.bucketSize = bucketSize;
     }
 
     /** {@inheritDoc} */
     @Override
     public void init(String parameterId, NDArray[] value) {}
 
+    /** {@inheritDoc} */
+    @Override
+    public void update(String[] parameterIds, NDArray[][] params) {
+        NDArray[][] grads = new NDArray[params.length][];
+        for (int i = 0; i < params.length; ++i) {
+            grads[i] = new NDArray[params[i].length];
+            for (int j = 0; j < params[i].length; ++j) {
+                grads[i][j] = params[i][j].getGradient();
+            }
+        }
+        try {
+            int start = 0;
+            while (start < parameterIds.length) {
+                int end = nextBucket(grads, start);
+                if (params[start].length == 1 && !isDistributed()) {
+                    // nothing to reduce
+                    for (int i = start; i < end; ++i) {
+                        optimizer.update(parameterIds[i], params[i][0], grads[i][0]);
+                    }
+                } else if (end - start == 1) {
+                    update(parameterIds[start], grads[start], params[start]);
+                } else {
+                    updateBucket(parameterIds, grads, params, start, end);
+                }
+                start = end;
+            }
+        } finally {
+            for (NDArray[] arrays : grads) {
+                for (NDArray grad : arrays) {
+                    grad.close();
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void update(String parameterId, NDArray[] grads, NDArray[] params) {
@@ -44,6 +109,11 @@ public class LocalParameterServer implements ParameterServer {
                 grads[0].addi(gradCopy);
             }
         }
+        allReduce(parameterId, grads[0]);
+        if (params.length == 1) {
+            optimizer.update(parameterId, params[0], grads[0]);
+            return;
+        }
         // update weights on different devices with reduced gradient
         // use duplicate because after the first optimizer.update
         // PyTorch optimizer will zero grads[0]
@@ -61,7 +131,115 @@ public class LocalParameterServer implements ParameterServer {
         }
     }
 
+    /**
+     * Sums the gradient of a parameter with the gradients of the other workers.
+     *
+     * <p>The {@code LocalParameterServer} has no other worker, so the gradient is unchanged.
+     *
+     * @param parameterId the parameter ID, or the ID of the first parameter of a bucket of
+     *     flattened gradients
+     * @param grad the sum of the gradients on the devices of this worker, updated in place
+     */
+    protected void allReduce(String parameterId, NDArray grad) {}
+
+    /**
+     * Returns whether the gradients are summed with the gradients of other workers.
+     *
+     * @return whether the gradients are summed with the gradients of other workers
+     */
+    protected boolean isDistributed() {
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void close() {}
+
+    private int nextBucket(NDArray[][] grads, int start) {
+        NDArray first = grads[start][0];
+        long bytes = first.size() * first.getDataType().getNumOfBytes();
+        int end = start + 1;
+        while (end < grads.length) {
+            NDArray grad = grads[end][0];
+            bytes += grad.size() * grad.getDataType().getNumOfBytes();
+            if (bytes > bucketSize
+                    || grad.getDataType() != first.getDataType()
+                    || !sameDevices(grads[start], grads[end])) {
+                break;
+            }
+            ++end;
+        }
+        return end;
+    }
+
+    private void updateBucket(
+            String[] parameterIds, NDArray[][] grads, NDArray[][] params, int start, int end) {
+        int numDevices = params[start].length;
+        long[] indices = new long[end - start - 1];
+        long offset = 0;
+        for (int i = start; i < end - 1; ++i) {
+            offset += grads[i][0].size();
+            indices[i - start] = offset;
+        }
+        // the temporary arrays are all closed at the end
+        NDList temporaries = new NDList();
+        try {
+            NDArray[] buckets = new NDArray[numDevices];
+            for (int j = 0; j < numDevices; ++j) {
+                NDList flattened = new NDList(end - start);
+                for (int i = start; i < end; ++i) {
+                    flattened.add(grads[i][j].reshape(-1));
+                }
+                temporaries.addAll(flattened);
+                buckets[j] = NDArrays.concat(flattened);
+                temporaries.add(buckets[j]);
+            }
+            // reduce the buckets from all devices to the first device
+            Device firstDevice = buckets[0].getDevice();
+            for (int j = 1; j < numDevices; ++j) {
+                try (NDArray copy = buckets[j].toDevice(firstDevice, true)) {
+                    buckets[0].addi(copy);
+                }
+            }
+            allReduce(parameterIds[start], buckets[0]);
+            // copy the sum to the other devices
+            NDArray[] sums = new NDArray[numDevices];
+            for (int j = 0; j < numDevices; ++j) {
+                Device device = params[start][j].getDevice();
+                if (j > 0 && !device.equals(firstDevice)) {
+                    sums[j] = buckets[0].toDevice(device, true);
+                    temporaries.add(sums[j]);
+                } else {
+                    sums[j] = buckets[0];
+                }
+            }
+            NDList[] parts = new NDList[numDevices];
+            for (int j = 0; j < numDevices; ++j) {
+                parts[j] = sums[j].split(indices);
+                temporaries.addAll(parts[j]);
+            }
+            // same order as without buckets, as the optimizer counts the updates
+            for (int i = start; i < end; ++i) {
+                for (int j = 0; j < numDevices; ++j) {
+                    NDArray grad = parts[j].get(i - start).reshape(grads[i][j].getShape());
+                    temporaries.add(grad);
+                    optimizer.update(parameterIds[i], params[i][j], grad);
+                }
+            }
+        } finally {
+            temporaries.close();
+        }
+    }
+
+    private static boolean sameDevices(NDArray[] a, NDArray[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; ++i) {
+            if (!a[i].getDevice().equals(b[i].getDevice())) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
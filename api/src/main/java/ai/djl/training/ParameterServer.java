@@ -38,6 +38,22 @@ public interface ParameterServer extends AutoCloseable {
         update(parameterId, grads, params);
         Arrays.stream(grads).forEach(NDArray::close);
     }
+
+    /**
+     * Updates the parameters of multiple keys from Parameter Server.
+     *
+     * <p>The parameters are given in the same order for each update, which lets the parameter
+     * server process the gradients of several parameters together.
+     *
+     * @param parameterIds the keys to identify the parameters
+     * @param params the parameter NDArrays in different devices to be updated, for each key
+     */
+    default void update(String[] parameterIds, NDArray[][] params) {
+        for (int i = 0; i < parameterIds.length; ++i) {
+            update(parameterIds[i], params[i]);
+        }
+    }
+
     /**
      * Updates the parameter of a key from Parameter Server.
      *
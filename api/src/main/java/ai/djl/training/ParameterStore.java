@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * The {@code ParameterStore} contains a map from a parameter to the mirrors of it on other devices.
@@ -30,6 +31,7 @@ public class ParameterStore {
 
     private NDManager manager;
     private Map<String, ParameterData> parameterMap;
+    private List<String> parameterIds;
     private Map<Device, Integer> deviceMap;
     private boolean copy;
     private ParameterServer parameterServer;
@@ -44,6 +46,7 @@ public class ParameterStore {
         this.manager = manager;
         this.copy = copy;
         parameterMap = new ConcurrentHashMap<>();
+        parameterIds = new CopyOnWriteArrayList<>();
         deviceMap = new ConcurrentHashMap<>();
         deviceMap.put(manager.getDevice(), 0);
     }
@@ -64,16 +67,23 @@ public class ParameterStore {
         }
     }
 
-    /** Updates all the mirrored parameters. */
+    /**
+     * Updates all the mirrored parameters.
+     *
+     * <p>The parameters are updated together, in the order they were first used, so that the
+     * workers of a distributed {@link ParameterServer} update the same parameters at the same time.
+     */
     public void updateAllParameters() {
-        for (Map.Entry<String, ParameterData> entry : parameterMap.entrySet()) {
-            String parameterId = entry.getKey();
-            ParameterData data = entry.getValue();
+        List<String> ids = new ArrayList<>(parameterIds.size());
+        List<NDArray[]> params = new ArrayList<>(parameterIds.size());
+        for (String parameterId : parameterIds) {
+            ParameterData data = parameterMap.get(parameterId);
             if (data.requireGradient()) {
-                NDArray[] params = data.toArray();
-                parameterServer.update(parameterId, params);
+                ids.add(parameterId);
+                params.add(data.toArray());
             }
         }
+        parameterServer.update(ids.toArray(new String[0]), params.toArray(new NDArray[0][]));
     }
 
     /**
@@ -92,7 +102,12 @@ public class ParameterStore {
         String parameterId = parameter.getId();
         int index = deviceMap.get(device);
         ParameterData data =
-                parameterMap.computeIfAbsent(parameterId, k -> new ParameterData(parameter));
+                parameterMap.computeIfAbsent(
+                        parameterId,
+                        k -> {
+                            parameterIds.add(k);
+                            return new ParameterData(parameter);
+                        });
 
         if (data.isEmpty()) {
             NDArray array = parameter.getArray();
@@ -0,0 +1,569 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.training.optimizer.Optimizer;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@code RingParameterServer} is a {@link ParameterServer} for data-parallel training with several
+ * worker processes, on one or more machines.
+ *
+ * <p>Each worker runs its own {@link Trainer} on a different part of the dataset. The workers are
+ * connected in a ring over TCP: each worker sends to the next worker, and receives from the
+ * previous one. When the parameters are initialized, the values of the first worker are sent to all
+ * the others, so that all the workers start from the same model. For each update, the gradients of
+ * the devices of a worker are summed like with {@link LocalParameterServer}, then the sums of all
+ * the workers are added with a ring all-reduce. The gradients of consecutive parameters are
+ * flattened into buckets, so that small parameters don't need an exchange each. The gradients are
+ * split into one segment per worker, and the segments are sent in chunks, so that each worker sends
+ * and receives about twice the size of the gradients regardless of the number of workers, while
+ * sending and receiving at the same time.
+ *
+ * <p>All the workers must train the same model with the same optimizer and the same number of
+ * batches, as the parameters are updated in lockstep. The gradients are summed like the gradients
+ * of multiple devices, so the learning rate applies to the total batch of all the workers.
+ *
+ * <p>The received parameters and gradients are written in place with {@link NDArray#set(Buffer)},
+ * or {@link NDArray#copyTo(NDArray)} if the engine doesn't support it. An engine that supports
+ * neither fails when the parameters are initialized. The parameters are exchanged one at a time, so
+ * the first uses of a parameter from multiple threads don't mix their messages.
+ *
+ * <pre>
+ *     ParameterServer server = RingParameterServer.builder()
+ *             .setOptimizer(optimizer)
+ *             .setWorkers(addresses)
+ *             .setRank(rank)
+ *             .build();
+ *     TrainingConfig config = new DefaultTrainingConfig(loss)
+ *             .optOptimizer(optimizer)
+ *             .optParameterServer(server);
+ * </pre>
+ */
+public class RingParameterServer extends LocalParameterServer {
+
+    private static final int MAGIC = 0x444A4C52;
+    private static final int HEADER_SIZE = 20;
+
+    private int rank;
+    private int size;
+    private int chunkSize;
+    private ServerSocketChannel server;
+    private SocketChannel next;
+    private SocketChannel previous;
+    private ExecutorService sender;
+    private ByteBuffer sendBuffer;
+    private ByteBuffer receiveBuffer;
+    private long sequence;
+    private Set<String> initialized = new HashSet<>();
+
+    RingParameterServer(Builder builder) throws IOException {
+        super(builder.optimizer, builder.bucketSize);
+        rank = builder.rank;
+        size = builder.workers.size();
+        chunkSize = builder.chunkSize - builder.chunkSize % Float.BYTES;
+        if (size == 1) {
+            return;
+        }
+        sendBuffer = ByteBuffer.allocateDirect(chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        receiveBuffer = ByteBuffer.allocateDirect(chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        sender =
+                Executors.newSingleThreadExecutor(
+                        r -> {
+                            Thread thread = new Thread(r, "ring-parameter-server-" + rank);
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        try {
+            connect(builder.workers, builder.timeout);
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a builder to build a {@code RingParameterServer}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the rank of this worker.
+     *
+     * @return the rank of this worker
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    /**
+     * Returns the number of workers.
+     *
+     * @return the number of workers
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void init(String parameterId, NDArray[] value) {
+        // the first uses of a parameter on multiple devices may initialize it concurrently
+        if (size == 1 || !initialized.add(parameterId)) {
+            return;
+        }
+        NDArray array = value[0];
+        int length = Math.toIntExact(array.size() * array.getDataType().getNumOfBytes());
+        ByteBuffer data;
+        if (rank == 0) {
+            data = array.toByteBuffer();
+        } else {
+            data = ByteBuffer.allocate(length).order(ByteOrder.nativeOrder());
+        }
+        try {
+            broadcast(parameterId, data, length);
+        } catch (IOException e) {
+            throw new IllegalStateException("Parameter initialization failed", e);
+        }
+        // the first worker writes its own values back, so that an engine that can't update the
+        // parameters in place fails on all the workers, before any gradient is exchanged
+        data.rewind();
+        write(array, data);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected synchronized void allReduce(String parameterId, NDArray grad) {
+        if (size == 1) {
+            return;
+        }
+        if (grad.getDataType() != DataType.FLOAT32) {
+            throw new IllegalArgumentException(
+                    "Only float32 gradients are supported, got " + grad.getDataType());
+        }
+        float[] data = grad.toFloatArray();
+        try {
+            allReduce(parameterId, data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Gradient exchange failed", e);
+        }
+        write(grad, FloatBuffer.wrap(data));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isDistributed() {
+        return size > 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        if (sender != null) {
+            sender.shutdownNow();
+        }
+        closeQuietly(next);
+        closeQuietly(previous);
+        closeQuietly(server);
+    }
+
+    /**
+     * Sums the values with the values of all the other workers, in place.
+     *
+     * @param parameterId the ID of the parameter, which must be the same on all the workers
+     * @param data the values of this worker
+     * @throws IOException if the connection to another worker failed
+     */
+    synchronized void allReduce(String parameterId, float[] data) throws IOException {
+        exchangeHeaders(parameterId, data.length);
+        int[] bounds = new int[size + 1];
+        for (int i = 0; i <= size; ++i) {
+            bounds[i] = (int) ((long) data.length * i / size);
+        }
+        // reduce-scatter: after n - 1 steps, this worker has the sum of segment (rank + 1)
+        for (int step = 0; step < size - 1; ++step) {
+            int send = Math.floorMod(rank - step, size);
+            int receive = Math.floorMod(rank - step - 1, size);
+            exchange(data, bounds, send, receive, true);
+        }
+        // all-gather: each summed segment is passed around the ring
+        for (int step = 0; step < size - 1; ++step) {
+            int send = Math.floorMod(rank + 1 - step, size);
+            int receive = Math.floorMod(rank - step, size);
+            exchange(data, bounds, send, receive, false);
+        }
+    }
+
+    /**
+     * Copies the bytes of the first worker to all the other workers.
+     *
+     * @param parameterId the ID of the parameter, which must be the same on all the workers
+     * @param data the bytes to send from the first worker, or the buffer to receive them
+     * @param length the number of bytes
+     * @throws IOException if the connection to another worker failed
+     */
+    synchronized void broadcast(String parameterId, ByteBuffer data, int length)
+            throws IOException {
+        exchangeHeaders(parameterId, length);
+        if (rank == 0) {
+            ByteBuffer view = data.duplicate();
+            view.position(0).limit(length);
+            writeFully(next, view);
+            return;
+        }
+        // forward each chunk as soon as it is received, the last worker only receives
+        boolean forward = rank < size - 1;
+        for (int offset = 0; offset < length; offset += chunkSize) {
+            ByteBuffer view = data.duplicate();
+            view.position(offset).limit(Math.min(length, offset + chunkSize));
+            readFully(previous, view);
+            if (forward) {
+                view.position(offset);
+                writeFully(next, view);
+            }
+        }
+    }
+
+    private void exchange(float[] data, int[] bounds, int send, int receive, boolean add)
+            throws IOException {
+        Future<?> sent =
+                sender.submit(
+                        () -> {
+                            sendFloats(data, bounds[send], bounds[send + 1]);
+                            return null;
+                        });
+        try {
+            receiveFloats(data, bounds[receive], bounds[receive + 1], add);
+        } catch (IOException e) {
+            sent.cancel(true);
+            throw e;
+        }
+        await(sent);
+    }
+
+    private void sendFloats(float[] data, int from, int to) throws IOException {
+        int chunk = chunkSize / Float.BYTES;
+        for (int offset = from; offset < to; offset += chunk) {
+            int count = Math.min(chunk, to - offset);
+            sendBuffer.clear();
+            sendBuffer.asFloatBuffer().put(data, offset, count);
+            sendBuffer.limit(count * Float.BYTES);
+            writeFully(next, sendBuffer);
+        }
+    }
+
+    private void receiveFloats(float[] data, int from, int to, boolean add) throws IOException {
+        int chunk = chunkSize / Float.BYTES;
+        for (int offset = from; offset < to; offset += chunk) {
+            int count = Math.min(chunk, to - offset);
+            receiveBuffer.clear();
+            receiveBuffer.limit(count * Float.BYTES);
+            readFully(previous, receiveBuffer);
+            receiveBuffer.flip();
+            FloatBuffer values = receiveBuffer.asFloatBuffer();
+            if (add) {
+                for (int i = 0; i < count; ++i) {
+                    data[offset + i] += values.get(i);
+                }
+            } else {
+                values.get(data, offset, count);
+            }
+        }
+    }
+
+    private void exchangeHeaders(String parameterId, int length) throws IOException {
+        long id = sequence++;
+        int tag = parameterId.hashCode();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putLong(id).putInt(length).putInt(tag).flip();
+        Future<?> sent =
+                sender.submit(
+                        () -> {
+                            writeFully(next, header);
+                            return null;
+                        });
+        ByteBuffer received = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            readFully(previous, received);
+        } catch (IOException e) {
+            sent.cancel(true);
+            throw e;
+        }
+        await(sent);
+        received.flip();
+        if (received.getInt() != MAGIC) {
+            throw new IOException("Unexpected message from worker " + previousRank());
+        }
+        long receivedId = received.getLong();
+        int receivedLength = received.getInt();
+        int receivedTag = received.getInt();
+        if (receivedId != id || receivedLength != length || receivedTag != tag) {
+            throw new IllegalStateException(
+                    "The workers are out of sync, expected message "
+                            + id
+                            + " of "
+                            + length
+                            + " bytes, got message "
+                            + receivedId
+                            + " of "
+                            + receivedLength
+                            + " bytes, or for another parameter than "
+                            + parameterId);
+        }
+    }
+
+    private void connect(List<InetSocketAddress> workers, long timeout) throws IOException {
+        long deadline = System.currentTimeMillis() + timeout;
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(workers.get(rank).getPort()));
+
+        // the next worker may not be listening yet
+        InetSocketAddress address = workers.get((rank + 1) % size);
+        while (next == null) {
+            SocketChannel channel = SocketChannel.open();
+            try {
+                channel.connect(address);
+                next = channel;
+            } catch (IOException e) {
+                channel.close();
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IOException("Failed to connect to worker " + address, e);
+                }
+                sleep();
+            }
+        }
+        next.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        ByteBuffer hello = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        hello.putInt(rank).flip();
+        writeFully(next, hello);
+
+        server.configureBlocking(false);
+        while ((previous = server.accept()) == null) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Timed out waiting for worker " + previousRank());
+            }
+            sleep();
+        }
+        previous.configureBlocking(true);
+        previous.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        hello.clear();
+        readFully(previous, hello);
+        hello.flip();
+        int received = hello.getInt();
+        if (received != previousRank()) {
+            throw new IOException(
+                    "Expected a connection from worker " + previousRank() + ", got " + received);
+        }
+    }
+
+    // parameters and gradients are referenced by the model, so they must be updated in place
+    private static void write(NDArray array, Buffer data) {
+        try {
+            array.set(data);
+        } catch (UnsupportedOperationException e) {
+            NDManager manager = array.getManager();
+            try (NDArray copy = manager.create(data, array.getShape(), array.getDataType())) {
+                copy.copyTo(array);
+            } catch (UnsupportedOperationException ex) {
+                throw new UnsupportedOperationException(
+                        "RingParameterServer requires arrays that can be updated in place, which "
+                                + manager.getEngine().getEngineName()
+                                + " doesn't support",
+                        ex);
+            }
+        }
+    }
+
+    private int previousRank() {
+        return (rank + size - 1) % size;
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("The previous worker closed the connection");
+            }
+        }
+    }
+
+    private static void await(Future<?> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while sending to the next worker", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Failed to send to the next worker", cause);
+        }
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while connecting to the workers", e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception ignore) {
+                // ignore
+            }
+        }
+    }
+
+    /** The Builder to construct a {@link RingParameterServer}. */
+    public static final class Builder {
+
+        Optimizer optimizer;
+        List<InetSocketAddress> workers;
+        int rank = -1;
+        int chunkSize = 256 * 1024;
+        long bucketSize = 16L * 1024 * 1024;
+        long timeout = 60000;
+
+        Builder() {}
+
+        /**
+         * Sets the {@link Optimizer} used to update the parameters.
+         *
+         * @param optimizer the optimizer
+         * @return this builder
+         */
+        public Builder setOptimizer(Optimizer optimizer) {
+            this.optimizer = optimizer;
+            return this;
+        }
+
+        /**
+         * Sets the addresses of all the workers, in the same order for all the workers.
+         *
+         * <p>Each worker listens on the port of its own address, and connects to the next one.
+         *
+         * @param workers the addresses of the workers
+         * @return this builder
+         */
+        public Builder setWorkers(List<InetSocketAddress> workers) {
+            this.workers = new ArrayList<>(workers);
+            return this;
+        }
+
+        /**
+         * Sets the rank of this worker, its index in the list of workers.
+         *
+         * @param rank the rank of this worker
+         * @return this builder
+         */
+        public Builder setRank(int rank) {
+            this.rank = rank;
+            return this;
+        }
+
+        /**
+         * Sets the size in bytes of the chunks sent to the next worker (default 256 KiB).
+         *
+         * @param chunkSize the size of the chunks in bytes
+         * @return this builder
+         */
+        public Builder optChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size in bytes of the gradients exchanged together (default 16 MiB).
+         *
+         * @param bucketSize the maximum size in bytes of the gradients exchanged together, or 0 to
+         *     exchange the gradients of each parameter separately
+         * @return this builder
+         */
+        public Builder optBucketSize(long bucketSize) {
+            this.bucketSize = bucketSize;
+            return this;
+        }
+
+        /**
+         * Sets how long to wait for the other workers to start, in milliseconds (default 60s).
+         *
+         * @param timeout the timeout in milliseconds
+         * @return this builder
+         */
+        public Builder optTimeout(long timeout) {
+            this.timeout = timeout;
+            return this;
+        }
+
+        /**
+         * Builds the {@link RingParameterServer}, and connects to the other workers.
+         *
+         * <p>This blocks until the previous and next workers are connected.
+         *
+         * @return the new {@link RingParameterServer}
+         * @throws IOException if the connection to the other workers failed
+         */
+        public RingParameterServer build() throws IOException {
+            if (optimizer == null) {
+                throw new IllegalArgumentException("The optimizer must be set");
+            }
+            if (workers == null || workers.isEmpty()) {
+                throw new IllegalArgumentException("The workers must be set");
+            }
+            if (rank < 0 || rank >= workers.size()) {
+                throw new IllegalArgumentException(
+                        "Invalid rank " + rank + " for " + workers.size() + " workers");
+            }
+            if (chunkSize < Float.BYTES) {
+                throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+            }
+            return new RingParameterServer(this);
+        }
+    }
+}
@@ -72,6 +72,7 @@ public class Trainer implements AutoCloseable {
     private List<TrainingListener> listeners;
     private Device[] devices;
     private ParameterStore parameterStore;
+    private ParameterServer parameterServer;
     private List<Evaluator> evaluators;
     private Loss loss;
     private ExecutorService executorService;
@@ -96,8 +97,10 @@ public class Trainer implements AutoCloseable {
         evaluators.add(loss); // track loss as an evaluator by default
         executorService = trainingConfig.getExecutorService();
 
-        ParameterServer parameterServer =
-                manager.getEngine().newParameterServer(trainingConfig.getOptimizer());
+        parameterServer = trainingConfig.getParameterServer();
+        if (parameterServer == null) {
+            parameterServer = manager.getEngine().newParameterServer(trainingConfig.getOptimizer());
+        }
 
         parameterStore = new ParameterStore(manager, false);
         parameterStore.setParameterServer(parameterServer, devices);
@@ -315,6 +318,7 @@ public class Trainer implements AutoCloseable {
         notifyListeners(listener -> listener.onTrainingEnd(this));
 
         parameterStore.sync();
+        parameterServer.close();
         manager.close();
     }
 
@@ -111,4 +111,14 @@ public interface TrainingConfig {
      * @return a list of {@link TrainingListener}s
      */
     List<TrainingListener> getTrainingListeners();
+
+    /**
+     * Returns the {@link ParameterServer} used to update the parameters.
+     *
+     * @return the {@link ParameterServer}, or {@code null} to use the default {@link
+     *     ParameterServer} of the engine
+     */
+    default ParameterServer getParameterServer() {
+        return null;
+    }
 }
@@ -0,0 +1,456 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.dataset;
+
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Hex;
+import ai.djl.util.Progress;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code CachedDataset} caches the {@link Record}s of another {@link RandomAccessDataset} on disk.
+ *
+ * <p>The records of the source dataset, after its {@link ai.djl.translate.Pipeline}s for the data
+ * and the labels, are written once to binary shard files in the cache directory. The following
+ * epochs, and the following runs, read the records from the memory-mapped shards, without decoding
+ * or featurizing the items of the source dataset again. Only deterministic transforms should be set
+ * on the source dataset, random augmentations should be set on the {@code CachedDataset} itself, so
+ * that they are still applied at each epoch.
+ *
+ * <p>Each shard contains a fixed number of records, and is written to a temporary file that is
+ * renamed once it is complete, so an interrupted build resumes with the missing shards. The cache
+ * is rebuilt when the checksum of the source changes. The checksum covers the class of the source
+ * dataset, the {@link Builder#optVersion(String) version}, and the names, sizes and modification
+ * times of the {@link Builder#optSourcePath(Path) source files}. The transforms of the source
+ * dataset can't be compared, so either a version or a source file must be set, and the version must
+ * be changed with the transforms.
+ */
+public class CachedDataset extends RandomAccessDataset {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedDataset.class);
+
+    private static final String MAGIC_NUMBER = "DJLCACHE";
+    private static final int VERSION = 1;
+    private static final String MANIFEST = "manifest";
+
+    private RandomAccessDataset source;
+    private Path cacheDir;
+    private int recordsPerShard;
+    private List<Path> sourcePaths;
+    private String version;
+
+    private long size;
+    private ByteBuffer[] shards;
+
+    CachedDataset(Builder builder) {
+        super(builder);
+        source = builder.source;
+        cacheDir = builder.cacheDir;
+        recordsPerShard = builder.recordsPerShard;
+        sourcePaths = builder.sourcePaths;
+        version = builder.version;
+    }
+
+    /**
+     * Creates a new builder to build a {@link CachedDataset}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the dataset whose records are cached.
+     *
+     * @return the dataset whose records are cached
+     */
+    public RandomAccessDataset getSource() {
+        return source;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Record get(NDManager manager, long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index(" + index + ") > size(" + size + ").");
+        }
+        ByteBuffer bb = shards[Math.toIntExact(index / recordsPerShard)].duplicate();
+        int i = (int) (index % recordsPerShard);
+        bb.position(bb.getInt(Integer.BYTES * (i + 1)));
+        NDList data = readList(manager, bb);
+        NDList labels = readList(manager, bb);
+        return new Record(data, labels);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected long availableSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void prepare(Progress progress) throws IOException, TranslateException {
+        if (shards != null) {
+            return;
+        }
+        Files.createDirectories(cacheDir);
+        String checksum = computeChecksum();
+        long cachedSize = readManifest(checksum);
+        boolean sourcePrepared = false;
+        if (cachedSize < 0) {
+            clearCache();
+            source.prepare(progress);
+            sourcePrepared = true;
+            cachedSize = source.size();
+            writeManifest(checksum, cachedSize);
+        }
+
+        int shardCount = Math.toIntExact((cachedSize + recordsPerShard - 1) / recordsPerShard);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < shardCount; ++i) {
+            if (!Files.isRegularFile(getShardFile(i))) {
+                missing.add(i);
+            }
+        }
+        if (!missing.isEmpty()) {
+            if (!sourcePrepared) {
+                source.prepare(progress);
+                if (source.size() != cachedSize) {
+                    // the source changed without changing its checksum, start over
+                    logger.warn("The size of the dataset changed, rebuilding the cache.");
+                    clearCache();
+                    cachedSize = source.size();
+                    writeManifest(checksum, cachedSize);
+                    shardCount =
+                            Math.toIntExact((cachedSize + recordsPerShard - 1) / recordsPerShard);
+                    missing.clear();
+                    for (int i = 0; i < shardCount; ++i) {
+                        missing.add(i);
+                    }
+                }
+            }
+            logger.info("Caching {} shards of the dataset in {}", missing.size(), cacheDir);
+            if (progress != null) {
+                progress.reset("Caching", cachedSize);
+                progress.start((long) (shardCount - missing.size()) * recordsPerShard);
+            }
+            for (int shard : missing) {
+                writeShard(shard, cachedSize, progress);
+            }
+            if (progress != null) {
+                progress.end();
+            }
+        }
+
+        ByteBuffer[] mapped = new ByteBuffer[shardCount];
+        for (int i = 0; i < shardCount; ++i) {
+            try (FileChannel channel = FileChannel.open(getShardFile(i), StandardOpenOption.READ)) {
+                mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        size = cachedSize;
+        shards = mapped;
+    }
+
+    private void writeShard(int shard, long total, Progress progress) throws IOException {
+        long from = (long) shard * recordsPerShard;
+        int count = (int) Math.min(recordsPerShard, total - from);
+        Path file = getShardFile(shard);
+        Path tmp = cacheDir.resolve(file.getFileName() + ".tmp");
+        // header: the number of records, and the offset of each record
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES * (count + 1));
+        header.putInt(count);
+        try (FileChannel channel =
+                        FileChannel.open(
+                                tmp,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.TRUNCATE_EXISTING,
+                                StandardOpenOption.WRITE);
+                NDManager manager = NDManager.newBaseManager()) {
+            channel.position(header.capacity());
+            for (int i = 0; i < count; ++i) {
+                if (channel.position() > Integer.MAX_VALUE) {
+                    throw new IOException(
+                            "The shard " + file + " exceeds 2GB, use fewer records per shard.");
+                }
+                header.putInt((int) channel.position());
+                try (NDManager subManager = manager.newSubManager()) {
+                    Record record = source.get(subManager, from + i);
+                    NDList data = record.getData();
+                    if (source.pipeline != null) {
+                        data = source.pipeline.transform(data);
+                    }
+                    NDList labels = record.getLabels();
+                    if (source.targetPipeline != null) {
+                        labels = source.targetPipeline.transform(labels);
+                    }
+                    write(channel, data.encode());
+                    write(channel, labels.encode());
+                }
+                if (progress != null) {
+                    progress.increment(1);
+                }
+            }
+            if (channel.position() > Integer.MAX_VALUE) {
+                throw new IOException(
+                        "The shard " + file + " exceeds 2GB, use fewer records per shard.");
+            }
+            header.flip();
+            channel.position(0);
+            write(channel, header);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void write(FileChannel channel, byte[] bytes) throws IOException {
+        write(channel, ByteBuffer.wrap(bytes));
+    }
+
+    private static void write(FileChannel channel, ByteBuffer bb) throws IOException {
+        while (bb.hasRemaining()) {
+            channel.write(bb);
+        }
+    }
+
+    private static NDList readList(NDManager manager, ByteBuffer bb) {
+        int size = bb.getInt();
+        NDList list = new NDList(size);
+        for (int i = 0; i < size; ++i) {
+            list.add(manager.decode(bb));
+        }
+        return list;
+    }
+
+    private long readManifest(String checksum) throws IOException {
+        Path file = cacheDir.resolve(MANIFEST);
+        if (!Files.isRegularFile(file)) {
+            return -1;
+        }
+        try (InputStream is = Files.newInputStream(file);
+                DataInputStream dis = new DataInputStream(is)) {
+            if (!MAGIC_NUMBER.equals(dis.readUTF())
+                    || dis.readInt() != VERSION
+                    || !checksum.equals(dis.readUTF())
+                    || dis.readInt() != recordsPerShard) {
+                logger.info("The dataset changed, rebuilding the cache in {}", cacheDir);
+                return -1;
+            }
+            return dis.readLong();
+        } catch (IOException e) {
+            logger.warn("Invalid dataset cache manifest, rebuilding the cache.", e);
+            return -1;
+        }
+    }
+
+    private void writeManifest(String checksum, long total) throws IOException {
+        Path file = cacheDir.resolve(MANIFEST);
+        Path tmp = cacheDir.resolve(MANIFEST + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp);
+                DataOutputStream dos = new DataOutputStream(os)) {
+            dos.writeUTF(MAGIC_NUMBER);
+            dos.writeInt(VERSION);
+            dos.writeUTF(checksum);
+            dos.writeInt(recordsPerShard);
+            dos.writeLong(total);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void clearCache() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDir)) {
+            files =
+                    stream.filter(
+                                    p -> {
+                                        String name = p.getFileName().toString();
+                                        return name.startsWith("shard-")
+                                                || name.startsWith(MANIFEST);
+                                    })
+                            .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+    }
+
+    private String computeChecksum() throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA1 algorithm not found.", e);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(source.getClass().getName()).append('\n');
+        if (version != null) {
+            sb.append(version).append('\n');
+        }
+        for (Path path : sourcePaths) {
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(path)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                sb.append(path.relativize(file))
+                        .append(':')
+                        .append(Files.size(file))
+                        .append(':')
+                        .append(Files.getLastModifiedTime(file).toMillis())
+                        .append('\n');
+            }
+        }
+        return Hex.toHexString(md.digest(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Path getShardFile(int shard) {
+        return cacheDir.resolve(String.format("shard-%05d.bin", shard));
+    }
+
+    /** A builder to construct a {@link CachedDataset}. */
+    public static final class Builder extends BaseBuilder<Builder> {
+
+        RandomAccessDataset source;
+        Path cacheDir;
+        int recordsPerShard = 1024;
+        List<Path> sourcePaths = new ArrayList<>();
+        String version;
+
+        Builder() {}
+
+        /** {@inheritDoc} */
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        /**
+         * Sets the dataset whose records are cached.
+         *
+         * <p>The sampler and the batchifiers of the source dataset are used unless they are set on
+         * this builder.
+         *
+         * @param source the dataset whose records are cached
+         * @return this builder
+         */
+        public Builder setSource(RandomAccessDataset source) {
+            this.source = source;
+            return this;
+        }
+
+        /**
+         * Sets the directory of the cache files.
+         *
+         * @param cacheDir the directory of the cache files
+         * @return this builder
+         */
+        public Builder setCacheDir(Path cacheDir) {
+            this.cacheDir = cacheDir;
+            return this;
+        }
+
+        /**
+         * Sets the number of records of each shard file, defaults to 1024.
+         *
+         * <p>A shard must be smaller than 2GB. Smaller shards lose less work when the build is
+         * interrupted.
+         *
+         * @param recordsPerShard the number of records of each shard file
+         * @return this builder
+         */
+        public Builder optRecordsPerShard(int recordsPerShard) {
+            this.recordsPerShard = recordsPerShard;
+            return this;
+        }
+
+        /**
+         * Adds a file or directory that the source dataset reads the items from.
+         *
+         * <p>The cache is rebuilt when a file is added, removed, or modified. Either a source path
+         * or a {@link #optVersion(String) version} must be set.
+         *
+         * @param sourcePath a file or directory that the source dataset reads the items from
+         * @return this builder
+         */
+        public Builder optSourcePath(Path sourcePath) {
+            sourcePaths.add(sourcePath);
+            return this;
+        }
+
+        /**
+         * Sets the version of the cached records.
+         *
+         * <p>Change the version to rebuild the cache after a change that is not detected from the
+         * source files, such as a change of the transforms of the source dataset. Either a version
+         * or a {@link #optSourcePath(Path) source path} must be set.
+         *
+         * @param version the version of the cached records
+         * @return this builder
+         */
+        public Builder optVersion(String version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * Builds a new instance of {@code CachedDataset}.
+         *
+         * @return a new instance of {@code CachedDataset}
+         */
+        public CachedDataset build() {
+            if (source == null || cacheDir == null) {
+                throw new IllegalArgumentException("The source and the cache dir must be set");
+            }
+            if (version == null && sourcePaths.isEmpty()) {
+                throw new IllegalArgumentException(
+                        "Either the version or a source path must be set to detect changes");
+            }
+            if (recordsPerShard <= 0) {
+                throw new IllegalArgumentException("The records per shard must be positive");
+            }
+            if (sampler == null) {
+                sampler = source.sampler;
+            }
+            if (dataBatchifier == Batchifier.STACK) {
+                dataBatchifier = source.dataBatchifier;
+            }
+            if (labelBatchifier == Batchifier.STACK) {
+                labelBatchifier = source.labelBatchifier;
+            }
+            return new CachedDataset(this);
+        }
+    }
+}
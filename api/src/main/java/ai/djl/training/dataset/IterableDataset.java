@@ -0,0 +1,307 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.dataset;
+
+import ai.djl.Device;
+import ai.djl.ndarray.NDManager;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.Pipeline;
+import ai.djl.translate.Transform;
+import ai.djl.translate.TranslateException;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@code IterableDataset} represents a dataset that can only be read sequentially, such as a large
+ * file that doesn't fit in memory.
+ *
+ * <p>Unlike {@link RandomAccessDataset}, the items are never loaded all at once. Each call to
+ * {@link #getData(NDManager)} reads the items again from {@link #iterateItems()}, and converts them
+ * to {@link Record}s batch by batch. The order of the items can be randomized within a shuffle
+ * buffer, and the items can be split into shards to be read by multiple workers.
+ *
+ * <p>The {@link Iterable} returned by {@code getData} is also {@link AutoCloseable}. Closing it, or
+ * the manager passed to {@code getData}, stops an iteration that didn't read all the items.
+ *
+ * @param <E> the type of the items read from the underlying data
+ */
+public abstract class IterableDataset<E> implements Dataset {
+
+    protected int batchSize;
+    protected boolean dropLast;
+    protected int shuffleBuffer;
+    protected int numShards;
+    protected int shardIndex;
+    protected Batchifier dataBatchifier;
+    protected Batchifier labelBatchifier;
+    protected Pipeline pipeline;
+    protected Pipeline targetPipeline;
+    protected int prefetchNumber;
+    protected long limit;
+    protected Device device;
+
+    /**
+     * Creates a new instance of {@link IterableDataset} with the given necessary configurations.
+     *
+     * @param builder a builder with the necessary configurations
+     */
+    public IterableDataset(BaseBuilder<?> builder) {
+        if (builder.batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be set");
+        }
+        this.batchSize = builder.batchSize;
+        this.dropLast = builder.dropLast;
+        this.shuffleBuffer = builder.shuffleBuffer;
+        this.numShards = builder.numShards;
+        this.shardIndex = builder.shardIndex;
+        this.dataBatchifier = builder.dataBatchifier;
+        this.labelBatchifier = builder.labelBatchifier;
+        this.pipeline = builder.pipeline;
+        this.targetPipeline = builder.targetPipeline;
+        this.prefetchNumber = builder.prefetchNumber;
+        this.limit = builder.limit;
+        this.device = builder.device;
+    }
+
+    /**
+     * Returns a new iterator over the items of the dataset, from the beginning.
+     *
+     * <p>The iterator is read lazily, one batch at a time. If the iterator is also {@link
+     * AutoCloseable}, it is closed once all the items have been read, or when the iteration is
+     * closed before that.
+     *
+     * @return a new iterator over the items of the dataset
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract Iterator<E> iterateItems() throws IOException;
+
+    /**
+     * Converts an item of the dataset to a {@link Record}.
+     *
+     * @param manager the manager used to create the arrays
+     * @param item the item read from the dataset
+     * @return a {@link Record} that contains the data and label of the item
+     * @throws IOException if an I/O error occurs
+     */
+    public abstract Record get(NDManager manager, E item) throws IOException;
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Batch> getData(NDManager manager) throws IOException, TranslateException {
+        prepare();
+        return new StreamingDataIterable<>(this, manager, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Batch> getData(NDManager manager, ExecutorService executorService)
+            throws IOException, TranslateException {
+        prepare();
+        return new StreamingDataIterable<>(this, manager, executorService);
+    }
+
+    /** The Builder to construct an {@link IterableDataset}. */
+    public abstract static class BaseBuilder<T extends BaseBuilder<T>> {
+
+        protected int batchSize;
+        protected boolean dropLast;
+        protected int shuffleBuffer;
+        protected int numShards = 1;
+        protected int shardIndex;
+        protected Batchifier dataBatchifier = Batchifier.STACK;
+        protected Batchifier labelBatchifier = Batchifier.STACK;
+        protected Pipeline pipeline;
+        protected Pipeline targetPipeline;
+        protected int prefetchNumber = 2;
+        protected long limit = Long.MAX_VALUE;
+        protected Device device;
+
+        /**
+         * Sets the batch size.
+         *
+         * @param batchSize the batch size
+         * @return this {@code BaseBuilder}
+         */
+        public T setSampling(int batchSize) {
+            return setSampling(batchSize, false);
+        }
+
+        /**
+         * Sets the batch size.
+         *
+         * @param batchSize the batch size
+         * @param dropLast whether to drop the last incomplete batch
+         * @return this {@code BaseBuilder}
+         */
+        public T setSampling(int batchSize, boolean dropLast) {
+            this.batchSize = batchSize;
+            this.dropLast = dropLast;
+            return self();
+        }
+
+        /**
+         * Sets the size of the shuffle buffer.
+         *
+         * <p>The items are read into a buffer of the given size, and each item is drawn randomly
+         * from the buffer. A larger buffer gives a better shuffle, at the cost of memory. The
+         * default value 0 keeps the items in the order they are read.
+         *
+         * @param shuffleBuffer the number of items in the shuffle buffer
+         * @return this {@code BaseBuilder}
+         */
+        public T optShuffleBuffer(int shuffleBuffer) {
+            this.shuffleBuffer = shuffleBuffer;
+            return self();
+        }
+
+        /**
+         * Reads only one shard of the items.
+         *
+         * <p>The items are distributed in turn to each shard, so that each worker reading a
+         * different shard gets a distinct part of the dataset.
+         *
+         * @param numShards the total number of shards
+         * @param shardIndex the index of the shard to read, from 0 to {@code numShards - 1}
+         * @return this {@code BaseBuilder}
+         */
+        public T optSharding(int numShards, int shardIndex) {
+            if (numShards <= 0 || shardIndex < 0 || shardIndex >= numShards) {
+                throw new IllegalArgumentException(
+                        "Invalid shard " + shardIndex + " of " + numShards + " shards");
+            }
+            this.numShards = numShards;
+            this.shardIndex = shardIndex;
+            return self();
+        }
+
+        /**
+         * Sets the {@link Batchifier} for the data.
+         *
+         * @param dataBatchifier the {@link Batchifier} to be set
+         * @return this {@code BaseBuilder}
+         */
+        public T optDataBatchifier(Batchifier dataBatchifier) {
+            this.dataBatchifier = dataBatchifier;
+            return self();
+        }
+
+        /**
+         * Sets the {@link Batchifier} for the labels.
+         *
+         * @param labelBatchifier the {@link Batchifier} to be set
+         * @return this {@code BaseBuilder}
+         */
+        public T optLabelBatchifier(Batchifier labelBatchifier) {
+            this.labelBatchifier = labelBatchifier;
+            return self();
+        }
+
+        /**
+         * Sets the {@link Pipeline} of {@link ai.djl.translate.Transform} to be applied on the
+         * data.
+         *
+         * @param pipeline the {@link Pipeline} of {@link ai.djl.translate.Transform} to be applied
+         *     on the data
+         * @return this {@code BaseBuilder}
+         */
+        public T optPipeline(Pipeline pipeline) {
+            this.pipeline = pipeline;
+            return self();
+        }
+
+        /**
+         * Adds the {@link Transform} to the {@link Pipeline} to be applied on the data.
+         *
+         * @param transform the {@link Transform} to be added
+         * @return this builder
+         */
+        public T addTransform(Transform transform) {
+            if (pipeline == null) {
+                pipeline = new Pipeline();
+            }
+            pipeline.add(transform);
+            return self();
+        }
+
+        /**
+         * Sets the {@link Pipeline} of {@link ai.djl.translate.Transform} to be applied on the
+         * labels.
+         *
+         * @param targetPipeline the {@link Pipeline} of {@link ai.djl.translate.Transform} to be
+         *     applied on the labels
+         * @return this {@code BaseBuilder}
+         */
+        public T optTargetPipeline(Pipeline targetPipeline) {
+            this.targetPipeline = targetPipeline;
+            return self();
+        }
+
+        /**
+         * Adds the {@link Transform} to the target {@link Pipeline} to be applied on the labels.
+         *
+         * @param transform the {@link Transform} to be added
+         * @return this builder
+         */
+        public T addTargetTransform(Transform transform) {
+            if (targetPipeline == null) {
+                targetPipeline = new Pipeline();
+            }
+            targetPipeline.add(transform);
+            return self();
+        }
+
+        /**
+         * Sets the number of batches to prefetch at once.
+         *
+         * @param prefetchNumber the number of batches to prefetch at once
+         * @return this {@code BaseBuilder}
+         */
+        public T optPrefetchNumber(int prefetchNumber) {
+            this.prefetchNumber = prefetchNumber;
+            return self();
+        }
+
+        /**
+         * Sets the {@link Device}.
+         *
+         * @param device the device
+         * @return this {@code BaseBuilder}
+         */
+        public T optDevice(Device device) {
+            this.device = device;
+            return self();
+        }
+
+        /**
+         * Sets this dataset's limit.
+         *
+         * <p>The limit is the maximum number of items read from the dataset, or from the shard if
+         * the dataset is sharded.
+         *
+         * @param limit the limit of this dataset's records
+         * @return this {@code BaseBuilder}
+         */
+        public T optLimit(long limit) {
+            this.limit = limit;
+            return self();
+        }
+
+        /**
+         * Returns this {code Builder} object.
+         *
+         * @return this {@code BaseBuilder}
+         */
+        protected abstract T self();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.dataset;
+
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.util.RandomUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code StreamingDataIterable} is the data loader of an {@link IterableDataset}.
+ *
+ * <p>The items are read sequentially, one batch at a time. With an {@link ExecutorService}, the
+ * conversion of the items to arrays, the transforms and the batchifiers run in the background for
+ * the next batches, like {@link DataIterable}.
+ *
+ * <p>The items are closed once they have all been read, or earlier when the iterable or the manager
+ * is closed, so that an iteration that stops early doesn't leak the underlying file.
+ *
+ * @param <E> the type of the items read from the dataset
+ */
+final class StreamingDataIterable<E> implements Iterable<Batch>, Iterator<Batch>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingDataIterable.class);
+
+    private IterableDataset<E> dataset;
+    private NDManager manager;
+    private ExecutorService executor;
+
+    private Iterator<E> items;
+    private List<E> shuffleBuffer;
+    private long position;
+    private long count;
+    private long progress;
+    private volatile boolean exhausted;
+
+    private Batch next;
+    // for multithreading
+    private Queue<Future<Batch>> queue;
+    private boolean autoClose;
+
+    StreamingDataIterable(IterableDataset<E> dataset, NDManager manager, ExecutorService executor)
+            throws IOException {
+        this.dataset = dataset;
+        this.manager = manager.newSubManager();
+        this.manager.setName("dataIter");
+        this.executor = executor;
+        String close = System.getProperty("ai.djl.dataiterator.autoclose", "true");
+        autoClose = Boolean.parseBoolean(close);
+
+        items = dataset.iterateItems();
+        // the items are closed with the manager if the iteration is abandoned
+        this.manager.attachInternal(UUID.randomUUID().toString(), this::closeItems);
+        if (dataset.shuffleBuffer > 1) {
+            shuffleBuffer = new ArrayList<>(dataset.shuffleBuffer);
+        }
+        if (executor != null) {
+            queue = new LinkedList<>();
+            // prefetch
+            for (int i = 0; i < dataset.prefetchNumber; i++) {
+                preFetch();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterator<Batch> iterator() {
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = fetchNext();
+        }
+        if (next == null) {
+            if (autoClose) {
+                manager.close();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Batch next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Batch batch = next;
+        next = null;
+        return batch;
+    }
+
+    /** Stops the iteration, and closes the items and the arrays of the iteration. */
+    @Override
+    public void close() {
+        manager.close();
+    }
+
+    private Batch fetchNext() {
+        try {
+            if (executor == null) {
+                // single thread data loading with blocking fetch
+                return fetch();
+            }
+            // multithreading data loading with async fetch
+            preFetch();
+            Future<Batch> future;
+            while ((future = queue.poll()) != null) {
+                // the tasks may read the batches out of order, the last ones may find no items
+                Batch batch = future.get();
+                if (batch != null) {
+                    return batch;
+                }
+            }
+            return null;
+        } catch (IOException | ExecutionException e) {
+            logger.error(e.getMessage());
+            throw new IllegalStateException("Data loading failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data loading interrupted", e);
+        }
+    }
+
+    private void preFetch() {
+        if (!exhausted) {
+            queue.offer(executor.submit(this::fetch));
+        }
+    }
+
+    private Batch fetch() throws IOException {
+        List<E> batchItems;
+        long batchProgress;
+        synchronized (this) {
+            batchItems = readBatch();
+            if (batchItems == null) {
+                return null;
+            }
+            progress += batchItems.size();
+            batchProgress = progress;
+        }
+
+        NDManager subManager = manager.newSubManager();
+        subManager.setName("dataIter fetch");
+        int batchSize = batchItems.size();
+        NDList[] data = new NDList[batchSize];
+        NDList[] labels = new NDList[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            Record record = dataset.get(subManager, batchItems.get(i));
+            data[i] = record.getData();
+            // apply transform
+            if (dataset.pipeline != null) {
+                data[i] = dataset.pipeline.transform(data[i]);
+            }
+
+            labels[i] = record.getLabels();
+        }
+        NDList batchData = dataset.dataBatchifier.batchify(data);
+        NDList batchLabels = dataset.labelBatchifier.batchify(labels);
+
+        Arrays.stream(data).forEach(NDList::close);
+        Arrays.stream(labels).forEach(NDList::close);
+
+        // apply label transform
+        if (dataset.targetPipeline != null) {
+            batchLabels = dataset.targetPipeline.transform(batchLabels);
+        }
+        // pin to a specific device
+        if (dataset.device != null) {
+            batchData = batchData.toDevice(dataset.device, false);
+            batchLabels = batchLabels.toDevice(dataset.device, false);
+        }
+        long total = dataset.limit == Long.MAX_VALUE ? -1 : dataset.limit;
+        return new Batch(
+                subManager,
+                batchData,
+                batchLabels,
+                batchSize,
+                dataset.dataBatchifier,
+                dataset.labelBatchifier,
+                batchProgress,
+                total);
+    }
+
+    private List<E> readBatch() {
+        if (exhausted) {
+            return null;
+        }
+        List<E> batchItems = new ArrayList<>(dataset.batchSize);
+        while (batchItems.size() < dataset.batchSize) {
+            E item = nextItem();
+            if (item == null) {
+                closeItems();
+                break;
+            }
+            batchItems.add(item);
+        }
+        if (batchItems.isEmpty() || (dataset.dropLast && batchItems.size() < dataset.batchSize)) {
+            return null;
+        }
+        return batchItems;
+    }
+
+    private E nextItem() {
+        if (shuffleBuffer == null) {
+            return readItem();
+        }
+        while (shuffleBuffer.size() < dataset.shuffleBuffer) {
+            E item = readItem();
+            if (item == null) {
+                break;
+            }
+            shuffleBuffer.add(item);
+        }
+        int size = shuffleBuffer.size();
+        if (size == 0) {
+            return null;
+        }
+        int index = RandomUtils.nextInt(size);
+        E item = shuffleBuffer.get(index);
+        shuffleBuffer.set(index, shuffleBuffer.get(size - 1));
+        shuffleBuffer.remove(size - 1);
+        return item;
+    }
+
+    private E readItem() {
+        while (count < dataset.limit && items.hasNext()) {
+            E item = items.next();
+            if (position++ % dataset.numShards == dataset.shardIndex) {
+                ++count;
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void closeItems() {
+        exhausted = true;
+        if (items instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) items).close();
+            } catch (Exception e) {
+                logger.warn("Failed to close the dataset items.", e);
+            }
+        }
+        items = Collections.emptyIterator();
+    }
+}
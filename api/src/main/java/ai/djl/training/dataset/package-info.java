@@ -16,6 +16,7 @@
  *
  * <p>The central class to work with in this package is the {@link ai.djl.training.dataset.Dataset}.
  * In practice, most of the implementations of {@link ai.djl.training.dataset.Dataset} will actually
- * extend {@link ai.djl.training.dataset.RandomAccessDataset} instead.
+ * extend {@link ai.djl.training.dataset.RandomAccessDataset} instead. Datasets that are too large
+ * to be loaded in memory can extend {@link ai.djl.training.dataset.IterableDataset}.
  */
 package ai.djl.training.dataset;
@@ -28,6 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public abstract class AbstractAccuracy extends Evaluator {
 
     protected Map<String, Long> correctInstances;
+    protected Map<String, DeviceAccumulator> deviceCorrectInstances;
     protected int axis;
     protected int index;
 
@@ -51,6 +52,7 @@ public abstract class AbstractAccuracy extends Evaluator {
     public AbstractAccuracy(String name, int index, int axis) {
         super(name);
         correctInstances = new ConcurrentHashMap<>();
+        deviceCorrectInstances = new ConcurrentHashMap<>();
         this.axis = axis;
         this.index = index;
     }
@@ -82,7 +84,13 @@ public abstract class AbstractAccuracy extends Evaluator {
     public void updateAccumulator(String key, NDList labels, NDList predictions) {
         Pair<Long, NDArray> update = accuracyHelper(labels, predictions);
         totalInstances.compute(key, (k, v) -> v + update.getKey());
-        correctInstances.compute(key, (k, v) -> v + update.getValue().sum().getLong());
+        if (accumulateOnDevice) {
+            deviceCorrectInstances
+                    .computeIfAbsent(key, k -> new DeviceAccumulator())
+                    .add(update.getValue().sum());
+        } else {
+            correctInstances.compute(key, (k, v) -> v + update.getValue().sum().getLong());
+        }
     }
 
     /** {@inheritDoc} */
@@ -90,6 +98,10 @@ public abstract class AbstractAccuracy extends Evaluator {
     public void resetAccumulator(String key) {
         totalInstances.compute(key, (k, v) -> 0L);
         correctInstances.compute(key, (k, v) -> 0L);
+        DeviceAccumulator accumulator = deviceCorrectInstances.get(key);
+        if (accumulator != null) {
+            accumulator.reset();
+        }
     }
 
     /** {@inheritDoc} */
@@ -100,6 +112,11 @@ public abstract class AbstractAccuracy extends Evaluator {
             return Float.NaN;
         }
 
-        return (float) correctInstances.get(key) / totalInstances.get(key);
+        double correct = correctInstances.get(key);
+        DeviceAccumulator accumulator = deviceCorrectInstances.get(key);
+        if (accumulator != null) {
+            correct += accumulator.getValue();
+        }
+        return (float) (correct / total);
     }
 }
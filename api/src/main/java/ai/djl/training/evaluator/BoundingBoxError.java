@@ -26,6 +26,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BoundingBoxError extends Evaluator {
 
     private Map<String, Float> ssdBoxPredictionError;
+    private Map<String, DeviceAccumulator> deviceBoxPredictionError;
     private MultiBoxTarget multiBoxTarget = MultiBoxTarget.builder().build();
 
     /**
@@ -36,6 +37,7 @@ public class BoundingBoxError extends Evaluator {
     public BoundingBoxError(String name) {
         super(name);
         ssdBoxPredictionError = new ConcurrentHashMap<>();
+        deviceBoxPredictionError = new ConcurrentHashMap<>();
     }
 
     /** {@inheritDoc} */
@@ -63,8 +65,14 @@ public class BoundingBoxError extends Evaluator {
     @Override
     public void updateAccumulator(String key, NDList labels, NDList predictions) {
         NDArray boundingBoxError = evaluate(labels, predictions);
-        float update = boundingBoxError.sum().getFloat();
         totalInstances.compute(key, (k, v) -> v + boundingBoxError.size());
+        if (accumulateOnDevice) {
+            deviceBoxPredictionError
+                    .computeIfAbsent(key, k -> new DeviceAccumulator())
+                    .add(boundingBoxError.sum());
+            return;
+        }
+        float update = boundingBoxError.sum().getFloat();
         ssdBoxPredictionError.compute(key, (k, v) -> v + update);
     }
 
@@ -73,6 +81,10 @@ public class BoundingBoxError extends Evaluator {
     public void resetAccumulator(String key) {
         totalInstances.compute(key, (k, v) -> 0L);
         ssdBoxPredictionError.compute(key, (k, v) -> 0f);
+        DeviceAccumulator accumulator = deviceBoxPredictionError.get(key);
+        if (accumulator != null) {
+            accumulator.reset();
+        }
     }
 
     /** {@inheritDoc} */
@@ -85,6 +97,11 @@ public class BoundingBoxError extends Evaluator {
             return Float.NaN;
         }
 
-        return ssdBoxPredictionError.get(key) / totalInstances.get(key);
+        double error = ssdBoxPredictionError.get(key);
+        DeviceAccumulator accumulator = deviceBoxPredictionError.get(key);
+        if (accumulator != null) {
+            error += accumulator.getValue();
+        }
+        return (float) (error / total);
     }
 }
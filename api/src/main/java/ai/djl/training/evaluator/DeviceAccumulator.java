@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.evaluator;
+
+import ai.djl.Device;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@code DeviceAccumulator} keeps a running sum of scalar {@link NDArray}s on their devices.
+ *
+ * <p>Adding a value doesn't wait for the engine to compute it, so the training loop is not blocked
+ * by the evaluators. When the values come from multiple devices, such as the splits of a batch, a
+ * separate sum is kept on each device. The sums are only copied to Java when {@link #getValue()} is
+ * called.
+ *
+ * <p>The sums belong to a sub-manager of the top {@link NDManager} of the first value, such as the
+ * manager of the model during training. They are released by {@link #reset()}, or when that manager
+ * is closed, which also resets the sums.
+ */
+public final class DeviceAccumulator {
+
+    private Map<Device, NDArray> totals;
+    private NDManager manager;
+
+    /** Constructs a new empty {@code DeviceAccumulator}. */
+    public DeviceAccumulator() {
+        totals = new HashMap<>();
+    }
+
+    /**
+     * Adds a scalar value to the sum on the device of the value.
+     *
+     * @param value the scalar value to add
+     */
+    public synchronized void add(NDArray value) {
+        if (manager != null && !manager.isOpen()) {
+            // released with the manager of the values
+            totals.clear();
+            manager = null;
+        }
+        if (manager == null) {
+            // the values of a batch are closed with the batch, the sums must outlive it
+            NDManager root = value.getManager();
+            while (root.getParentManager() != null
+                    && root.getParentManager().getParentManager() != null) {
+                root = root.getParentManager();
+            }
+            manager = root.newSubManager();
+            manager.setName("accumulator");
+        }
+        Device device = value.getDevice();
+        NDArray total = totals.get(device);
+        if (total == null) {
+            total = value.duplicate();
+            total.attach(manager);
+            totals.put(device, total);
+        } else {
+            total.addi(value);
+        }
+    }
+
+    /**
+     * Returns the sum of the values on all devices.
+     *
+     * <p>This waits for all the values to be computed.
+     *
+     * @return the sum of the values on all devices
+     */
+    public synchronized double getValue() {
+        if (manager != null && !manager.isOpen()) {
+            throw new IllegalStateException("The manager of the accumulated values is closed");
+        }
+        double sum = 0;
+        for (NDArray total : totals.values()) {
+            double[] values;
+            if (total.getDataType() == DataType.FLOAT64) {
+                values = total.toDoubleArray();
+            } else {
+                try (NDArray array = total.toType(DataType.FLOAT64, false)) {
+                    values = array.toDoubleArray();
+                }
+            }
+            for (double value : values) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    /** Resets the sum to zero, and releases the arrays of the sums. */
+    public synchronized void reset() {
+        totals.clear();
+        if (manager != null) {
+            manager.close();
+            manager = null;
+        }
+    }
+}
@@ -32,11 +32,17 @@ import java.util.concurrent.ConcurrentHashMap;
  * use {@link Evaluator#getAccumulator(String)} to retrieve the accumulated value and {@link
  * Evaluator#resetAccumulator(String)} to reset the accumulator to the same value as when just
  * added.
+ *
+ * <p>By default, each update of an accumulator copies the evaluation of the batch to Java, which
+ * waits for the engine to finish computing the batch. With {@link #setAccumulateOnDevice(boolean)},
+ * evaluators that support it keep the running totals as {@link NDArray}s on the device instead, and
+ * only copy them when {@link #getAccumulator(String)} is called.
  */
 public abstract class Evaluator {
 
     private String name;
     protected Map<String, Long> totalInstances;
+    protected boolean accumulateOnDevice;
 
     /**
      * Creates an evaluator with abstract update methods.
@@ -57,6 +63,29 @@ public abstract class Evaluator {
         return name;
     }
 
+    /**
+     * Returns whether the accumulators keep their running totals on the device.
+     *
+     * @return whether the accumulators keep their running totals on the device
+     */
+    public boolean isAccumulateOnDevice() {
+        return accumulateOnDevice;
+    }
+
+    /**
+     * Sets whether the accumulators keep their running totals on the device.
+     *
+     * <p>When enabled, {@link #updateAccumulator(String, NDList, NDList)} doesn't wait for the
+     * engine, which lets the engine run the next batches asynchronously. The totals are copied to
+     * Java by {@link #getAccumulator(String)}, so it should only be called once in a while, for
+     * example at the end of each epoch. Evaluators that don't support it ignore this setting.
+     *
+     * @param accumulateOnDevice true to keep the running totals on the device
+     */
+    public void setAccumulateOnDevice(boolean accumulateOnDevice) {
+        this.accumulateOnDevice = accumulateOnDevice;
+    }
+
     /**
      * Calculates the evaluation between the labels and the predictions.
      *
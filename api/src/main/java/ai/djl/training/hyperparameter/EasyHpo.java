@@ -22,15 +22,27 @@ import ai.djl.training.TrainingResult;
 import ai.djl.training.dataset.Dataset;
 import ai.djl.training.dataset.RandomAccessDataset;
 import ai.djl.training.hyperparameter.optimizer.HpORandom;
+import ai.djl.training.hyperparameter.optimizer.HpOTpe;
 import ai.djl.training.hyperparameter.optimizer.HpOptimizer;
 import ai.djl.training.hyperparameter.param.HpSet;
 import ai.djl.translate.TranslateException;
 import ai.djl.util.Pair;
 import java.io.IOException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Helper for easy training with hyperparameters. */
+/**
+ * Helper for easy training with hyperparameters.
+ *
+ * <p>By default, the hyperparameter sets are trained one after another and chosen by {@link
+ * HpORandom}. The search can be sped up by training several sets in parallel with {@link
+ * #numParallelTrials()}, and by stopping unpromising sets early with {@link #setupEarlyStopping()}.
+ */
 public abstract class EasyHpo {
 
     private static final Logger logger = LoggerFactory.getLogger(EasyHpo.class);
@@ -49,22 +61,76 @@ public abstract class EasyHpo {
         RandomAccessDataset validateSet = getDataset(Dataset.Usage.TEST);
 
         HpSet hyperParams = setupHyperParams();
-        HpOptimizer hpOptimizer = new HpORandom(hyperParams);
+        HpOptimizer hpOptimizer = setupHpOptimizer(hyperParams);
+        SuccessiveHalving earlyStopping = setupEarlyStopping();
 
         final int hyperparameterTests = numHyperParameterTests();
+        int parallelTrials = Math.min(numParallelTrials(), hyperparameterTests);
+
+        if (parallelTrials <= 1) {
+            for (int i = 0; i < hyperparameterTests; i++) {
+                HpSet hpVals = hpOptimizer.nextConfig();
+                float loss = trial(hpVals, trainingSet, validateSet, earlyStopping).getValue();
+                hpOptimizer.update(hpVals, loss);
+                logger.info(
+                        "--------- hp test {}/{} - Loss {} - {}",
+                        i,
+                        hyperparameterTests,
+                        loss,
+                        hpVals);
+            }
+        } else {
+            // the datasets are shared by the trials, prepare them only once
+            trainingSet.prepare();
+            if (validateSet != null) {
+                validateSet.prepare();
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(parallelTrials);
+            try {
+                // the optimizer is only used from this thread, the trials only train
+                CompletionService<Pair<HpSet, Float>> trials =
+                        new ExecutorCompletionService<>(executor);
+                for (int i = 0; i < parallelTrials; i++) {
+                    HpSet hpVals = hpOptimizer.nextConfig();
+                    trials.submit(() -> trial(hpVals, trainingSet, validateSet, earlyStopping));
+                }
+                for (int i = 0; i < hyperparameterTests; i++) {
+                    Pair<HpSet, Float> result = trials.take().get();
+                    HpSet hpVals = result.getKey();
+                    float loss = result.getValue();
+                    hpOptimizer.update(hpVals, loss);
+                    logger.info(
+                            "--------- hp test {}/{} - Loss {} - {}",
+                            i,
+                            hyperparameterTests,
+                            loss,
+                            hpVals);
 
-        for (int i = 0; i < hyperparameterTests; i++) {
-            HpSet hpVals = hpOptimizer.nextConfig();
-            Pair<Model, TrainingResult> trained = train(hpVals, trainingSet, validateSet);
-            trained.getKey().close();
-            float loss = trained.getValue().getValidateLoss();
-            hpOptimizer.update(hpVals, loss);
-            logger.info(
-                    "--------- hp test {}/{} - Loss {} - {}", i, hyperparameterTests, loss, hpVals);
+                    if (i + parallelTrials < hyperparameterTests) {
+                        HpSet next = hpOptimizer.nextConfig();
+                        trials.submit(() -> trial(next, trainingSet, validateSet, earlyStopping));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Hyperparameter search interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof TranslateException) {
+                    throw (TranslateException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IllegalStateException("Hyperparameter trial failed", cause);
+            } finally {
+                executor.shutdownNow();
+            }
         }
 
         HpSet bestHpVals = hpOptimizer.getBest().getKey();
-        Pair<Model, TrainingResult> trained = train(bestHpVals, trainingSet, validateSet);
+        Pair<Model, TrainingResult> trained = train(bestHpVals, trainingSet, validateSet, null);
         TrainingResult result = trained.getValue();
 
         Model model = trained.getKey();
@@ -72,8 +138,23 @@ public abstract class EasyHpo {
         return trained;
     }
 
+    private Pair<HpSet, Float> trial(
+            HpSet hpVals,
+            RandomAccessDataset trainingSet,
+            RandomAccessDataset validateSet,
+            SuccessiveHalving earlyStopping)
+            throws IOException, TranslateException {
+        Pair<Model, TrainingResult> trained =
+                train(hpVals, trainingSet, validateSet, earlyStopping);
+        trained.getKey().close();
+        return new Pair<>(hpVals, trained.getValue().getValidateLoss());
+    }
+
     private Pair<Model, TrainingResult> train(
-            HpSet hpVals, RandomAccessDataset trainingSet, RandomAccessDataset validateSet)
+            HpSet hpVals,
+            RandomAccessDataset trainingSet,
+            RandomAccessDataset validateSet,
+            SuccessiveHalving earlyStopping)
             throws IOException, TranslateException {
 
         // Construct neural network
@@ -88,13 +169,65 @@ public abstract class EasyHpo {
             // initialize trainer with proper input shape
             trainer.initialize(inputShape(hpVals));
 
-            EasyTrain.fit(trainer, numEpochs(hpVals), trainingSet, validateSet);
+            int numEpochs = numEpochs(hpVals);
+            if (earlyStopping == null) {
+                EasyTrain.fit(trainer, numEpochs, trainingSet, validateSet);
+            } else {
+                for (int epoch = 1; epoch <= numEpochs; epoch++) {
+                    EasyTrain.fit(trainer, 1, trainingSet, validateSet);
+                    float loss = trainer.getTrainingResult().getValidateLoss();
+                    if (epoch < numEpochs && earlyStopping.shouldStop(epoch, loss)) {
+                        logger.info("Stopped after {} epochs - Loss {} - {}", epoch, loss, hpVals);
+                        break;
+                    }
+                }
+            }
 
             TrainingResult result = trainer.getTrainingResult();
             return new Pair<>(model, result);
         }
     }
 
+    /**
+     * Returns the {@link HpOptimizer} that chooses the hyperparameter sets to train with.
+     *
+     * <p>The default is a {@link HpORandom}. A model-based optimizer such as {@link HpOTpe} can
+     * find better hyperparameters with the same number of tests.
+     *
+     * @param hyperParams the hyperparameters to search
+     * @return the {@link HpOptimizer} that chooses the hyperparameter sets to train with
+     */
+    protected HpOptimizer setupHpOptimizer(HpSet hyperParams) {
+        return new HpORandom(hyperParams);
+    }
+
+    /**
+     * Returns the policy to stop training unpromising hyperparameter sets early, or {@code null} to
+     * train all of them for {@link #numEpochs(HpSet)} epochs.
+     *
+     * <p>With early stopping, the validation loss is computed after each epoch. The best
+     * hyperparameter set found is always trained for all its epochs at the end.
+     *
+     * @return the early stopping policy, or {@code null} to disable it
+     */
+    protected SuccessiveHalving setupEarlyStopping() {
+        return null;
+    }
+
+    /**
+     * Returns the number of hyperparameter sets to train at the same time.
+     *
+     * <p>Each trial builds its own {@link Model}, which owns all the arrays of the trial, and
+     * closes it as soon as the trial ends. The native memory used by the search is bounded by the
+     * memory of this number of models. Training in parallel requires an engine that supports
+     * training from multiple threads.
+     *
+     * @return the number of hyperparameter sets to train at the same time
+     */
+    protected int numParallelTrials() {
+        return 1;
+    }
+
     /**
      * Returns the initial hyperparameters.
      *
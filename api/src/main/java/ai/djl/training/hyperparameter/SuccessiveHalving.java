@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.hyperparameter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An asynchronous successive halving policy that stops unpromising hyperparameter trials early.
+ *
+ * <p>The trials are compared at rungs, after {@code minEpochs}, {@code minEpochs *
+ * reductionFactor}, {@code minEpochs * reductionFactor^2}... epochs. A trial that reaches a rung is
+ * only trained further if its loss is within the best {@code 1 / reductionFactor} of the losses
+ * recorded at that rung so far. The trials don't wait for each other at the rungs, so that they can
+ * run in parallel. Searches with different values of {@code minEpochs} make up the brackets of
+ * Hyperband.
+ *
+ * @see EasyHpo#setupEarlyStopping()
+ */
+public class SuccessiveHalving {
+
+    private int minEpochs;
+    private int reductionFactor;
+    private Map<Integer, List<Float>> rungs;
+
+    /**
+     * Constructs a new {@code SuccessiveHalving}.
+     *
+     * @param minEpochs the number of epochs each trial is trained for before it can be stopped
+     * @param reductionFactor the ratio between the number of epochs of two successive rungs, and
+     *     the inverse of the fraction of the trials that continue at each rung
+     */
+    public SuccessiveHalving(int minEpochs, int reductionFactor) {
+        if (minEpochs < 1 || reductionFactor < 2) {
+            throw new IllegalArgumentException(
+                    "minEpochs must be positive and reductionFactor at least 2");
+        }
+        this.minEpochs = minEpochs;
+        this.reductionFactor = reductionFactor;
+        rungs = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records the loss of a trial after an epoch, and returns whether the trial should stop.
+     *
+     * @param epoch the number of epochs the trial has been trained for
+     * @param loss the validation loss of the trial after the epoch
+     * @return {@code true} if the trial should stop
+     */
+    public boolean shouldStop(int epoch, float loss) {
+        if (!isRung(epoch)) {
+            return false;
+        }
+        if (Float.isNaN(loss)) {
+            return true;
+        }
+        List<Float> losses = rungs.computeIfAbsent(epoch, k -> new ArrayList<>());
+        synchronized (losses) {
+            losses.add(loss);
+            int better = 0;
+            for (float other : losses) {
+                if (other < loss) {
+                    ++better;
+                }
+            }
+            int promoted = (losses.size() + reductionFactor - 1) / reductionFactor;
+            return better >= promoted;
+        }
+    }
+
+    private boolean isRung(int epoch) {
+        long rung = minEpochs;
+        while (rung < epoch) {
+            rung *= reductionFactor;
+        }
+        return rung == epoch;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.hyperparameter.optimizer;
+
+import ai.djl.training.hyperparameter.param.HpSet;
+import ai.djl.training.hyperparameter.param.Hyperparameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A model-based {@link HpOptimizer} that samples the hyperparameters like a Tree-structured Parzen
+ * Estimator.
+ *
+ * <p>The recorded results are split into the best {@code gamma} fraction and the rest, and a kernel
+ * density is estimated for each part. Among a number of random candidates, the next hyperparameters
+ * are the candidate that is the most likely under the density of the best results relative to the
+ * density of the rest. Numeric hyperparameters use a Gaussian kernel, in log space when the values
+ * span at least two orders of magnitude. Other hyperparameters are compared by equality.
+ *
+ * <p>The first {@code numStartupTrials} hyperparameters are random, like {@link HpORandom}.
+ */
+public class HpOTpe extends BaseHpOptimizer {
+
+    private static final double BANDWIDTH = 0.2;
+    private static final double CATEGORICAL_MISMATCH = 0.1;
+    private static final double EPSILON = 1e-12;
+
+    private int numStartupTrials;
+    private int numCandidates;
+    private float gamma;
+
+    /**
+     * Constructs a new {@link HpOTpe} with 10 random startup trials, 24 candidates, and a gamma of
+     * 0.25.
+     *
+     * @param hyperParams the hyperparameters to test with
+     */
+    public HpOTpe(HpSet hyperParams) {
+        this(hyperParams, 10, 24, 0.25f);
+    }
+
+    /**
+     * Constructs a new {@link HpOTpe}.
+     *
+     * @param hyperParams the hyperparameters to test with
+     * @param numStartupTrials the number of random hyperparameters before using the model
+     * @param numCandidates the number of random candidates evaluated by the model
+     * @param gamma the fraction of the results that are considered good
+     */
+    public HpOTpe(HpSet hyperParams, int numStartupTrials, int numCandidates, float gamma) {
+        super(hyperParams);
+        if (numCandidates < 1 || gamma <= 0 || gamma >= 1) {
+            throw new IllegalArgumentException(
+                    "numCandidates must be positive and gamma between 0 and 1");
+        }
+        this.numStartupTrials = numStartupTrials;
+        this.numCandidates = numCandidates;
+        this.gamma = gamma;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public HpSet nextConfig() {
+        if (results.size() < Math.max(numStartupTrials, 2)) {
+            return hyperParams.random();
+        }
+
+        List<Map.Entry<HpSet, Float>> history = new ArrayList<>(results.entrySet());
+        history.sort(Map.Entry.comparingByValue());
+        int numGood = Math.min((int) Math.ceil(gamma * history.size()), history.size() - 1);
+        List<Map<String, Object>> good = new ArrayList<>(numGood);
+        List<Map<String, Object>> bad = new ArrayList<>(history.size() - numGood);
+        for (int i = 0; i < history.size(); ++i) {
+            Map<String, Object> values = values(history.get(i).getKey());
+            if (i < numGood) {
+                good.add(values);
+            } else {
+                bad.add(values);
+            }
+        }
+
+        List<HpSet> candidates = new ArrayList<>(numCandidates);
+        List<Map<String, Object>> candidateValues = new ArrayList<>(numCandidates);
+        for (int i = 0; i < numCandidates; ++i) {
+            HpSet candidate = hyperParams.random();
+            candidates.add(candidate);
+            candidateValues.add(values(candidate));
+        }
+
+        List<Map<String, Object>> all = new ArrayList<>(good);
+        all.addAll(bad);
+        all.addAll(candidateValues);
+        Map<String, Scale> scales = scales(all);
+
+        HpSet best = candidates.get(0);
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < numCandidates; ++i) {
+            Map<String, Object> candidate = candidateValues.get(i);
+            double score =
+                    Math.log(density(candidate, good, scales) + EPSILON)
+                            - Math.log(density(candidate, bad, scales) + EPSILON);
+            if (score > bestScore) {
+                bestScore = score;
+                best = candidates.get(i);
+            }
+        }
+        return best;
+    }
+
+    private static Map<String, Object> values(HpSet config) {
+        Map<String, Object> values = new HashMap<>();
+        for (Hyperparameter<?> hparam : config.getHParams()) {
+            values.put(hparam.getName(), hparam.random());
+        }
+        return values;
+    }
+
+    private static Map<String, Scale> scales(List<Map<String, Object>> configs) {
+        Map<String, Scale> scales = new HashMap<>();
+        for (String name : configs.get(0).keySet()) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            boolean numeric = true;
+            for (Map<String, Object> config : configs) {
+                Object value = config.get(name);
+                if (!(value instanceof Number)) {
+                    numeric = false;
+                    break;
+                }
+                double v = ((Number) value).doubleValue();
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            if (numeric) {
+                boolean log = min > 0 && max / min >= 100;
+                if (log) {
+                    min = Math.log(min);
+                    max = Math.log(max);
+                }
+                scales.put(name, new Scale(log, BANDWIDTH * (max - min)));
+            }
+        }
+        return scales;
+    }
+
+    private static double density(
+            Map<String, Object> x, List<Map<String, Object>> points, Map<String, Scale> scales) {
+        double sum = 0;
+        for (Map<String, Object> point : points) {
+            double kernel = 1;
+            for (Map.Entry<String, Object> entry : x.entrySet()) {
+                String name = entry.getKey();
+                Object a = entry.getValue();
+                Object b = point.get(name);
+                Scale scale = scales.get(name);
+                if (scale == null) {
+                    kernel *= Objects.equals(a, b) ? 1 : CATEGORICAL_MISMATCH;
+                } else if (scale.bandwidth > 0) {
+                    double d = (scale.apply(a) - scale.apply(b)) / scale.bandwidth;
+                    kernel *= Math.exp(-0.5 * d * d);
+                }
+            }
+            sum += kernel;
+        }
+        return sum / points.size();
+    }
+
+    private static final class Scale {
+
+        boolean log;
+        double bandwidth;
+
+        Scale(boolean log, double bandwidth) {
+            this.log = log;
+            this.bandwidth = bandwidth;
+        }
+
+        double apply(Object value) {
+            double v = ((Number) value).doubleValue();
+            return log ? Math.log(v) : v;
+        }
+    }
+}
@@ -12,6 +12,8 @@
  */
 package ai.djl.training.hyperparameter.param;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -64,6 +66,15 @@ public final class HpSet extends Hyperparameter<HpSet> {
         return hyperParams.get(name);
     }
 
+    /**
+     * Returns the hyperparameters in the set.
+     *
+     * @return the hyperparameters in the set
+     */
+    public Collection<Hyperparameter<?>> getHParams() {
+        return Collections.unmodifiableCollection(hyperParams.values());
+    }
+
     /** {@inheritDoc} */
     @Override
     public HpSet random() {
@@ -13,17 +13,37 @@
 package ai.djl.training.listener;
 
 import ai.djl.TrainingDivergedException;
+import ai.djl.metric.Metrics;
 import ai.djl.training.Trainer;
 import ai.djl.training.loss.Loss;
 
-/** {@link TrainingListener} that gives early warning if your training has failed by divergence. */
+/**
+ * {@link TrainingListener} that gives early warning if your training has failed by divergence.
+ *
+ * <p>When the loss {@link ai.djl.training.evaluator.Evaluator#isAccumulateOnDevice() accumulates on
+ * the device}, the loss of each batch is not available. The check uses the latest training progress
+ * metric instead, which is recorded every few batches by the {@link EvaluatorTrainingListener}.
+ */
 public class DivergenceCheckTrainingListener extends TrainingListenerAdapter {
 
     /** {@inheritDoc} */
     @Override
     public void onTrainingBatch(Trainer trainer, BatchData batchData) {
         Loss trainingLoss = trainer.getLoss();
-        if (Float.isNaN(trainingLoss.getAccumulator(EvaluatorTrainingListener.TRAIN_ALL))) {
+        float loss;
+        if (trainingLoss.isAccumulateOnDevice()) {
+            Metrics metrics = trainer.getMetrics();
+            String key =
+                    EvaluatorTrainingListener.metricName(
+                            trainingLoss, EvaluatorTrainingListener.TRAIN_PROGRESS);
+            if (metrics == null || !metrics.hasMetric(key)) {
+                return;
+            }
+            loss = metrics.latestMetric(key).getValue().floatValue();
+        } else {
+            loss = trainingLoss.getAccumulator(EvaluatorTrainingListener.TRAIN_ALL);
+        }
+        if (Float.isNaN(loss)) {
             throw new TrainingDivergedException(
                     "The Loss became NaN, try reduce learning rate,"
                             + "add clipGradient option to your optimizer, check input data and loss calculation.");
@@ -38,6 +38,11 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>The training and validation evaluators are saved as metrics with names that can be found using
  * {@link EvaluatorTrainingListener#metricName(Evaluator, String)}. The validation evaluators are
  * also saved as model properties with the evaluator name.
+ *
+ * <p>For the evaluators that {@link Evaluator#isAccumulateOnDevice() accumulate on the device},
+ * {@link #TRAIN_ALL} is not recorded, so that the training batches don't wait for the evaluators.
+ * Their accumulators are only read every {@link #progressUpdateFrequency} batches and at the end of
+ * each epoch.
  */
 public class EvaluatorTrainingListener extends TrainingListenerAdapter {
 
@@ -115,6 +120,9 @@ public class EvaluatorTrainingListener extends TrainingListenerAdapter {
         Metrics metrics = trainer.getMetrics();
         if (metrics != null) {
             for (Evaluator evaluator : trainer.getEvaluators()) {
+                if (evaluator.isAccumulateOnDevice()) {
+                    continue;
+                }
                 String key = metricName(evaluator, TRAIN_ALL);
                 float value = evaluator.getAccumulator(TRAIN_ALL);
                 metrics.addMetric(key, value);
@@ -144,6 +152,9 @@ public class EvaluatorTrainingListener extends TrainingListenerAdapter {
                 NDList labels = batchData.getLabels().get(device);
                 NDList predictions = batchData.getPredictions().get(device);
                 for (String accumulator : accumulators) {
+                    if (TRAIN_ALL.equals(accumulator) && evaluator.isAccumulateOnDevice()) {
+                        continue;
+                    }
                     evaluator.updateAccumulator(accumulator, labels, predictions);
                 }
             }
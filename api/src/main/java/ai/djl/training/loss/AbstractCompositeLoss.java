@@ -69,6 +69,15 @@ public abstract class AbstractCompositeLoss extends Loss {
         return NDArrays.add(lossComponents);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void setAccumulateOnDevice(boolean accumulateOnDevice) {
+        super.setAccumulateOnDevice(accumulateOnDevice);
+        for (Loss component : components) {
+            component.setAccumulateOnDevice(accumulateOnDevice);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void addAccumulator(String key) {
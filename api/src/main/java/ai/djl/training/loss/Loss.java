@@ -13,6 +13,7 @@
 package ai.djl.training.loss;
 
 import ai.djl.ndarray.NDList;
+import ai.djl.training.evaluator.DeviceAccumulator;
 import ai.djl.training.evaluator.Evaluator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,6 +38,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public abstract class Loss extends Evaluator {
 
     private Map<String, Float> totalLoss;
+    private Map<String, DeviceAccumulator> deviceTotalLoss;
 
     /**
      * Base class for metric with abstract update methods.
@@ -46,6 +48,7 @@ public abstract class Loss extends Evaluator {
     public Loss(String name) {
         super(name);
         totalLoss = new ConcurrentHashMap<>();
+        deviceTotalLoss = new ConcurrentHashMap<>();
     }
 
     /**
@@ -363,9 +366,15 @@ public abstract class Loss extends Evaluator {
     /** {@inheritDoc} */
     @Override
     public void updateAccumulator(String key, NDList labels, NDList predictions) {
+        totalInstances.compute(key, (k, v) -> v + 1);
+        if (accumulateOnDevice) {
+            deviceTotalLoss
+                    .computeIfAbsent(key, k -> new DeviceAccumulator())
+                    .add(evaluate(labels, predictions).sum());
+            return;
+        }
         // this is a synchronized operation, only call it at end of batch or epoch
         float update = evaluate(labels, predictions).sum().getFloat();
-        totalInstances.compute(key, (k, v) -> v + 1);
         totalLoss.compute(key, (k, v) -> v + update);
     }
 
@@ -374,6 +383,10 @@ public abstract class Loss extends Evaluator {
     public void resetAccumulator(String key) {
         totalInstances.compute(key, (k, v) -> 0L);
         totalLoss.compute(key, (k, v) -> 0f);
+        DeviceAccumulator accumulator = deviceTotalLoss.get(key);
+        if (accumulator != null) {
+            accumulator.reset();
+        }
     }
 
     /** {@inheritDoc} */
@@ -388,6 +401,11 @@ public abstract class Loss extends Evaluator {
             return Float.NaN;
         }
 
-        return totalLoss.get(key) / totalInstances.get(key);
+        double loss = totalLoss.get(key);
+        DeviceAccumulator accumulator = deviceTotalLoss.get(key);
+        if (accumulator != null) {
+            loss += accumulator.getValue();
+        }
+        return (float) (loss / total);
     }
 }
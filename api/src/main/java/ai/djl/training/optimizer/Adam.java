@@ -33,6 +33,9 @@ import java.util.concurrent.ConcurrentHashMap;
  * where g represents the gradient, and m/v are 1st and 2nd order moment estimates (mean and
  * variance).
  *
+ * <p>All the parameters of a training step share the same update count, so the bias corrected
+ * learning rate is only computed once per step.
+ *
  * @see <a href="https://d2l.djl.ai/chapter_optimization/adam.html">The D2L chapter on Adam</a>
  */
 public class Adam extends Optimizer {
@@ -42,8 +45,9 @@ public class Adam extends Optimizer {
     private float beta2;
     private float epsilon;
 
-    private Map<String, Map<Device, NDArray>> means;
-    private Map<String, Map<Device, NDArray>> variances;
+    // the mean and variance of each parameter on each device
+    private Map<String, Map<Device, NDArray[]>> states;
+    private volatile Step step;
 
     /**
      * Creates a new instance of {@code Adam} optimizer.
@@ -56,37 +60,26 @@ public class Adam extends Optimizer {
         beta1 = builder.beta1;
         beta2 = builder.beta2;
         epsilon = builder.epsilon;
-        means = new ConcurrentHashMap<>();
-        variances = new ConcurrentHashMap<>();
+        states = new ConcurrentHashMap<>();
     }
 
     /** {@inheritDoc} */
     @Override
     public void update(String parameterId, NDArray weight, NDArray grad) {
         int t = updateCount(parameterId);
-        double coef1 = 1.0 - Math.pow(beta1, t);
-        double coef2 = 1.0 - Math.pow(beta2, t);
-        float lr = learningRateTracker.getNewValue(t);
-        float newLearningRate = (float) (lr * Math.sqrt(coef2) / coef1);
-        float weightDecay = getWeightDecay();
-
-        Preconditions.checkArgument(
-                !Float.isNaN(newLearningRate)
-                        && !Float.isNaN(weightDecay)
-                        && !Float.isInfinite(newLearningRate)
-                        && !Float.isInfinite(weightDecay),
-                "learning rate or weight decay is nan or infinite");
-        NDList inputs =
-                new NDList(
-                        weight,
-                        grad,
-                        withDefaultState(
-                                means, parameterId, weight.getDevice(), k -> weight.zerosLike()),
-                        withDefaultState(
-                                variances,
-                                parameterId,
-                                weight.getDevice(),
-                                k -> weight.zerosLike()));
+        Step current = step;
+        if (current == null || current.t != t) {
+            current = newStep(t);
+            step = current;
+        }
+        Device device = weight.getDevice();
+        Map<Device, NDArray[]> devices =
+                states.computeIfAbsent(parameterId, k -> new ConcurrentHashMap<>());
+        NDArray[] state = devices.get(device);
+        if (state == null) {
+            state = devices.computeIfAbsent(device, k -> newState(devices, weight));
+        }
+        NDList inputs = new NDList(weight, grad, state[0], state[1]);
         NDList weights = new NDList(weight);
 
         NDArrayEx ex = weight.getNDArrayInternal();
@@ -94,8 +87,8 @@ public class Adam extends Optimizer {
         ex.adamUpdate(
                 inputs,
                 weights,
-                newLearningRate,
-                weightDecay,
+                current.learningRate,
+                current.weightDecay,
                 rescaleGrad,
                 clipGrad,
                 beta1,
@@ -104,6 +97,39 @@ public class Adam extends Optimizer {
                 true);
     }
 
+    private Step newStep(int t) {
+        double coef1 = 1.0 - Math.pow(beta1, t);
+        double coef2 = 1.0 - Math.pow(beta2, t);
+        float lr = learningRateTracker.getNewValue(t);
+        float newLearningRate = (float) (lr * Math.sqrt(coef2) / coef1);
+        float weightDecay = getWeightDecay();
+
+        Preconditions.checkArgument(
+                !Float.isNaN(newLearningRate)
+                        && !Float.isNaN(weightDecay)
+                        && !Float.isInfinite(newLearningRate)
+                        && !Float.isInfinite(weightDecay),
+                "learning rate or weight decay is nan or infinite");
+        return new Step(t, newLearningRate, weightDecay);
+    }
+
+    private static NDArray[] newState(Map<Device, NDArray[]> devices, NDArray weight) {
+        NDArray[] state = new NDArray[2];
+        if (devices.isEmpty()) {
+            state[0] = weight.zerosLike();
+            state[1] = weight.zerosLike();
+        } else {
+            // mirrors the state of the parameter on another device
+            NDArray[] other = devices.values().iterator().next();
+            state[0] = other[0].toDevice(weight.getDevice(), true);
+            state[1] = other[1].toDevice(weight.getDevice(), true);
+        }
+        // detached like the state of the other optimizers, it is closed by the GC
+        state[0].detach();
+        state[1].detach();
+        return state;
+    }
+
     /**
      * Creates a builder to build a {@code Adam}.
      *
@@ -182,4 +208,18 @@ public class Adam extends Optimizer {
             return new Adam(this);
         }
     }
+
+    /** The bias corrected learning rate of an update count. */
+    private static final class Step {
+
+        int t;
+        float learningRate;
+        float weightDecay;
+
+        Step(int t, float learningRate, float weightDecay) {
+            this.t = t;
+            this.learningRate = learningRate;
+            this.weightDecay = weightDecay;
+        }
+    }
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class Pipeline {
 
     private PairList<IndexKey, Transform> transforms;
+    private volatile PairList<IndexKey, Transform> fusedTransforms;
 
     /** Creates a new instance of {@code Pipeline} that has no {@link Transform} defined yet. */
     public Pipeline() {
@@ -58,6 +59,7 @@ public class Pipeline {
      */
     public Pipeline add(Transform transform) {
         transforms.add(new IndexKey(0), transform);
+        fusedTransforms = null;
         return this;
     }
 
@@ -72,6 +74,7 @@ public class Pipeline {
      */
     public Pipeline add(int index, Transform transform) {
         transforms.add(new IndexKey(index), transform);
+        fusedTransforms = null;
         return this;
     }
 
@@ -87,6 +90,7 @@ public class Pipeline {
      */
     public Pipeline add(String name, Transform transform) {
         transforms.add(new IndexKey(name), transform);
+        fusedTransforms = null;
         return this;
     }
 
@@ -103,6 +107,7 @@ public class Pipeline {
      */
     public Pipeline insert(int position, Transform transform) {
         transforms.add(position, new IndexKey(0), transform);
+        fusedTransforms = null;
         return this;
     }
 
@@ -118,6 +123,7 @@ public class Pipeline {
      */
     public Pipeline insert(int position, int index, Transform transform) {
         transforms.add(position, new IndexKey(index), transform);
+        fusedTransforms = null;
         return this;
     }
 
@@ -133,6 +139,7 @@ public class Pipeline {
      */
     public Pipeline insert(int position, String name, Transform transform) {
         transforms.add(position, new IndexKey(name), transform);
+        fusedTransforms = null;
         return this;
     }
 
@@ -143,6 +150,9 @@ public class Pipeline {
      * {@link NDArray} in the input {@link NDList}. If a key is not specified, it will be applied to
      * the first element in the input {@link NDList}.
      *
+     * <p>Consecutive transforms applied to the same element are combined with {@link
+     * Transform#fuse(Transform)} when possible.
+     *
      * @param input the input {@link NDList} on which the tranforms are to be applied
      * @return the output {@link NDList} after applying the tranforms
      */
@@ -162,8 +172,13 @@ public class Pipeline {
             }
             map.put(new IndexKey(i), i);
         }
+        PairList<IndexKey, Transform> fused = fusedTransforms;
+        if (fused == null) {
+            fused = fuse(transforms);
+            fusedTransforms = fused;
+        }
         // apply transform
-        for (Pair<IndexKey, Transform> transform : transforms) {
+        for (Pair<IndexKey, Transform> transform : fused) {
             IndexKey key = transform.getKey();
             int index = map.get(key);
             NDArray array = arrays[index];
@@ -175,6 +190,23 @@ public class Pipeline {
         return new NDList(arrays);
     }
 
+    private static PairList<IndexKey, Transform> fuse(PairList<IndexKey, Transform> transforms) {
+        PairList<IndexKey, Transform> fused = new PairList<>(transforms.size());
+        for (Pair<IndexKey, Transform> pair : transforms) {
+            int last = fused.size() - 1;
+            if (last >= 0 && fused.keyAt(last).equals(pair.getKey())) {
+                Transform combined = fused.valueAt(last).fuse(pair.getValue());
+                if (combined != null) {
+                    fused.remove(last);
+                    fused.add(pair.getKey(), combined);
+                    continue;
+                }
+            }
+            fused.add(pair);
+        }
+        return fused;
+    }
+
     private static final class IndexKey {
         private String key;
         private int index;
@@ -14,6 +14,7 @@ package ai.djl.translate;
 
 import ai.djl.Application;
 import ai.djl.Model;
+import ai.djl.modality.BufferedInput;
 import ai.djl.modality.Input;
 import ai.djl.modality.Output;
 import ai.djl.modality.cv.Image;
@@ -28,10 +29,12 @@ import ai.djl.util.PairList;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -224,6 +227,36 @@ public class ServingTranslatorFactory implements TranslatorFactory<Input, Output
         }
     }
 
+    private static byte[] getData(Input input) {
+        PairList<String, byte[]> inputs = input.getContent();
+        byte[] data = inputs.get("data");
+        if (data == null) {
+            data = inputs.get("body");
+        }
+        if (data == null) {
+            data = inputs.valueAt(0);
+        }
+        return data;
+    }
+
+    private static ByteBuffer getBuffer(Input input) {
+        if (!(input instanceof BufferedInput)) {
+            return null;
+        }
+        PairList<String, ByteBuffer> buffers = ((BufferedInput) input).getBuffers();
+        if (buffers.isEmpty()) {
+            return null;
+        }
+        ByteBuffer data = buffers.get("data");
+        if (data == null) {
+            data = buffers.get("body");
+        }
+        if (data == null) {
+            data = buffers.valueAt(0);
+        }
+        return data;
+    }
+
     private static final class ImageServingTranslator implements Translator<Input, Output> {
 
         private Translator<Image, ?> translator;
@@ -258,15 +291,14 @@ public class ServingTranslatorFactory implements TranslatorFactory<Input, Output
         @Override
         public NDList processInput(TranslatorContext ctx, Input input) throws Exception {
             ctx.setAttachment("input", input);
-            PairList<String, byte[]> inputs = input.getContent();
-            byte[] data = inputs.get("data");
-            if (data == null) {
-                data = inputs.get("body");
-            }
-            if (data == null) {
-                data = input.getContent().valueAt(0);
+            InputStream is;
+            ByteBuffer bb = getBuffer(input);
+            if (bb != null) {
+                is = new ByteBufferInputStream(bb);
+            } else {
+                is = new ByteArrayInputStream(getData(input));
             }
-            Image image = factory.fromInputStream(new ByteArrayInputStream(data));
+            Image image = factory.fromInputStream(is);
             return translator.processInput(ctx, image);
         }
 
@@ -289,16 +321,13 @@ public class ServingTranslatorFactory implements TranslatorFactory<Input, Output
         @Override
         public NDList processInput(TranslatorContext ctx, Input input) {
             ctx.setAttachment("input", input);
-            PairList<String, byte[]> inputs = input.getContent();
-            byte[] data = inputs.get("data");
-            if (data == null) {
-                data = inputs.get("body");
-            }
-            if (data == null) {
-                data = input.getContent().valueAt(0);
-            }
             NDManager manager = ctx.getNDManager();
-            return NDList.decode(manager, data);
+            ByteBuffer bb = getBuffer(input);
+            if (bb != null) {
+                // the arrays are views of the request buffer, which outlives the prediction
+                return NDList.decode(manager, bb);
+            }
+            return NDList.decode(manager, getData(input));
         }
 
         /** {@inheritDoc} */
@@ -310,4 +339,40 @@ public class ServingTranslatorFactory implements TranslatorFactory<Input, Output
             return output;
         }
     }
+
+    /** An {@link InputStream} that reads from a {@link ByteBuffer} without copying it first. */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private ByteBuffer bb;
+
+        ByteBufferInputStream(ByteBuffer bb) {
+            this.bb = bb;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() {
+            return bb.hasRemaining() ? bb.get() & 0xFF : -1;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!bb.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, bb.remaining());
+            bb.get(b, off, n);
+            return n;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int available() {
+            return bb.remaining();
+        }
+    }
 }
@@ -29,4 +29,19 @@ public interface Transform {
      * @return the output of the {@code Transform}
      */
     NDArray transform(NDArray array);
+
+    /**
+     * Returns a {@code Transform} that applies this transform followed by the given one in a single
+     * step, or {@code null} if they can't be combined.
+     *
+     * <p>{@link Pipeline} combines the consecutive transforms applied to the same {@link NDArray},
+     * to avoid creating the intermediate arrays. The combined transform must give the same result
+     * as applying the two transforms one after the other.
+     *
+     * @param next the transform applied after this transform
+     * @return the combined {@code Transform}, or {@code null} if they can't be combined
+     */
+    default Transform fuse(Transform next) {
+        return null;
+    }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.util;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link DataInputStream} that reads from a {@link ByteBuffer}, usually a memory-mapped file.
+ *
+ * <p>Readers that are aware of this class can access the underlying buffer with {@link
+ * #getByteBuffer()} and create views of large blocks of data instead of copying them to the Java
+ * heap. Other readers can use it as a regular {@link DataInputStream}.
+ */
+public class MappedDataInputStream extends DataInputStream {
+
+    private ByteBuffer buffer;
+    private boolean lazy;
+
+    /**
+     * Constructs a new {@code MappedDataInputStream} that reads from the current position of the
+     * buffer.
+     *
+     * @param buffer the big-endian buffer to read from
+     */
+    public MappedDataInputStream(ByteBuffer buffer) {
+        this(new ByteBufferInputStream(buffer));
+    }
+
+    private MappedDataInputStream(ByteBufferInputStream is) {
+        super(is);
+        buffer = is.buffer;
+    }
+
+    /**
+     * Memory-maps the file and returns a {@code MappedDataInputStream} that reads from it.
+     *
+     * <p>The mapping is valid until it is garbage collected, views of the buffer remain valid after
+     * the stream is closed.
+     *
+     * @param file the file to map
+     * @return a new {@code MappedDataInputStream}
+     * @throws IOException if failed to map the file, or the file is larger than 2GB
+     */
+    public static MappedDataInputStream map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to be mapped: " + file);
+            }
+            ByteBuffer bb = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedDataInputStream(bb);
+        }
+    }
+
+    /**
+     * Returns the underlying buffer.
+     *
+     * <p>The buffer shares its position with this stream: reading from the buffer advances the
+     * stream, and vice versa.
+     *
+     * @return the underlying buffer
+     */
+    public ByteBuffer getByteBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns whether readers may keep views of the buffer and defer processing them.
+     *
+     * @return whether readers may keep views of the buffer and defer processing them
+     */
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Sets whether readers may keep views of the buffer and defer processing them.
+     *
+     * <p>For example, model parameters are only created when they are first used.
+     *
+     * @param lazy whether readers may keep views of the buffer and defer processing them
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read() {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int size = Math.min(len, buffer.remaining());
+            buffer.get(b, off, size);
+            return size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long skip(long n) {
+            int size = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + size);
+            return size;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -28,6 +28,8 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -304,6 +306,20 @@ public final class Utils {
         logger.debug("{} shape: {}", prefix, array.getShape().toString());
     }
 
+    /**
+     * Returns a random unique ID in the {@link UUID} format.
+     *
+     * <p>Unlike {@link UUID#randomUUID()}, this doesn't share a {@link java.security.SecureRandom}
+     * between threads, so it can be used for short-lived resources created concurrently. The ID is
+     * unique, but not unpredictable.
+     *
+     * @return a random unique ID
+     */
+    public static String newUid() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
     /**
      * Utility function to get Engine specific cache directory.
      *
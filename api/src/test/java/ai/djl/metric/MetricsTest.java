@@ -64,6 +64,44 @@ public class MetricsTest {
         Assert.assertEquals(mean, 1.5d);
     }
 
+    @Test
+    public void testHistogramMetrics() {
+        Metrics metrics = new Metrics();
+        metrics.enableHistogram("latency");
+        Assert.assertFalse(metrics.hasMetric("latency"));
+
+        for (long i = 1; i <= 100; ++i) {
+            metrics.addMetric("latency", i, "nano");
+        }
+        Assert.assertTrue(metrics.hasMetric("latency"));
+        Assert.assertTrue(metrics.getMetricNames().contains("latency"));
+        Assert.assertTrue(metrics.getMetric("latency").isEmpty());
+        Assert.assertEquals(metrics.latestMetric("latency").getValue().longValue(), 100L);
+        Assert.assertEquals(metrics.percentile("latency", 50).getValue().longValue(), 51L);
+        Assert.assertEquals(metrics.percentile("latency", 99).getUnit(), "nano");
+        Assert.assertEquals(metrics.mean("latency"), 50.5d);
+
+        Histogram histogram = metrics.getHistogram("latency");
+        Histogram.Snapshot snapshot = histogram.snapshotAndReset();
+        Assert.assertEquals(snapshot.getCount(), 100);
+        Assert.assertEquals(snapshot.getMin(), 1);
+        Assert.assertEquals(snapshot.getMax(), 100);
+        Assert.assertEquals(snapshot.getCountAtOrBelow(10), 10);
+        Assert.assertEquals(histogram.snapshot().getCount(), 0);
+    }
+
+    @Test
+    public void testHistogramPrecision() {
+        Histogram histogram = new Histogram();
+        for (long i = 1; i <= 1_000_000; i += 7) {
+            histogram.record(i * 1000);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        double p90 = snapshot.getPercentile(90);
+        Assert.assertEquals(p90, 900_000_000d, 900_000_000d * 0.01);
+        Assert.assertEquals(snapshot.getMax(), 1_000_000_000L);
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void testMeanException() {
         Metrics metrics = new Metrics();
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ClassificationsTest {
+
+    @Test
+    public void testTopK() {
+        Random random = new Random(0);
+        int size = 1000;
+        List<String> classNames = new ArrayList<>(size);
+        float[] values = new float[size];
+        List<Double> boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; ++i) {
+            classNames.add("class" + i);
+            // with ties
+            values[i] = random.nextInt(200) / 200f;
+            boxed.add((double) values[i]);
+        }
+        Classifications classifications = new Classifications(classNames, values);
+        Classifications reference = new Classifications(classNames, boxed);
+
+        List<Classifications.Classification> items = reference.items();
+        items.sort(
+                Comparator.comparingDouble(Classifications.Classification::getProbability)
+                        .reversed());
+        for (int k : new int[] {0, 1, 5, 17, size, size + 1}) {
+            List<String> expected =
+                    items.stream()
+                            .limit(k)
+                            .map(Classifications.Classification::getClassName)
+                            .collect(Collectors.toList());
+            Assert.assertEquals(names(classifications.topK(k)), expected);
+            Assert.assertEquals(names(reference.topK(k)), expected);
+        }
+
+        Assert.assertEquals(classifications.best().getClassName(), items.get(0).getClassName());
+        Assert.assertEquals(
+                classifications.get("class7").getProbability(), (double) values[7], 0);
+        Assert.assertEquals(classifications.toJson(), reference.toJson());
+    }
+
+    @Test
+    public void testBest() {
+        Classifications classifications =
+                new Classifications(Arrays.asList("a", "b", "c"), new float[] {0.2f, 0.4f, 0.4f});
+        Assert.assertEquals(classifications.best().getClassName(), "b");
+        Assert.assertEquals(names(classifications.topK(2)), Arrays.asList("b", "c"));
+    }
+
+    private static List<String> names(List<Classifications.Classification> list) {
+        return list.stream()
+                .map(Classifications.Classification::getClassName)
+                .collect(Collectors.toList());
+    }
+}
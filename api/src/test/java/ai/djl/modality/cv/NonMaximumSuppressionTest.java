@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NonMaximumSuppressionTest {
+
+    @Test
+    public void testNms() {
+        float[] boxes = {
+            0, 0, 10, 10, // 0
+            1, 1, 11, 11, // 1, overlaps 0
+            20, 20, 30, 30, // 2
+            0, 0, 10, 10 // 3, same as 0 with another class
+        };
+        float[] scores = {0.8f, 0.9f, 0.3f, 0.5f};
+        int[] classIds = {0, 0, 0, 1};
+
+        NonMaximumSuppression nms = NonMaximumSuppression.builder().build();
+        Assert.assertEquals(nms.apply(boxes, scores, classIds), new int[] {1, 3, 2});
+        Assert.assertEquals(nms.apply(boxes, scores, null), new int[] {1, 2});
+
+        nms = NonMaximumSuppression.builder().optScoreThreshold(0.4f).optMaxDetections(1).build();
+        Assert.assertEquals(nms.apply(boxes, scores, classIds), new int[] {1});
+
+        // the scores of the overlapping boxes are decayed
+        nms = NonMaximumSuppression.builder().optSoftNms(0.5f).optScoreThreshold(0.4f).build();
+        float[] decayed = scores.clone();
+        Assert.assertEquals(nms.apply(boxes, decayed, classIds), new int[] {1, 3});
+        Assert.assertTrue(decayed[0] < scores[0] && decayed[0] < 0.4f);
+        Assert.assertEquals(decayed[3], scores[3]);
+    }
+
+    @Test
+    public void testGrid() {
+        Random random = new Random(0);
+        int size = 3000;
+        float[] boxes = new float[size * 4];
+        float[] scores = new float[size];
+        int[] classIds = new int[size];
+        for (int i = 0; i < size; ++i) {
+            float x = random.nextFloat() * 600;
+            float y = random.nextFloat() * 400;
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + 5 + random.nextFloat() * 40;
+            boxes[i * 4 + 3] = y + 5 + random.nextFloat() * 40;
+            scores[i] = random.nextInt(1000) / 1000f;
+            classIds[i] = random.nextInt(3);
+        }
+        int[] expected = reference(boxes, scores, classIds, 0.5f);
+        NonMaximumSuppression greedy =
+                NonMaximumSuppression.builder().optGridThreshold(Integer.MAX_VALUE).build();
+        NonMaximumSuppression grid = NonMaximumSuppression.builder().optGridThreshold(0).build();
+        Assert.assertEquals(greedy.apply(boxes, scores, classIds), expected);
+        Assert.assertEquals(grid.apply(boxes, scores, classIds), expected);
+    }
+
+    /** Suppresses the boxes class by class, with a full sort at each step. */
+    private static int[] reference(float[] boxes, float[] scores, int[] classIds, float iou) {
+        List<Integer> kept = new ArrayList<>();
+        for (int c = 0; c < 3; ++c) {
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < scores.length; ++i) {
+                if (classIds[i] == c) {
+                    candidates.add(i);
+                }
+            }
+            while (!candidates.isEmpty()) {
+                candidates.sort(Comparator.comparingDouble(i -> -scores[i]));
+                int best = candidates.remove(0);
+                kept.add(best);
+                candidates.removeIf(i -> NonMaximumSuppression.iou(boxes, best, i) > iou);
+            }
+        }
+        kept.sort(
+                Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparingInt(i -> i));
+        return kept.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
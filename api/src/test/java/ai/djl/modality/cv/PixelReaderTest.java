@@ -0,0 +1,113 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.cv;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PixelReaderTest {
+
+    @Test
+    public void testReadRow() {
+        int[] types = {
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_INT_BGR
+        };
+        for (int type : types) {
+            BufferedImage image = new BufferedImage(7, 5, type);
+            for (int y = 0; y < 5; ++y) {
+                for (int x = 0; x < 7; ++x) {
+                    image.setRGB(x, y, 0xFF000000 | (x * 36) << 16 | (y * 50) << 8 | (x + y) * 20);
+                }
+            }
+            assertRows(image);
+            assertRows(image.getSubimage(1, 1, 5, 3));
+            assertRows(image.getSubimage(2, 3, 4, 2).getSubimage(1, 1, 2, 1));
+        }
+    }
+
+    @Test
+    public void testForEachBand() {
+        String key = "ai.djl.image.parallel_threshold";
+        try {
+            for (String threshold : new String[] {"1", "0", "1000000"}) {
+                System.setProperty(key, threshold);
+                AtomicIntegerArray rows = new AtomicIntegerArray(37);
+                BufferedImageFactory.forEachBand(
+                        3,
+                        37,
+                        (from, to) -> {
+                            for (int y = from; y < to; ++y) {
+                                rows.incrementAndGet(y);
+                            }
+                        });
+                for (int y = 0; y < 37; ++y) {
+                    Assert.assertEquals(rows.get(y), 1);
+                }
+            }
+        } finally {
+            System.clearProperty(key);
+        }
+    }
+
+    @Test
+    public void testGrayscaleSamples() {
+        BufferedImage image = new BufferedImage(3, 1, BufferedImage.TYPE_BYTE_GRAY);
+        image.getRaster().setPixels(0, 0, 3, 1, new int[] {64, 128, 200});
+        BufferedImageFactory.PixelReader reader = new BufferedImageFactory.PixelReader(image);
+        int[] red = new int[3];
+        int[] green = new int[3];
+        int[] blue = new int[3];
+        reader.readRow(0, red, green, blue);
+        // the raw samples, getRGB converts them to sRGB
+        int[] expected = {64, 128, 200};
+        Assert.assertEquals(red, expected);
+        Assert.assertEquals(green, expected);
+        Assert.assertEquals(blue, expected);
+    }
+
+    /**
+     * Compares the rows read from the raster with the raw samples of grayscale images, and with the
+     * pixels returned by getRGB for the other types.
+     */
+    private static void assertRows(BufferedImage image) {
+        int width = image.getWidth();
+        BufferedImageFactory.PixelReader reader = new BufferedImageFactory.PixelReader(image);
+        int[] red = new int[width];
+        int[] green = new int[width];
+        int[] blue = new int[width];
+        for (int y = 0; y < image.getHeight(); ++y) {
+            reader.readRow(y, red, green, blue);
+            if (image.getType() == BufferedImage.TYPE_BYTE_GRAY) {
+                int[] gray = image.getRaster().getPixels(0, y, width, 1, (int[]) null);
+                Assert.assertEquals(red, gray);
+                Assert.assertEquals(green, gray);
+                Assert.assertEquals(blue, gray);
+                continue;
+            }
+            int[] rgb = image.getRGB(0, y, width, 1, null, 0, width);
+            for (int x = 0; x < width; ++x) {
+                String pixel = "type " + image.getType() + " at " + x + ", " + y;
+                Assert.assertEquals(red[x], (rgb[x] >> 16) & 0xFF, pixel);
+                Assert.assertEquals(green[x], (rgb[x] >> 8) & 0xFF, pixel);
+                Assert.assertEquals(blue[x], rgb[x] & 0xFF, pixel);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.modality.nlp.bert;
+
+import ai.djl.modality.nlp.SimpleVocabulary;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class FastWordpieceTokenizerTest {
+
+    private static final String[] TOKENS = {
+        "[UNK]", "un", "##aff", "##able", "a", "##a", "##b", "b", "ab", "##ab", "##", "##abc", "c",
+        "[CLS]", "##[UNK]"
+    };
+
+    @Test
+    public void testTokenize() {
+        SimpleVocabulary vocabulary = new SimpleVocabulary(Arrays.asList(TOKENS));
+        FastWordpieceTokenizer tokenizer = new FastWordpieceTokenizer(vocabulary, "[UNK]", 10);
+
+        Assert.assertEquals(
+                tokenizer.tokenize(" unaffable  unable ab[CLS]\t"),
+                Arrays.asList("un", "##aff", "##able", "un", "##able", "[UNK]"));
+        Assert.assertEquals(
+                tokenizer.tokenize("##ab ababc aaaaaaaaaaa"),
+                Arrays.asList("##ab", "ab", "##abc", "[UNK]"));
+
+        int[] indices = tokenizer.encode("unaffable c");
+        Assert.assertEquals(
+                indices,
+                new int[] {
+                    (int) vocabulary.getIndex("un"),
+                    (int) vocabulary.getIndex("##aff"),
+                    (int) vocabulary.getIndex("##able"),
+                    (int) vocabulary.getIndex("c")
+                });
+
+        char[] text = "xx unable xx".toCharArray();
+        IntBuffer output = IntBuffer.allocate(4);
+        Assert.assertEquals(tokenizer.encode(text, 3, 6, output), 2);
+        Assert.assertEquals(output.position(), 2);
+    }
+
+    @Test
+    public void testSameAsWordpieceTokenizer() {
+        SimpleVocabulary vocabulary = new SimpleVocabulary(Arrays.asList(TOKENS));
+        FastWordpieceTokenizer fast = new FastWordpieceTokenizer(vocabulary, "[UNK]", 8);
+        WordpieceTokenizer reference = new WordpieceTokenizer(vocabulary, "[UNK]", 8);
+
+        char[] alphabet = {'a', 'b', 'c', 'u', 'n', ' ', '#'};
+        Random random = new Random(0);
+        for (int i = 0; i < 1000; ++i) {
+            char[] chars = new char[random.nextInt(30)];
+            for (int j = 0; j < chars.length; ++j) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String sentence = new String(chars);
+            Assert.assertEquals(fast.tokenize(sentence), reference.tokenize(sentence), sentence);
+        }
+
+        List<String> tokens = Arrays.asList("unaffable", "ab", "cab");
+        Assert.assertEquals(fast.preprocess(tokens), reference.preprocess(tokens));
+        Assert.assertEquals(fast.encodeBatch(tokens).get(0), fast.encode("unaffable"));
+    }
+}
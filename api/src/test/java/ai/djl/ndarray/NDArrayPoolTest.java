@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray;
+
+import ai.djl.Device;
+import ai.djl.engine.Engine;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import java.lang.reflect.Proxy;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.UUID;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NDArrayPoolTest {
+
+    @Test
+    public void testArraysWithoutSet() {
+        // the system manager is never closed
+        NDManager system = new SetlessManager(null);
+        try (NDManager manager = system.newSubManager()) {
+            NDArrayPool pool = new NDArrayPool(manager, 2);
+            manager.setPool(pool);
+            Assert.assertNull(manager.getPool());
+            Shape shape = new Shape(2, 2);
+            float[] data = {1, 2, 3, 4};
+            for (int i = 0; i < 2; ++i) {
+                try (NDManager request = manager.newSubManager()) {
+                    Assert.assertSame(request.getPool(), pool);
+                    NDArray array =
+                            pool.create(request, FloatBuffer.wrap(data), shape, DataType.FLOAT32);
+                    Assert.assertEquals(array.toFloatArray(), data);
+                    Assert.assertSame(array.getManager(), request);
+                }
+            }
+            // only the first request tried to reuse an array
+            Assert.assertEquals(pool.getMisses(), 1);
+            Assert.assertEquals(pool.getHits(), 0);
+            pool.close();
+        }
+    }
+
+    /** A manager whose arrays don't support {@link NDArray#set(Buffer)}, like adapter engines. */
+    private static final class SetlessManager extends BaseNDManager {
+
+        SetlessManager(NDManager parent) {
+            super(parent, Device.cpu());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public ByteBuffer allocateDirect(int capacity) {
+            return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDManager newSubManager(Device device) {
+            SetlessManager manager = new SetlessManager(this);
+            attachInternal(manager.uid, manager);
+            return manager;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Engine getEngine() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDArray create(Shape shape, DataType dataType) {
+            return create(FloatBuffer.allocate((int) shape.size()), shape, dataType);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDArray create(Buffer data, Shape shape, DataType dataType) {
+            FloatBuffer values = FloatBuffer.allocate(data.remaining());
+            values.put((FloatBuffer) data);
+            String uid = UUID.randomUUID().toString();
+            NDManager[] owner = {this};
+            NDArray array =
+                    (NDArray)
+                            Proxy.newProxyInstance(
+                                    NDArray.class.getClassLoader(),
+                                    new Class<?>[] {NDArray.class},
+                                    (p, m, args) -> {
+                                        switch (m.getName()) {
+                                            case "getUid":
+                                                return uid;
+                                            case "getManager":
+                                                return owner[0];
+                                            case "getShape":
+                                                return shape;
+                                            case "getDataType":
+                                                return dataType;
+                                            case "getDevice":
+                                                return Device.cpu();
+                                            case "toFloatArray":
+                                                return values.array().clone();
+                                            case "attach":
+                                                owner[0].detachInternal(uid);
+                                                owner[0] = (NDManager) args[0];
+                                                owner[0].attachInternal(uid, (AutoCloseable) p);
+                                                return null;
+                                            case "close":
+                                                owner[0].detachInternal(uid);
+                                                return null;
+                                            case "hashCode":
+                                                return uid.hashCode();
+                                            case "equals":
+                                                return p == args[0];
+                                            default:
+                                                throw new UnsupportedOperationException(
+                                                        m.getName());
+                                        }
+                                    });
+            attachInternal(uid, array);
+            return array;
+        }
+    }
+}
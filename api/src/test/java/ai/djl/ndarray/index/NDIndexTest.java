@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.ndarray.index;
+
+import ai.djl.ndarray.index.dim.NDIndexAll;
+import ai.djl.ndarray.index.dim.NDIndexElement;
+import ai.djl.ndarray.index.dim.NDIndexFixed;
+import ai.djl.ndarray.index.dim.NDIndexSlice;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NDIndexTest {
+
+    @Test
+    public void testParse() {
+        NDIndex index = new NDIndex("*, -1, 1::2, :3, ..., {}:{}", 2, 5L);
+        Assert.assertEquals(index.getRank(), 5);
+        Assert.assertEquals(index.getEllipsisIndex(), 4);
+        Assert.assertTrue(index.get(0) instanceof NDIndexAll);
+        Assert.assertEquals(((NDIndexFixed) index.get(1)).getIndex(), -1);
+        assertSlice(index.get(2), 1L, null, 2L);
+        assertSlice(index.get(3), null, 3L, null);
+        assertSlice(index.get(4), 2L, 5L, null);
+
+        index = new NDIndex(":").addIndices("{}", 3);
+        Assert.assertEquals(index.getRank(), 2);
+        Assert.assertTrue(index.get(0) instanceof NDIndexAll);
+        Assert.assertEquals(((NDIndexFixed) index.get(1)).getIndex(), 3);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NDIndex("1;2"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NDIndex("..., ..."));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NDIndex("::0"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NDIndex("{}"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NDIndex("1", 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new NDIndex("{}", "a"));
+    }
+
+    @Test
+    public void testCompile() {
+        CompiledNDIndex compiled = NDIndex.compile(":, {}, {}::-1");
+        Assert.assertEquals(compiled.getArgumentCount(), 2);
+        Assert.assertSame(NDIndex.compile(":, {}, {}::-1"), compiled);
+
+        NDIndex first = compiled.bind(0, 1);
+        NDIndex second = compiled.bind(2L, 3);
+        Assert.assertEquals(first.getRank(), 3);
+        Assert.assertEquals(((NDIndexFixed) first.get(1)).getIndex(), 0);
+        assertSlice(first.get(2), 1L, null, -1L);
+        Assert.assertEquals(((NDIndexFixed) second.get(1)).getIndex(), 2);
+        assertSlice(second.get(2), 3L, null, -1L);
+
+        // the bound indices are independent
+        first.addAllDim();
+        Assert.assertEquals(second.getRank(), 3);
+        Assert.assertEquals(second.getIndices().size(), 3);
+        Assert.assertThrows(IllegalArgumentException.class, () -> compiled.bind(1));
+    }
+
+    private static void assertSlice(NDIndexElement element, Long min, Long max, Long step) {
+        NDIndexSlice slice = (NDIndexSlice) element;
+        Assert.assertEquals(slice.getMin(), min);
+        Assert.assertEquals(slice.getMax(), max);
+        Assert.assertEquals(slice.getStep(), step);
+    }
+}
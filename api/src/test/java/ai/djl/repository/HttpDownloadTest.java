@@ -0,0 +1,195 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.repository;
+
+import ai.djl.util.Hex;
+import ai.djl.util.Utils;
+import ai.djl.util.ZipUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class HttpDownloadTest {
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+    private HttpServer server;
+    private byte[] data;
+    private AtomicLong bytesSent = new AtomicLong();
+    private AtomicBoolean failRanges = new AtomicBoolean();
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        Path dir = Paths.get("build/testDir/download");
+        Utils.deleteQuietly(dir);
+        Files.createDirectories(dir);
+        byte[] buf = new byte[100_000];
+        new Random(0).nextBytes(buf);
+        Files.write(dir.resolve("params.bin"), buf);
+        Path zip = Paths.get("build/testDir/download.zip");
+        ZipUtils.zip(dir, zip, false);
+        data = Files.readAllBytes(zip);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    @AfterClass
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testChunkedPrepare() throws IOException {
+        System.setProperty("ai.djl.repository.download_chunk_size", "16384");
+        try {
+            bytesSent.set(0);
+            String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/model.zip";
+            Repository repo = Repository.newInstance("http_test", url);
+            List<MRL> list = repo.getResources();
+            Assert.assertEquals(list.size(), 1);
+            Artifact artifact = repo.resolve(list.get(0), null, null);
+            Path resourceDir = repo.getResourceDirectory(artifact);
+            Utils.deleteQuietly(resourceDir);
+            repo.prepare(artifact);
+
+            Path params = resourceDir.resolve("params.bin");
+            Assert.assertEquals(Files.size(params), 100_000);
+            Assert.assertEquals(bytesSent.get(), data.length);
+        } finally {
+            System.clearProperty("ai.djl.repository.download_chunk_size");
+        }
+    }
+
+    @Test
+    public void testResume() throws IOException {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/data");
+        Path partialDir = Paths.get("build/testDir/partial");
+        Utils.deleteQuietly(partialDir);
+        int chunkSize = 8192;
+
+        HttpDownloader downloader = new HttpDownloader(uri, partialDir, chunkSize, 4, null);
+        Assert.assertTrue(downloader.probe());
+        Assert.assertEquals(downloader.getContentLength(), data.length);
+
+        // only the first chunk can be downloaded
+        bytesSent.set(0);
+        failRanges.set(true);
+        Assert.assertThrows(IOException.class, downloader::download);
+        Assert.assertEquals(bytesSent.get(), chunkSize);
+
+        failRanges.set(false);
+        bytesSent.set(0);
+        downloader = new HttpDownloader(uri, partialDir, chunkSize, 4, null);
+        Assert.assertTrue(downloader.probe());
+        try (InputStream is = downloader.download()) {
+            Assert.assertEquals(Utils.toByteArray(is), data);
+        }
+        Assert.assertEquals(bytesSent.get(), data.length - chunkSize);
+
+        downloader.delete();
+        try (Stream<Path> stream = Files.list(partialDir)) {
+            Assert.assertEquals(stream.count(), 0);
+        }
+    }
+
+    @Test
+    public void testIsComplete() throws IOException, NoSuchAlgorithmException {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/data");
+        Path partialDir = Paths.get("build/testDir/verify");
+        Utils.deleteQuietly(partialDir);
+        String sha1 = Hex.toHexString(MessageDigest.getInstance("SHA1").digest(data));
+
+        HttpDownloader downloader = new HttpDownloader(uri, partialDir, 8192, 4, null);
+        Assert.assertTrue(downloader.probe());
+        Assert.assertFalse(downloader.isComplete(null));
+        downloader.download().close();
+        Assert.assertTrue(downloader.isComplete(null));
+        Assert.assertTrue(downloader.isComplete(sha1));
+        // the file on the server doesn't match the checksum of the artifact
+        Assert.assertFalse(downloader.isComplete(sha1.replace(sha1.charAt(0), 'x')));
+
+        // a corrupted chunk
+        Path chunk;
+        try (Stream<Path> stream = Files.list(partialDir)) {
+            chunk = stream.findFirst().orElseThrow(AssertionError::new);
+        }
+        byte[] buf = Files.readAllBytes(chunk);
+        buf[0] ^= 1;
+        Files.write(chunk, buf);
+        Assert.assertTrue(downloader.isComplete(null));
+        Assert.assertFalse(downloader.isComplete(sha1));
+        // a truncated chunk
+        Files.write(chunk, new byte[1]);
+        Assert.assertFalse(downloader.isComplete(null));
+        downloader.delete();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+            exchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Content-Length", String.valueOf(data.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            int start = 0;
+            int end = data.length - 1;
+            int code = 200;
+            if (range != null) {
+                Matcher m = RANGE.matcher(range);
+                Assert.assertTrue(m.matches(), range);
+                start = Integer.parseInt(m.group(1));
+                end = Integer.parseInt(m.group(2));
+                if (failRanges.get() && start > 0) {
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                code = 206;
+                exchange.getResponseHeaders()
+                        .set("Content-Range", "bytes " + start + '-' + end + '/' + data.length);
+            }
+            int len = end - start + 1;
+            exchange.sendResponseHeaders(code, len);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(data, start, len);
+            }
+            bytesSent.addAndGet(len);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training;
+
+import ai.djl.training.optimizer.Optimizer;
+import ai.djl.training.tracker.Tracker;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RingParameterServerTest {
+
+    @Test
+    public void testAllReduce() throws ExecutionException, InterruptedException, IOException {
+        int size = 3;
+        List<InetSocketAddress> workers = getWorkers(size);
+        ExecutorService executor = Executors.newFixedThreadPool(size);
+        try {
+            List<Future<float[][]>> futures = new ArrayList<>();
+            for (int i = 0; i < size; ++i) {
+                int rank = i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    try (RingParameterServer server = newServer(workers, rank)) {
+                                        Assert.assertEquals(server.getSize(), size);
+                                        float[] data = new float[100];
+                                        float[] small = new float[2];
+                                        for (int j = 0; j < data.length; ++j) {
+                                            data[j] = rank * 1000 + j;
+                                        }
+                                        small[0] = rank;
+                                        small[1] = 1;
+                                        server.allReduce("data", data);
+                                        server.allReduce("small", small);
+
+                                        ByteBuffer bytes = ByteBuffer.allocate(95);
+                                        if (rank == 0) {
+                                            for (int j = 0; j < 95; ++j) {
+                                                bytes.put((byte) j);
+                                            }
+                                        }
+                                        server.broadcast("bytes", bytes, 95);
+                                        float[] received = new float[95];
+                                        for (int j = 0; j < 95; ++j) {
+                                            received[j] = bytes.get(j);
+                                        }
+                                        return new float[][] {data, small, received};
+                                    }
+                                }));
+            }
+            for (Future<float[][]> future : futures) {
+                float[][] result = future.get();
+                for (int j = 0; j < 100; ++j) {
+                    Assert.assertEquals(result[0][j], 3000f + j * 3);
+                }
+                Assert.assertEquals(result[1], new float[] {3, 3});
+                for (int j = 0; j < 95; ++j) {
+                    Assert.assertEquals(result[2][j], j);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testOutOfSync() throws IOException {
+        // different sizes
+        assertOutOfSync(rank -> new float[rank + 1], rank -> "data");
+        // different parameters
+        assertOutOfSync(rank -> new float[1], rank -> "data" + rank);
+    }
+
+    private static void assertOutOfSync(
+            IntFunction<float[]> values, IntFunction<String> parameterIds) throws IOException {
+        List<InetSocketAddress> workers = getWorkers(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 2; ++i) {
+                int rank = i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    try (RingParameterServer server = newServer(workers, rank)) {
+                                        server.allReduce(
+                                                parameterIds.apply(rank), values.apply(rank));
+                                    }
+                                    return null;
+                                }));
+            }
+            for (Future<?> future : futures) {
+                ExecutionException e = Assert.expectThrows(ExecutionException.class, future::get);
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static RingParameterServer newServer(List<InetSocketAddress> workers, int rank)
+            throws IOException {
+        Optimizer optimizer = Optimizer.sgd().setLearningRateTracker(Tracker.fixed(0.1f)).build();
+        return RingParameterServer.builder()
+                .setOptimizer(optimizer)
+                .setWorkers(workers)
+                .setRank(rank)
+                // 10 floats per chunk, so that the segments are sent in several chunks
+                .optChunkSize(40)
+                .optTimeout(10000)
+                .build();
+    }
+
+    private static List<InetSocketAddress> getWorkers(int size) throws IOException {
+        List<InetSocketAddress> workers = new ArrayList<>();
+        for (int i = 0; i < size; ++i) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                workers.add(new InetSocketAddress("localhost", socket.getLocalPort()));
+            }
+        }
+        return workers;
+    }
+}
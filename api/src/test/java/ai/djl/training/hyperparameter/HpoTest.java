@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.training.hyperparameter;
+
+import ai.djl.training.hyperparameter.optimizer.HpOTpe;
+import ai.djl.training.hyperparameter.optimizer.HpOptimizer;
+import ai.djl.training.hyperparameter.param.HpCategorical;
+import ai.djl.training.hyperparameter.param.HpFloat;
+import ai.djl.training.hyperparameter.param.HpSet;
+import ai.djl.training.hyperparameter.param.HpVal;
+import ai.djl.util.RandomUtils;
+import java.util.Arrays;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class HpoTest {
+
+    @Test
+    public void testSuccessiveHalving() {
+        SuccessiveHalving earlyStopping = new SuccessiveHalving(1, 3);
+        // not a rung
+        Assert.assertFalse(earlyStopping.shouldStop(2, 10f));
+        // the first trials continue until they are outside of the best third
+        Assert.assertFalse(earlyStopping.shouldStop(1, 5f));
+        Assert.assertTrue(earlyStopping.shouldStop(1, 6f));
+        Assert.assertFalse(earlyStopping.shouldStop(1, 1f));
+        Assert.assertFalse(earlyStopping.shouldStop(1, 4f));
+        Assert.assertTrue(earlyStopping.shouldStop(1, 7f));
+        Assert.assertTrue(earlyStopping.shouldStop(1, Float.NaN));
+        // each rung is compared separately
+        Assert.assertFalse(earlyStopping.shouldStop(3, 8f));
+        Assert.assertTrue(earlyStopping.shouldStop(3, 9f));
+        Assert.assertFalse(earlyStopping.shouldStop(9, 9f));
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SuccessiveHalving(1, 1));
+    }
+
+    @Test
+    public void testHpOTpe() {
+        RandomUtils.RANDOM.setSeed(0);
+        HpSet hyperParams =
+                new HpSet(
+                        "hp",
+                        Arrays.asList(
+                                new HpFloat("lr", 1e-5f, 1f, true),
+                                new HpCategorical<>("act", Arrays.asList("relu", "tanh"))));
+        HpOptimizer optimizer = new HpOTpe(hyperParams, 10, 24, 0.25f);
+        int good = 0;
+        for (int i = 0; i < 60; ++i) {
+            HpSet config = optimizer.nextConfig();
+            float lr = (Float) config.getHParam("lr").random();
+            String act = (String) config.getHParam("act").random();
+            float loss = (float) Math.abs(Math.log10(lr) + 2) + ("relu".equals(act) ? 0 : 1);
+            optimizer.update(config, loss);
+            if (i >= 30 && loss < 1) {
+                ++good;
+            }
+        }
+        // random sampling would only find about 10% of good configurations
+        Assert.assertTrue(good > 10, "good configurations: " + good);
+        Assert.assertTrue(optimizer.getBest().getValue() < 0.5f);
+    }
+
+    @Test
+    public void testHpOTpeDensityRatio() {
+        RandomUtils.RANDOM.setSeed(0);
+        HpSet hyperParams =
+                new HpSet(
+                        "hp",
+                        Arrays.asList(new HpCategorical<>("act", Arrays.asList("relu", "tanh"))));
+        HpOptimizer optimizer = new HpOTpe(hyperParams, 4, 24, 0.25f);
+        // the best quarter of the results is relu
+        optimizer.update(config("relu"), 0.1f);
+        optimizer.update(config("relu"), 0.2f);
+        for (int i = 0; i < 6; ++i) {
+            optimizer.update(config("tanh"), 1f + i);
+        }
+        // relu is more likely under the good results than under the other results
+        for (int i = 0; i < 10; ++i) {
+            Assert.assertEquals(optimizer.nextConfig().getHParam("act").random(), "relu");
+        }
+    }
+
+    private static HpSet config(String act) {
+        return new HpSet("hp", Arrays.asList(new HpVal<>("act", act)));
+    }
+}
@@ -14,7 +14,9 @@
 package ai.djl.util;
 
 import java.io.BufferedWriter;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -77,4 +79,29 @@ public class UtilsTest {
         float[] array = Utils.toFloatArray(list);
         Assert.assertEquals(array, new float[] {1f, 2f});
     }
+
+    @Test
+    public void testMappedDataInputStream() throws IOException {
+        Path dir = Paths.get("build/tmp/testFile/");
+        Files.createDirectories(dir);
+        Path file = dir.resolve("mapped.bin");
+        try (DataOutputStream dos = new DataOutputStream(Files.newOutputStream(file))) {
+            dos.writeUTF("DJL");
+            dos.writeInt(3);
+            dos.write(new byte[] {1, 2, 3});
+            dos.writeLong(42);
+        }
+
+        try (MappedDataInputStream is = MappedDataInputStream.map(file)) {
+            Assert.assertEquals(is.readUTF(), "DJL");
+            int length = is.readInt();
+
+            ByteBuffer bb = is.getByteBuffer();
+            Assert.assertEquals(bb.get(), 1);
+            bb.position(bb.position() + length - 1);
+
+            Assert.assertEquals(is.readLong(), 42);
+            Assert.assertEquals(is.read(), -1);
+        }
+    }
 }
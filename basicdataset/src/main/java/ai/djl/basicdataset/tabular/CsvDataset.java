@@ -16,8 +16,12 @@ import ai.djl.basicdataset.utils.DynamicBuffer;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.dataset.IterableDataset;
 import ai.djl.training.dataset.RandomAccessDataset;
 import ai.djl.training.dataset.Record;
+import ai.djl.training.dataset.Sampler;
+import ai.djl.translate.TranslateException;
 import ai.djl.util.Progress;
 import java.io.IOException;
 import java.io.InputStream;
@@ -31,14 +35,23 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.zip.GZIPInputStream;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
-/** {@code CsvDataset} represents the dataset that stored in a .csv file. */
+/**
+ * {@code CsvDataset} represents the dataset that stored in a .csv file.
+ *
+ * <p>By default, all the records are loaded in memory by {@link #prepare(Progress)}. In streaming
+ * mode, enabled with {@link CsvBuilder#optStreaming(boolean)}, the file is read again for each
+ * iteration and only the records of the next batches are kept in memory. Streaming mode doesn't
+ * support random access: {@link #get(NDManager, long)} and {@link #size()} are not available.
+ */
 public class CsvDataset extends RandomAccessDataset {
 
     private static final Featurizer NUMERIC_FEATURIZER = new NumericFeaturizer();
@@ -48,6 +61,7 @@ public class CsvDataset extends RandomAccessDataset {
     protected List<Feature> features;
     protected List<Feature> labels;
     protected List<CSVRecord> csvRecords;
+    protected IterableDataset<CSVRecord> stream;
 
     protected CsvDataset(CsvBuilder<?> builder) {
         super(builder);
@@ -55,11 +69,53 @@ public class CsvDataset extends RandomAccessDataset {
         csvFormat = builder.csvFormat;
         features = builder.features;
         labels = builder.labels;
+        if (builder.streaming) {
+            if (builder.randomSampling) {
+                throw new IllegalArgumentException(
+                        "Random sampling is not supported in streaming mode, use"
+                                + " optShuffleBuffer instead.");
+            }
+            StreamBuilder streamBuilder =
+                    new StreamBuilder()
+                            .setSampling(sampler.getBatchSize(), builder.dropLast)
+                            .optShuffleBuffer(builder.shuffleBuffer)
+                            .optSharding(builder.numShards, builder.shardIndex)
+                            .optDataBatchifier(dataBatchifier)
+                            .optLabelBatchifier(labelBatchifier)
+                            .optPipeline(pipeline)
+                            .optTargetPipeline(targetPipeline)
+                            .optPrefetchNumber(prefetchNumber)
+                            .optLimit(limit)
+                            .optDevice(device);
+            stream = new CsvStream(streamBuilder);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Batch> getData(NDManager manager) throws IOException, TranslateException {
+        if (stream != null) {
+            prepare();
+            return stream.getData(manager);
+        }
+        return super.getData(manager);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Iterable<Batch> getData(NDManager manager, ExecutorService executorService)
+            throws IOException, TranslateException {
+        if (stream != null) {
+            prepare();
+            return stream.getData(manager, executorService);
+        }
+        return super.getData(manager, executorService);
     }
 
     /** {@inheritDoc} */
     @Override
     public Record get(NDManager manager, long index) {
+        checkRandomAccess();
         CSVRecord csvRecord = csvRecords.get(Math.toIntExact(index));
         NDList data = toNDList(manager, csvRecord, features);
         NDList label = toNDList(manager, csvRecord, labels);
@@ -70,18 +126,30 @@ public class CsvDataset extends RandomAccessDataset {
     /** {@inheritDoc} */
     @Override
     protected long availableSize() {
+        checkRandomAccess();
         return csvRecords.size();
     }
 
     /** {@inheritDoc} */
     @Override
     public void prepare(Progress progress) throws IOException {
+        if (stream != null) {
+            // records are read by each iteration
+            return;
+        }
         try (Reader reader = new InputStreamReader(getCsvStream(), StandardCharsets.UTF_8)) {
             CSVParser csvParser = new CSVParser(reader, csvFormat);
             csvRecords = csvParser.getRecords();
         }
     }
 
+    private void checkRandomAccess() {
+        if (stream != null) {
+            throw new UnsupportedOperationException(
+                    "Random access is not supported in streaming mode.");
+        }
+    }
+
     private InputStream getCsvStream() throws IOException {
         if (csvUrl.getFile().endsWith(".gz")) {
             return new GZIPInputStream(csvUrl.openStream());
@@ -104,6 +172,14 @@ public class CsvDataset extends RandomAccessDataset {
      * @return a list of column name
      */
     public List<String> getColumnNames() {
+        if (stream != null) {
+            try (Reader reader = new InputStreamReader(getCsvStream(), StandardCharsets.UTF_8);
+                    CSVParser csvParser = new CSVParser(reader, csvFormat)) {
+                return csvParser.getHeaderNames();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read the CSV header", e);
+            }
+        }
         if (csvRecords.isEmpty()) {
             return Collections.emptyList();
         }
@@ -128,6 +204,12 @@ public class CsvDataset extends RandomAccessDataset {
         protected CSVFormat csvFormat;
         protected List<Feature> features;
         protected List<Feature> labels;
+        protected boolean streaming;
+        protected boolean randomSampling;
+        protected boolean dropLast;
+        protected int shuffleBuffer;
+        protected int numShards = 1;
+        protected int shardIndex;
 
         protected CsvBuilder() {
             features = new ArrayList<>();
@@ -141,6 +223,22 @@ public class CsvDataset extends RandomAccessDataset {
             return (T) this;
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public T setSampling(int batchSize, boolean random, boolean dropLast) {
+            randomSampling = random;
+            this.dropLast = dropLast;
+            return super.setSampling(batchSize, random, dropLast);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public T setSampling(Sampler sampler) {
+            randomSampling = false;
+            dropLast = false;
+            return super.setSampling(sampler);
+        }
+
         /**
          * Sets the optional CSV file path.
          *
@@ -182,6 +280,48 @@ public class CsvDataset extends RandomAccessDataset {
             return self();
         }
 
+        /**
+         * Sets whether to read the CSV file as a stream, instead of loading all the records in
+         * memory.
+         *
+         * <p>In streaming mode, the batch size is taken from the sampler, but the records are read
+         * in the order of the file. Random sampling is not supported, use {@link
+         * #optShuffleBuffer(int)} to shuffle the records instead.
+         *
+         * @param streaming true to read the CSV file as a stream
+         * @return this builder
+         */
+        public T optStreaming(boolean streaming) {
+            this.streaming = streaming;
+            return self();
+        }
+
+        /**
+         * Sets the size of the shuffle buffer in streaming mode.
+         *
+         * @param shuffleBuffer the number of records in the shuffle buffer
+         * @return this builder
+         * @see IterableDataset.BaseBuilder#optShuffleBuffer(int)
+         */
+        public T optShuffleBuffer(int shuffleBuffer) {
+            this.shuffleBuffer = shuffleBuffer;
+            return self();
+        }
+
+        /**
+         * Reads only one shard of the records in streaming mode.
+         *
+         * @param numShards the total number of shards
+         * @param shardIndex the index of the shard to read, from 0 to {@code numShards - 1}
+         * @return this builder
+         * @see IterableDataset.BaseBuilder#optSharding(int, int)
+         */
+        public T optSharding(int numShards, int shardIndex) {
+            this.numShards = numShards;
+            this.shardIndex = shardIndex;
+            return self();
+        }
+
         /**
          * Adds the features to the feature set.
          *
@@ -291,6 +431,75 @@ public class CsvDataset extends RandomAccessDataset {
         }
     }
 
+    private final class CsvStream extends IterableDataset<CSVRecord> {
+
+        CsvStream(StreamBuilder builder) {
+            super(builder);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Iterator<CSVRecord> iterateItems() throws IOException {
+            Reader reader = new InputStreamReader(getCsvStream(), StandardCharsets.UTF_8);
+            try {
+                return new CsvIterator(new CSVParser(reader, csvFormat));
+            } catch (IOException | RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Record get(NDManager manager, CSVRecord csvRecord) {
+            NDList data = toNDList(manager, csvRecord, features);
+            NDList label = toNDList(manager, csvRecord, labels);
+            return new Record(data, label);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void prepare(Progress progress) {}
+    }
+
+    private static final class StreamBuilder extends IterableDataset.BaseBuilder<StreamBuilder> {
+
+        /** {@inheritDoc} */
+        @Override
+        protected StreamBuilder self() {
+            return this;
+        }
+    }
+
+    private static final class CsvIterator implements Iterator<CSVRecord>, AutoCloseable {
+
+        private CSVParser parser;
+        private Iterator<CSVRecord> it;
+
+        CsvIterator(CSVParser parser) {
+            this.parser = parser;
+            it = parser.iterator();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean hasNext() {
+            return it.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public CSVRecord next() {
+            return it.next();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
     /** An interface that convert String to numeric data. */
     public interface Featurizer {
 
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.basicdataset;
+
+import ai.djl.basicdataset.tabular.CsvDataset;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.training.dataset.Batch;
+import ai.djl.training.dataset.IterableDataset;
+import ai.djl.training.dataset.Record;
+import ai.djl.translate.TranslateException;
+import ai.djl.util.Progress;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.apache.commons.csv.CSVFormat;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class CsvDatasetTest {
+
+    private Path csvFile;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        Path dir = Paths.get("build/testDir/csv");
+        Files.createDirectories(dir);
+        csvFile = dir.resolve("data.csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("x,y");
+        for (int i = 0; i < 10; ++i) {
+            lines.add(i + "," + i * 2);
+        }
+        Files.write(csvFile, lines, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testStreaming() throws IOException, TranslateException {
+        CsvDataset dataset = newBuilder().build();
+        Assert.assertEquals(dataset.getColumnNames(), Arrays.asList("x", "y"));
+        Assert.assertThrows(UnsupportedOperationException.class, dataset::size);
+
+        try (NDManager manager = NDManager.newBaseManager()) {
+            List<Float> values = new ArrayList<>();
+            List<Integer> sizes = new ArrayList<>();
+            for (Batch batch : dataset.getData(manager)) {
+                sizes.add(batch.getSize());
+                float[] data = batch.getData().head().toFloatArray();
+                float[] labels = batch.getLabels().head().toFloatArray();
+                for (int i = 0; i < data.length; ++i) {
+                    Assert.assertEquals(labels[i], data[i] * 2);
+                    values.add(data[i]);
+                }
+                batch.close();
+            }
+            Assert.assertEquals(sizes, Arrays.asList(4, 4, 2));
+            Assert.assertEquals(values, range(0, 10, 1));
+
+            // each iteration reads the file again
+            int count = 0;
+            for (Batch batch : dataset.getData(manager)) {
+                count += batch.getSize();
+                batch.close();
+            }
+            Assert.assertEquals(count, 10);
+        }
+    }
+
+    @Test
+    public void testShuffleAndSharding() throws IOException, TranslateException {
+        CsvDataset shuffled = newBuilder().optShuffleBuffer(5).build();
+        CsvDataset shard = newBuilder().optSharding(3, 1).setSampling(4, false).build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (NDManager manager = NDManager.newBaseManager()) {
+            List<Float> values = readAll(shuffled, manager, null);
+            Collections.sort(values);
+            Assert.assertEquals(values, range(0, 10, 1));
+
+            values = readAll(shard, manager, executor);
+            Collections.sort(values);
+            Assert.assertEquals(values, range(1, 10, 3));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSamplingOptions() throws IOException, TranslateException {
+        Assert.assertThrows(
+                IllegalArgumentException.class, () -> newBuilder().setSampling(4, true).build());
+
+        CsvDataset dataset = newBuilder().setSampling(4, false, true).build();
+        try (NDManager manager = NDManager.newBaseManager()) {
+            Assert.assertEquals(readAll(dataset, manager, null), range(0, 8, 1));
+        }
+    }
+
+    @Test
+    public void testAbandonedIteration() throws Exception {
+        RangeDataset dataset = new RangeDataset(new RangeDataset.Builder().setSampling(2));
+        try (NDManager manager = NDManager.newBaseManager()) {
+            Iterable<Batch> it = dataset.getData(manager);
+            it.iterator().next().close();
+            Assert.assertEquals(dataset.closed, 0);
+            ((AutoCloseable) it).close();
+            Assert.assertEquals(dataset.closed, 1);
+
+            // the items are closed with the manager
+            NDManager subManager = manager.newSubManager();
+            dataset.getData(subManager).iterator().next().close();
+            subManager.close();
+            Assert.assertEquals(dataset.closed, 2);
+        }
+    }
+
+    private CsvDataset.CsvBuilder<?> newBuilder() {
+        return CsvDataset.builder()
+                .optCsvFile(csvFile)
+                .setCsvFormat(CSVFormat.DEFAULT.withFirstRecordAsHeader())
+                .addNumericFeature("x")
+                .addNumericLabel("y")
+                .setSampling(4, false)
+                .optStreaming(true);
+    }
+
+    private static List<Float> readAll(
+            CsvDataset dataset, NDManager manager, ExecutorService executor)
+            throws IOException, TranslateException {
+        Iterable<Batch> it =
+                executor == null ? dataset.getData(manager) : dataset.getData(manager, executor);
+        List<Float> values = new ArrayList<>();
+        for (Batch batch : it) {
+            for (float value : batch.getData().head().toFloatArray()) {
+                values.add(value);
+            }
+            batch.close();
+        }
+        return values;
+    }
+
+    /** A dataset of the integers from 0 to 9, that counts how many times its items are closed. */
+    private static final class RangeDataset extends IterableDataset<Integer> {
+
+        int closed;
+
+        RangeDataset(Builder builder) {
+            super(builder);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected Iterator<Integer> iterateItems() {
+            Iterator<Integer> items = IntStream.range(0, 10).iterator();
+            return new CloseableIterator(items);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Record get(NDManager manager, Integer item) {
+            return new Record(new NDList(manager.create(item)), new NDList(manager.create(item)));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void prepare(Progress progress) {}
+
+        private final class CloseableIterator implements Iterator<Integer>, AutoCloseable {
+
+            private Iterator<Integer> items;
+
+            CloseableIterator(Iterator<Integer> items) {
+                this.items = items;
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public boolean hasNext() {
+                return items.hasNext();
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public Integer next() {
+                return items.next();
+            }
+
+            /** {@inheritDoc} */
+            @Override
+            public void close() {
+                ++closed;
+            }
+        }
+
+        static final class Builder extends BaseBuilder<Builder> {
+
+            /** {@inheritDoc} */
+            @Override
+            protected Builder self() {
+                return this;
+            }
+        }
+    }
+
+    private static List<Float> range(int start, int end, int step) {
+        List<Float> list = new ArrayList<>();
+        for (int i = start; i < end; i += step) {
+            list.add((float) i);
+        }
+        return list;
+    }
+}
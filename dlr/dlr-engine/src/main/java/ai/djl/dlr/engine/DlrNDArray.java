@@ -18,9 +18,9 @@ import ai.djl.ndarray.NDArrayAdapter;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Utils;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.UUID;
 
 /** {@code DlrNDArray} is the DLR implementation of {@link NDArray}. */
 public class DlrNDArray implements NDArrayAdapter {
@@ -44,7 +44,7 @@ public class DlrNDArray implements NDArrayAdapter {
         this.manager = manager;
         this.data = data;
         this.shape = shape;
-        uid = UUID.randomUUID().toString();
+        uid = Utils.newUid();
         manager.attachInternal(uid, this);
     }
 
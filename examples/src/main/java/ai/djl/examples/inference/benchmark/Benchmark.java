@@ -22,12 +22,16 @@ import ai.djl.training.listener.MemoryTrainingListener;
 import ai.djl.translate.TranslateException;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 
 public final class Benchmark extends AbstractBenchmark {
 
     public static void main(String[] args) {
         boolean success;
-        if (Arrays.asList(args).contains("-t")) {
+        List<String> list = Arrays.asList(args);
+        if (list.contains("-p") || list.contains("--pipeline")) {
+            success = new PipelinedBenchmark().runBenchmark(args);
+        } else if (list.contains("-t")) {
             success = new MultithreadedBenchmark().runBenchmark(args);
         } else {
             success = new Benchmark().runBenchmark(args);
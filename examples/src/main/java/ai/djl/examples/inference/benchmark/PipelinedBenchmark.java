@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.examples.inference.benchmark;
+
+import ai.djl.ModelException;
+import ai.djl.examples.inference.benchmark.util.AbstractBenchmark;
+import ai.djl.examples.inference.benchmark.util.Arguments;
+import ai.djl.inference.PipelinedPredictor;
+import ai.djl.metric.Metrics;
+import ai.djl.repository.zoo.ZooModel;
+import ai.djl.training.listener.MemoryTrainingListener;
+import ai.djl.translate.TranslateException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A benchmark running the same workload as {@link MultithreadedBenchmark} on a single {@link
+ * PipelinedPredictor}.
+ *
+ * <p>The number of threads is used for preprocessing, and concurrent requests are batched up to
+ * {@code --max-batch-size}. Compare the throughput with {@link MultithreadedBenchmark} using the
+ * same {@code -t} and {@code -c} arguments.
+ */
+public class PipelinedBenchmark extends AbstractBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipelinedBenchmark.class);
+
+    public static void main(String[] args) {
+        if (new PipelinedBenchmark().runBenchmark(args)) {
+            System.exit(0); // NOPMD
+        }
+        System.exit(-1); // NOPMD
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Object predict(Arguments arguments, Metrics metrics, int iteration)
+            throws IOException, ModelException, TranslateException {
+
+        MemoryTrainingListener.collectMemoryInfo(metrics); // Measure memory before loading model
+
+        Object inputData = arguments.getInputData();
+        int numOfThreads = arguments.getThreads();
+        int maxBatchSize = arguments.getMaxBatchSize();
+        logger.info(
+                "Pipelined inference with {} preprocess threads, max batch size {}.",
+                numOfThreads,
+                maxBatchSize);
+
+        try (ZooModel<?, ?> model = loadModel(arguments, metrics);
+                PipelinedPredictor predictor =
+                        PipelinedPredictor.builder()
+                                .optPreprocessThreads(numOfThreads)
+                                .optMaxBatchSize(maxBatchSize)
+                                .build(model.newPredictor())) {
+            predictor.setMetrics(metrics);
+
+            MemoryTrainingListener.collectMemoryInfo(metrics); // Measure memory before kickoff
+
+            metrics.addMetric("mt_start", System.currentTimeMillis(), "mills");
+            List<CompletableFuture<Object>> futures = new ArrayList<>(iteration);
+            for (int i = 0; i < iteration; ++i) {
+                CompletableFuture<Object> future = predictor.predictAsync(inputData);
+                int processed = i;
+                futures.add(future.whenComplete((r, t) -> progressBar.update(processed)));
+            }
+
+            Object result = null;
+            for (CompletableFuture<Object> future : futures) {
+                result = future.get();
+            }
+            MemoryTrainingListener.collectMemoryInfo(metrics);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TranslateException(e);
+        } catch (ExecutionException e) {
+            logger.error("", e);
+            return null;
+        }
+    }
+}
@@ -16,6 +16,7 @@ import ai.djl.Device;
 import ai.djl.ModelException;
 import ai.djl.engine.Engine;
 import ai.djl.examples.inference.benchmark.MultithreadedBenchmark;
+import ai.djl.examples.inference.benchmark.PipelinedBenchmark;
 import ai.djl.metric.Metrics;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.types.Shape;
@@ -122,11 +123,13 @@ public abstract class AbstractBenchmark {
             }
             int numOfThreads = arguments.getThreads();
             int iteration = arguments.getIteration();
-            if (this instanceof MultithreadedBenchmark) {
+            if (this instanceof MultithreadedBenchmark || this instanceof PipelinedBenchmark) {
                 iteration = Math.max(iteration, 10) * numOfThreads;
             }
             while (!duration.isNegative()) {
                 Metrics metrics = new Metrics(); // Reset Metrics for each test loop.
+                metrics.enableHistogram(
+                        "Total", "Inference", "Preprocess", "Postprocess", "BatchSize");
                 progressBar = new ProgressBar("Iteration", iteration);
                 long begin = System.currentTimeMillis();
                 lastResult = predict(arguments, metrics, iteration);
@@ -215,6 +218,11 @@ public abstract class AbstractBenchmark {
                             String.format(
                                     "postprocess P50: %.3f ms, P90: %.3f ms, P99: %.3f ms",
                                     postP50, postP90, postP99));
+                    if (metrics.hasMetric("BatchSize")) {
+                        logger.info(
+                                String.format(
+                                        "average batch size: %.2f", metrics.mean("BatchSize")));
+                    }
 
                     if (Boolean.getBoolean("collect-memory")) {
                         float heapBeforeModel =
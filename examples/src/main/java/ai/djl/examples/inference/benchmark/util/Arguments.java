@@ -48,6 +48,7 @@ public class Arguments {
     private int iteration;
     private int threads;
     private int delay;
+    private int maxBatchSize;
     private Shape[] inputShapes;
     private boolean help;
 
@@ -78,6 +79,10 @@ public class Arguments {
         if (cmd.hasOption("delay")) {
             delay = Integer.parseInt(cmd.getOptionValue("delay"));
         }
+        maxBatchSize = 1;
+        if (cmd.hasOption("max-batch-size")) {
+            maxBatchSize = Integer.parseInt(cmd.getOptionValue("max-batch-size"));
+        }
         if (cmd.hasOption("input-shapes")) {
             String shape = cmd.getOptionValue("input-shapes");
             if (shape.contains("(")) {
@@ -151,6 +156,19 @@ public class Arguments {
                         .argName("DELAY")
                         .desc("Delay of incremental threads.")
                         .build());
+        options.addOption(
+                Option.builder("p")
+                        .longOpt("pipeline")
+                        .hasArg(false)
+                        .desc("Run the stages of the predictor in a pipeline.")
+                        .build());
+        options.addOption(
+                Option.builder("b")
+                        .longOpt("max-batch-size")
+                        .hasArg()
+                        .argName("MAX-BATCH-SIZE")
+                        .desc("Maximum batch size of the pipelined predictor.")
+                        .build());
         options.addOption(
                 Option.builder("o")
                         .longOpt("output-dir")
@@ -250,6 +268,10 @@ public class Arguments {
         return delay;
     }
 
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
     public Shape[] getInputShapes() {
         return inputShapes;
     }
@@ -14,6 +14,7 @@ package ai.djl.examples.inference;
 
 import ai.djl.examples.inference.benchmark.Benchmark;
 import ai.djl.examples.inference.benchmark.MultithreadedBenchmark;
+import ai.djl.examples.inference.benchmark.PipelinedBenchmark;
 import org.testng.annotations.Test;
 
 public class BenchmarkTest {
@@ -45,4 +46,21 @@ public class BenchmarkTest {
         };
         new MultithreadedBenchmark().runBenchmark(args);
     }
+
+    @Test
+    public void testPipelinedBenchmark() {
+        String[] args = {
+            "-c",
+            "2",
+            "-i",
+            "src/test/resources/segmentation.jpg",
+            "-r",
+            "{'layers':'18','flavor':'v1'}",
+            "-t",
+            "2",
+            "-b",
+            "2"
+        };
+        new PipelinedBenchmark().runBenchmark(args);
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.inference;
+
+import ai.djl.Model;
+import ai.djl.inference.PipelinedPredictor;
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.NDList;
+import ai.djl.nn.LambdaBlock;
+import ai.djl.translate.Batchifier;
+import ai.djl.translate.TranslateException;
+import ai.djl.translate.Translator;
+import ai.djl.translate.TranslatorContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PipelinedPredictorTest {
+
+    @Test
+    public void testPredictAsync() throws ExecutionException, InterruptedException {
+        try (Model model = Model.newInstance("pipelined")) {
+            model.setBlock(LambdaBlock.singleton(array -> array.mul(2)));
+            Metrics metrics = new Metrics();
+            try (PipelinedPredictor<float[], float[]> predictor =
+                    PipelinedPredictor.builder()
+                            .optPreprocessThreads(2)
+                            .optMaxBatchSize(4)
+                            .optMaxBatchDelay(10)
+                            .build(model.newPredictor(new DoubleTranslator(Batchifier.STACK)))) {
+                predictor.setMetrics(metrics);
+                List<CompletableFuture<float[]>> futures = new ArrayList<>();
+                for (int i = 0; i < 32; ++i) {
+                    futures.add(predictor.predictAsync(new float[] {i, i + 1}));
+                }
+                for (int i = 0; i < futures.size(); ++i) {
+                    Assert.assertEquals(futures.get(i).get(), new float[] {i * 2, i * 2 + 2});
+                }
+            }
+            Assert.assertEquals(metrics.getMetric("Total").size(), 32);
+            int batched =
+                    metrics.getMetric("BatchSize").stream()
+                            .mapToInt(m -> m.getValue().intValue())
+                            .sum();
+            Assert.assertEquals(batched, 32);
+        }
+    }
+
+    @Test
+    public void testPredictWithoutBatchifier() throws TranslateException {
+        try (Model model = Model.newInstance("pipelined")) {
+            model.setBlock(LambdaBlock.singleton(array -> array.mul(2)));
+            try (PipelinedPredictor<float[], float[]> predictor =
+                    PipelinedPredictor.builder()
+                            .optMaxBatchSize(4)
+                            .build(model.newPredictor(new DoubleTranslator(null)))) {
+                List<float[]> inputs = Arrays.asList(new float[] {1}, new float[] {2});
+                List<float[]> outputs = predictor.batchPredict(inputs);
+                Assert.assertEquals(outputs.get(0), new float[] {2});
+                Assert.assertEquals(outputs.get(1), new float[] {4});
+            }
+        }
+    }
+
+    @Test
+    public void testFailedRequest() {
+        try (Model model = Model.newInstance("pipelined")) {
+            model.setBlock(LambdaBlock.singleton(array -> array.mul(2)));
+            try (PipelinedPredictor<float[], float[]> predictor =
+                    PipelinedPredictor.builder()
+                            .build(model.newPredictor(new DoubleTranslator(null)))) {
+                Assert.assertThrows(TranslateException.class, () -> predictor.predict(null));
+            }
+        }
+    }
+
+    private static final class DoubleTranslator implements Translator<float[], float[]> {
+
+        private Batchifier batchifier;
+
+        DoubleTranslator(Batchifier batchifier) {
+            this.batchifier = batchifier;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public NDList processInput(TranslatorContext ctx, float[] input) throws TranslateException {
+            if (input == null) {
+                throw new TranslateException("Input is required.");
+            }
+            return new NDList(ctx.getNDManager().create(input));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public float[] processOutput(TranslatorContext ctx, NDList list) {
+            return list.singletonOrThrow().toFloatArray();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Batchifier getBatchifier() {
+            return batchifier;
+        }
+    }
+}
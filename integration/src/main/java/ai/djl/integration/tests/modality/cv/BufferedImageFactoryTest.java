@@ -19,6 +19,7 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.testing.Assertions;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -47,4 +48,69 @@ public class BufferedImageFactoryTest {
             Assertions.assertAlmostEquals(array, converted);
         }
     }
+
+    @Test
+    public void testToTensor() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            ImageFactory factory = ImageFactory.getInstance();
+            float[] mean = {0.485f, 0.456f, 0.406f};
+            float[] std = {0.229f, 0.224f, 0.225f};
+            int[] types = {
+                BufferedImage.TYPE_3BYTE_BGR,
+                BufferedImage.TYPE_4BYTE_ABGR,
+                BufferedImage.TYPE_INT_RGB,
+                BufferedImage.TYPE_INT_ARGB,
+                BufferedImage.TYPE_BYTE_GRAY,
+                BufferedImage.TYPE_INT_BGR
+            };
+            for (int type : types) {
+                BufferedImage bufferedImage = new BufferedImage(7, 5, type);
+                for (int y = 0; y < 5; ++y) {
+                    for (int x = 0; x < 7; ++x) {
+                        int rgb = 0xFF000000 | (x * 36) << 16 | (y * 50) << 8 | (x + y) * 20;
+                        bufferedImage.setRGB(x, y, rgb);
+                    }
+                }
+                BufferedImage subimage = bufferedImage.getSubimage(1, 1, 5, 3);
+                Image image = factory.fromImage(subimage);
+
+                // grayscale images keep their raw samples, the other types must match getRGB
+                int[] rgb = subimage.getRGB(0, 0, 5, 3, null, 0, 5);
+                if (type == BufferedImage.TYPE_BYTE_GRAY) {
+                    int[] samples = subimage.getRaster().getPixels(0, 0, 5, 3, (int[]) null);
+                    for (int i = 0; i < samples.length; ++i) {
+                        rgb[i] = samples[i] << 16 | samples[i] << 8 | samples[i];
+                    }
+                }
+                int area = rgb.length;
+                byte[] hwc = new byte[area * 3];
+                byte[] gray = new byte[area];
+                float[] chw = new float[area * 3];
+                float[] grayChw = new float[area];
+                for (int i = 0; i < area; ++i) {
+                    int[] pixel = {(rgb[i] >> 16) & 0xFF, (rgb[i] >> 8) & 0xFF, rgb[i] & 0xFF};
+                    for (int c = 0; c < 3; ++c) {
+                        hwc[i * 3 + c] = (byte) pixel[c];
+                        chw[c * area + i] = (pixel[c] / 255f - mean[c]) / std[c];
+                    }
+                    int value = (pixel[0] + pixel[1] + pixel[2]) / 3;
+                    gray[i] = (byte) value;
+                    grayChw[i] = value / 255f;
+                }
+                NDArray array = image.toNDArray(manager);
+                Assert.assertEquals(array.getShape(), new Shape(3, 5, 3));
+                Assert.assertEquals(array.toByteArray(), hwc);
+                NDArray tensor = image.toTensor(manager, Image.Flag.COLOR, mean, std);
+                NDArray expected = manager.create(chw, new Shape(3, 3, 5));
+                Assertions.assertAlmostEquals(tensor, expected);
+
+                array = image.toNDArray(manager, Image.Flag.GRAYSCALE);
+                Assert.assertEquals(array.getShape(), new Shape(3, 5, 1));
+                Assert.assertEquals(array.toByteArray(), gray);
+                tensor = image.toTensor(manager, Image.Flag.GRAYSCALE, null, null);
+                expected = manager.create(grayChw, new Shape(1, 3, 5));
+                Assertions.assertAlmostEquals(tensor, expected);
+            }
+        }
+    }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.modality.cv;
+
+import ai.djl.modality.cv.transform.CenterCrop;
+import ai.djl.modality.cv.transform.Normalize;
+import ai.djl.modality.cv.transform.Resize;
+import ai.djl.modality.cv.transform.ToTensor;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.testing.Assertions;
+import ai.djl.translate.Pipeline;
+import ai.djl.translate.Transform;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class PipelineTest {
+
+    private static final float[] MEAN = {0.485f, 0.456f, 0.406f};
+    private static final float[] STD = {0.229f, 0.224f, 0.225f};
+
+    @Test
+    public void testFusedTransforms() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray image =
+                    manager.randomUniform(0, 255, new Shape(40, 30, 3))
+                            .toType(DataType.UINT8, false);
+
+            Transform[][] chains = {
+                {
+                    new Resize(32, 36),
+                    new CenterCrop(24, 24),
+                    new ToTensor(),
+                    new Normalize(MEAN, STD)
+                },
+                {new CenterCrop(), new ToTensor()},
+                {new CenterCrop(50, 20), new ToTensor(), new Normalize(MEAN, STD)},
+                {new ToTensor(), new Normalize(MEAN, STD)}
+            };
+            for (Transform[] chain : chains) {
+                NDArray expected = image;
+                for (Transform transform : chain) {
+                    expected = transform.transform(expected);
+                }
+                NDArray actual = new Pipeline(chain).transform(new NDList(image)).head();
+                Assert.assertEquals(actual.getShape(), expected.getShape());
+                Assert.assertEquals(actual.getDataType(), DataType.FLOAT32);
+                Assertions.assertAlmostEquals(actual, expected);
+            }
+        }
+    }
+
+    @Test
+    public void testSubclassNotFused() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray image = manager.ones(new Shape(4, 4, 3), DataType.UINT8);
+            ToTensor custom =
+                    new ToTensor() {
+                        @Override
+                        public NDArray transform(NDArray array) {
+                            return super.transform(array).mul(2);
+                        }
+                    };
+            Normalize normalize = new Normalize(new float[3], new float[] {1, 1, 1});
+            Pipeline pipeline = new Pipeline(custom, normalize);
+            NDArray actual = pipeline.transform(new NDList(image)).head();
+            Assertions.assertAlmostEquals(actual, manager.full(new Shape(3, 4, 4), 2f / 255));
+        }
+    }
+}
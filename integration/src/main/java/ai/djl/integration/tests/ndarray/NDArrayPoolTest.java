@@ -0,0 +1,125 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.ndarray;
+
+import ai.djl.metric.Metrics;
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDArrayPool;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NDArrayPoolTest {
+
+    @Test
+    public void testRecycle() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArrayPool pool = new NDArrayPool(manager, 2);
+            manager.setPool(pool);
+            Metrics metrics = new Metrics();
+            pool.setMetrics(metrics);
+            Shape shape = new Shape(2, 3);
+            float[] data = {1, 2, 3, 4, 5, 6};
+
+            String uid;
+            try (NDManager request = manager.newSubManager()) {
+                Assert.assertSame(request.getPool(), pool);
+                FloatBuffer buf = FloatBuffer.wrap(data);
+                NDArray array = pool.create(request, buf, shape, DataType.FLOAT32);
+                uid = array.getUid();
+                Assert.assertEquals(array.toFloatArray(), data);
+            }
+            Assert.assertEquals(pool.getMisses(), 1);
+
+            // arrays of the previous request are reused
+            try (NDManager request = manager.newSubManager()) {
+                NDArray array = pool.acquire(request, shape, DataType.FLOAT32);
+                Assert.assertEquals(array.getUid(), uid);
+                Assert.assertEquals(array.getManager(), request);
+                array.set(FloatBuffer.wrap(new float[] {6, 5, 4, 3, 2, 1}));
+                Assert.assertEquals(array.toFloatArray(), new float[] {6, 5, 4, 3, 2, 1});
+
+                // different shape or type are not served from the pool
+                pool.acquire(request, shape, DataType.INT32);
+                pool.acquire(request, new Shape(3, 2), DataType.FLOAT32);
+
+                // closed arrays are not recycled
+                array.close();
+            }
+            Assert.assertEquals(pool.getHits(), 1);
+            Assert.assertEquals(pool.getMisses(), 3);
+
+            try (NDManager request = manager.newSubManager()) {
+                NDArray array = pool.acquire(request, shape, DataType.FLOAT32);
+                Assert.assertNotEquals(array.getUid(), uid);
+
+                ByteBuffer bb = pool.acquireBuffer(request, 24);
+                Assert.assertTrue(bb.isDirect());
+                Assert.assertEquals(bb.capacity(), 24);
+            }
+            try (NDManager request = manager.newSubManager()) {
+                ByteBuffer bb = pool.acquireBuffer(request, 24);
+                Assert.assertEquals(bb.position(), 0);
+            }
+            Assert.assertEquals(pool.getHits(), 2);
+            Assert.assertEquals(pool.getMisses(), 5);
+            Assert.assertEquals(metrics.getMetric("PoolHit").size(), 2);
+            Assert.assertEquals(metrics.getMetric("PoolMiss").size(), 5);
+
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testDetachedArrayKeepsBuffer() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArrayPool pool = new NDArrayPool(manager, 2);
+            manager.setPool(pool);
+            Shape shape = new Shape(2, 3);
+            float[] data = {1, 2, 3, 4, 5, 6};
+
+            // the buffer of an array closed with the request is recycled
+            ByteBuffer recycled;
+            try (NDManager request = manager.newSubManager()) {
+                recycled = pool.acquireBuffer(request, 24);
+                recycled.asFloatBuffer().put(data);
+                NDArray array = request.create(recycled.asFloatBuffer(), shape);
+                pool.bind(request, recycled, array);
+            }
+
+            NDArray detached;
+            ByteBuffer bb;
+            try (NDManager request = manager.newSubManager()) {
+                bb = pool.acquireBuffer(request, 24);
+                Assert.assertSame(bb, recycled);
+                bb.asFloatBuffer().put(data);
+                detached = request.create(bb.asFloatBuffer(), shape);
+                pool.bind(request, bb, detached);
+                detached.attach(manager);
+            }
+
+            // the buffer of the detached array is not reused by the next request
+            try (NDManager request = manager.newSubManager()) {
+                ByteBuffer next = pool.acquireBuffer(request, 24);
+                Assert.assertNotSame(next, bb);
+                next.asFloatBuffer().put(new float[6]);
+                Assert.assertEquals(detached.toFloatArray(), data);
+            }
+            pool.close();
+        }
+    }
+}
@@ -12,8 +12,12 @@
  */
 package ai.djl.integration.tests.ndarray;
 
+import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
 import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.testing.Assertions;
+import java.nio.ByteBuffer;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -54,4 +58,33 @@ public class NDListTest {
                     });
         }
     }
+
+    @Test
+    public void testDecodeByteBuffer() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray array = manager.create(new float[] {1f, 2f, 3f, 4f}, new Shape(2, 2));
+            array.setName("data");
+            NDList list = new NDList(array, manager.create(new int[] {5, 6}));
+            byte[] bytes = list.encode();
+            ByteBuffer bb = ByteBuffer.allocateDirect(bytes.length);
+            bb.put(bytes);
+            bb.rewind();
+
+            NDList recovered = NDList.decode(manager, bb);
+            Assert.assertEquals(recovered.size(), 2);
+            Assert.assertEquals(recovered.head().getName(), "data");
+            Assertions.assertAlmostEquals(recovered.head(), list.head());
+            Assert.assertEquals(recovered.get(1).toIntArray(), new int[] {5, 6});
+            // the position of the source buffer is not changed
+            Assert.assertEquals(bb.position(), 0);
+
+            Assert.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> {
+                        // truncated NDArray data
+                        ByteBuffer data = ByteBuffer.wrap(bytes, 0, bytes.length - 1).slice();
+                        NDList.decode(manager, data);
+                    });
+        }
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.ndarray;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class NDManagerTest {
+
+    @Test
+    public void testConcurrentAttach() throws ExecutionException, InterruptedException {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (NDManager manager = NDManager.newBaseManager()) {
+            List<Future<NDArray>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                float value = i;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int j = 0; j < 100; ++j) {
+                                        manager.create(value).close();
+                                        try (NDManager subManager = manager.newSubManager()) {
+                                            subManager.create(value).attach(manager);
+                                        }
+                                    }
+                                    return manager.create(value);
+                                }));
+            }
+            for (int i = 0; i < threads; ++i) {
+                NDArray array = futures.get(i).get();
+                Assert.assertEquals(array.getManager(), manager);
+                Assert.assertEquals(array.getFloat(), i);
+            }
+            manager.close();
+            Assert.assertFalse(manager.isOpen());
+            Assert.assertThrows(IllegalStateException.class, manager::newSubManager);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -42,17 +42,20 @@ import ai.djl.nn.recurrent.RNN;
 import ai.djl.testing.Assertions;
 import ai.djl.training.DefaultTrainingConfig;
 import ai.djl.training.GradientCollector;
+import ai.djl.training.ParameterStore;
 import ai.djl.training.Trainer;
 import ai.djl.training.TrainingConfig;
 import ai.djl.training.initializer.Initializer;
 import ai.djl.training.loss.Loss;
 import ai.djl.training.loss.SoftmaxCrossEntropyLoss;
+import ai.djl.util.MappedDataInputStream;
 import ai.djl.util.PairList;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -725,6 +728,50 @@ public class BlockCoreTest {
         }
     }
 
+    @Test
+    public void testMappedParameters() throws IOException, MalformedModelException {
+        TrainingConfig config = new DefaultTrainingConfig(Loss.l2Loss());
+        Block block = Linear.builder().setUnits(3).build();
+        try (Model model = Model.newInstance("model")) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                Shape inputShape = new Shape(2, 2);
+                trainer.initialize(inputShape);
+                NDManager manager = trainer.getManager();
+                NDArray data = manager.create(new float[] {1, 2, 3, 4}, inputShape);
+                NDArray expected = trainer.forward(new NDList(data)).singletonOrThrow();
+
+                Path temp = Files.createTempFile("block", ".param");
+                try (DataOutputStream os = new DataOutputStream(Files.newOutputStream(temp))) {
+                    block.saveParameters(os);
+                }
+
+                for (boolean lazy : new boolean[] {false, true}) {
+                    Block loaded = Linear.builder().setUnits(3).build();
+                    try (MappedDataInputStream is = MappedDataInputStream.map(temp)) {
+                        is.setLazy(lazy);
+                        loaded.loadParameters(manager, is);
+                    }
+                    Assert.assertTrue(loaded.isInitialized());
+
+                    // lazy parameters are created by the ParameterStore
+                    ParameterStore ps = new ParameterStore(manager, false);
+                    NDArray result = loaded.forward(ps, new NDList(data), false).singletonOrThrow();
+                    Assertions.assertAlmostEquals(result, expected);
+
+                    PairList<String, Parameter> original = block.getParameters();
+                    PairList<String, Parameter> params = loaded.getParameters();
+                    for (int i = 0; i < original.size(); ++i) {
+                        Assert.assertEquals(
+                                params.valueAt(i).getArray(), original.valueAt(i).getArray());
+                    }
+                }
+                Files.delete(temp);
+            }
+        }
+    }
+
     private void testEncode(NDManager manager, Block block)
             throws IOException, MalformedModelException {
         PairList<String, Parameter> original = block.getParameters();
@@ -27,15 +27,22 @@ import ai.djl.training.TrainingConfig;
 import ai.djl.training.dataset.ArrayDataset;
 import ai.djl.training.dataset.Batch;
 import ai.djl.training.dataset.BatchSampler;
+import ai.djl.training.dataset.CachedDataset;
 import ai.djl.training.dataset.Dataset;
 import ai.djl.training.dataset.RandomAccessDataset;
 import ai.djl.training.dataset.RandomSampler;
+import ai.djl.training.dataset.Record;
 import ai.djl.training.dataset.SequenceSampler;
 import ai.djl.training.initializer.Initializer;
 import ai.djl.training.loss.Loss;
 import ai.djl.translate.TranslateException;
 import ai.djl.util.Pair;
+import ai.djl.util.Utils;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -297,6 +304,86 @@ public class DatasetTest {
         }
     }
 
+    @Test
+    public void testCachedDataset() throws IOException, TranslateException {
+        Path cacheDir = Paths.get("build/tmp/cachedDataset");
+        Utils.deleteQuietly(cacheDir);
+        try (NDManager manager = NDManager.newBaseManager()) {
+            ArrayDataset source =
+                    new ArrayDataset.Builder()
+                            .setData(manager.arange(0f, 10f).reshape(10, 1))
+                            .optLabels(manager.arange(0f, 20f, 2f))
+                            .setSampling(4, false)
+                            .addTransform(array -> array.mul(2))
+                            .addTargetTransform(array -> array.add(1))
+                            .build();
+            // changes of the transforms can't be detected without a version
+            Assert.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> CachedDataset.builder().setSource(source).setCacheDir(cacheDir).build());
+
+            CachedDataset dataset =
+                    CachedDataset.builder()
+                            .setSource(source)
+                            .setCacheDir(cacheDir)
+                            .optRecordsPerShard(3)
+                            .optVersion("1")
+                            .build();
+            dataset.prepare();
+            Assert.assertEquals(dataset.size(), 10);
+            Path lastShard = cacheDir.resolve("shard-00003.bin");
+            Assert.assertTrue(Files.isRegularFile(lastShard));
+
+            // the transforms of the source are cached
+            Record record = dataset.get(manager, 7);
+            Assert.assertEquals(
+                    record.getData().singletonOrThrow().toFloatArray(), new float[] {14});
+            Assert.assertEquals(record.getLabels().singletonOrThrow().getFloat(), 15f);
+
+            List<Float> values = new ArrayList<>();
+            for (Batch batch : dataset.getData(manager)) {
+                for (float value : batch.getData().head().toFloatArray()) {
+                    values.add(value);
+                }
+                batch.close();
+            }
+            Assert.assertEquals(values.size(), 10);
+            Assert.assertEquals(values.get(9), 18f);
+
+            // only the missing shard is written again
+            FileTime modified = Files.getLastModifiedTime(lastShard);
+            Files.delete(cacheDir.resolve("shard-00001.bin"));
+            CachedDataset resumed =
+                    CachedDataset.builder()
+                            .setSource(source)
+                            .setCacheDir(cacheDir)
+                            .optRecordsPerShard(3)
+                            .optVersion("1")
+                            .build();
+            resumed.prepare();
+            Assert.assertEquals(Files.getLastModifiedTime(lastShard), modified);
+            Assert.assertEquals(resumed.get(manager, 4).getData().head().getFloat(0), 8f);
+
+            // a new version rebuilds the cache
+            ArrayDataset changed =
+                    new ArrayDataset.Builder()
+                            .setData(manager.arange(0f, 10f).reshape(10, 1))
+                            .optLabels(manager.arange(0f, 20f, 2f))
+                            .setSampling(4, false)
+                            .addTransform(array -> array.mul(3))
+                            .build();
+            CachedDataset rebuilt =
+                    CachedDataset.builder()
+                            .setSource(changed)
+                            .setCacheDir(cacheDir)
+                            .optRecordsPerShard(3)
+                            .optVersion("2")
+                            .build();
+            rebuilt.prepare();
+            Assert.assertEquals(rebuilt.get(manager, 4).getData().head().getFloat(0), 12f);
+        }
+    }
+
     @Test
     public void testDatasetToArray() throws IOException, TranslateException {
         try (NDManager manager = NDManager.newBaseManager()) {
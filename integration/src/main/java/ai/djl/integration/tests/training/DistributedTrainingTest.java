@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.integration.tests.training;
+
+import ai.djl.Model;
+import ai.djl.basicdataset.cv.classification.Mnist;
+import ai.djl.basicmodelzoo.basic.Mlp;
+import ai.djl.ndarray.types.Shape;
+import ai.djl.nn.Parameter;
+import ai.djl.training.DefaultTrainingConfig;
+import ai.djl.training.EasyTrain;
+import ai.djl.training.RingParameterServer;
+import ai.djl.training.Trainer;
+import ai.djl.training.loss.Loss;
+import ai.djl.training.optimizer.Optimizer;
+import ai.djl.training.tracker.Tracker;
+import ai.djl.translate.TranslateException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+public class DistributedTrainingTest {
+
+    private static final String CHECKSUM = "checksum: ";
+
+    @Test
+    public void testRingParameterServer() throws IOException, InterruptedException {
+        if (!Boolean.getBoolean("nightly")) {
+            throw new SkipException("Nightly only");
+        }
+        int size = 3;
+        StringBuilder ports = new StringBuilder();
+        for (int i = 0; i < size; ++i) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                if (i > 0) {
+                    ports.append(',');
+                }
+                ports.append(socket.getLocalPort());
+            }
+        }
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator;
+        List<Process> processes = new ArrayList<>();
+        for (int rank = 0; rank < size; ++rank) {
+            ProcessBuilder pb =
+                    new ProcessBuilder(
+                            java + "java",
+                            "-cp",
+                            System.getProperty("java.class.path"),
+                            DistributedTrainingTest.class.getName(),
+                            String.valueOf(rank),
+                            ports.toString());
+            pb.redirectErrorStream(true);
+            processes.add(pb.start());
+        }
+
+        // all the workers must end with the same parameters
+        List<String> checksums = new ArrayList<>();
+        for (Process process : processes) {
+            String checksum = null;
+            try (BufferedReader reader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(CHECKSUM)) {
+                        checksum = line.substring(CHECKSUM.length());
+                    }
+                }
+            }
+            Assert.assertTrue(process.waitFor(5, TimeUnit.MINUTES));
+            Assert.assertEquals(process.exitValue(), 0);
+            Assert.assertNotNull(checksum);
+            checksums.add(checksum);
+        }
+        for (String checksum : checksums) {
+            Assert.assertEquals(checksum, checksums.get(0));
+        }
+    }
+
+    /**
+     * Trains the MNIST MLP as one of the workers.
+     *
+     * @param args the rank of the worker, and the comma separated ports of all the workers
+     * @throws IOException if the training failed
+     * @throws TranslateException if the training failed
+     */
+    public static void main(String[] args) throws IOException, TranslateException {
+        int rank = Integer.parseInt(args[0]);
+        List<InetSocketAddress> workers = new ArrayList<>();
+        for (String port : args[1].split(",")) {
+            workers.add(new InetSocketAddress("localhost", Integer.parseInt(port)));
+        }
+
+        Optimizer optimizer = Optimizer.sgd().setLearningRateTracker(Tracker.fixed(0.1f)).build();
+        RingParameterServer server =
+                RingParameterServer.builder()
+                        .setOptimizer(optimizer)
+                        .setWorkers(workers)
+                        .setRank(rank)
+                        .build();
+        DefaultTrainingConfig config =
+                new DefaultTrainingConfig(Loss.softmaxCrossEntropyLoss())
+                        .optOptimizer(optimizer)
+                        .optParameterServer(server);
+
+        // each worker draws its own random batches
+        Mnist mnist = Mnist.builder().setSampling(32, true).optLimit(640).build();
+        mnist.prepare();
+        try (Model model = Model.newInstance("mlp")) {
+            model.setBlock(new Mlp(784, 10, new int[] {128, 64}));
+            try (Trainer trainer = model.newTrainer(config)) {
+                trainer.initialize(new Shape(1, 784));
+                EasyTrain.fit(trainer, 2, mnist, null);
+            }
+
+            CRC32 crc = new CRC32();
+            for (Parameter parameter : model.getBlock().getParameters().values()) {
+                ByteBuffer bytes = parameter.getArray().toByteBuffer();
+                crc.update(bytes);
+            }
+            System.out.println(CHECKSUM + Long.toHexString(crc.getValue()));
+        }
+    }
+}
@@ -19,7 +19,9 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.training.evaluator.AbstractAccuracy;
 import ai.djl.training.evaluator.Accuracy;
+import ai.djl.training.evaluator.DeviceAccumulator;
 import ai.djl.training.evaluator.TopKAccuracy;
+import ai.djl.training.loss.Loss;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -89,4 +91,57 @@ public class EvaluatorTest {
                     "Wrong accuracy, expected: " + expectedAccuracy + ", actual: " + accuracy);
         }
     }
+
+    @Test
+    public void testAccumulateOnDevice() {
+        try (NDManager manager = NDManager.newBaseManager()) {
+            NDArray predictions =
+                    manager.create(new float[] {0.3f, 0.7f, 0, 1, 0.4f, 0.6f}, new Shape(3, 2));
+            NDArray labels = manager.create(new int[] {0, 1, 1}, new Shape(3));
+
+            AbstractAccuracy acc = new Accuracy();
+            acc.setAccumulateOnDevice(true);
+            acc.addAccumulator("");
+            acc.updateAccumulator("", new NDList(labels), new NDList(predictions));
+            acc.updateAccumulator("", new NDList(labels), new NDList(predictions));
+            Assert.assertEquals(acc.getAccumulator(""), 2.f / 3);
+
+            Loss loss = Loss.l1Loss();
+            loss.setAccumulateOnDevice(true);
+            loss.addAccumulator("");
+            NDArray target = manager.create(new float[] {1, 2, 3});
+            NDArray pred = manager.create(new float[] {2, 2, 5});
+            loss.updateAccumulator("", new NDList(target), new NDList(pred));
+            loss.updateAccumulator("", new NDList(target), new NDList(target));
+            Assert.assertEquals(loss.getAccumulator(""), 0.5f);
+
+            acc.resetAccumulator("");
+            loss.resetAccumulator("");
+            Assert.assertTrue(Float.isNaN(acc.getAccumulator("")));
+            Assert.assertTrue(Float.isNaN(loss.getAccumulator("")));
+        }
+    }
+
+    @Test
+    public void testDeviceAccumulatorLifetime() {
+        DeviceAccumulator accumulator = new DeviceAccumulator();
+        try (NDManager manager = NDManager.newBaseManager()) {
+            // the sums outlive the batches
+            try (NDManager batch = manager.newSubManager()) {
+                accumulator.add(batch.create(2f));
+            }
+            try (NDManager batch = manager.newSubManager()) {
+                accumulator.add(batch.create(3f));
+            }
+            Assert.assertEquals(accumulator.getValue(), 5.0);
+        }
+        // the sums are released with the top manager of the values
+        Assert.assertThrows(IllegalStateException.class, accumulator::getValue);
+        try (NDManager manager = NDManager.newBaseManager()) {
+            accumulator.add(manager.create(1f));
+            Assert.assertEquals(accumulator.getValue(), 1.0);
+            accumulator.reset();
+            Assert.assertEquals(accumulator.getValue(), 0.0);
+        }
+    }
 }
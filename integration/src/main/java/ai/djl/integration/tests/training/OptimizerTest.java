@@ -25,6 +25,7 @@ import ai.djl.nn.core.Linear;
 import ai.djl.testing.Assertions;
 import ai.djl.training.DefaultTrainingConfig;
 import ai.djl.training.EasyTrain;
+import ai.djl.training.LocalParameterServer;
 import ai.djl.training.Trainer;
 import ai.djl.training.TrainingConfig;
 import ai.djl.training.dataset.Batch;
@@ -33,6 +34,9 @@ import ai.djl.training.loss.Loss;
 import ai.djl.training.optimizer.Optimizer;
 import ai.djl.training.tracker.Tracker;
 import ai.djl.translate.Batchifier;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 public class OptimizerTest {
@@ -296,6 +300,85 @@ public class OptimizerTest {
         }
     }
 
+    @Test
+    public void testBucketedUpdate() {
+        Device[] devices = Device.getDevices(2);
+        if (devices.length < 2) {
+            throw new SkipException("Multiple devices required");
+        }
+        // the gradients are reduced across the devices per parameter, or in a single bucket
+        float[] separate = trainWithBucketSize(devices, 0, null);
+        float[] bucketed = trainWithBucketSize(devices, 1024 * 1024, null);
+        Assert.assertEquals(bucketed, separate, 1e-5f);
+    }
+
+    @Test
+    public void testBucketedAllReduce() {
+        Device[] devices = {Device.defaultDevice()};
+        // the weight and the bias are reduced with the other workers separately, or in a bucket
+        AtomicInteger separateReduces = new AtomicInteger();
+        float[] separate = trainWithBucketSize(devices, 0, separateReduces);
+        AtomicInteger bucketReduces = new AtomicInteger();
+        float[] bucketed = trainWithBucketSize(devices, 1024 * 1024, bucketReduces);
+        Assert.assertEquals(bucketed, separate, 1e-5f);
+        // two training steps
+        Assert.assertEquals(separateReduces.get(), 4);
+        Assert.assertEquals(bucketReduces.get(), 2);
+    }
+
+    /**
+     * Trains two steps and returns the mean of each parameter.
+     *
+     * @param devices the training devices
+     * @param bucketSize the bucket size of the parameter server
+     * @param reduces counts the reductions with a second worker, {@code null} for a single worker
+     * @return the mean of each parameter
+     */
+    private float[] trainWithBucketSize(Device[] devices, long bucketSize, AtomicInteger reduces) {
+        Optimizer optim = Optimizer.adam().optLearningRateTracker(Tracker.fixed(0.1f)).build();
+        LocalParameterServer parameterServer;
+        if (reduces == null) {
+            parameterServer = new LocalParameterServer(optim, bucketSize);
+        } else {
+            parameterServer =
+                    new LocalParameterServer(optim, bucketSize) {
+
+                        /** {@inheritDoc} */
+                        @Override
+                        protected void allReduce(String parameterId, NDArray grad) {
+                            // the other worker has the same gradients
+                            reduces.incrementAndGet();
+                            grad.muli(2);
+                        }
+
+                        /** {@inheritDoc} */
+                        @Override
+                        protected boolean isDistributed() {
+                            return true;
+                        }
+                    };
+        }
+        TrainingConfig config =
+                new DefaultTrainingConfig(Loss.l2Loss())
+                        .optInitializer(Initializer.ONES, Parameter.Type.WEIGHT)
+                        .optOptimizer(optim)
+                        .optDevices(devices)
+                        .optParameterServer(parameterServer);
+        Block block = Linear.builder().setUnits(CHANNELS).build();
+        try (Model model = Model.newInstance("model", devices[0])) {
+            model.setBlock(block);
+
+            try (Trainer trainer = model.newTrainer(config)) {
+                int batchSize = config.getDevices().length * BATCH_SIZE;
+                trainer.initialize(new Shape(batchSize, CHANNELS));
+
+                NDManager manager = trainer.getManager();
+                runOptimizer(manager, trainer, block, batchSize);
+                return runOptimizer(manager, trainer, block, batchSize).toFloatArray();
+            }
+        }
+    }
+
     private NDArray runOptimizer(NDManager manager, Trainer trainer, Block block, int batchSize) {
         NDArray data = manager.ones(new Shape(batchSize, CHANNELS)).mul(2);
         NDArray label = data.mul(2);
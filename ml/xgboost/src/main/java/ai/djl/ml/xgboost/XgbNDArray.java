@@ -19,9 +19,9 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
+import ai.djl.util.Utils;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import ml.dmlc.xgboost4j.java.JniUtils;
 
@@ -47,7 +47,7 @@ public class XgbNDArray implements NDArrayAdapter {
 
     XgbNDArray(XgbNDManager manager, ByteBuffer data, Shape shape) {
         this.manager = manager;
-        this.uid = UUID.randomUUID().toString();
+        this.uid = Utils.newUid();
         this.manager.attachInternal(uid, this);
         this.shape = shape;
         this.data = data;
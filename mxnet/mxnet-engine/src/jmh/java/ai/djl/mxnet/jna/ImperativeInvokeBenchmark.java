@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.jna;
+
+import ai.djl.ndarray.NDArray;
+import ai.djl.ndarray.NDManager;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of invoking MXNet operators on small arrays, with and without the cache of
+ * the operator parameters.
+ *
+ * <p>A size of 0 encodes the parameters on each call. Run it with {@code ./gradlew
+ * :mxnet:mxnet-engine:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ImperativeInvokeBenchmark {
+
+    @Param({"0", "1024"})
+    private int cacheSize;
+
+    private NDManager manager;
+    private NDArray array;
+
+    /** Creates the input array. */
+    @Setup
+    public void setUp() {
+        ParamArrays.setCacheSize(cacheSize);
+        manager = NDManager.newBaseManager();
+        array = manager.arange(16f).reshape(4, 4);
+    }
+
+    /** Closes the input array. */
+    @TearDown
+    public void tearDown() {
+        manager.close();
+    }
+
+    /**
+     * Adds a scalar, an operator with a single parameter.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public float addScalar() {
+        try (NDArray result = array.add(1f)) {
+            return result.getFloat(0, 0);
+        }
+    }
+
+    /**
+     * Sums along an axis.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public float sumAxis() {
+        try (NDArray result = array.sum(new int[] {1}, true)) {
+            return result.getFloat(0, 0);
+        }
+    }
+
+    /**
+     * Transposes and reshapes, operators with shape parameters.
+     *
+     * @return the first value
+     */
+    @Benchmark
+    public float transposeReshape() {
+        try (NDArray transposed = array.transpose(1, 0);
+                NDArray result = transposed.reshape(2, 8)) {
+            return result.getFloat(0, 0);
+        }
+    }
+}
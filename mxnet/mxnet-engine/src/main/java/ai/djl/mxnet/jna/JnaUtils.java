@@ -497,17 +497,7 @@ public final class JnaUtils {
 
     public static PairList<Pointer, SparseFormat> imperativeInvoke(
             Pointer function, NDArray[] src, NDArray[] dest, PairList<String, ?> params) {
-        String[] keys;
-        String[] values;
-        if (params == null) {
-            keys = EMPTY_ARRAY;
-            values = EMPTY_ARRAY;
-        } else {
-            keys = params.keyArray(EMPTY_ARRAY);
-            values = params.values().stream().map(Object::toString).toArray(String[]::new);
-        }
-        StringArray keyArray = StringArray.of(keys);
-        StringArray valueArray = StringArray.of(values);
+        ParamArrays paramArrays = ParamArrays.of(params);
         PointerArray srcArray = toPointerArray(src);
         PointerArray destArray = toPointerArray(dest);
         PointerByReference destRef = REFS.acquire();
@@ -523,9 +513,9 @@ public final class JnaUtils {
                         srcArray,
                         numOutputs,
                         destRef,
-                        keys.length,
-                        keyArray,
-                        valueArray,
+                        paramArrays.size(),
+                        paramArrays.getKeys(),
+                        paramArrays.getValues(),
                         destSType));
         int numOfOutputs = numOutputs.get(0);
         Pointer[] ptrArray = destRef.getValue().getPointerArray(0, numOfOutputs);
@@ -537,8 +527,7 @@ public final class JnaUtils {
         REFS.recycle(destRef);
         REFS.recycle(destSType);
         srcArray.recycle();
-        keyArray.recycle();
-        valueArray.recycle();
+        paramArrays.recycle();
 
         if (destArray != null) {
             destArray.recycle();
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.jna;
+
+import ai.djl.util.PairList;
+
+/**
+ * The parameters of an MXNet operator, as native arrays of names and values ({@code char**}).
+ *
+ * <p>Most operators are invoked many times with the same parameters, such as the axis of a sum or
+ * the shape of a reshape. Instead of encoding the parameters to native strings on each call, the
+ * encoded arrays are kept in a cache, and passed as-is to the next calls with the same names and
+ * values. Each thread has its own cache, so operators are dispatched without locking, and cached
+ * parameters are found without allocating any object.
+ *
+ * <p>A cache has {@code ai.djl.mxnet.op_params_cache_size} slots (1024 by default, rounded up to a
+ * power of two). A size of 0 disables the cache. The slot of the parameters is chosen by their
+ * hash, and new parameters replace the parameters in their slot, so the cache approximately keeps
+ * the most recently used parameters.
+ */
+final class ParamArrays {
+
+    private static final String[] EMPTY = new String[0];
+    private static final ParamArrays NO_PARAMS =
+            new ParamArrays(EMPTY, EMPTY, 0, StringArray.create(EMPTY), StringArray.create(EMPTY));
+
+    private static final ThreadLocal<Cache> CACHES = ThreadLocal.withInitial(Cache::new);
+
+    private static volatile int cacheSize =
+            tableSize(Integer.getInteger("ai.djl.mxnet.op_params_cache_size", 1024));
+    private static volatile int generation;
+
+    private String[] names;
+    private String[] strings;
+    private int hash;
+    private StringArray keys;
+    private StringArray values;
+    private boolean cached;
+
+    private ParamArrays(
+            String[] names, String[] strings, int hash, StringArray keys, StringArray values) {
+        this.names = names;
+        this.strings = strings;
+        this.hash = hash;
+        this.keys = keys;
+        this.values = values;
+        cached = true;
+    }
+
+    private ParamArrays(String[] names, String[] strings) {
+        this.names = names;
+        this.strings = strings;
+        keys = StringArray.of(names);
+        values = StringArray.of(strings);
+    }
+
+    /**
+     * Returns the native arrays of the given parameters, from the cache if available.
+     *
+     * @param params the names and values of the parameters
+     * @return the native arrays of the parameters
+     */
+    static ParamArrays of(PairList<String, ?> params) {
+        if (params == null || params.isEmpty()) {
+            return NO_PARAMS;
+        }
+        ParamArrays[] slots = CACHES.get().getSlots();
+        if (slots == null) {
+            return new ParamArrays(getNames(params), getStrings(params));
+        }
+
+        // toString() returns the value itself for the parameters that are already strings
+        int size = params.size();
+        int hash = size;
+        for (int i = 0; i < size; ++i) {
+            hash = 31 * hash + params.keyAt(i).hashCode();
+            hash = 31 * hash + params.valueAt(i).toString().hashCode();
+        }
+        int slot = (hash ^ (hash >>> 16)) & (slots.length - 1);
+        ParamArrays arrays = slots[slot];
+        if (arrays == null || !arrays.matches(params, hash)) {
+            String[] names = getNames(params);
+            String[] strings = getStrings(params);
+            // the replaced arrays are freed by the garbage collector
+            arrays =
+                    new ParamArrays(
+                            names,
+                            strings,
+                            hash,
+                            StringArray.create(names),
+                            StringArray.create(strings));
+            slots[slot] = arrays;
+        }
+        return arrays;
+    }
+
+    /**
+     * Sets the maximum number of parameters kept in the cache of each thread, and clears the
+     * caches.
+     *
+     * @param capacity the maximum number of parameters kept in the cache, 0 to disable the cache
+     */
+    static synchronized void setCacheSize(int capacity) {
+        cacheSize = tableSize(capacity);
+        // the caches are replaced on their next use by their thread
+        generation = generation + 1;
+    }
+
+    private static int tableSize(int capacity) {
+        if (capacity <= 0) {
+            return 0;
+        }
+        int size = 1;
+        while (size < capacity && size < 1 << 20) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static String[] getNames(PairList<String, ?> params) {
+        String[] names = new String[params.size()];
+        for (int i = 0; i < names.length; ++i) {
+            names[i] = params.keyAt(i);
+        }
+        return names;
+    }
+
+    private static String[] getStrings(PairList<String, ?> params) {
+        String[] strings = new String[params.size()];
+        for (int i = 0; i < strings.length; ++i) {
+            strings[i] = params.valueAt(i).toString();
+        }
+        return strings;
+    }
+
+    private boolean matches(PairList<String, ?> params, int paramsHash) {
+        if (hash != paramsHash || names.length != params.size()) {
+            return false;
+        }
+        for (int i = 0; i < names.length; ++i) {
+            if (!names[i].equals(params.keyAt(i))
+                    || !strings[i].equals(params.valueAt(i).toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of parameters.
+     *
+     * @return the number of parameters
+     */
+    int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the native array of the parameter names.
+     *
+     * @return the native array of the parameter names
+     */
+    StringArray getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the native array of the parameter values.
+     *
+     * @return the native array of the parameter values
+     */
+    StringArray getValues() {
+        return values;
+    }
+
+    /** Recycles the native arrays if they are not cached. */
+    void recycle() {
+        if (!cached) {
+            keys.recycle();
+            values.recycle();
+        }
+    }
+
+    /** The cache of a thread. */
+    private static final class Cache {
+
+        private int generation = -1;
+        private ParamArrays[] slots;
+
+        ParamArrays[] getSlots() {
+            int current = ParamArrays.generation;
+            if (generation != current) {
+                int size = cacheSize;
+                slots = size > 0 ? new ParamArrays[size] : null;
+                generation = current;
+            }
+            return slots;
+        }
+    }
+}
@@ -76,6 +76,17 @@ final class StringArray extends Memory {
         return new StringArray(strings);
     }
 
+    /**
+     * Creates a {@code StringArray} that is not taken from the pool, to be kept and reused by
+     * multiple native calls.
+     *
+     * @param strings the strings
+     * @return a new {@code StringArray} object
+     */
+    static StringArray create(String[] strings) {
+        return new StringArray(strings);
+    }
+
     /** Recycles this instance and return it back to the pool. */
     public void recycle() {
         POOL.recycle(this);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.mxnet.jna;
+
+import ai.djl.util.PairList;
+import java.util.concurrent.CompletableFuture;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class ParamArraysTest {
+
+    @AfterMethod
+    public void tearDown() {
+        ParamArrays.setCacheSize(1024);
+    }
+
+    @Test
+    public void testCacheHit() {
+        ParamArrays.setCacheSize(16);
+        ParamArrays arrays = ParamArrays.of(params("axis", 1));
+        Assert.assertEquals(arrays.size(), 1);
+        Assert.assertEquals(arrays.getKeys().getPointer(0).getString(0), "axis");
+        Assert.assertEquals(arrays.getValues().getPointer(0).getString(0), "1");
+
+        // equal parameters from another list use the same native arrays
+        Assert.assertSame(ParamArrays.of(params("axis", 1)), arrays);
+        Assert.assertSame(ParamArrays.of(params("axis", "1")), arrays);
+        Assert.assertNotSame(ParamArrays.of(params("axis", 2)), arrays);
+        Assert.assertNotSame(ParamArrays.of(params("keepdims", 1)), arrays);
+        // cached arrays are not recycled
+        arrays.recycle();
+        Assert.assertSame(ParamArrays.of(params("axis", 1)), arrays);
+    }
+
+    @Test
+    public void testEviction() {
+        ParamArrays.setCacheSize(1);
+        ParamArrays first = ParamArrays.of(params("axis", 1));
+        ParamArrays second = ParamArrays.of(params("axis", 2));
+        Assert.assertSame(ParamArrays.of(params("axis", 2)), second);
+        // the single slot now holds the second parameters
+        ParamArrays again = ParamArrays.of(params("axis", 1));
+        Assert.assertNotSame(again, first);
+        Assert.assertEquals(again.getValues().getPointer(0).getString(0), "1");
+
+        // resizing clears the cache
+        ParamArrays.setCacheSize(16);
+        Assert.assertNotSame(ParamArrays.of(params("axis", 1)), again);
+    }
+
+    @Test
+    public void testDisabledCache() {
+        ParamArrays.setCacheSize(0);
+        ParamArrays arrays = ParamArrays.of(params("axis", 1));
+        Assert.assertEquals(arrays.getValues().getPointer(0).getString(0), "1");
+        arrays.recycle();
+        Assert.assertNotSame(ParamArrays.of(params("axis", 1)), arrays);
+    }
+
+    @Test
+    public void testThreadCaches() {
+        ParamArrays.setCacheSize(16);
+        ParamArrays arrays = ParamArrays.of(params("axis", 1));
+        ParamArrays other =
+                CompletableFuture.supplyAsync(() -> ParamArrays.of(params("axis", 1))).join();
+        Assert.assertNotSame(other, arrays);
+        Assert.assertSame(ParamArrays.of(params("axis", 1)), arrays);
+    }
+
+    private static PairList<String, Object> params(String name, Object value) {
+        PairList<String, Object> params = new PairList<>();
+        params.add(name, value);
+        return params;
+    }
+}
@@ -19,6 +19,7 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -30,6 +31,20 @@ import java.util.Map;
  *
  * <p>OrtModel contains all the methods in Model to load and process a model. In addition, it
  * provides ONNX Runtime Specific functionality
+ *
+ * <p>The session can be tuned with the following model options, for example with {@link
+ * ai.djl.repository.zoo.Criteria.Builder#optOption(String, String)}:
+ *
+ * <ul>
+ *   <li>{@code interOpNumThreads} - the number of threads used to run independent operators
+ *   <li>{@code intraOpNumThreads} - the number of threads used within an operator
+ *   <li>{@code optLevel} - the graph optimization level: {@code NO_OPT}, {@code BASIC_OPT}, {@code
+ *       EXTENDED_OPT} or {@code ALL_OPT}
+ *   <li>{@code executionMode} - {@code SEQUENTIAL} or {@code PARALLEL}
+ *   <li>{@code memoryPatternOptimization} - whether to pre-allocate memory based on the shapes of
+ *       the previous runs
+ *   <li>{@code cpuArenaAllocator} - whether to use a memory arena for the CPU allocations
+ * </ul>
  */
 public class OrtModel extends BaseModel {
 
@@ -65,14 +80,53 @@ public class OrtModel extends BaseModel {
                 throw new FileNotFoundException(".onnx file not found in: " + modelPath);
             }
         }
-        // TODO: Support SessionOption here for further optimization
-        try {
-            block = new OrtSymbolBlock(env.createSession(modelFile.toString()));
+        try (OrtSession.SessionOptions sessionOptions = getSessionOptions(options)) {
+            block = new OrtSymbolBlock(env.createSession(modelFile.toString(), sessionOptions));
         } catch (OrtException e) {
             throw new MalformedModelException("ONNX Model cannot be loaded", e);
         }
     }
 
+    private OrtSession.SessionOptions getSessionOptions(Map<String, ?> options)
+            throws OrtException {
+        OrtSession.SessionOptions sessionOptions = new OrtSession.SessionOptions();
+        if (options == null) {
+            return sessionOptions;
+        }
+        String interOpNumThreads = getOption(options, "interOpNumThreads");
+        if (interOpNumThreads != null) {
+            sessionOptions.setInterOpNumThreads(Integer.parseInt(interOpNumThreads));
+        }
+        String intraOpNumThreads = getOption(options, "intraOpNumThreads");
+        if (intraOpNumThreads != null) {
+            sessionOptions.setIntraOpNumThreads(Integer.parseInt(intraOpNumThreads));
+        }
+        String optLevel = getOption(options, "optLevel");
+        if (optLevel != null) {
+            sessionOptions.setOptimizationLevel(
+                    OrtSession.SessionOptions.OptLevel.valueOf(optLevel));
+        }
+        String executionMode = getOption(options, "executionMode");
+        if (executionMode != null) {
+            sessionOptions.setExecutionMode(
+                    OrtSession.SessionOptions.ExecutionMode.valueOf(executionMode));
+        }
+        String memoryPattern = getOption(options, "memoryPatternOptimization");
+        if (memoryPattern != null) {
+            sessionOptions.setMemoryPatternOptimization(Boolean.parseBoolean(memoryPattern));
+        }
+        String cpuArena = getOption(options, "cpuArenaAllocator");
+        if (cpuArena != null) {
+            sessionOptions.setCPUArenaAllocator(Boolean.parseBoolean(cpuArena));
+        }
+        return sessionOptions;
+    }
+
+    private static String getOption(Map<String, ?> options, String key) {
+        Object value = options.get(key);
+        return value == null ? null : value.toString();
+    }
+
     private Path findModelFile(String prefix) {
         if (Files.isRegularFile(modelDir)) {
             Path file = modelDir;
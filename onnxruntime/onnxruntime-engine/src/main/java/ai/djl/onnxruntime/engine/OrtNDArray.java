@@ -19,12 +19,12 @@ import ai.djl.ndarray.NDArrayAdapter;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
+import ai.djl.util.Utils;
 import ai.onnxruntime.OnnxTensor;
 import ai.onnxruntime.OrtException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
-import java.util.UUID;
 
 /** {@code OrtNDArray} is the ONNX Runtime implementation of {@link NDArray}. */
 public class OrtNDArray implements NDArrayAdapter {
@@ -47,7 +47,7 @@ public class OrtNDArray implements NDArrayAdapter {
     OrtNDArray(OrtNDManager manager, OnnxTensor tensor) {
         this.manager = manager;
         this.tensor = tensor;
-        uid = UUID.randomUUID().toString();
+        uid = Utils.newUid();
         manager.attachInternal(uid, this);
     }
 
@@ -33,9 +33,10 @@ import ai.onnxruntime.OrtSession;
 import ai.onnxruntime.SequenceInfo;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code OrtSymbolBlock} is the ONNX Runtime implementation of {@link SymbolBlock}.
@@ -48,6 +49,7 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     private static final byte VERSION = 1;
 
     private OrtSession session;
+    private String[] inputNames;
 
     /**
      * Constructs a {@code OrtSymbolBlock}.
@@ -60,6 +62,7 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
     public OrtSymbolBlock(OrtSession session) {
         super(VERSION);
         this.session = session;
+        inputNames = session.getInputNames().toArray(new String[0]);
     }
 
     /** {@inheritDoc} */
@@ -78,21 +81,22 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
         NDManager inputManager = inputs.head().getManager();
         boolean foreignEngine =
                 !OrtEngine.ENGINE_NAME.equals(inputManager.getEngine().getEngineName());
-        List<String> inputNames = new ArrayList<>(session.getInputNames());
-        if (inputs.size() != inputNames.size()) {
-            throw new IllegalArgumentException("Input mismatch, looking for: " + inputNames);
+        if (inputs.size() != inputNames.length) {
+            throw new IllegalArgumentException(
+                    "Input mismatch, looking for: " + Arrays.toString(inputNames));
         }
-        Map<String, OnnxTensor> container = new ConcurrentHashMap<>();
+        Map<String, OnnxTensor> container = new HashMap<>(inputNames.length * 2);
         // feed data in to match names
         try (OrtEnvironment env = OrtEnvironment.getEnvironment()) {
-            for (int i = 0; i < inputNames.size(); ++i) {
+            for (int i = 0; i < inputNames.length; ++i) {
                 OnnxTensor tensor;
                 if (foreignEngine) {
+                    // the tensor is created directly over the direct buffer of the array
                     tensor = OrtUtils.toTensor(env, inputs.get(i));
                 } else {
                     tensor = ((OrtNDArray) inputs.get(i)).getTensor();
                 }
-                container.put(inputNames.get(i), tensor);
+                container.put(inputNames[i], tensor);
             }
             // forward
             OrtSession.Result results = session.run(container);
@@ -113,7 +117,6 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
             if ((value instanceof OnnxTensor)) {
                 output.add(OrtUtils.toNDArray(inputManager, (OnnxTensor) value));
             } else if (value instanceof OnnxSequence) {
-                // TODO: avoid memory copying to heap
                 output.add(seq2Nd((OnnxSequence) value, inputManager));
             } else {
                 throw new UnsupportedOperationException("Unsupported output type! " + r.getKey());
@@ -137,7 +140,8 @@ public class OrtSymbolBlock extends AbstractSymbolBlock implements AutoCloseable
                 shape = new Shape(values.size(), valuesTmp.size() / values.size());
                 values = valuesTmp;
             }
-            ByteBuffer buffer = ByteBuffer.allocate(values.size() * type.size);
+            // a direct buffer in native order can be used by the tensor without another copy
+            ByteBuffer buffer = manager.allocateDirect(values.size() * type.size);
             switch (type) {
                 case FLOAT:
                     values.forEach(ele -> buffer.putFloat((Float) ele));
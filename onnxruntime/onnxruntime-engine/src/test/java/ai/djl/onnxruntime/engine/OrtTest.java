@@ -25,9 +25,12 @@ import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ModelNotFoundException;
 import ai.djl.repository.zoo.ModelZoo;
 import ai.djl.repository.zoo.ZooModel;
+import ai.djl.training.ParameterStore;
 import ai.djl.translate.TranslateException;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.testng.Assert;
 import org.testng.SkipException;
 import org.testng.annotations.Test;
@@ -58,6 +61,31 @@ public class OrtTest {
                 m.load(modleFile);
 
                 m.close();
+
+                Map<String, String> options = new ConcurrentHashMap<>();
+                options.put("interOpNumThreads", "1");
+                options.put("intraOpNumThreads", "1");
+                options.put("optLevel", "ALL_OPT");
+                options.put("executionMode", "SEQUENTIAL");
+                options.put("memoryPatternOptimization", "true");
+                options.put("cpuArenaAllocator", "false");
+                try (Model tuned = Model.newInstance("tuned", "OnnxRuntime")) {
+                    tuned.load(modleFile, null, options);
+                    NDArray input =
+                            tuned.getNDManager()
+                                    .create(new float[] {1f, 2f, 3f, 4f}, new Shape(1, 4));
+                    NDList output =
+                            tuned.getBlock()
+                                    .forward(
+                                            new ParameterStore(tuned.getNDManager(), false),
+                                            new NDList(input),
+                                            false);
+                    // the probabilities are a sequence of maps
+                    float[] probabilities = output.get(1).toFloatArray();
+                    Assert.assertEquals(probabilities.length, 3);
+                    Assert.assertTrue(probabilities[2] > probabilities[0]);
+                    Assert.assertTrue(probabilities[2] > probabilities[1]);
+                }
             }
         } catch (UnsatisfiedLinkError e) {
             /*
@@ -67,6 +67,12 @@ public class PpNDManager extends BaseNDManager {
         return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean sharesDirectBuffers() {
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PpNDArray create(Buffer data, Shape shape, DataType dataType) {
@@ -48,6 +48,12 @@ public class PtNDManager extends BaseNDManager {
         return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean sharesDirectBuffers() {
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public PtNDArray create(Shape shape, DataType dataType) {
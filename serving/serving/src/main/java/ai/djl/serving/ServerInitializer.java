@@ -16,6 +16,7 @@ import ai.djl.serving.http.ConfigurableHttpRequestHandler;
 import ai.djl.serving.http.InferenceRequestHandler;
 import ai.djl.serving.http.InvalidRequestHandler;
 import ai.djl.serving.http.ManagementRequestHandler;
+import ai.djl.serving.http.MetricsRequestHandler;
 import ai.djl.serving.plugins.FolderScanPluginManager;
 import ai.djl.serving.util.ConfigManager;
 import ai.djl.serving.util.Connector;
@@ -69,6 +70,7 @@ public class ServerInitializer extends ChannelInitializer<Channel> {
             case MANAGEMENT:
                 pipeline.addLast(new ConfigurableHttpRequestHandler(pluginManager));
                 pipeline.addLast("management", new ManagementRequestHandler());
+                pipeline.addLast("metrics", new MetricsRequestHandler());
                 break;
             case INFERENCE:
                 pipeline.addLast("inference", new InferenceRequestHandler());
@@ -78,6 +80,7 @@ public class ServerInitializer extends ChannelInitializer<Channel> {
                 pipeline.addLast("inference", new InferenceRequestHandler());
                 pipeline.addLast(new ConfigurableHttpRequestHandler(pluginManager));
                 pipeline.addLast("management", new ManagementRequestHandler());
+                pipeline.addLast("metrics", new MetricsRequestHandler());
                 break;
         }
         pipeline.addLast("badRequest", new InvalidRequestHandler());
@@ -25,6 +25,7 @@ public class DescribeModelResponse {
     private int maxWorkers;
     private int batchSize;
     private int maxBatchDelay;
+    private String batchMode;
     private int maxIdleTime;
     private String status;
     private boolean loadedAtStartup;
@@ -162,6 +163,24 @@ public class DescribeModelResponse {
         this.maxBatchDelay = maxBatchDelay;
     }
 
+    /**
+     * Returns the mode workers use to aggregate a batch.
+     *
+     * @return the mode workers use to aggregate a batch
+     */
+    public String getBatchMode() {
+        return batchMode;
+    }
+
+    /**
+     * Sets the mode workers use to aggregate a batch.
+     *
+     * @param batchMode the mode workers use to aggregate a batch
+     */
+    public void setBatchMode(String batchMode) {
+        this.batchMode = batchMode;
+    }
+
     /**
      * Returns the model's status.
      *
@@ -13,6 +13,7 @@
 package ai.djl.serving.http;
 
 import ai.djl.ModelException;
+import ai.djl.modality.BufferedInput;
 import ai.djl.modality.Input;
 import ai.djl.repository.zoo.ModelNotFoundException;
 import ai.djl.serving.util.ConfigManager;
@@ -97,18 +98,34 @@ public class InferenceRequestHandler extends HttpRequestHandler {
             throw new ResourceNotFoundException();
         }
         Input input = requestParser.parseRequest(ctx, req, decoder);
-        predict(ctx, req, input, segments[2]);
+        try {
+            predict(ctx, req, input, segments[2]);
+        } catch (ModelNotFoundException | RuntimeException e) {
+            release(input);
+            throw e;
+        }
     }
 
     private void handleInvocations(
             ChannelHandlerContext ctx, FullHttpRequest req, QueryStringDecoder decoder)
             throws ModelNotFoundException {
         Input input = requestParser.parseRequest(ctx, req, decoder);
+        try {
+            invoke(ctx, req, decoder, input);
+        } catch (ModelNotFoundException | RuntimeException e) {
+            release(input);
+            throw e;
+        }
+    }
+
+    private void invoke(
+            ChannelHandlerContext ctx, FullHttpRequest req, QueryStringDecoder decoder, Input input)
+            throws ModelNotFoundException {
         String modelName = NettyUtils.getParameter(decoder, "model_name", null);
         if ((modelName == null || modelName.isEmpty())) {
             modelName = input.getProperty("model_name", null);
             if (modelName == null) {
-                byte[] buf = input.getContent().get("model_name");
+                byte[] buf = input.getData("model_name");
                 if (buf != null) {
                     modelName = new String(buf, StandardCharsets.UTF_8);
                 }
@@ -129,50 +146,52 @@ public class InferenceRequestHandler extends HttpRequestHandler {
             ChannelHandlerContext ctx, FullHttpRequest req, Input input, String modelName)
             throws ModelNotFoundException {
         ModelManager modelManager = ModelManager.getInstance();
-        ModelInfo model = modelManager.getModels().get(modelName);
+        ModelInfo model = modelManager.getModel(modelName);
         if (model == null) {
-            String regex = ConfigManager.getInstance().getModelUrlPattern();
-            if (regex == null) {
-                throw new ModelNotFoundException("Model not found: " + modelName);
-            }
-            String modelUrl = input.getProperty("model_url", null);
-            if (modelUrl == null) {
-                byte[] buf = input.getContent().get("model_url");
-                if (buf == null) {
-                    throw new ModelNotFoundException("Parameter model_url is required.");
+            String modelUrl = null;
+            if (modelManager.isEvicted(modelName)) {
+                logger.info("Reloading evicted model {}", modelName);
+            } else {
+                String regex = ConfigManager.getInstance().getModelUrlPattern();
+                if (regex == null) {
+                    throw new ModelNotFoundException("Model not found: " + modelName);
                 }
-                modelUrl = new String(buf, StandardCharsets.UTF_8);
-                if (!modelUrl.matches(regex)) {
-                    throw new ModelNotFoundException("Permission denied: " + modelUrl);
+                modelUrl = input.getProperty("model_url", null);
+                if (modelUrl == null) {
+                    byte[] buf = input.getData("model_url");
+                    if (buf == null) {
+                        throw new ModelNotFoundException("Parameter model_url is required.");
+                    }
+                    modelUrl = new String(buf, StandardCharsets.UTF_8);
+                    if (!modelUrl.matches(regex)) {
+                        throw new ModelNotFoundException("Permission denied: " + modelUrl);
+                    }
                 }
+                logger.info("Loading model {} from: {}", modelName, modelUrl);
             }
 
-            logger.info("Loading model {} from: {}", modelName, modelUrl);
+            Job job = new Job(ctx, modelName, input);
 
             modelManager
-                    .registerModel(
-                            modelName,
-                            modelUrl,
-                            ConfigManager.getInstance().getBatchSize(),
-                            ConfigManager.getInstance().getMaxBatchDelay(),
-                            ConfigManager.getInstance().getMaxIdleTime())
-                    .thenAccept(m -> modelManager.triggerModelUpdated(m.scaleWorkers(1, 1)))
+                    .loadModel(modelName, modelUrl)
                     .thenAccept(
                             p -> {
                                 try {
-                                    if (!modelManager.addJob(new Job(ctx, modelName, input))) {
+                                    if (!modelManager.addJob(job)) {
                                         throw new ServiceUnavailableException(
                                                 "No worker is available to serve request: "
                                                         + modelName);
                                     }
                                 } catch (ModelNotFoundException e) {
                                     logger.warn("Unexpected error", e);
+                                    job.releaseInput();
                                     NettyUtils.sendError(ctx, e);
                                 }
                             })
                     .exceptionally(
                             t -> {
                                 logger.warn("Unexpected error", t);
+                                job.releaseInput();
                                 NettyUtils.sendError(ctx, t);
                                 return null;
                             });
@@ -180,15 +199,22 @@ public class InferenceRequestHandler extends HttpRequestHandler {
         }
 
         if (HttpMethod.OPTIONS.equals(req.method())) {
+            release(input);
             NettyUtils.sendJsonResponse(ctx, "{}");
             return;
         }
 
         Job job = new Job(ctx, modelName, input);
-        if (!ModelManager.getInstance().addJob(job)) {
+        if (!modelManager.addJob(job)) {
             logger.error("unable to process prediction. no free worker available.");
             throw new ServiceUnavailableException(
                     "No worker is available to serve request: " + modelName);
         }
     }
+
+    private static void release(Input input) {
+        if (input instanceof BufferedInput) {
+            ((BufferedInput) input).close();
+        }
+    }
 }
@@ -14,7 +14,9 @@ package ai.djl.serving.http;
 
 import ai.djl.ModelException;
 import ai.djl.repository.zoo.ModelNotFoundException;
+import ai.djl.serving.util.ConfigManager;
 import ai.djl.serving.util.NettyUtils;
+import ai.djl.serving.wlm.BatchMode;
 import ai.djl.serving.wlm.ModelInfo;
 import ai.djl.serving.wlm.ModelManager;
 import io.netty.channel.ChannelHandlerContext;
@@ -47,6 +49,8 @@ public class ManagementRequestHandler extends HttpRequestHandler {
     private static final String MODEL_NAME_PARAMETER = "model_name";
     /** HTTP Paramater "max_batch_delay". */
     private static final String MAX_BATCH_DELAY_PARAMETER = "max_batch_delay";
+    /** HTTP Paramater "batch_mode". */
+    private static final String BATCH_MODE_PARAMETER = "batch_mode";
     /** HTTP Paramater "max_idle_time". */
     private static final String MAX_IDLE_TIME__PARAMETER = "max_idle_time";
     /** HTTP Paramater "max_worker". */
@@ -150,6 +154,16 @@ public class ManagementRequestHandler extends HttpRequestHandler {
         int batchSize = NettyUtils.getIntParameter(decoder, BATCH_SIZE_PARAMETER, 1);
         int maxBatchDelay = NettyUtils.getIntParameter(decoder, MAX_BATCH_DELAY_PARAMETER, 100);
         int maxIdleTime = NettyUtils.getIntParameter(decoder, MAX_IDLE_TIME__PARAMETER, 60);
+        BatchMode batchMode;
+        try {
+            String mode = NettyUtils.getParameter(decoder, BATCH_MODE_PARAMETER, null);
+            batchMode =
+                    mode == null
+                            ? ConfigManager.getInstance().getBatchMode()
+                            : BatchMode.fromValue(mode);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid batch_mode parameter.", e);
+        }
         final int initialWorkers =
                 NettyUtils.getIntParameter(decoder, INITIAL_WORKERS_PARAMETER, 1);
         boolean synchronous =
@@ -167,7 +181,8 @@ public class ManagementRequestHandler extends HttpRequestHandler {
                                         modelInfo
                                                 .scaleWorkers(initialWorkers, initialWorkers)
                                                 .configurePool(maxIdleTime, maxBatchDelay)
-                                                .configureModelBatch(batchSize)));
+                                                .configureModelBatch(batchSize)
+                                                .configureBatchMode(batchMode)));
 
         if (synchronous) {
             final String msg = "Model \"" + modelName + "\" registered.";
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.serving.http;
+
+import ai.djl.metric.Histogram;
+import ai.djl.serving.util.NettyUtils;
+import ai.djl.serving.wlm.ModelCacheMetrics;
+import ai.djl.serving.wlm.ModelInfo;
+import ai.djl.serving.wlm.ModelManager;
+import ai.djl.serving.wlm.ModelMetrics;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * A class handling inbound HTTP requests to the metrics API.
+ *
+ * <p>The metrics of all registered models are exported in the Prometheus text exposition format,
+ * labeled by model name, followed by the metrics of the models loaded on demand and evicted.
+ */
+public class MetricsRequestHandler extends HttpRequestHandler {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final Pattern PATTERN = Pattern.compile("^/metrics([/?].*)?");
+
+    private static final long[] BATCH_SIZE_BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+    private static final long[] TIME_BUCKETS = {
+        1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000
+    };
+    private static final long[] LOAD_TIME_BUCKETS = {
+        100, 250, 500, 1000, 2500, 5000, 10000, 30000, 60000, 120000
+    };
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean acceptInboundMessage(Object msg) throws Exception {
+        if (super.acceptInboundMessage(msg)) {
+            FullHttpRequest req = (FullHttpRequest) msg;
+            return PATTERN.matcher(req.uri()).matches();
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void handleRequest(
+            ChannelHandlerContext ctx,
+            FullHttpRequest req,
+            QueryStringDecoder decoder,
+            String[] segments) {
+        if (!HttpMethod.GET.equals(req.method())) {
+            throw new MethodNotAllowedException();
+        }
+
+        ModelManager modelManager = ModelManager.getInstance();
+        Map<String, ModelInfo> models = new TreeMap<>(modelManager.getModels());
+        StringBuilder sb = new StringBuilder();
+
+        header(sb, "djl_serving_requests_total", "counter", "Requests accepted into the queue.");
+        for (ModelInfo model : models.values()) {
+            sample(sb, "djl_serving_requests_total", model, model.getMetrics().getRequests());
+        }
+        header(
+                sb,
+                "djl_serving_requests_rejected_total",
+                "counter",
+                "Requests rejected because the queue was full.");
+        for (ModelInfo model : models.values()) {
+            long value = model.getMetrics().getRejectedRequests();
+            sample(sb, "djl_serving_requests_rejected_total", model, value);
+        }
+        header(
+                sb,
+                "djl_serving_requests_failed_total",
+                "counter",
+                "Requests failed in the backend.");
+        for (ModelInfo model : models.values()) {
+            long value = model.getMetrics().getFailedRequests();
+            sample(sb, "djl_serving_requests_failed_total", model, value);
+        }
+        header(sb, "djl_serving_queue_size", "gauge", "Jobs waiting in the queue.");
+        for (ModelInfo model : models.values()) {
+            long value = modelManager.getQueueLength(model.getModelName());
+            sample(sb, "djl_serving_queue_size", model, value);
+        }
+        header(sb, "djl_serving_queue_capacity", "gauge", "Maximum number of queued jobs.");
+        for (ModelInfo model : models.values()) {
+            sample(sb, "djl_serving_queue_capacity", model, model.getQueueSize());
+        }
+        header(sb, "djl_serving_workers", "gauge", "Running workers.");
+        for (ModelInfo model : models.values()) {
+            long value = modelManager.getNumRunningWorkers(model.getModelName());
+            sample(sb, "djl_serving_workers", model, value);
+        }
+        header(sb, "djl_serving_workers_max", "gauge", "Maximum number of workers.");
+        for (ModelInfo model : models.values()) {
+            sample(sb, "djl_serving_workers_max", model, model.getMaxWorkers());
+        }
+        header(sb, "djl_serving_worker_scale_up_total", "counter", "Workers added under load.");
+        for (ModelInfo model : models.values()) {
+            long value = model.getMetrics().getScaleUps();
+            sample(sb, "djl_serving_worker_scale_up_total", model, value);
+        }
+        header(
+                sb,
+                "djl_serving_worker_scale_up_rejected_total",
+                "counter",
+                "Scale ups refused because max_worker was reached.");
+        for (ModelInfo model : models.values()) {
+            long value = model.getMetrics().getScaleUpsRejected();
+            sample(sb, "djl_serving_worker_scale_up_rejected_total", model, value);
+        }
+        header(sb, "djl_serving_worker_scale_down_total", "counter", "Workers removed.");
+        for (ModelInfo model : models.values()) {
+            long value = model.getMetrics().getScaleDowns();
+            sample(sb, "djl_serving_worker_scale_down_total", model, value);
+        }
+
+        header(sb, "djl_serving_batch_size", "histogram", "Number of jobs per batch.");
+        for (ModelInfo model : models.values()) {
+            Histogram histogram = model.getMetrics().getBatchSize();
+            histogram(sb, "djl_serving_batch_size", model, histogram, BATCH_SIZE_BUCKETS, 1);
+        }
+        header(
+                sb,
+                "djl_serving_queue_wait_seconds",
+                "histogram",
+                "Time jobs spent in the queue.");
+        for (ModelInfo model : models.values()) {
+            Histogram histogram = model.getMetrics().getWaitingTime();
+            histogram(sb, "djl_serving_queue_wait_seconds", model, histogram, TIME_BUCKETS, 1000);
+        }
+        header(
+                sb,
+                "djl_serving_backend_seconds",
+                "histogram",
+                "Time jobs spent in the backend.");
+        for (ModelInfo model : models.values()) {
+            Histogram histogram = model.getMetrics().getBackendTime();
+            histogram(sb, "djl_serving_backend_seconds", model, histogram, TIME_BUCKETS, 1000);
+        }
+
+        long memory = 0;
+        for (ModelInfo model : models.values()) {
+            memory += model.getModelSize();
+        }
+        ModelCacheMetrics cacheMetrics = modelManager.getCacheMetrics();
+        header(sb, "djl_serving_models_loaded", "gauge", "Loaded models.");
+        sample(sb, "djl_serving_models_loaded", models.size());
+        header(
+                sb,
+                "djl_serving_models_memory_bytes",
+                "gauge",
+                "Estimated memory of the loaded models.");
+        sample(sb, "djl_serving_models_memory_bytes", memory);
+        header(
+                sb,
+                "djl_serving_model_cache_hits_total",
+                "counter",
+                "Requests for a loaded model.");
+        sample(sb, "djl_serving_model_cache_hits_total", cacheMetrics.getHits());
+        header(
+                sb,
+                "djl_serving_model_cache_misses_total",
+                "counter",
+                "Model loads triggered by a request.");
+        sample(sb, "djl_serving_model_cache_misses_total", cacheMetrics.getMisses());
+        header(
+                sb,
+                "djl_serving_model_evictions_total",
+                "counter",
+                "Idle models unloaded to stay within the limits.");
+        sample(sb, "djl_serving_model_evictions_total", cacheMetrics.getEvictions());
+        header(
+                sb,
+                "djl_serving_model_load_seconds",
+                "histogram",
+                "Time spent loading models on demand.");
+        histogram(
+                sb,
+                "djl_serving_model_load_seconds",
+                null,
+                cacheMetrics.getLoadTime(),
+                LOAD_TIME_BUCKETS,
+                1000);
+
+        FullHttpResponse resp =
+                new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, false);
+        resp.headers().set(HttpHeaderNames.CONTENT_TYPE, CONTENT_TYPE);
+        resp.content().writeCharSequence(sb, StandardCharsets.UTF_8);
+        NettyUtils.sendHttpResponse(ctx, resp, true);
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, long value) {
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, ModelInfo model, long value) {
+        sb.append(name).append("{model=\"");
+        escape(sb, model.getModelName());
+        sb.append("\"} ").append(value).append('\n');
+    }
+
+    private static void histogram(
+            StringBuilder sb,
+            String name,
+            ModelInfo model,
+            Histogram histogram,
+            long[] buckets,
+            double scale) {
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        for (long bucket : buckets) {
+            sb.append(name).append("_bucket{");
+            label(sb, model);
+            sb.append("le=\"").append(bucket / scale).append("\"} ");
+            sb.append(snapshot.getCountAtOrBelow(bucket)).append('\n');
+        }
+        sb.append(name).append("_bucket{");
+        label(sb, model);
+        sb.append("le=\"+Inf\"} ").append(snapshot.getCount()).append('\n');
+        if (model == null) {
+            sb.append(name).append("_sum ").append(snapshot.getSum() / scale).append('\n');
+            sample(sb, name + "_count", snapshot.getCount());
+        } else {
+            sb.append(name).append("_sum{model=\"");
+            escape(sb, model.getModelName());
+            sb.append("\"} ").append(snapshot.getSum() / scale).append('\n');
+            sample(sb, name + "_count", model, snapshot.getCount());
+        }
+    }
+
+    private static void label(StringBuilder sb, ModelInfo model) {
+        if (model != null) {
+            sb.append("model=\"");
+            escape(sb, model.getModelName());
+            sb.append("\",");
+        }
+    }
+
+    private static void escape(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); ++i) {
+            char c = value.charAt(i);
+            if (c == '\\' || c == '"') {
+                sb.append('\\').append(c);
+            } else if (c == '\n') {
+                sb.append("\\n");
+            } else {
+                sb.append(c);
+            }
+        }
+    }
+}
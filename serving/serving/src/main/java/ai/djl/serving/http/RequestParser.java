@@ -12,8 +12,10 @@
  */
 package ai.djl.serving.http;
 
+import ai.djl.modality.BufferedInput;
 import ai.djl.modality.Input;
 import ai.djl.serving.util.NettyUtils;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderValues;
@@ -48,7 +50,25 @@ public class RequestParser {
     public Input parseRequest(
             ChannelHandlerContext ctx, FullHttpRequest req, QueryStringDecoder decoder) {
         String requestId = NettyUtils.getRequestId(ctx.channel());
-        Input input = new Input(requestId);
+        CharSequence contentType = HttpUtil.getMimeType(req);
+        boolean isForm =
+                HttpPostRequestDecoder.isMultipart(req)
+                        || HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED
+                                .contentEqualsIgnoreCase(contentType);
+        Input input;
+        ByteBuf content = null;
+        if (isForm) {
+            input = new Input(requestId);
+        } else {
+            // keep the body in pooled memory until the job is done, see Job.sendOutput()
+            if (req.content().nioBufferCount() == 1) {
+                content = req.content().retain();
+            } else {
+                int length = req.content().readableBytes();
+                content = ctx.alloc().directBuffer(length).writeBytes(req.content());
+            }
+            input = new BufferedInput(requestId, content::release);
+        }
         if (decoder != null) {
             for (Map.Entry<String, List<String>> entry : decoder.parameters().entrySet()) {
                 String key = entry.getKey();
@@ -58,14 +78,11 @@ public class RequestParser {
             }
         }
 
-        CharSequence contentType = HttpUtil.getMimeType(req);
         for (Map.Entry<String, String> entry : req.headers().entries()) {
             input.addProperty(entry.getKey(), entry.getValue());
         }
 
-        if (HttpPostRequestDecoder.isMultipart(req)
-                || HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.contentEqualsIgnoreCase(
-                        contentType)) {
+        if (isForm) {
             HttpDataFactory factory = new DefaultHttpDataFactory(6553500);
             HttpPostRequestDecoder form = new HttpPostRequestDecoder(factory, req);
             try {
@@ -79,8 +96,7 @@ public class RequestParser {
                 form.destroy();
             }
         } else {
-            byte[] content = NettyUtils.getBytes(req.content());
-            input.addData("body", content);
+            ((BufferedInput) input).addBuffer("body", content.nioBuffer());
         }
         return input;
     }
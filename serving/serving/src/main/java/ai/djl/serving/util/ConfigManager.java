@@ -13,6 +13,7 @@
 package ai.djl.serving.util;
 
 import ai.djl.serving.Arguments;
+import ai.djl.serving.wlm.BatchMode;
 import ai.djl.util.Utils;
 import ai.djl.util.cuda.CudaUtils;
 import io.netty.handler.ssl.SslContext;
@@ -55,6 +56,7 @@ public final class ConfigManager {
     private static final String NUMBER_OF_GPU = "number_of_gpu";
     private static final String BATCH_SIZE = "batch_size";
     private static final String MAX_BATCH_DELAY = "max_batch_delay";
+    private static final String BATCH_MODE = "batch_mode";
     private static final String CORS_ALLOWED_ORIGIN = "cors_allowed_origin";
     private static final String CORS_ALLOWED_METHODS = "cors_allowed_methods";
     private static final String CORS_ALLOWED_HEADERS = "cors_allowed_headers";
@@ -67,6 +69,8 @@ public final class ConfigManager {
     private static final String MODEL_STORE = "model_store";
     private static final String MODEL_URL_PATTERN = "model_url_pattern";
     private static final String PLUGIN_FOLDER = "plugin_folder";
+    private static final String MAX_MODELS = "max_models";
+    private static final String MAX_MODELS_MEMORY = "max_models_memory";
 
     // Configuration which are not documented or enabled through environment variables
     private static final String USE_NATIVE_IO = "use_native_io";
@@ -202,6 +206,15 @@ public final class ConfigManager {
         return getIntProperty(MAX_BATCH_DELAY, 300);
     }
 
+    /**
+     * Returns the default {@link BatchMode} workers use to aggregate a batch.
+     *
+     * @return the default {@link BatchMode}
+     */
+    public BatchMode getBatchMode() {
+        return BatchMode.fromValue(prop.getProperty(BATCH_MODE, "greedy"));
+    }
+
     /**
      * Returns the number of GPUs to be used.
      *
@@ -272,6 +285,26 @@ public final class ConfigManager {
         return prop.getProperty(MODEL_URL_PATTERN);
     }
 
+    /**
+     * Returns the maximum number of models kept loaded, or 0 if unlimited.
+     *
+     * @return the maximum number of models kept loaded
+     */
+    public int getMaxModels() {
+        return getIntProperty(MAX_MODELS, 0);
+    }
+
+    /**
+     * Returns the maximum estimated memory of the models kept loaded in bytes, or 0 if unlimited.
+     *
+     * <p>The value is configured in megabytes.
+     *
+     * @return the maximum estimated memory of the models kept loaded in bytes
+     */
+    public long getMaxModelsMemory() {
+        return getIntProperty(MAX_MODELS_MEMORY, 0) * 1024L * 1024L;
+    }
+
     /**
      * Returns the model urls that to be loaded at startup.
      *
@@ -18,6 +18,7 @@ import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
 
 /**
  * abstract class for all BatchAggregators. A batch aggregator check working queue and combines
@@ -27,9 +28,17 @@ import java.util.concurrent.LinkedBlockingDeque;
  */
 abstract class BatchAggregator {
 
+    private static final double ARRIVAL_SMOOTHING = 0.2;
+
     protected int batchSize;
+    protected int maxBatchDelay;
+    protected BatchMode batchMode;
     protected List<Job> jobs;
     protected LinkedBlockingDeque<Job> jobQueue;
+    protected ModelMetrics metrics;
+
+    private long lastArrival;
+    private double interArrival = Double.NaN;
 
     /**
      * Constructs a new {@code BbatchAggregator} instance.
@@ -39,7 +48,10 @@ abstract class BatchAggregator {
      */
     public BatchAggregator(ModelInfo model, LinkedBlockingDeque<Job> jobQueue) {
         this.batchSize = model.getBatchSize();
+        this.maxBatchDelay = model.getMaxBatchDelay();
+        this.batchMode = model.getBatchMode();
         this.jobQueue = jobQueue;
+        this.metrics = model.getMetrics();
         jobs = new ArrayList<>();
     }
 
@@ -52,6 +64,9 @@ abstract class BatchAggregator {
      */
     public List<Input> getRequest() throws InterruptedException {
         jobs = pollBatch();
+        if (!jobs.isEmpty()) {
+            metrics.addBatch(jobs.size());
+        }
         List<Input> list = new ArrayList<>(jobs.size());
         for (Job job : jobs) {
             job.setScheduled();
@@ -79,17 +94,111 @@ abstract class BatchAggregator {
             }
             job.sendOutput(output);
         }
+        long now = System.currentTimeMillis();
+        for (Job job : jobs) {
+            metrics.addJobTime(job.getScheduled() - job.getBegin(), now - job.getScheduled());
+        }
         jobs.clear();
     }
 
     /** Sends an internal server error. */
     public void sendError() {
+        metrics.addFailedRequests(jobs.size());
         for (Job job : jobs) {
             job.sendError(HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal server error");
         }
         jobs.clear();
     }
 
+    /**
+     * Adds the first job to the batch and fills up the rest of the batch according to the {@link
+     * BatchMode} of the model.
+     *
+     * @param list the list of jobs to fill
+     * @param first the job that opens the batch
+     * @throws InterruptedException if interrupted while waiting for more jobs
+     */
+    protected void fillBatch(List<Job> list, Job first) throws InterruptedException {
+        add(list, first);
+        drain(list);
+        if (batchMode == BatchMode.GREEDY || list.size() >= batchSize || maxBatchDelay <= 0) {
+            return;
+        }
+
+        if (batchMode == BatchMode.ADAPTIVE && !Double.isNaN(interArrival)) {
+            // An idle stream does not deserve a wait: if no job arrived within the expected gap
+            // the batch is dispatched right away.
+            long idleTimeout = Math.max(1, (long) Math.ceil(2 * interArrival));
+            if (currentTimeMillis() - lastArrival > idleTimeout) {
+                return;
+            }
+            // The more jobs were already queued, the less time is left for waiting.
+            int missing = batchSize - list.size();
+            long budget = (long) maxBatchDelay * missing / batchSize;
+            budget = Math.min(budget, (long) Math.ceil(missing * interArrival));
+            waitForJobs(list, first.getBegin() + budget, idleTimeout);
+        } else {
+            // DEADLINE, or ADAPTIVE before the first inter-arrival time is observed
+            waitForJobs(list, first.getBegin() + maxBatchDelay, maxBatchDelay);
+        }
+    }
+
+    private void waitForJobs(List<Job> list, long deadline, long idleTimeout)
+            throws InterruptedException {
+        while (list.size() < batchSize) {
+            long remaining = deadline - currentTimeMillis();
+            if (remaining <= 0) {
+                return;
+            }
+            Job job = jobQueue.poll(Math.min(remaining, idleTimeout), TimeUnit.MILLISECONDS);
+            if (job == null) {
+                return;
+            }
+            add(list, job);
+            drain(list);
+        }
+    }
+
+    private void drain(List<Job> list) {
+        int size = list.size();
+        jobQueue.drainTo(list, batchSize - size);
+        if (batchMode == BatchMode.ADAPTIVE) {
+            for (int i = size; i < list.size(); ++i) {
+                observeArrival(list.get(i));
+            }
+        }
+    }
+
+    private void add(List<Job> list, Job job) {
+        list.add(job);
+        if (batchMode == BatchMode.ADAPTIVE) {
+            observeArrival(job);
+        }
+    }
+
+    private void observeArrival(Job job) {
+        long arrival = job.getBegin();
+        if (lastArrival > 0 && arrival >= lastArrival) {
+            // cap the gap so a single idle period doesn't dominate the estimation
+            double gap = Math.min(arrival - lastArrival, maxBatchDelay);
+            if (Double.isNaN(interArrival)) {
+                interArrival = gap;
+            } else {
+                interArrival = ARRIVAL_SMOOTHING * gap + (1 - ARRIVAL_SMOOTHING) * interArrival;
+            }
+        }
+        lastArrival = Math.max(lastArrival, arrival);
+    }
+
+    /**
+     * Returns the current time, which the deadlines of the batches are based on.
+     *
+     * @return the current time in milliseconds
+     */
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
     /**
      * Fills in the list with a batch of jobs.
      *
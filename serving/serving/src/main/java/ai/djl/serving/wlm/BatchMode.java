@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.serving.wlm;
+
+/** An enum represents how a {@link BatchAggregator} forms a batch from the job queue. */
+public enum BatchMode {
+
+    /** Takes the first job and whatever else is already queued, never waits for more jobs. */
+    GREEDY,
+
+    /**
+     * Waits until the batch is full or {@code max_batch_delay} milliseconds have passed since the
+     * first job of the batch arrived.
+     */
+    DEADLINE,
+
+    /**
+     * Like {@link #DEADLINE}, but shrinks the wait based on the observed inter-arrival time and
+     * dispatches early when no new job arrives within the expected inter-arrival gap.
+     */
+    ADAPTIVE;
+
+    /**
+     * Returns the {@code BatchMode} from its name, case insensitive.
+     *
+     * @param value the name of the batch mode
+     * @return the {@code BatchMode}
+     * @throws IllegalArgumentException if the value is not a valid batch mode
+     */
+    public static BatchMode fromValue(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+}
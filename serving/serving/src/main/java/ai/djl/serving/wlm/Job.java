@@ -12,16 +12,20 @@
  */
 package ai.djl.serving.wlm;
 
+import ai.djl.modality.BufferedInput;
 import ai.djl.modality.Input;
 import ai.djl.modality.Output;
 import ai.djl.serving.http.InternalServerException;
 import ai.djl.serving.util.NettyUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpVersion;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +40,7 @@ public class Job {
     private Input input;
     private long begin;
     private long scheduled;
+    private AtomicReference<ModelInfo> model;
 
     /**
      * Constructs an new {@code Job} instance.
@@ -51,6 +56,7 @@ public class Job {
 
         begin = System.currentTimeMillis();
         scheduled = begin;
+        model = new AtomicReference<>();
     }
 
     /**
@@ -80,6 +86,24 @@ public class Job {
         return input;
     }
 
+    /**
+     * Returns the time in milliseconds when the job was created.
+     *
+     * @return the time in milliseconds when the job was created
+     */
+    public long getBegin() {
+        return begin;
+    }
+
+    /**
+     * Returns the time in milliseconds when the job was scheduled to a worker.
+     *
+     * @return the time in milliseconds when the job was scheduled to a worker
+     */
+    public long getScheduled() {
+        return scheduled;
+    }
+
     /** Marks the job has been scheduled. */
     public void setScheduled() {
         scheduled = System.currentTimeMillis();
@@ -91,12 +115,15 @@ public class Job {
      * @param output the output
      */
     public void sendOutput(Output output) {
+        releaseInput();
+        // wraps the output without copying, the response is the only reference to it
+        ByteBuf content = Unpooled.wrappedBuffer(output.getContent());
         FullHttpResponse resp =
-                new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, false);
+                new DefaultFullHttpResponse(
+                        HttpVersion.HTTP_1_1, HttpResponseStatus.OK, content, false);
         for (Map.Entry<String, String> entry : output.getProperties().entrySet()) {
             resp.headers().set(entry.getKey(), entry.getValue());
         }
-        resp.content().writeBytes(output.getContent());
 
         /*
          * We can load the models based on the configuration file.Since this Job is
@@ -121,6 +148,7 @@ public class Job {
      * @param error the error message
      */
     public void sendError(HttpResponseStatus status, String error) {
+        releaseInput();
         /*
          * We can load the models based on the configuration file.Since this Job is
          * not driven by the external connections, we could have a empty context for
@@ -136,4 +164,35 @@ public class Job {
                 scheduled - begin,
                 System.currentTimeMillis() - begin);
     }
+
+    /**
+     * Releases the memory held by the input, and the model used by the job.
+     *
+     * <p>The request body of a {@link BufferedInput} stays in pooled memory until the job is
+     * completed, and the model can't be evicted while it is used by a job. This must be called once
+     * the job leaves the queue without a response.
+     */
+    public void releaseInput() {
+        if (input instanceof BufferedInput) {
+            ((BufferedInput) input).close();
+        }
+        releaseModel();
+    }
+
+    /**
+     * Sets the model acquired for this job, which is released when the job is completed.
+     *
+     * @param model the model acquired for this job
+     */
+    void setModel(ModelInfo model) {
+        this.model.set(model);
+    }
+
+    /** Releases the model acquired for this job, if it hasn't been released yet. */
+    void releaseModel() {
+        ModelInfo acquired = model.getAndSet(null);
+        if (acquired != null) {
+            acquired.release();
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.serving.wlm;
+
+import ai.djl.metric.Histogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class holds the metrics of the models loaded and evicted by the {@link ModelManager}.
+ *
+ * <p>A hit is a request for a model that is loaded, a miss is a request that has to wait for the
+ * model to be loaded, either for the first time or after it was evicted.
+ */
+public final class ModelCacheMetrics {
+
+    private LongAdder hits = new LongAdder();
+    private LongAdder misses = new LongAdder();
+    private LongAdder evictions = new LongAdder();
+    private Histogram loadTime = new Histogram();
+
+    void addHit() {
+        hits.increment();
+    }
+
+    void addMiss() {
+        misses.increment();
+    }
+
+    void addEviction() {
+        evictions.increment();
+    }
+
+    void addLoadTime(long millis) {
+        loadTime.record(Math.max(0, millis));
+    }
+
+    /**
+     * Returns the number of requests for a loaded model.
+     *
+     * @return the number of requests for a loaded model
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of model loads triggered by a request.
+     *
+     * @return the number of model loads triggered by a request
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of models evicted to stay within the budget.
+     *
+     * @return the number of models evicted
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the {@link Histogram} of milliseconds spent loading the models on demand.
+     *
+     * @return the {@link Histogram} of milliseconds spent loading the models
+     */
+    public Histogram getLoadTime() {
+        return loadTime;
+    }
+}
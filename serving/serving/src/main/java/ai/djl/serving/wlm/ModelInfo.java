@@ -16,8 +16,15 @@ import ai.djl.modality.Input;
 import ai.djl.modality.Output;
 import ai.djl.repository.FilenameUtils;
 import ai.djl.repository.zoo.ZooModel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +42,11 @@ public final class ModelInfo implements AutoCloseable, Cloneable {
     private int batchSize;
     private int maxBatchDelay;
     private int maxIdleTime;
+    private BatchMode batchMode;
+    private ModelMetrics metrics;
+    private AtomicLong lastUsed;
+    private AtomicInteger jobs;
+    private long modelSize;
 
     private ZooModel<Input, Output> model;
 
@@ -64,6 +76,13 @@ public final class ModelInfo implements AutoCloseable, Cloneable {
         this.maxIdleTime = maxIdleTime; // default max idle time 60s
         this.queueSize = queueSize;
         this.batchSize = batchSize;
+        this.batchMode = BatchMode.GREEDY;
+        this.metrics = new ModelMetrics();
+        this.lastUsed = new AtomicLong(System.currentTimeMillis());
+        this.jobs = new AtomicInteger();
+        if (model != null) {
+            modelSize = getDirectorySize(model.getModelPath());
+        }
     }
 
     /**
@@ -85,6 +104,25 @@ public final class ModelInfo implements AutoCloseable, Cloneable {
         return clone;
     }
 
+    /**
+     * Sets a new {@link BatchMode} and returns a new configured ModelInfo object. You have to
+     * triggerUpdates in the {@code ModelManager} using this new model.
+     *
+     * @param batchMode the way workers aggregate jobs into a batch
+     * @return new configured ModelInfo.
+     */
+    public ModelInfo configureBatchMode(BatchMode batchMode) {
+        ModelInfo clone;
+        try {
+            clone = (ModelInfo) this.clone();
+            clone.batchMode = batchMode;
+        } catch (CloneNotSupportedException e) {
+            // this should never happen, cause we know we are cloneable.
+            throw new AssertionError(e);
+        }
+        return clone;
+    }
+
     /**
      * Sets new workers capcities for this model and returns a new configured ModelInfo object. You
      * have to triggerUpdates in the {@code ModelManager} using this new model.
@@ -113,7 +151,9 @@ public final class ModelInfo implements AutoCloseable, Cloneable {
      *
      * @param maxIdleTime time a WorkerThread can be idle before scaling down this worker.
      * @param maxBatchDelay maximum time to wait for a free space in worker queue after scaling up
-     *     workers before giving up to offer the job to the queue.
+     *     workers before giving up to offer the job to the queue, and the maximum time a batch is
+     *     held back to aggregate more jobs in {@link BatchMode#DEADLINE} and {@link
+     *     BatchMode#ADAPTIVE} mode.
      * @return new configured ModelInfo.
      */
     public ModelInfo configurePool(int maxIdleTime, int maxBatchDelay) {
@@ -210,6 +250,94 @@ public final class ModelInfo implements AutoCloseable, Cloneable {
         return maxBatchDelay;
     }
 
+    /**
+     * Returns the {@link BatchMode} workers use to aggregate a batch.
+     *
+     * @return the {@link BatchMode} workers use to aggregate a batch
+     */
+    public BatchMode getBatchMode() {
+        return batchMode;
+    }
+
+    /**
+     * Returns the runtime metrics of this model.
+     *
+     * <p>The metrics are shared by all configured copies of this {@code ModelInfo}.
+     *
+     * @return the runtime metrics of this model
+     */
+    public ModelMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the time the model was last requested, in milliseconds since the epoch.
+     *
+     * <p>The time is shared by all configured copies of this {@code ModelInfo}.
+     *
+     * @return the time the model was last requested
+     */
+    public long getLastUsed() {
+        return lastUsed.get();
+    }
+
+    void touch() {
+        lastUsed.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the number of jobs that are queued or running on this model.
+     *
+     * <p>The count is shared by all configured copies of this {@code ModelInfo}.
+     *
+     * @return the number of jobs that are queued or running on this model
+     */
+    public int getInFlightJobs() {
+        return Math.max(0, jobs.get());
+    }
+
+    /**
+     * Records a job dispatched to this model, unless the model has been retired.
+     *
+     * @return {@code true} if the job can use this model
+     */
+    boolean acquire() {
+        while (true) {
+            int count = jobs.get();
+            if (count < 0) {
+                return false;
+            }
+            if (jobs.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Records that a job taken with {@link #acquire()} is completed. */
+    void release() {
+        jobs.decrementAndGet();
+    }
+
+    /**
+     * Retires this model if no job is using it, no job can acquire it afterwards.
+     *
+     * @return {@code true} if the model has been retired
+     */
+    boolean retire() {
+        return jobs.compareAndSet(0, -1);
+    }
+
+    /**
+     * Returns the estimated memory size of the model in bytes.
+     *
+     * <p>The size is estimated from the size of the model files.
+     *
+     * @return the estimated memory size of the model in bytes
+     */
+    public long getModelSize() {
+        return modelSize;
+    }
+
     /**
      * Returns the configured size of the workers queue.
      *
@@ -228,6 +356,25 @@ public final class ModelInfo implements AutoCloseable, Cloneable {
         }
     }
 
+    private long getDirectorySize(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return 0;
+        }
+        long size = 0;
+        try (Stream<Path> stream = Files.walk(dir)) {
+            Iterator<Path> it = stream.iterator();
+            while (it.hasNext()) {
+                Path file = it.next();
+                if (Files.isRegularFile(file)) {
+                    size += Files.size(file);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to estimate the size of model {}", modelName, e);
+        }
+        return size;
+    }
+
     /**
      * Infer model name form model URL in case model name is not provided.
      *
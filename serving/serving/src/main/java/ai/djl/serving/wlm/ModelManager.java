@@ -22,7 +22,10 @@ import ai.djl.repository.zoo.ZooModel;
 import ai.djl.serving.http.BadRequestException;
 import ai.djl.serving.http.DescribeModelResponse;
 import ai.djl.serving.util.ConfigManager;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -33,7 +36,15 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** A class that in charge of managing models. */
+/**
+ * A class that in charge of managing models.
+ *
+ * <p>The number of loaded models and their estimated memory can be limited with {@code max_models}
+ * and {@code max_models_memory}. Once a model is loaded beyond the limits, the least recently used
+ * models that have no queued or running jobs are evicted, except the models loaded at startup. An
+ * evicted model keeps its configuration and is loaded again by the next request for it. All the
+ * requests for a model that is being loaded wait for the same load.
+ */
 public final class ModelManager {
 
     private static final Logger logger = LoggerFactory.getLogger(ModelManager.class);
@@ -43,13 +54,25 @@ public final class ModelManager {
     private ConfigManager configManager;
     private WorkLoadManager wlm;
     private ConcurrentHashMap<String, ModelInfo> models;
+    private ConcurrentHashMap<String, ModelInfo> evictedModels;
+    private ConcurrentHashMap<String, CompletableFuture<ModelInfo>> loadingModels;
     private Set<String> startupModels;
+    private ModelCacheMetrics cacheMetrics;
+    private ModelLoader loader;
 
     private ModelManager(ConfigManager configManager) {
+        this(configManager, ModelManager::loadZooModel);
+    }
+
+    ModelManager(ConfigManager configManager, ModelLoader loader) {
         this.configManager = configManager;
+        this.loader = loader;
         wlm = new WorkLoadManager(configManager);
         models = new ConcurrentHashMap<>();
+        evictedModels = new ConcurrentHashMap<>();
+        loadingModels = new ConcurrentHashMap<>();
         startupModels = new HashSet<>();
+        cacheMetrics = new ModelCacheMetrics();
     }
 
     /**
@@ -89,21 +112,17 @@ public final class ModelManager {
         return CompletableFuture.supplyAsync(
                 () -> {
                     try {
-                        Criteria<Input, Output> criteria =
-                                Criteria.builder()
-                                        .setTypes(Input.class, Output.class)
-                                        .optModelUrls(modelUrl)
-                                        .build();
-                        ZooModel<Input, Output> model = ModelZoo.loadModel(criteria);
+                        ZooModel<Input, Output> model = loader.load(modelUrl);
                         ModelInfo modelInfo =
                                 new ModelInfo(
-                                        modelName,
-                                        modelUrl,
-                                        model,
-                                        configManager.getJobQueueSize(),
-                                        maxIdleTime,
-                                        maxBatchDelay,
-                                        batchSize);
+                                                modelName,
+                                                modelUrl,
+                                                model,
+                                                configManager.getJobQueueSize(),
+                                                maxIdleTime,
+                                                maxBatchDelay,
+                                                batchSize)
+                                        .configureBatchMode(configManager.getBatchMode());
 
                         ModelInfo existingModel = models.putIfAbsent(modelName, modelInfo);
                         if (existingModel != null) {
@@ -112,7 +131,9 @@ public final class ModelManager {
                             throw new BadRequestException(
                                     "Model " + modelName + " is already registered.");
                         }
+                        evictedModels.remove(modelName);
                         logger.info("Model {} loaded.", modelInfo.getModelName());
+                        evictModels(modelName);
 
                         return modelInfo;
                     } catch (ModelException | IOException e) {
@@ -130,17 +151,136 @@ public final class ModelManager {
     public boolean unregisterModel(String modelName) {
         ModelInfo model = models.remove(modelName);
         if (model == null) {
+            if (evictedModels.remove(modelName) != null) {
+                logger.info("Model {} unregistered.", modelName);
+                return true;
+            }
             logger.warn("Model not found: " + modelName);
             return false;
         }
-        model = model.scaleWorkers(0, 0);
-        wlm.modelChanged(model);
+        shutdownModel(model);
         startupModels.remove(modelName);
-        model.close();
         logger.info("Model {} unregistered.", modelName);
         return true;
     }
 
+    /**
+     * Returns a loaded model by its name, and records that the model is used.
+     *
+     * @param modelName the model name
+     * @return the loaded model, or {@code null} if the model is not loaded
+     */
+    public ModelInfo getModel(String modelName) {
+        ModelInfo model = models.get(modelName);
+        if (model != null) {
+            model.touch();
+            cacheMetrics.addHit();
+        }
+        return model;
+    }
+
+    /**
+     * Returns if a model has been evicted, and will be loaded again by the next request.
+     *
+     * @param modelName the model name
+     * @return {@code true} if the model has been evicted
+     */
+    public boolean isEvicted(String modelName) {
+        return evictedModels.containsKey(modelName);
+    }
+
+    /**
+     * Loads a model on demand with one worker, or with its previous configuration if it was
+     * evicted.
+     *
+     * <p>If the model is already being loaded, the returned future completes with the same load.
+     *
+     * @param modelName the name of the model
+     * @param modelUrl the model url, or {@code null} to load an evicted model
+     * @return a {@code CompletableFuture} instance
+     */
+    public CompletableFuture<ModelInfo> loadModel(String modelName, String modelUrl) {
+        CompletableFuture<ModelInfo> future = new CompletableFuture<>();
+        CompletableFuture<ModelInfo> loading = loadingModels.putIfAbsent(modelName, future);
+        if (loading != null) {
+            return loading;
+        }
+        ModelInfo model;
+        ModelInfo evicted;
+        synchronized (this) {
+            // a model is evicted while holding the lock, it is either loaded or evicted here
+            model = models.get(modelName);
+            evicted = evictedModels.get(modelName);
+        }
+        if (model != null) {
+            // loaded by another request after the caller looked it up
+            loadingModels.remove(modelName);
+            model.touch();
+            future.complete(model);
+            return future;
+        }
+
+        if (evicted == null && modelUrl == null) {
+            loadingModels.remove(modelName);
+            future.completeExceptionally(
+                    new ModelNotFoundException("Model not found: " + modelName));
+            return future;
+        }
+        cacheMetrics.addMiss();
+        long begin = System.currentTimeMillis();
+        CompletableFuture<ModelInfo> registered;
+        if (evicted == null) {
+            registered =
+                    registerModel(
+                                    modelName,
+                                    modelUrl,
+                                    configManager.getBatchSize(),
+                                    configManager.getMaxBatchDelay(),
+                                    configManager.getMaxIdleTime())
+                            .thenApply(m -> m.scaleWorkers(1, 1));
+        } else {
+            int maxWorkers = Math.max(1, evicted.getMaxWorkers());
+            int minWorkers = Math.min(Math.max(1, evicted.getMinWorkers()), maxWorkers);
+            registered =
+                    registerModel(
+                                    modelName,
+                                    evicted.getModelUrl(),
+                                    evicted.getBatchSize(),
+                                    evicted.getMaxBatchDelay(),
+                                    evicted.getMaxIdleTime())
+                            .thenApply(
+                                    m ->
+                                            m.configureBatchMode(evicted.getBatchMode())
+                                                    .scaleWorkers(minWorkers, maxWorkers));
+        }
+        registered
+                .thenApply(
+                        m -> {
+                            triggerModelUpdated(m);
+                            cacheMetrics.addLoadTime(System.currentTimeMillis() - begin);
+                            return m;
+                        })
+                .whenComplete(
+                        (m, t) -> {
+                            loadingModels.remove(modelName);
+                            if (t == null) {
+                                future.complete(m);
+                            } else {
+                                future.completeExceptionally(t);
+                            }
+                        });
+        return future;
+    }
+
+    /**
+     * Returns the metrics of the models loaded on demand and evicted.
+     *
+     * @return the metrics of the models loaded on demand and evicted
+     */
+    public ModelCacheMetrics getCacheMetrics() {
+        return cacheMetrics;
+    }
+
     /**
      * trigger that a ModelInfo has been updated. Updates model workers for this model and scales
      * up/down all workers to match the parameters for the model.
@@ -177,6 +317,9 @@ public final class ModelManager {
     /**
      * Adds an inference job to the job queue. Assign the job to the next free worker.
      *
+     * <p>The model can't be evicted until the job is completed. If the model has just been evicted,
+     * it is loaded again, and the job is added once the model is loaded.
+     *
      * @param job an inference job to be executed
      * @return {@code true} if submit success
      * @throws ModelNotFoundException if the model is not registered
@@ -184,10 +327,41 @@ public final class ModelManager {
     public boolean addJob(Job job) throws ModelNotFoundException {
         String modelName = job.getModelName();
         ModelInfo model = models.get(modelName);
-        if (model == null) {
-            throw new ModelNotFoundException("Model not found: " + modelName);
+        if (model == null || !model.acquire()) {
+            // an evicted model is added to the evicted models before it is removed
+            if (model == null && !isEvicted(modelName)) {
+                throw new ModelNotFoundException("Model not found: " + modelName);
+            }
+            reloadForJob(job);
+            return true;
+        }
+        model.touch();
+        job.setModel(model);
+        boolean accepted = wlm.addJob(model, job);
+        if (!accepted) {
+            job.releaseModel();
         }
-        return wlm.addJob(model, job);
+        return accepted;
+    }
+
+    /**
+     * Returns the number of jobs waiting in the queue of the specified model.
+     *
+     * @param modelName the model to be queried
+     * @return the number of jobs waiting in the queue of the specified model
+     */
+    public int getQueueLength(String modelName) {
+        return wlm.getQueueLength(modelName);
+    }
+
+    /**
+     * Returns the number of running workers of the specified model.
+     *
+     * @param modelName the model to be queried
+     * @return the number of running workers of the specified model
+     */
+    public int getNumRunningWorkers(String modelName) {
+        return wlm.getNumRunningWorkers(modelName);
     }
 
     /**
@@ -208,6 +382,7 @@ public final class ModelManager {
         resp.setModelUrl(model.getModelUrl());
         resp.setBatchSize(model.getBatchSize());
         resp.setMaxBatchDelay(model.getMaxBatchDelay());
+        resp.setBatchMode(model.getBatchMode().name());
         resp.setMaxWorkers(model.getMaxWorkers());
         resp.setMinWorkers(model.getMinWorkers());
         resp.setMaxIdleTime(model.getMaxIdleTime());
@@ -228,6 +403,89 @@ public final class ModelManager {
         return resp;
     }
 
+    private void reloadForJob(Job job) {
+        String modelName = job.getModelName();
+        logger.info("Reloading evicted model {}", modelName);
+        loadModel(modelName, null)
+                .whenComplete(
+                        (m, t) -> {
+                            if (t != null) {
+                                logger.warn("Failed to load model {}", modelName, t);
+                                job.sendError(
+                                        HttpResponseStatus.INTERNAL_SERVER_ERROR,
+                                        "Failed to load model: " + modelName);
+                                return;
+                            }
+                            try {
+                                if (!addJob(job)) {
+                                    job.sendError(
+                                            HttpResponseStatus.SERVICE_UNAVAILABLE,
+                                            "No worker is available to serve request: "
+                                                    + modelName);
+                                }
+                            } catch (ModelNotFoundException e) {
+                                job.sendError(HttpResponseStatus.NOT_FOUND, e.getMessage());
+                            }
+                        });
+    }
+
+    private synchronized void evictModels(String loadedModel) {
+        int maxModels = configManager.getMaxModels();
+        long maxMemory = configManager.getMaxModelsMemory();
+        if (maxModels <= 0 && maxMemory <= 0) {
+            return;
+        }
+        int count = 0;
+        long memory = 0;
+        List<ModelInfo> candidates = new ArrayList<>();
+        for (ModelInfo model : models.values()) {
+            ++count;
+            memory += model.getModelSize();
+            String modelName = model.getModelName();
+            if (!modelName.equals(loadedModel) && !startupModels.contains(modelName)) {
+                candidates.add(model);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(ModelInfo::getLastUsed));
+        for (ModelInfo model : candidates) {
+            if ((maxModels <= 0 || count <= maxModels) && (maxMemory <= 0 || memory <= maxMemory)) {
+                return;
+            }
+            // a model with queued or running jobs is kept, and can't be used by new jobs once
+            // it is retired
+            if (!model.retire()) {
+                continue;
+            }
+            String modelName = model.getModelName();
+            evictedModels.put(modelName, model);
+            models.remove(modelName);
+            shutdownModel(model);
+            cacheMetrics.addEviction();
+            --count;
+            memory -= model.getModelSize();
+            logger.info("Model {} evicted.", modelName);
+        }
+        if ((maxModels > 0 && count > maxModels) || (maxMemory > 0 && memory > maxMemory)) {
+            logger.warn("Unable to evict enough idle models to stay within the limits.");
+        }
+    }
+
+    private void shutdownModel(ModelInfo model) {
+        model = model.scaleWorkers(0, 0);
+        wlm.modelChanged(model);
+        model.close();
+    }
+
+    private static ZooModel<Input, Output> loadZooModel(String modelUrl)
+            throws ModelException, IOException {
+        Criteria<Input, Output> criteria =
+                Criteria.builder()
+                        .setTypes(Input.class, Output.class)
+                        .optModelUrls(modelUrl)
+                        .build();
+        return ModelZoo.loadModel(criteria);
+    }
+
     /**
      * Sends model server health status to client.
      *
@@ -254,4 +512,19 @@ public final class ModelManager {
                     return response;
                 });
     }
+
+    /** Loads the {@link ZooModel} of a model url. */
+    @FunctionalInterface
+    interface ModelLoader {
+
+        /**
+         * Loads the {@link ZooModel} of a model url.
+         *
+         * @param modelUrl the model url
+         * @return the loaded {@link ZooModel}
+         * @throws ModelException if the model can't be loaded
+         * @throws IOException if the model files can't be read
+         */
+        ZooModel<Input, Output> load(String modelUrl) throws ModelException, IOException;
+    }
 }
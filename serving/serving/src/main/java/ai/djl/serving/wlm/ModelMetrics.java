@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.serving.wlm;
+
+import ai.djl.metric.Histogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class holds the runtime metrics of a model.
+ *
+ * <p>All metrics are recorded without locking, so they can be updated on the inference path.
+ */
+public final class ModelMetrics {
+
+    private LongAdder requests = new LongAdder();
+    private LongAdder rejectedRequests = new LongAdder();
+    private LongAdder failedRequests = new LongAdder();
+    private LongAdder scaleUps = new LongAdder();
+    private LongAdder scaleDowns = new LongAdder();
+    private LongAdder scaleUpsRejected = new LongAdder();
+    private Histogram batchSize = new Histogram();
+    private Histogram waitingTime = new Histogram();
+    private Histogram backendTime = new Histogram();
+
+    void addRequest(boolean accepted) {
+        if (accepted) {
+            requests.increment();
+        } else {
+            rejectedRequests.increment();
+        }
+    }
+
+    void addFailedRequests(int count) {
+        failedRequests.add(count);
+    }
+
+    void addScaleUp(boolean success) {
+        if (success) {
+            scaleUps.increment();
+        } else {
+            scaleUpsRejected.increment();
+        }
+    }
+
+    void addScaleDown(int count) {
+        scaleDowns.add(count);
+    }
+
+    void addBatch(int size) {
+        batchSize.record(size);
+    }
+
+    void addJobTime(long waiting, long backend) {
+        waitingTime.record(Math.max(0, waiting));
+        backendTime.record(Math.max(0, backend));
+    }
+
+    /**
+     * Returns the number of requests accepted into the job queue.
+     *
+     * @return the number of requests accepted into the job queue
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of requests rejected because the job queue was full.
+     *
+     * @return the number of requests rejected because the job queue was full
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    /**
+     * Returns the number of requests that failed in the backend.
+     *
+     * @return the number of requests that failed in the backend
+     */
+    public long getFailedRequests() {
+        return failedRequests.sum();
+    }
+
+    /**
+     * Returns the number of workers added to handle load.
+     *
+     * @return the number of workers added to handle load
+     */
+    public long getScaleUps() {
+        return scaleUps.sum();
+    }
+
+    /**
+     * Returns the number of times a scale up was needed but {@code max_worker} was reached.
+     *
+     * @return the number of rejected scale ups
+     */
+    public long getScaleUpsRejected() {
+        return scaleUpsRejected.sum();
+    }
+
+    /**
+     * Returns the number of workers removed, either idle or by a configuration change.
+     *
+     * @return the number of workers removed
+     */
+    public long getScaleDowns() {
+        return scaleDowns.sum();
+    }
+
+    /**
+     * Returns the {@link Histogram} of the batch sizes formed by the {@link BatchAggregator}.
+     *
+     * @return the {@link Histogram} of the batch sizes
+     */
+    public Histogram getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Returns the {@link Histogram} of milliseconds jobs spent in the queue.
+     *
+     * @return the {@link Histogram} of milliseconds jobs spent in the queue
+     */
+    public Histogram getWaitingTime() {
+        return waitingTime;
+    }
+
+    /**
+     * Returns the {@link Histogram} of milliseconds jobs spent in the backend.
+     *
+     * @return the {@link Histogram} of milliseconds jobs spent in the backend
+     */
+    public Histogram getBackendTime() {
+        return backendTime;
+    }
+}
@@ -43,8 +43,7 @@ public class PermanentBatchAggregator extends BatchAggregator {
     protected List<Job> pollBatch() throws InterruptedException {
         List<Job> list = new ArrayList<>(batchSize);
         Job job = jobQueue.take();
-        list.add(job);
-        jobQueue.drainTo(list, batchSize - 1);
+        fillBatch(list, job);
         logger.trace("sending jobs, size: {}", list.size());
         return list;
     }
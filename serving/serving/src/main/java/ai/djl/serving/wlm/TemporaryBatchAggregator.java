@@ -49,8 +49,7 @@ public class TemporaryBatchAggregator extends BatchAggregator {
         List<Job> list = new ArrayList<>(batchSize);
         Job job = jobQueue.poll(maxIdleTime, TimeUnit.SECONDS);
         if (job != null) {
-            list.add(job);
-            jobQueue.drainTo(list, batchSize - 1);
+            fillBatch(list, job);
             logger.trace("sending jobs, size: {}", list.size());
             idleSince = System.currentTimeMillis();
         }
@@ -13,6 +13,7 @@
 package ai.djl.serving.wlm;
 
 import ai.djl.serving.util.ConfigManager;
+import io.netty.handler.codec.http.HttpResponseStatus;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -102,7 +103,12 @@ class WorkLoadManager {
                 logger.info(
                         "Worker Queue Capacity Exceeded. cannot add to worker queue in appropriate time. You can configure max batch delay time for this model.");
             }
+            if (accepted && workerPools.get(modelInfo.getModelName()) != pool) {
+                // the pool was shut down while the job was added, and its queue was rejected
+                accepted = !pool.getJobQueue().remove(job);
+            }
         }
+        modelInfo.getMetrics().addRequest(accepted);
         return accepted;
     }
 
@@ -111,10 +117,12 @@ class WorkLoadManager {
         if (currentWorkers < modelInfo.getMaxWorkers()) {
             logger.debug("scaling up workers for model {} to {} ", modelInfo, currentWorkers + 1);
             addThreads(pool.getWorkers(), modelInfo, 1, false);
+            modelInfo.getMetrics().addScaleUp(true);
         } else {
             logger.warn(
                     "scale up capacity of {} workers reached. Unable to scale up worker pool.",
                     modelInfo.getMaxWorkers());
+            modelInfo.getMetrics().addScaleUp(false);
         }
     }
 
@@ -142,6 +150,20 @@ class WorkLoadManager {
         return numWorking;
     }
 
+    /**
+     * Returns the number of jobs waiting in the queue of a model.
+     *
+     * @param modelName the model we are interested in.
+     * @return number of jobs waiting in the queue.
+     */
+    public int getQueueLength(String modelName) {
+        WorkerPool pool = workerPools.get(modelName);
+        if (pool == null) {
+            return 0;
+        }
+        return pool.getJobQueue().size();
+    }
+
     /**
      * trigger a model change event. scales up and down workers to match minWorkers/maxWorkers.
      *
@@ -173,6 +195,7 @@ class WorkLoadManager {
                     addThreads(threads, modelInfo, minWorker - numberOfCurrentFixedWorkers, true);
                 } else {
                     // scale down the fixed pool
+                    modelInfo.getMetrics().addScaleDown(numberOfCurrentFixedWorkers - minWorker);
                     fixedPoolThread
                             .subList(minWorker, numberOfCurrentFixedWorkers)
                             .forEach(
@@ -181,6 +204,11 @@ class WorkLoadManager {
                                         t.shutdown(WorkerState.WORKER_SCALED_DOWN);
                                     });
                 }
+                if (minWorker == 0) {
+                    // the queue is not used anymore, the jobs that are still waiting would never
+                    // be completed nor release their input
+                    pool.rejectJobs();
+                }
                 pool.log();
             }
         }
@@ -270,6 +298,20 @@ class WorkLoadManager {
             }
         }
 
+        /** Sends an error to the queued jobs, which releases their input and model. */
+        public void rejectJobs() {
+            List<Job> jobs = new ArrayList<>();
+            jobQueue.drainTo(jobs);
+            for (Job job : jobs) {
+                job.sendError(
+                        HttpResponseStatus.SERVICE_UNAVAILABLE,
+                        "No worker is available to serve request: " + modelName);
+            }
+            if (!jobs.isEmpty()) {
+                logger.info("Rejected {} queued jobs of model {}", jobs.size(), modelName);
+            }
+        }
+
         /** removes all stopped workers and workers in state error from the pool. */
         public void cleanup() {
             workers.removeIf(
@@ -39,6 +39,7 @@ final class WorkerThread implements Runnable {
     private int workerId;
     private long startTime;
     private boolean fixPoolThread;
+    private ModelMetrics metrics;
 
     /**
      * Builds a workerThread with this builder.
@@ -53,6 +54,7 @@ final class WorkerThread implements Runnable {
         this.startTime = System.currentTimeMillis();
         predictor = builder.model.getModel().newPredictor();
         this.fixPoolThread = builder.fixPoolThread;
+        this.metrics = builder.model.getMetrics();
     }
 
     /** {@inheritDoc} */
@@ -77,6 +79,10 @@ final class WorkerThread implements Runnable {
                 }
                 req = null;
             }
+            if (aggregator.isFinished()) {
+                // temporary worker scaled down after max idle time
+                metrics.addScaleDown(1);
+            }
 
         } catch (InterruptedException e) {
             logger.debug("Shutting down the thread .. Scaling down.");
@@ -157,6 +157,7 @@ public class ModelServerTest {
         testInvocations(channel);
         testInvocationsMultipart(channel);
         testDescribeApi(channel);
+        testMetrics(channel);
 
         // management API
         testRegisterModel(channel);
@@ -397,6 +398,20 @@ public class ModelServerTest {
         Assert.assertEquals(result, "{}\n");
     }
 
+    private void testMetrics(Channel channel) throws InterruptedException {
+        reset();
+        HttpRequest req =
+                new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, "/metrics");
+        channel.writeAndFlush(req);
+        latch.await();
+
+        Assert.assertEquals(httpStatus, HttpResponseStatus.OK);
+        Assert.assertTrue(result.contains("djl_serving_requests_total{model=\"mlp\"} 3"));
+        Assert.assertTrue(result.contains("djl_serving_batch_size_count{model=\"mlp\"} 3"));
+        Assert.assertTrue(result.contains("djl_serving_queue_size{model=\"mlp\"} 0"));
+        Assert.assertTrue(result.contains("djl_serving_models_loaded 1"));
+    }
+
     private void testPredictionsInvalidRequestSize(Channel channel) throws InterruptedException {
         reset();
         DefaultFullHttpRequest req =
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.serving.wlm;
+
+import ai.djl.modality.Input;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the deadlines of the {@link BatchAggregator}, and compares the batches formed by each
+ * {@link BatchMode} under load, in virtual time.
+ */
+public class BatchAggregatorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchAggregatorTest.class);
+
+    private static final int JOBS = 500;
+    private static final int BATCH_SIZE = 8;
+    private static final int MAX_BATCH_DELAY = 20;
+    private static final double MEAN_ARRIVAL_MILLIS = 2;
+
+    @Test
+    public void testDeadlineBatching() throws InterruptedException {
+        LoadReport greedy = runLoad(BatchMode.GREEDY);
+        LoadReport deadline = runLoad(BatchMode.DEADLINE);
+        LoadReport adaptive = runLoad(BatchMode.ADAPTIVE);
+
+        logger.info("greedy:   {}", greedy);
+        logger.info("deadline: {}", deadline);
+        logger.info("adaptive: {}", adaptive);
+
+        for (LoadReport report : new LoadReport[] {greedy, deadline, adaptive}) {
+            Assert.assertEquals(report.latencies.size(), JOBS);
+            Assert.assertEquals(report.histogram[0], 0);
+        }
+        Assert.assertTrue(deadline.meanBatchSize() > greedy.meanBatchSize());
+        // a batch is never held back longer than max_batch_delay, plus the time of one batch
+        Assert.assertTrue(deadline.percentile(100) <= MAX_BATCH_DELAY + serviceTime(BATCH_SIZE));
+    }
+
+    @Test
+    public void testFullBatchIsNotHeldBack() throws InterruptedException {
+        VirtualQueue queue = new VirtualQueue();
+        BatchAggregator aggregator = newAggregator(queue, 1000);
+        List<Job> full = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; ++i) {
+            full.add(new Job(null, "test", new Input(String.valueOf(i))));
+        }
+        queue.addAll(full);
+        queue.now = full.get(0).getBegin();
+
+        // a full batch is dispatched without waiting for the deadline
+        Assert.assertEquals(aggregator.pollBatch(), full);
+        Assert.assertEquals(queue.now, full.get(0).getBegin());
+    }
+
+    @Test
+    public void testLoneJobWaitsForDeadline() throws InterruptedException {
+        VirtualQueue queue = new VirtualQueue();
+        BatchAggregator aggregator = newAggregator(queue, 100);
+        Job job = new Job(null, "test", new Input("0"));
+        queue.add(job);
+        queue.now = job.getBegin();
+
+        // a lone job is dispatched alone once its deadline is reached
+        Assert.assertEquals(aggregator.pollBatch(), Collections.singletonList(job));
+        Assert.assertEquals(queue.now, job.getBegin() + 100);
+    }
+
+    @Test
+    public void testJobsJoinBatchUntilDeadline() throws InterruptedException {
+        VirtualQueue queue = new VirtualQueue();
+        BatchAggregator aggregator = newAggregator(queue, 100);
+        Job first = new Job(null, "test", new Input("0"));
+        Job second = new Job(null, "test", new Input("1"));
+        Job late = new Job(null, "test", new Input("2"));
+        queue.add(first);
+        queue.now = first.getBegin();
+        queue.schedule(first.getBegin() + 30, second);
+        queue.schedule(first.getBegin() + 150, late);
+
+        // the job arriving before the deadline joins the batch, the late job waits for the next
+        Assert.assertEquals(aggregator.pollBatch(), Arrays.asList(first, second));
+        Assert.assertEquals(queue.now, first.getBegin() + 100);
+        Assert.assertEquals(queue.arrivals.size(), 1);
+    }
+
+    private static BatchAggregator newAggregator(VirtualQueue queue, int maxBatchDelay) {
+        ModelInfo model =
+                new ModelInfo("test", "", null, 100, 60, maxBatchDelay, BATCH_SIZE)
+                        .configureBatchMode(BatchMode.DEADLINE);
+        return newAggregator(queue, model);
+    }
+
+    private static BatchAggregator newAggregator(VirtualQueue queue, ModelInfo model) {
+        return new PermanentBatchAggregator(model, queue) {
+
+            /** {@inheritDoc} */
+            @Override
+            long currentTimeMillis() {
+                return queue.now;
+            }
+        };
+    }
+
+    private LoadReport runLoad(BatchMode mode) throws InterruptedException {
+        ModelInfo model =
+                new ModelInfo("test", "", null, JOBS, 60, MAX_BATCH_DELAY, BATCH_SIZE)
+                        .configureBatchMode(mode);
+        VirtualQueue queue = new VirtualQueue();
+        BatchAggregator aggregator = newAggregator(queue, model);
+
+        // Poisson arrivals
+        Random random = new Random(1);
+        long arrival = 0;
+        for (int i = 0; i < JOBS; ++i) {
+            double u = 1 - random.nextDouble();
+            arrival += Math.round(-Math.log(u) * MEAN_ARRIVAL_MILLIS);
+            queue.schedule(arrival, new VirtualJob(arrival, i));
+        }
+
+        LoadReport report = new LoadReport();
+        while (report.latencies.size() < JOBS) {
+            List<Job> batch = aggregator.pollBatch();
+            // simulated backend
+            queue.advance(queue.now + serviceTime(batch.size()));
+            report.histogram[batch.size()]++;
+            for (Job job : batch) {
+                report.latencies.add(queue.now - job.getBegin());
+            }
+        }
+        return report;
+    }
+
+    /** Returns the time of the simulated backend: a fixed batch cost, plus a small item cost. */
+    private static long serviceTime(int batchSize) {
+        return 1 + batchSize / 4;
+    }
+
+    /** A job queue in virtual time, where waiting for a job moves the time forward. */
+    private static final class VirtualQueue extends LinkedBlockingDeque<Job> {
+
+        private static final long serialVersionUID = 1L;
+
+        long now;
+        TreeMap<Long, List<Job>> arrivals = new TreeMap<>();
+
+        void schedule(long time, Job job) {
+            arrivals.computeIfAbsent(time, k -> new ArrayList<>()).add(job);
+        }
+
+        /**
+         * Moves the time forward, and adds the jobs that arrived in the meantime to the queue.
+         *
+         * @param time the new time
+         */
+        void advance(long time) {
+            now = Math.max(now, time);
+            while (!arrivals.isEmpty() && arrivals.firstKey() <= now) {
+                addAll(arrivals.pollFirstEntry().getValue());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Job take() {
+            advance(now);
+            Job job = poll();
+            if (job == null) {
+                if (arrivals.isEmpty()) {
+                    throw new IllegalStateException("No job is scheduled");
+                }
+                advance(arrivals.firstKey());
+                job = poll();
+            }
+            return job;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Job poll(long timeout, TimeUnit unit) {
+            advance(now);
+            Job job = poll();
+            if (job != null) {
+                return job;
+            }
+            long until = now + unit.toMillis(timeout);
+            if (!arrivals.isEmpty() && arrivals.firstKey() <= until) {
+                advance(arrivals.firstKey());
+                return poll();
+            }
+            now = until;
+            return null;
+        }
+    }
+
+    /** A job that arrived at a virtual time. */
+    private static final class VirtualJob extends Job {
+
+        private long begin;
+
+        VirtualJob(long begin, int id) {
+            super(null, "test", new Input(String.valueOf(id)));
+            this.begin = begin;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long getBegin() {
+            return begin;
+        }
+    }
+
+    private static final class LoadReport {
+
+        int[] histogram = new int[BATCH_SIZE + 1];
+        List<Long> latencies = new ArrayList<>();
+
+        double meanBatchSize() {
+            int batches = 0;
+            for (int count : histogram) {
+                batches += count;
+            }
+            return (double) latencies.size() / batches;
+        }
+
+        long percentile(int percentile) {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            int index = sorted.size() * percentile / 100;
+            return sorted.get(Math.min(index, sorted.size() - 1));
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("batch size histogram:");
+            for (int i = 1; i < histogram.length; ++i) {
+                sb.append(' ').append(i).append('=').append(histogram[i]);
+            }
+            sb.append(String.format(", mean batch size: %.2f", meanBatchSize()))
+                    .append(", p50: ")
+                    .append(percentile(50))
+                    .append(" ms, p99: ")
+                    .append(percentile(99))
+                    .append(" ms");
+            return sb.toString();
+        }
+    }
+}
@@ -22,4 +22,16 @@ public class ModelInfoTest {
         ModelInfo modelInfo = new ModelInfo("", "", null, 4711, 1, 300, 1);
         Assert.assertEquals(4711, modelInfo.getQueueSize());
     }
+
+    @Test
+    public void testLastUsedIsShared() throws InterruptedException {
+        ModelInfo modelInfo = new ModelInfo("", "", null, 4711, 1, 300, 1);
+        ModelInfo scaled = modelInfo.scaleWorkers(1, 2);
+        long created = modelInfo.getLastUsed();
+        Thread.sleep(2);
+        scaled.touch();
+        Assert.assertTrue(modelInfo.getLastUsed() > created);
+        Assert.assertEquals(modelInfo.getLastUsed(), scaled.getLastUsed());
+        Assert.assertEquals(modelInfo.getModelSize(), 0);
+    }
 }
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.serving.wlm;
+
+import ai.djl.Device;
+import ai.djl.Model;
+import ai.djl.inference.Predictor;
+import ai.djl.modality.BufferedInput;
+import ai.djl.modality.Input;
+import ai.djl.modality.Output;
+import ai.djl.ndarray.NDManager;
+import ai.djl.repository.zoo.ModelNotFoundException;
+import ai.djl.repository.zoo.ZooModel;
+import ai.djl.serving.Arguments;
+import ai.djl.serving.ConfigManagerTest;
+import ai.djl.serving.util.ConfigManager;
+import ai.djl.translate.TranslateException;
+import ai.djl.translate.Translator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.cli.ParseException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ModelManagerTest {
+
+    private AtomicInteger loads = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() {
+        loads.set(0);
+    }
+
+    @Test
+    public void testMaxModels() throws ReflectiveOperationException, ParseException {
+        ModelManager manager = newModelManager("max_models", "2");
+        register(manager, "a");
+        register(manager, "b");
+        // the least recently used model is evicted
+        manager.getModel("a");
+        register(manager, "c");
+
+        Assert.assertEquals(manager.getModels().keySet(), models("a", "c"));
+        Assert.assertTrue(manager.isEvicted("b"));
+        Assert.assertEquals(manager.getCacheMetrics().getEvictions(), 1);
+
+        // an evicted model is unregistered without being loaded
+        Assert.assertTrue(manager.unregisterModel("b"));
+        Assert.assertFalse(manager.isEvicted("b"));
+        manager.unregisterModel("a");
+        manager.unregisterModel("c");
+    }
+
+    @Test
+    public void testMaxModelsMemory()
+            throws ReflectiveOperationException, ParseException, IOException {
+        ModelManager manager = newModelManager("max_models_memory", "1");
+        Path dir = Paths.get("build/tmp/testModels");
+        for (String name : new String[] {"a", "b", "c"}) {
+            Files.createDirectories(dir.resolve(name));
+            Files.write(dir.resolve(name).resolve("model.params"), new byte[400 * 1024]);
+        }
+        register(manager, dir.resolve("a").toString());
+        register(manager, dir.resolve("b").toString());
+        Assert.assertEquals(manager.getModels().size(), 2);
+
+        register(manager, dir.resolve("c").toString());
+        Assert.assertEquals(
+                manager.getModels().keySet(),
+                models(dir.resolve("b").toString(), dir.resolve("c").toString()));
+        for (String name : manager.getModels().keySet()) {
+            manager.unregisterModel(name);
+        }
+    }
+
+    @Test
+    public void testInFlightJobsAreNotEvicted()
+            throws ReflectiveOperationException, ParseException {
+        ModelManager manager = newModelManager("max_models", "1");
+        register(manager, "a");
+        ModelInfo model = manager.getModel("a");
+
+        // a job taken off the queue by a worker still holds the model
+        Job job = new Job(null, "a", new Input("1"));
+        Assert.assertTrue(model.acquire());
+        job.setModel(model);
+        register(manager, "b");
+        Assert.assertEquals(manager.getModels().keySet(), models("a", "b"));
+        Assert.assertEquals(model.getInFlightJobs(), 1);
+
+        job.sendError(HttpResponseStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+        Assert.assertEquals(model.getInFlightJobs(), 0);
+        register(manager, "c");
+        Assert.assertTrue(manager.isEvicted("a"));
+
+        // jobs can't use a retired model
+        Assert.assertFalse(model.acquire());
+        manager.unregisterModel("a");
+        manager.unregisterModel("b");
+        manager.unregisterModel("c");
+    }
+
+    @Test
+    public void testJobReloadsEvictedModel()
+            throws ReflectiveOperationException, ParseException, ModelNotFoundException {
+        ModelManager manager = newModelManager("max_models", "1");
+        register(manager, "a");
+        register(manager, "b");
+        Assert.assertTrue(manager.isEvicted("a"));
+
+        // the request looked up the model before it was evicted
+        Assert.assertTrue(manager.addJob(new Job(null, "a", new Input("1"))));
+        // waits for the load started by the job
+        manager.loadModel("a", null).join();
+        Assert.assertEquals(manager.getModels().keySet(), models("a"));
+        Assert.assertEquals(loads.get(), 3);
+        manager.unregisterModel("a");
+        manager.unregisterModel("b");
+    }
+
+    @Test
+    public void testSingleFlightLoad()
+            throws ReflectiveOperationException, ParseException, InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        ModelManager manager =
+                newModelManager(
+                        url -> {
+                            loading.countDown();
+                            try {
+                                if (!done.await(10, TimeUnit.SECONDS)) {
+                                    throw new IOException("Timeout");
+                                }
+                            } catch (InterruptedException e) {
+                                throw new IOException(e);
+                            }
+                            return newModel(url);
+                        });
+        CompletableFuture<ModelInfo> first = manager.loadModel("a", "a");
+        Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+        CompletableFuture<ModelInfo> second = manager.loadModel("a", "a");
+        Assert.assertSame(second, first);
+        done.countDown();
+
+        ModelInfo model = first.join();
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertSame(manager.loadModel("a", null).join().getModel(), model.getModel());
+        Assert.assertEquals(loads.get(), 1);
+        Assert.assertEquals(manager.getCacheMetrics().getMisses(), 1);
+        manager.unregisterModel("a");
+    }
+
+    @Test
+    public void testQueuedJobsAreReleased()
+            throws ReflectiveOperationException, ParseException, InterruptedException,
+                    ModelNotFoundException {
+        CountDownLatch running = new CountDownLatch(1);
+        ModelManager manager = newModelManager(url -> newBlockingModel(url, running));
+        manager.registerModel("a", "a", 1, 100, 60).join();
+        ModelInfo model = manager.getModel("a");
+        manager.triggerModelUpdated(model.scaleWorkers(1, 1));
+
+        // the only worker is busy with the first job, the next jobs wait in the queue
+        Assert.assertTrue(manager.addJob(new Job(null, "a", new Input("1"))));
+        Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+        AtomicInteger released = new AtomicInteger();
+        for (int i = 0; i < 2; ++i) {
+            BufferedInput input = new BufferedInput("queued", released::incrementAndGet);
+            input.addBuffer("data", ByteBuffer.allocate(4));
+            Assert.assertTrue(manager.addJob(new Job(null, "a", input)));
+        }
+        Assert.assertEquals(manager.getQueueLength("a"), 2);
+
+        manager.unregisterModel("a");
+        Assert.assertEquals(released.get(), 2);
+        Assert.assertEquals(manager.getQueueLength("a"), 0);
+        Assert.assertEquals(model.getInFlightJobs(), 0);
+    }
+
+    private ModelManager newModelManager(String key, String value)
+            throws ReflectiveOperationException, ParseException {
+        ModelManager manager = newModelManager(this::newModel);
+        ConfigManagerTest.setConfiguration(getConfigManager(manager), key, value);
+        return manager;
+    }
+
+    private ModelManager newModelManager(ModelManager.ModelLoader loader)
+            throws ReflectiveOperationException, ParseException {
+        // a private configuration, the global instance is used by the model server tests
+        Constructor<ConfigManager> constructor =
+                ConfigManager.class.getDeclaredConstructor(Arguments.class);
+        constructor.setAccessible(true);
+        ConfigManager config =
+                constructor.newInstance(ConfigManagerTest.parseArguments(new String[0]));
+        return new ModelManager(config, loader);
+    }
+
+    private static ConfigManager getConfigManager(ModelManager manager)
+            throws ReflectiveOperationException {
+        Field field = ModelManager.class.getDeclaredField("configManager");
+        field.setAccessible(true);
+        return (ConfigManager) field.get(manager);
+    }
+
+    private static void register(ModelManager manager, String name) {
+        manager.registerModel(name, name, 1, 100, 60).join();
+        try {
+            // the models must have distinct last used times
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Set<String> models(String... names) {
+        return new HashSet<>(Arrays.asList(names));
+    }
+
+    /**
+     * Returns a model without engine, whose model directory is the model url.
+     *
+     * @param modelUrl the model url
+     * @return a model without engine
+     */
+    @SuppressWarnings("unchecked")
+    private ZooModel<Input, Output> newModel(String modelUrl) {
+        loads.incrementAndGet();
+        Path dir = Paths.get(modelUrl);
+        NDManager manager =
+                (NDManager)
+                        Proxy.newProxyInstance(
+                                NDManager.class.getClassLoader(),
+                                new Class<?>[] {NDManager.class},
+                                (p, m, args) -> {
+                                    if (m.getReturnType() == Device.class) {
+                                        return Device.cpu();
+                                    }
+                                    return m.getReturnType() == NDManager.class ? p : null;
+                                });
+        Model model =
+                (Model)
+                        Proxy.newProxyInstance(
+                                Model.class.getClassLoader(),
+                                new Class<?>[] {Model.class},
+                                (p, m, args) -> {
+                                    switch (m.getName()) {
+                                        case "getModelPath":
+                                            return dir;
+                                        case "getNDManager":
+                                            return manager;
+                                        case "newPredictor":
+                                            return new Predictor<>(
+                                                    (Model) p, (Translator<?, ?>) args[0], false);
+                                        default:
+                                            return null;
+                                    }
+                                });
+        return new ZooModel<>(model, null);
+    }
+
+    /**
+     * Returns a model without engine, whose predictions block until the worker is interrupted.
+     *
+     * @param modelUrl the model url
+     * @param running counted down when a prediction is running
+     * @return a model without engine
+     */
+    private ZooModel<Input, Output> newBlockingModel(String modelUrl, CountDownLatch running) {
+        ZooModel<Input, Output> model = newModel(modelUrl);
+        Model blocking =
+                (Model)
+                        Proxy.newProxyInstance(
+                                Model.class.getClassLoader(),
+                                new Class<?>[] {Model.class},
+                                (p, m, args) -> {
+                                    if (!"newPredictor".equals(m.getName())) {
+                                        return m.invoke(model.getWrappedModel(), args);
+                                    }
+                                    return new Predictor<Input, Output>(
+                                            (Model) p, null, false) {
+                                        /** {@inheritDoc} */
+                                        @Override
+                                        public List<Output> batchPredict(List<Input> inputs)
+                                                throws TranslateException {
+                                            running.countDown();
+                                            try {
+                                                new CountDownLatch(1).await();
+                                            } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                            }
+                                            throw new TranslateException("Interrupted");
+                                        }
+                                    };
+                                });
+        return new ZooModel<>(blocking, null);
+    }
+}
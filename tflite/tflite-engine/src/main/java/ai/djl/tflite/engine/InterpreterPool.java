@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.tflite.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.tensorflow.lite.Interpreter;
+
+/**
+ * A pool of TFLite {@link Interpreter}s of the same model.
+ *
+ * <p>An {@link Interpreter} is not thread safe. Each {@link ai.djl.inference.Predictor} checks out
+ * its own interpreter, and returns it to the pool when it is closed, so that the next predictor
+ * doesn't need to create it again. All the interpreters share the same memory-mapped model file.
+ */
+final class InterpreterPool implements AutoCloseable {
+
+    private ByteBuffer model;
+    private Interpreter.Options options;
+    private Queue<Interpreter> idle;
+    private Queue<Interpreter> interpreters;
+    private volatile boolean closed;
+
+    InterpreterPool(Path modelFile, int numThreads) throws IOException {
+        try (FileChannel channel = FileChannel.open(modelFile, StandardOpenOption.READ)) {
+            model = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        options = new Interpreter.Options();
+        if (numThreads > 0) {
+            options.setNumThreads(numThreads);
+        }
+        idle = new ConcurrentLinkedQueue<>();
+        interpreters = new ConcurrentLinkedQueue<>();
+        // creates the first interpreter eagerly to validate the model
+        release(acquire());
+    }
+
+    /**
+     * Takes an idle interpreter from the pool, or creates a new one.
+     *
+     * @return an interpreter for the exclusive use of the caller
+     */
+    Interpreter acquire() {
+        if (closed) {
+            throw new IllegalStateException("The TFLite model is already closed.");
+        }
+        Interpreter interpreter = idle.poll();
+        if (interpreter == null) {
+            interpreter = new Interpreter(model, options);
+            interpreters.add(interpreter);
+        }
+        return interpreter;
+    }
+
+    /**
+     * Returns an interpreter to the pool.
+     *
+     * @param interpreter the interpreter taken from {@link #acquire()}
+     */
+    void release(Interpreter interpreter) {
+        if (closed) {
+            interpreter.close();
+        } else {
+            idle.offer(interpreter);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        closed = true;
+        idle.clear();
+        Interpreter interpreter;
+        while ((interpreter = interpreters.poll()) != null) {
+            interpreter.close();
+        }
+    }
+}
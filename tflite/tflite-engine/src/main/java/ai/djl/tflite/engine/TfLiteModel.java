@@ -14,20 +14,27 @@ package ai.djl.tflite.engine;
 
 import ai.djl.BaseModel;
 import ai.djl.Model;
+import ai.djl.inference.Predictor;
 import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
+import ai.djl.translate.Translator;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
-import org.tensorflow.lite.Interpreter;
 
 /**
  * {@code TfLiteModel} is the TFLite implementation of {@link Model}.
  *
  * <p>TfLiteModel contains all the methods in Model to load and process a model. In addition, it
  * provides TFLite Specific functionality
+ *
+ * <p>The model can be loaded with the option {@code numThreads} to set the number of threads of
+ * each TFLite interpreter. With the option {@code zeroCopyOutputs}, the outputs of a predictor are
+ * not copied from the output tensors of its interpreter, and are only valid until the next forward
+ * of the predictor. This must not be used with a translator that keeps the output arrays, or with a
+ * predictor that runs the next forward before the outputs are processed.
  */
 public class TfLiteModel extends BaseModel {
 
@@ -58,8 +65,31 @@ public class TfLiteModel extends BaseModel {
                 throw new FileNotFoundException("TFLite model file not found in: " + modelPath);
             }
         }
-        Interpreter interpreter = new Interpreter(modelFile.toFile());
-        setBlock(new TfLiteSymbolBlock(interpreter, getNDManager()));
+        int numThreads = -1;
+        if (options != null && options.containsKey("numThreads")) {
+            numThreads = Integer.parseInt(options.get("numThreads").toString());
+        }
+        boolean zeroCopy = false;
+        if (options != null && options.containsKey("zeroCopyOutputs")) {
+            zeroCopy = Boolean.parseBoolean(options.get("zeroCopyOutputs").toString());
+        }
+        InterpreterPool pool = new InterpreterPool(modelFile, numThreads);
+        setBlock(new TfLiteSymbolBlock(pool, getNDManager(), zeroCopy));
+    }
+
+    /**
+     * Creates a new Predictor based on the model, which runs on its own TFLite interpreter.
+     *
+     * <p>The predictors of the model can be used concurrently from different threads.
+     *
+     * @param translator the object used for pre-processing and postprocessing
+     * @param <I> the input object for pre-processing
+     * @param <O> the output object from postprocessing
+     * @return an instance of {@code Predictor}
+     */
+    @Override
+    public <I, O> Predictor<I, O> newPredictor(Translator<I, O> translator) {
+        return new TfLitePredictor<>(this, translator);
     }
 
     /** {@inheritDoc} */
@@ -19,9 +19,9 @@ import ai.djl.ndarray.NDManager;
 import ai.djl.ndarray.types.DataType;
 import ai.djl.ndarray.types.Shape;
 import ai.djl.ndarray.types.SparseFormat;
+import ai.djl.util.Utils;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
-import java.util.UUID;
 import org.tensorflow.lite.Tensor;
 
 /** {@code TfLiteNDArray} is the TFLite implementation of {@link NDArray}. */
@@ -38,7 +38,7 @@ public class TfLiteNDArray implements NDArrayAdapter {
 
     TfLiteNDArray(TfLiteNDManager manager, Tensor tensor) {
         this.manager = manager;
-        uid = UUID.randomUUID().toString();
+        uid = Utils.newUid();
         manager.attachInternal(uid, this);
         this.tensor = tensor;
         shape = new Shape(Arrays.stream(tensor.shape()).mapToLong(i -> i).toArray());
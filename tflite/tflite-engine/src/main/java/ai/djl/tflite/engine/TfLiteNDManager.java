@@ -46,6 +46,12 @@ public class TfLiteNDManager extends BaseNDManager {
         return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public boolean sharesDirectBuffers() {
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override
     public TfLiteNDArray create(Buffer data, Shape shape, DataType dataType) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2021 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"). You may not use this file except in compliance
+ * with the License. A copy of the License is located at
+ *
+ * http://aws.amazon.com/apache2.0/
+ *
+ * or in the "license" file accompanying this file. This file is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES
+ * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
+ * and limitations under the License.
+ */
+package ai.djl.tflite.engine;
+
+import ai.djl.inference.Predictor;
+import ai.djl.translate.Translator;
+
+/**
+ * {@code TfLitePredictor} is a {@link Predictor} that runs on its own TFLite interpreter.
+ *
+ * <p>Predictors of the same {@link TfLiteModel} can be used concurrently from different threads.
+ *
+ * @param <I> the input type
+ * @param <O> the output type
+ */
+class TfLitePredictor<I, O> extends Predictor<I, O> {
+
+    TfLitePredictor(TfLiteModel model, Translator<I, O> translator) {
+        super(model, translator, false);
+        block = ((TfLiteSymbolBlock) model.getBlock()).checkout();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() {
+        super.close();
+        ((TfLiteSymbolBlock) block).close();
+    }
+}
@@ -10,34 +10,68 @@
  * OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions
  * and limitations under the License.
  */
-
 package ai.djl.tflite.engine;
 
-import ai.djl.ndarray.NDArray;
 import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.nn.AbstractSymbolBlock;
 import ai.djl.nn.SymbolBlock;
 import ai.djl.training.ParameterStore;
 import ai.djl.util.PairList;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import org.tensorflow.lite.Interpreter;
+import org.tensorflow.lite.Tensor;
 
 /**
  * {@code TfLiteSymbolBlock} is the TFLite implementation of {@link SymbolBlock}.
  *
  * <p>You can create a {@code TfLiteSymbolBlock} using {@link ai.djl.Model#load(java.nio.file.Path,
  * String)}.
+ *
+ * <p>The block of the model borrows an interpreter from the pool for each forward. Each {@link
+ * TfLitePredictor} uses a block returned by {@link #checkout()} instead, which keeps the same
+ * interpreter and reuses its input buffers. In both cases, the outputs are copied from the output
+ * tensors, unless the model is loaded with the option {@code zeroCopyOutputs}. The outputs of a
+ * predictor then point to the output tensors of its interpreter, and are only valid until its next
+ * forward.
  */
 public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoCloseable {
 
     private static final byte VERSION = 1;
 
     private TfLiteNDManager manager;
+    private InterpreterPool pool;
     private Interpreter interpreter;
+    private boolean zeroCopy;
+    private Object[] inputBuffers;
+    private ByteBuffer[] outputBuffers;
 
-    TfLiteSymbolBlock(Interpreter interpreter, TfLiteNDManager manager) {
+    TfLiteSymbolBlock(InterpreterPool pool, TfLiteNDManager manager, boolean zeroCopy) {
+        this(pool, null, manager, zeroCopy);
+    }
+
+    private TfLiteSymbolBlock(
+            InterpreterPool pool,
+            Interpreter interpreter,
+            TfLiteNDManager manager,
+            boolean zeroCopy) {
         super(VERSION);
+        this.pool = pool;
         this.interpreter = interpreter;
         this.manager = manager;
+        this.zeroCopy = zeroCopy;
+    }
+
+    /**
+     * Returns a block that runs on its own interpreter until it is closed.
+     *
+     * @return a block that runs on its own interpreter
+     */
+    TfLiteSymbolBlock checkout() {
+        return new TfLiteSymbolBlock(pool, pool.acquire(), manager, zeroCopy);
     }
 
     /** {@inheritDoc} */
@@ -47,20 +81,81 @@ public class TfLiteSymbolBlock extends AbstractSymbolBlock implements AutoClosea
             NDList inputs,
             boolean training,
             PairList<String, Object> params) {
-        Object[] intInput = inputs.stream().map(NDArray::toByteBuffer).toArray();
-        interpreter.runForMultipleInputsOutputs(intInput);
+        if (pool == null) {
+            throw new IllegalStateException("The predictor is already closed.");
+        }
+        if (interpreter != null) {
+            return run(interpreter, inputs, false);
+        }
+        Interpreter borrowed = pool.acquire();
+        try {
+            return run(borrowed, inputs, true);
+        } finally {
+            pool.release(borrowed);
+        }
+    }
+
+    private NDList run(Interpreter interpreter, NDList inputs, boolean shared) {
+        // the block of the model can be used by multiple threads, only a predictor reuses buffers
+        Object[] buffers = inputBuffers;
+        if (shared || buffers == null || buffers.length != inputs.size()) {
+            buffers = new Object[inputs.size()];
+        }
+        // arrays of TfLiteNDManager are direct buffers, which are copied to the tensors with memcpy
+        for (int i = 0; i < buffers.length; ++i) {
+            buffers[i] = inputs.get(i).toByteBuffer();
+        }
+        interpreter.runForMultipleInputsOutputs(buffers);
+        Arrays.fill(buffers, null);
 
         int outputSize = interpreter.getOutputTensorCount();
+        // the output tensors are overwritten by the next forward, which may run while the outputs
+        // are still in use, so they are only shared when explicitly requested
+        boolean copy = shared || !zeroCopy;
+        if (!shared) {
+            inputBuffers = buffers;
+        }
+        if (!copy && outputBuffers == null) {
+            outputBuffers = new ByteBuffer[outputSize];
+        }
         NDList result = new NDList(outputSize);
         for (int i = 0; i < outputSize; i++) {
-            result.add(new TfLiteNDArray(manager, interpreter.getOutputTensor(i)));
+            Tensor tensor = interpreter.getOutputTensor(i);
+            Shape shape = new Shape(Arrays.stream(tensor.shape()).mapToLong(d -> d).toArray());
+            DataType dataType = TfLiteDataType.fromTf(tensor.dataType());
+            ByteBuffer data;
+            if (copy) {
+                ByteBuffer buffer = tensor.buffer();
+                data = manager.allocateDirect(buffer.remaining());
+                data.put(buffer);
+                data.rewind();
+            } else {
+                // the inputs are buffers, which never resize the tensors, so the memory of the
+                // output tensors stays the same for the lifetime of the interpreter
+                if (outputBuffers[i] == null) {
+                    outputBuffers[i] = tensor.buffer();
+                }
+                data = outputBuffers[i].duplicate().order(ByteOrder.nativeOrder());
+            }
+            result.add(new TfLiteNDArray(manager, data, shape, dataType));
         }
         return result;
     }
 
-    /** {@inheritDoc} */
+    /**
+     * Closes the block.
+     *
+     * <p>The block of a predictor returns its interpreter to the pool, and the block of the model
+     * closes all the interpreters.
+     */
     @Override
     public void close() {
-        interpreter.close();
+        if (interpreter != null) {
+            pool.release(interpreter);
+            interpreter = null;
+            pool = null;
+        } else if (pool != null) {
+            pool.close();
+        }
     }
 }
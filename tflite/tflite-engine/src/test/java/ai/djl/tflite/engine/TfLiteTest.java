@@ -17,12 +17,25 @@ import ai.djl.inference.Predictor;
 import ai.djl.modality.Classifications;
 import ai.djl.modality.cv.Image;
 import ai.djl.modality.cv.ImageFactory;
+import ai.djl.ndarray.NDList;
+import ai.djl.ndarray.NDManager;
+import ai.djl.ndarray.types.DataType;
+import ai.djl.ndarray.types.Shape;
 import ai.djl.repository.zoo.Criteria;
 import ai.djl.repository.zoo.ModelNotFoundException;
 import ai.djl.repository.zoo.ModelZoo;
 import ai.djl.repository.zoo.ZooModel;
+import ai.djl.translate.NoopTranslator;
 import ai.djl.translate.TranslateException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.testng.Assert;
 import org.testng.SkipException;
 import org.testng.annotations.Test;
@@ -51,4 +64,78 @@ public class TfLiteTest {
         Classifications prediction = predictor.predict(image);
         Assert.assertEquals(prediction.best().getClassName(), "Sachertorte");
     }
+
+    @Test
+    void testConcurrentPredictors()
+            throws IOException, MalformedModelException, ModelNotFoundException,
+                    InterruptedException, ExecutionException {
+        if (System.getProperty("os.name").toLowerCase().startsWith("win")) {
+            throw new SkipException("test only work on mac and Linux");
+        }
+        Criteria<Image, Classifications> criteria =
+                Criteria.builder()
+                        .setTypes(Image.class, Classifications.class)
+                        .optEngine("TFLite")
+                        .optFilter("dataset", "aiyDish")
+                        .optOption("numThreads", "1")
+                        .build();
+        Image image =
+                ImageFactory.getInstance()
+                        .fromUrl("https://resources.djl.ai/images/sachertorte.jpg");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (ZooModel<Image, Classifications> model = ModelZoo.loadModel(criteria)) {
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    try (Predictor<Image, Classifications> predictor =
+                                            model.newPredictor()) {
+                                        String best = null;
+                                        for (int j = 0; j < 5; ++j) {
+                                            best = predictor.predict(image).best().getClassName();
+                                        }
+                                        return best;
+                                    }
+                                }));
+            }
+            for (Future<String> future : futures) {
+                Assert.assertEquals(future.get(), "Sachertorte");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testOutputsOutliveNextForward()
+            throws IOException, MalformedModelException, TranslateException,
+                    ModelNotFoundException {
+        if (System.getProperty("os.name").toLowerCase().startsWith("win")) {
+            throw new SkipException("test only work on mac and Linux");
+        }
+        Criteria<Image, Classifications> criteria =
+                Criteria.builder()
+                        .setTypes(Image.class, Classifications.class)
+                        .optEngine("TFLite")
+                        .optFilter("dataset", "aiyDish")
+                        .build();
+        try (ZooModel<Image, Classifications> model = ModelZoo.loadModel(criteria);
+                Predictor<NDList, NDList> predictor = model.newPredictor(new NoopTranslator());
+                NDManager manager = model.getNDManager().newSubManager()) {
+            Shape shape = new Shape(1, 192, 192, 3);
+            byte[] data = new byte[(int) shape.size()];
+            Arrays.fill(data, (byte) 255);
+            NDList black = new NDList(manager.zeros(shape, DataType.UINT8));
+            NDList white = new NDList(manager.create(ByteBuffer.wrap(data), shape, DataType.UINT8));
+
+            NDList first = predictor.predict(black);
+            byte[] expected = first.head().toByteArray();
+            NDList second = predictor.predict(white);
+
+            // the outputs of a forward are not overwritten by the next forward
+            Assert.assertEquals(first.head().toByteArray(), expected);
+            Assert.assertNotEquals(second.head().toByteArray(), expected);
+        }
+    }
 }